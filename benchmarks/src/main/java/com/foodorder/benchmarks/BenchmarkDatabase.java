@@ -0,0 +1,81 @@
+package com.foodorder.benchmarks;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import com.foodorder.app.DatasetSeeder;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+
+/**
+ * Database for one benchmark JVM (JMH runs each fork in its own JVM).
+ *
+ * With -Ddb.url=... the benchmarks use that database as is; add -Dbench.seed=true to
+ * append a synthetic dataset. Otherwise an embedded PostgreSQL is started, the schema
+ * from restaurant_db.sql is loaded and a dataset is seeded. Volumes are set with
+ * -Dbench.customers, -Dbench.employees, -Dbench.menuItems and -Dbench.orders.
+ */
+public final class BenchmarkDatabase {
+
+    private static EmbeddedPostgres embedded;
+
+    private BenchmarkDatabase() {}
+
+    /**
+     * Start and seed the database once per JVM. Must run before DatabaseConnection is
+     * first used, since the pool reads the db.* properties when it is created.
+     */
+    public static synchronized void start() throws IOException, SQLException {
+        if (embedded != null || Boolean.getBoolean("bench.started")) {
+            return;
+        }
+
+        boolean seed = Boolean.getBoolean("bench.seed");
+        if (System.getProperty("db.url") == null) {
+            embedded = EmbeddedPostgres.builder().start();
+            Runtime.getRuntime().addShutdownHook(new Thread(BenchmarkDatabase::stopEmbedded));
+
+            System.setProperty("db.url", embedded.getJdbcUrl("postgres", "postgres"));
+            System.setProperty("db.username", "postgres");
+            System.setProperty("db.password", "postgres");
+            loadSchema(embedded);
+            seed = true;
+        }
+
+        if (seed) {
+            new DatasetSeeder()
+                .customers(Integer.getInteger("bench.customers", 1_000))
+                .employees(Integer.getInteger("bench.employees", 50))
+                .menuItems(Integer.getInteger("bench.menuItems", 200))
+                .orders(Integer.getInteger("bench.orders", 50_000))
+                .seed();
+        }
+        System.setProperty("bench.started", "true");
+    }
+
+    private static void loadSchema(EmbeddedPostgres postgres) throws IOException, SQLException {
+        Path schema = Path.of(System.getProperty("bench.schema", "../restaurant_db.sql"));
+        if (!Files.exists(schema)) {
+            schema = Path.of("restaurant_db.sql");
+        }
+        String script = Files.readString(schema, StandardCharsets.UTF_8);
+
+        try (Connection connection = postgres.getPostgresDatabase().getConnection();
+             Statement stmt = connection.createStatement()) {
+            stmt.execute(script);
+        }
+    }
+
+    private static void stopEmbedded() {
+        try {
+            embedded.close();
+        } catch (IOException e) {
+            System.err.println("Error stopping embedded PostgreSQL: " + e.getMessage());
+        }
+    }
+}
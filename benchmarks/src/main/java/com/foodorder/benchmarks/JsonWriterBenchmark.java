@@ -0,0 +1,170 @@
+package com.foodorder.benchmarks;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.foodorder.json.JsonWriter;
+import com.foodorder.model.Order;
+import com.foodorder.model.OrderItem;
+
+/**
+ * Rendering a page of orders to bytes: JsonWriter against building Strings
+ * stringJson is the StringBuilder/toPlainString approach the NDJSON export used before
+ * JsonWriter; formatted is the per-row String.format of formatOrdersForDisplay and the
+ * item lines of getOrderDetailInfo. Orders are built in memory, so no database is needed.
+ * Run with -prof gc to compare allocation per operation.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 3)
+@Measurement(iterations = 5, time = 3)
+@Fork(1)
+public class JsonWriterBenchmark {
+
+    @Param({ "1", "100" })
+    public int orders;
+
+    private List<Order> page;
+    private JsonWriter json;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        String[] dishes = { "Roasted Chicken", "Cr\u00e8me Br\u00fbl\u00e9e", "Beef Burger", "Coca Cola", "Lobster Tail" };
+        page = new ArrayList<>(orders);
+        for (int i = 1; i <= orders; i++) {
+            Order order = new Order(i % 50 + 1, i % 8 + 1, "PREPARING");
+            order.setOrderId(i);
+            order.setCustomerName("Customer " + i);
+            order.setEmployeeName("Waiter \"Alex\" Johnson");
+            order.setOrderTime(new Timestamp(1_733_570_000_000L + i * 60_000L));
+            List<OrderItem> items = new ArrayList<>();
+            BigDecimal total = BigDecimal.ZERO;
+            for (int k = 0; k < 3; k++) {
+                BigDecimal price = new BigDecimal((i * 7 + k * 13) % 3000 + 99).movePointLeft(2);
+                items.add(new OrderItem(i, k + 1, k + 1, dishes[(i + k) % dishes.length], price));
+                total = total.add(price.multiply(BigDecimal.valueOf(k + 1)));
+            }
+            order.setOrderItems(items);
+            order.setTotalAmount(total);
+            page.add(order);
+        }
+        json = new JsonWriter();
+    }
+
+    @Benchmark
+    public int jsonWriter() {
+        json.reset().beginArray();
+        for (Order order : page) {
+            json.order(order);
+        }
+        json.endArray();
+        return json.size();
+    }
+
+    @Benchmark
+    public byte[] stringJson() {
+        StringBuilder sb = new StringBuilder(256);
+        sb.append('[');
+        for (int i = 0; i < page.size(); i++) {
+            Order order = page.get(i);
+            if (i > 0) {
+                sb.append(',');
+            }
+            sb.append("{\"order_id\":").append(order.getOrderId())
+              .append(",\"customer_id\":").append(order.getCustomerId())
+              .append(",\"customer_name\":");
+            appendJsonString(sb, order.getCustomerName());
+            sb.append(",\"employee_id\":").append(order.getEmployeeId())
+              .append(",\"employee_name\":");
+            appendJsonString(sb, order.getEmployeeName());
+            sb.append(",\"order_time\":");
+            appendJsonString(sb, order.getOrderTime().toString());
+            sb.append(",\"current_status\":");
+            appendJsonString(sb, order.getCurrentStatus());
+            sb.append(",\"total_amount\":").append(order.getTotalAmount().toPlainString())
+              .append(",\"version\":").append(order.getVersion())
+              .append(",\"items\":[");
+            boolean first = true;
+            for (OrderItem item : order.getOrderItems()) {
+                if (!first) {
+                    sb.append(',');
+                }
+                first = false;
+                sb.append("{\"item_id\":").append(item.getItemId())
+                  .append(",\"item_name\":");
+                appendJsonString(sb, item.getItemName());
+                sb.append(",\"quantity\":").append(item.getQuantity())
+                  .append(",\"item_price\":").append(item.getItemPrice().toPlainString())
+                  .append('}');
+            }
+            sb.append("]}");
+        }
+        sb.append(']');
+        return sb.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public byte[] formatted() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("%-4s %-15s %-15s %-20s %-10s %-8s%n",
+                "ID", "Customer", "Employee", "Order Time", "Total Amount", "Status"));
+        sb.append("-".repeat(80)).append("\n");
+        for (Order order : page) {
+            sb.append(String.format("%-4d %-15s %-15s %-20s %-10s %-8s%n",
+                order.getOrderId(),
+                order.getCustomerName(),
+                order.getEmployeeName(),
+                order.getFormattedOrderTime(),
+                order.getFormattedTotalAmount(),
+                order.getCurrentStatus()));
+            for (OrderItem item : order.getOrderItems()) {
+                sb.append(String.format("%-25s %-8d %-12s %-12s%n",
+                    item.getItemName(),
+                    item.getQuantity(),
+                    item.getFormattedItemPrice(),
+                    item.getFormattedSubtotal()));
+            }
+        }
+        return sb.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static void appendJsonString(StringBuilder sb, String value) {
+        sb.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> sb.append("\\\"");
+                case '\\' -> sb.append("\\\\");
+                case '\n' -> sb.append("\\n");
+                case '\r' -> sb.append("\\r");
+                case '\t' -> sb.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        sb.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        sb.append(c);
+                    }
+                }
+            }
+        }
+        sb.append('"');
+    }
+}
@@ -0,0 +1,59 @@
+package com.foodorder.benchmarks;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.foodorder.dao.MenuDAO;
+import com.foodorder.model.MenuItem;
+
+/**
+ * MenuDAO.searchMenuItems with the filter combinations the menu screen produces
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class MenuSearchBenchmark {
+
+    @Param({ "Dish 1", "chicken", "zzz" })
+    public String searchTerm;
+
+    private MenuDAO menuDAO;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        BenchmarkDatabase.start();
+        menuDAO = new MenuDAO();
+    }
+
+    @Benchmark
+    public List<MenuItem> searchByName() {
+        return menuDAO.searchMenuItems(searchTerm, null, null, null);
+    }
+
+    @Benchmark
+    public List<MenuItem> searchByNameCategoryAndPrice() {
+        return menuDAO.searchMenuItems(searchTerm, 1, new BigDecimal("5.00"), new BigDecimal("25.00"));
+    }
+
+    @Benchmark
+    public List<MenuItem> searchByPriceOnly() {
+        return menuDAO.searchMenuItems(null, null, new BigDecimal("10.00"), new BigDecimal("20.00"));
+    }
+}
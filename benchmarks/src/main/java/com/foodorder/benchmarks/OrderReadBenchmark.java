@@ -0,0 +1,65 @@
+package com.foodorder.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.foodorder.dao.OrderDAO;
+import com.foodorder.model.Order;
+import com.foodorder.model.OrderPage;
+import com.foodorder.service.OrderService;
+
+/**
+ * Order read paths: the full getAllOrders listing, the first keyset page that replaces
+ * it in the UI, and the getOrderDetailInfo lookup and formatting for a random order.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class OrderReadBenchmark {
+
+    private OrderDAO orderDAO;
+    private OrderService orderService;
+    private int[] orderIds;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        BenchmarkDatabase.start();
+        orderDAO = new OrderDAO();
+        orderService = new OrderService();
+
+        List<Order> orders = orderDAO.getOrdersPage(null, 1_000).getOrders();
+        orderIds = orders.stream().mapToInt(Order::getOrderId).toArray();
+    }
+
+    @Benchmark
+    public List<Order> getAllOrders() {
+        return orderDAO.getAllOrders();
+    }
+
+    @Benchmark
+    public OrderPage getFirstOrdersPage() {
+        return orderDAO.getOrdersPage(null, 20);
+    }
+
+    @Benchmark
+    public String getOrderDetailInfo() {
+        int orderId = orderIds[ThreadLocalRandom.current().nextInt(orderIds.length)];
+        return orderService.getOrderDetailInfo(orderId);
+    }
+}
@@ -0,0 +1,99 @@
+package com.foodorder.benchmarks;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.foodorder.dao.EmployeeDAO;
+import com.foodorder.model.MenuItem;
+import com.foodorder.service.MenuCatalog;
+import com.foodorder.service.OrderService;
+
+/**
+ * Per-order latency of the order write paths: an empty order, an order filled one
+ * addOrderItem call at a time, and createOrderWithItems. Orders created during an
+ * iteration are deleted after it so the dataset does not drift.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.AverageTime, Mode.Throughput })
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class OrderWriteBenchmark {
+
+    @Param({ "1", "5", "20" })
+    public int itemsPerOrder;
+
+    private OrderService orderService;
+    private int customerId;
+    private int employeeId;
+    private Map<Integer, Integer> items;
+    private final List<Integer> createdOrderIds = new ArrayList<>();
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        BenchmarkDatabase.start();
+        orderService = new OrderService();
+        customerId = 1;
+        employeeId = new EmployeeDAO().getAvailableEmployees().get(0).getEmployeeId();
+
+        List<MenuItem> available = MenuCatalog.getInstance().getAllAvailableMenuItems();
+        items = new LinkedHashMap<>();
+        for (int i = 0; i < itemsPerOrder; i++) {
+            items.put(available.get(i).getItemId(), 1 + i % 3);
+        }
+    }
+
+    @TearDown(Level.Iteration)
+    public void deleteCreatedOrders() {
+        synchronized (createdOrderIds) {
+            for (int orderId : createdOrderIds) {
+                orderService.deleteOrder(orderId);
+            }
+            createdOrderIds.clear();
+        }
+    }
+
+    @Benchmark
+    public int createOrder() {
+        return track(orderService.createOrder(customerId, employeeId));
+    }
+
+    @Benchmark
+    public int createOrderThenAddOrderItem() {
+        int orderId = orderService.createOrder(customerId, employeeId);
+        for (Map.Entry<Integer, Integer> entry : items.entrySet()) {
+            orderService.addOrderItem(orderId, entry.getKey(), entry.getValue());
+        }
+        return track(orderId);
+    }
+
+    @Benchmark
+    public int createOrderWithItems() {
+        return track(orderService.createOrderWithItems(customerId, items));
+    }
+
+    private int track(int orderId) {
+        synchronized (createdOrderIds) {
+            createdOrderIds.add(orderId);
+        }
+        return orderId;
+    }
+}
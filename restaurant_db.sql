@@ -1,3 +1,7 @@
+DROP MATERIALIZED VIEW IF EXISTS order_summary_mv;
+DROP MATERIALIZED VIEW IF EXISTS employee_workload_mv;
+DROP TABLE IF EXISTS OrderSnapshot;
+DROP TABLE IF EXISTS OrderEvent;
 DROP TABLE IF EXISTS OrderItem;
 DROP TABLE IF EXISTS Orders;
 DROP TABLE IF EXISTS MenuItem;
@@ -5,6 +9,9 @@ DROP TABLE IF EXISTS Category;
 DROP TABLE IF EXISTS Employee;
 DROP TABLE IF EXISTS Customer;
 
+-- Trigram matching for menu search (substring and typo tolerant)
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
 
 
 CREATE TABLE Category (
@@ -17,7 +24,9 @@ CREATE TABLE MenuItem (
     category_id INT REFERENCES Category(category_id),
     item_name VARCHAR(100) NOT NULL,
     current_price NUMERIC(10, 2) NOT NULL CHECK (current_price >= 0),
-    is_active BOOLEAN DEFAULT TRUE
+    is_active BOOLEAN DEFAULT TRUE,
+    -- Word index of the name for full-text search; 'simple' keeps dish names unstemmed
+    search_vector tsvector GENERATED ALWAYS AS (to_tsvector('simple', item_name)) STORED
 );
 
 CREATE TABLE Customer (
@@ -38,10 +47,13 @@ CREATE TABLE Orders (
     order_id SERIAL PRIMARY KEY,
     customer_id INT REFERENCES Customer(customer_id),
     employee_id INT REFERENCES Employee(employee_id),
-    order_time TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    -- NOT NULL: keyset pages compare (order_time, order_id) rows, which skip NULLs
+    order_time TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
     total_amount NUMERIC(10, 2) DEFAULT 0.00,
     current_status VARCHAR(20) NOT NULL
-        CHECK (current_status IN ('PENDING', 'ACCEPTED', 'PREPARING', 'COMPLETED', 'CANCELLED'))
+        CHECK (current_status IN ('PENDING', 'ACCEPTED', 'PREPARING', 'COMPLETED', 'CANCELLED')),
+    -- Bumped by every status change; status updates compare and set on it
+    version INT NOT NULL DEFAULT 0
 );
 
 CREATE TABLE OrderItem (
@@ -51,6 +63,36 @@ CREATE TABLE OrderItem (
     PRIMARY KEY (order_id, item_id)
 );
 
+-- Append-only journal of order changes, written in batches by OrderEventJournal.
+-- No foreign key to Orders: the history outlives a deleted order.
+CREATE TABLE OrderEvent (
+    event_id BIGSERIAL PRIMARY KEY,
+    order_id INT NOT NULL,
+    event_type VARCHAR(20) NOT NULL
+        CHECK (event_type IN ('CREATED', 'ITEM_ADDED', 'QUANTITY_CHANGED', 'STATUS_CHANGED', 'ASSIGNED', 'DELETED')),
+    customer_id INT,
+    employee_id INT,
+    item_id INT,
+    quantity INT,
+    status VARCHAR(20),
+    event_time TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+-- State of an order folded up to last_event_id, so replay only reads the events after it
+CREATE TABLE OrderSnapshot (
+    order_id INT PRIMARY KEY,
+    last_event_id BIGINT NOT NULL,
+    customer_id INT,
+    employee_id INT,
+    order_time TIMESTAMP,
+    status VARCHAR(20),
+    status_changes INT NOT NULL DEFAULT 0,
+    deleted BOOLEAN NOT NULL DEFAULT FALSE,
+    item_ids INT[] NOT NULL,
+    quantities INT[] NOT NULL,
+    snapshot_time TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
 
 DELETE FROM OrderItem;
 DELETE FROM Orders;
@@ -168,87 +210,87 @@ INSERT INTO OrderItem (order_id, item_id, quantity) VALUES
 (2, 1, 1),  -- Caesar Salad
 (2, 17, 1), -- Quinoa Bowl
 (2, 24, 2), -- Orange Juice
- 3
+-- Order 3
 (3, 5, 1),  -- Grilled Steak
 (3, 10, 1), -- Grilled Salmon
 (3, 28, 1), -- Cappuccino
 (3, 20, 1), -- Tiramisu
- 4
+-- Order 4
 (4, 8, 2),  -- BBQ Ribs
 (4, 2, 1),  -- French Onion Soup
 (4, 25, 1), -- Lemonade
- 5
+-- Order 5
 (5, 12, 1), -- Lobster Tail
 (5, 5, 1),  -- Grilled Steak
 (5, 1, 1),  -- Caesar Salad
 (5, 21, 1), -- Cheesecake
 (5, 27, 2), -- Espresso
- 6
+-- Order 6
 (6, 15, 2), -- Veggie Pizza
 (6, 23, 2), -- Coca Cola
 (6, 22, 1), -- Ice Cream Sundae
- 7
+-- Order 7
 (7, 12, 2), -- Lobster Tail
 (7, 9, 1),  -- Lamb Chops
 (7, 3, 2),  -- Bruschetta
 (7, 28, 2), -- Cappuccino
- 8
+-- Order 8
 (8, 16, 1), -- Mushroom Risotto
 (8, 11, 1), -- Fish and Chips
 (8, 26, 2), -- Sparkling Water
 (8, 29, 1), -- Green Tea
- 9
+-- Order 9
 (9, 6, 2),  -- Roasted Chicken
 (9, 4, 1),  -- Chicken Wings
 (9, 24, 2), -- Orange Juice
 (9, 19, 2), -- Chocolate Cake
-0
+-- Order 10
 (10, 13, 1), -- Shrimp Scampi
 (10, 14, 1), -- Tuna Steak
 (10, 1, 1),  -- Caesar Salad
 (10, 30, 2), -- Latte
-1
+-- Order 11
 (11, 5, 2),  -- Grilled Steak
 (11, 2, 1),  -- French Onion Soup
 (11, 20, 2), -- Tiramisu
 (11, 27, 2), -- Espresso
-2
+-- Order 12
 (12, 10, 1), -- Grilled Salmon
 (12, 8, 1),  -- BBQ Ribs
 (12, 25, 2), -- Lemonade
 (12, 21, 1), -- Cheesecake
-3
+-- Order 13
 (13, 12, 3), -- Lobster Tail
 (13, 3, 2),  -- Bruschetta
 (13, 28, 3), -- Cappuccino
-4
+-- Order 14
 (14, 7, 2),  -- Beef Burger
 (14, 23, 3), -- Coca Cola
 (14, 22, 2), -- Ice Cream Sundae
-5
+-- Order 15
 (15, 15, 1), -- Veggie Pizza
 (15, 16, 1), -- Mushroom Risotto
 (15, 17, 1), -- Quinoa Bowl
 (15, 24, 2), -- Orange Juice
-6
+-- Order 16
 (16, 18, 2), -- Caprese Sandwich
 (16, 29, 2), -- Green Tea
 (16, 19, 1), -- Chocolate Cake
-7
+-- Order 17
 (17, 5, 1),  -- Grilled Steak
 (17, 10, 1), -- Grilled Salmon
 (17, 9, 1),  -- Lamb Chops
 (17, 30, 2), -- Latte
-8
+-- Order 18
 (18, 12, 2), -- Lobster Tail
 (18, 14, 1), -- Tuna Steak
 (18, 1, 1),  -- Caesar Salad
 (18, 20, 2), -- Tiramisu
-9
+-- Order 19
 (19, 6, 2),  -- Roasted Chicken
 (19, 4, 1),  -- Chicken Wings
 (19, 23, 3), -- Coca Cola
-0
+-- Order 20
 (20, 8, 2),  -- BBQ Ribs
 (20, 13, 1), -- Shrimp Scampi
 (20, 21, 2), -- Cheesecake
@@ -258,12 +300,17 @@ INSERT INTO OrderItem (order_id, item_id, quantity) VALUES
 
 -- Indexes
 CREATE INDEX idx_menuitem_category ON MenuItem(category_id);
-CREATE INDEX idx_orders_customer ON Orders(customer_id);
-CREATE INDEX idx_orders_employee ON Orders(employee_id);
-CREATE INDEX idx_orders_status ON Orders(current_status);
-CREATE INDEX idx_orders_time ON Orders(order_time);
+-- Menu search: ILIKE '%term%' and similarity (%) use the trigram index, @@ the tsvector one
+CREATE INDEX idx_menuitem_name_trgm ON MenuItem USING GIN (item_name gin_trgm_ops);
+CREATE INDEX idx_menuitem_search ON MenuItem USING GIN (search_vector);
+-- Keyset pagination on (order_time, order_id), newest first, with and without a filter
+CREATE INDEX idx_orders_time ON Orders(order_time DESC, order_id DESC);
+CREATE INDEX idx_orders_customer ON Orders(customer_id, order_time DESC, order_id DESC);
+CREATE INDEX idx_orders_employee ON Orders(employee_id, order_time DESC, order_id DESC);
+CREATE INDEX idx_orders_status ON Orders(current_status, order_time DESC, order_id DESC);
 CREATE INDEX idx_orderitem_composite ON OrderItem(order_id, item_id);
 CREATE INDEX idx_customer_email ON Customer(email);
+CREATE INDEX idx_orderevent_order ON OrderEvent(order_id, event_id);
 
 -- Functions
 CREATE OR REPLACE FUNCTION calculate_order_total(p_order_id INT)
@@ -344,11 +391,15 @@ LANGUAGE plpgsql AS $$
 DECLARE
     available_employee_id INT;
 BEGIN
-    SELECT employee_id
+    -- Least loaded available employee: fewest active orders, then lowest ID
+    SELECT e.employee_id
     INTO available_employee_id
-    FROM Employee
-    WHERE availability_status = TRUE
-    ORDER BY employee_id
+    FROM Employee e
+    LEFT JOIN Orders o ON o.employee_id = e.employee_id
+        AND o.current_status IN ('PENDING', 'ACCEPTED', 'PREPARING')
+    WHERE e.availability_status = TRUE
+    GROUP BY e.employee_id
+    ORDER BY COUNT(o.order_id), e.employee_id
     LIMIT 1;
     
     IF available_employee_id IS NOT NULL THEN
@@ -364,33 +415,77 @@ END;
 $$;
 
 -- Triggers
-CREATE OR REPLACE FUNCTION trigger_update_order_total()
+-- Order totals are maintained per statement: each trigger reads the changed OrderItem rows
+-- from a transition table and recomputes every touched order exactly once, so a multi-row
+-- insert costs one Orders write per order instead of a full SUM/JOIN per line.
+CREATE OR REPLACE FUNCTION refresh_order_totals(p_order_ids INT[])
+RETURNS VOID AS $$
+BEGIN
+    UPDATE Orders o
+    SET total_amount = t.total
+    FROM (
+        SELECT ids.order_id, COALESCE(SUM(oi.quantity * mi.current_price), 0) AS total
+        FROM (SELECT DISTINCT unnest(p_order_ids) AS order_id) ids
+        LEFT JOIN OrderItem oi ON oi.order_id = ids.order_id
+        LEFT JOIN MenuItem mi ON oi.item_id = mi.item_id
+        GROUP BY ids.order_id
+    ) t
+    WHERE o.order_id = t.order_id
+      AND o.total_amount IS DISTINCT FROM t.total;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE OR REPLACE FUNCTION trigger_orderitem_insert_totals()
 RETURNS TRIGGER AS $$
 BEGIN
-    IF TG_OP = 'DELETE' THEN
-        CALL update_order_total(OLD.order_id);
-        RETURN OLD;
-    ELSE
-        CALL update_order_total(NEW.order_id);
-        RETURN NEW;
-    END IF;
+    PERFORM refresh_order_totals(ARRAY(SELECT order_id FROM new_rows));
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE OR REPLACE FUNCTION trigger_orderitem_update_totals()
+RETURNS TRIGGER AS $$
+BEGIN
+    -- order_id itself may change through ON UPDATE CASCADE, so refresh both sides
+    PERFORM refresh_order_totals(ARRAY(
+        SELECT order_id FROM new_rows
+        UNION
+        SELECT order_id FROM old_rows
+    ));
+    RETURN NULL;
 END;
 $$ LANGUAGE plpgsql;
 
+CREATE OR REPLACE FUNCTION trigger_orderitem_delete_totals()
+RETURNS TRIGGER AS $$
+BEGIN
+    PERFORM refresh_order_totals(ARRAY(SELECT order_id FROM old_rows));
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS tr_orderitem_insert_update_total ON OrderItem;
+DROP TRIGGER IF EXISTS tr_orderitem_update_update_total ON OrderItem;
+DROP TRIGGER IF EXISTS tr_orderitem_delete_update_total ON OrderItem;
+DROP FUNCTION IF EXISTS trigger_update_order_total();
+
 CREATE TRIGGER tr_orderitem_insert_update_total
     AFTER INSERT ON OrderItem
-    FOR EACH ROW
-    EXECUTE FUNCTION trigger_update_order_total();
+    REFERENCING NEW TABLE AS new_rows
+    FOR EACH STATEMENT
+    EXECUTE FUNCTION trigger_orderitem_insert_totals();
 
 CREATE TRIGGER tr_orderitem_update_update_total
     AFTER UPDATE ON OrderItem
-    FOR EACH ROW
-    EXECUTE FUNCTION trigger_update_order_total();
+    REFERENCING OLD TABLE AS old_rows NEW TABLE AS new_rows
+    FOR EACH STATEMENT
+    EXECUTE FUNCTION trigger_orderitem_update_totals();
 
 CREATE TRIGGER tr_orderitem_delete_update_total
     AFTER DELETE ON OrderItem
-    FOR EACH ROW
-    EXECUTE FUNCTION trigger_update_order_total();
+    REFERENCING OLD TABLE AS old_rows
+    FOR EACH STATEMENT
+    EXECUTE FUNCTION trigger_orderitem_delete_totals();
 
 CREATE OR REPLACE FUNCTION validate_order_status_transition()
 RETURNS TRIGGER AS $$
@@ -403,7 +498,8 @@ BEGIN
         RAISE EXCEPTION 'Cannot change status of cancelled order';
     END IF;
     
-    RAISE NOTICE 'Order % status changed from % to %', NEW.order_id, OLD.current_status, NEW.current_status;
+    -- DEBUG is not sent to clients at the default client_min_messages, unlike NOTICE
+    RAISE DEBUG 'Order % status changed from % to %', NEW.order_id, OLD.current_status, NEW.current_status;
     
     RETURN NEW;
 END;
@@ -458,6 +554,42 @@ LEFT JOIN Orders o ON e.employee_id = o.employee_id
 GROUP BY e.employee_id, e.name, e.availability_status
 ORDER BY total_orders DESC;
 
+-- Materialized copies of order_summary and employee_workload. The DAOs read these while
+-- they are younger than db.views.maxStalenessMillis and refresh them in the background;
+-- the unique indexes allow REFRESH MATERIALIZED VIEW CONCURRENTLY, which does not block readers.
+CREATE MATERIALIZED VIEW order_summary_mv AS
+SELECT 
+    o.order_id,
+    c.name AS customer_name,
+    c.email AS customer_email,
+    e.name AS employee_name,
+    o.order_time,
+    o.total_amount,
+    o.current_status,
+    COUNT(oi.item_id) AS item_count
+FROM Orders o
+JOIN Customer c ON o.customer_id = c.customer_id
+LEFT JOIN Employee e ON o.employee_id = e.employee_id
+LEFT JOIN OrderItem oi ON o.order_id = oi.order_id
+GROUP BY o.order_id, c.name, c.email, e.name, o.order_time, o.total_amount, o.current_status;
+
+CREATE UNIQUE INDEX idx_order_summary_mv_id ON order_summary_mv(order_id);
+CREATE INDEX idx_order_summary_mv_time ON order_summary_mv(order_time DESC);
+
+CREATE MATERIALIZED VIEW employee_workload_mv AS
+SELECT 
+    e.employee_id,
+    e.name AS employee_name,
+    e.availability_status,
+    COUNT(o.order_id) AS total_orders,
+    COALESCE(SUM(o.total_amount), 0) AS total_revenue,
+    COUNT(CASE WHEN o.current_status = 'COMPLETED' THEN 1 END) AS completed_orders
+FROM Employee e
+LEFT JOIN Orders o ON e.employee_id = o.employee_id
+GROUP BY e.employee_id, e.name, e.availability_status;
+
+CREATE UNIQUE INDEX idx_employee_workload_mv_id ON employee_workload_mv(employee_id);
+
 -- Foreign Key Constraints
 ALTER TABLE MenuItem 
 DROP CONSTRAINT IF EXISTS menuitem_category_id_fkey,
@@ -0,0 +1,20 @@
+package com.foodorder.api;
+
+/**
+ * Request failure reported to the client with an HTTP status and a message
+ */
+class ApiException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final int status;
+
+    ApiException(int status, String message) {
+        super(message);
+        this.status = status;
+    }
+
+    int getStatus() {
+        return status;
+    }
+}
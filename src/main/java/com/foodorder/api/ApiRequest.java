@@ -0,0 +1,172 @@
+package com.foodorder.api;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.foodorder.model.OrderPage;
+
+/**
+ * Parameters of one API request
+ * Path parameters come from the route pattern; the others from the query string and,
+ * for POST, PUT and DELETE, a form-encoded body. Missing or malformed values fail with 400.
+ */
+final class ApiRequest {
+
+    static final int MAX_BODY_BYTES = 64 * 1024;
+
+    private final Map<String, String> pathParams;
+    private final Map<String, String> params;
+
+    ApiRequest(Map<String, String> pathParams, Map<String, String> params) {
+        this.pathParams = pathParams;
+        this.params = params;
+    }
+
+    /**
+     * Parse the query string and form body of an exchange
+     */
+    static Map<String, String> readParams(String rawQuery, InputStream body) throws IOException {
+        Map<String, String> params = new HashMap<>();
+        parseForm(rawQuery, params);
+        byte[] bytes = body.readNBytes(MAX_BODY_BYTES + 1);
+        if (bytes.length > MAX_BODY_BYTES) {
+            throw new ApiException(413, "Request body larger than " + MAX_BODY_BYTES + " bytes");
+        }
+        parseForm(new String(bytes, StandardCharsets.UTF_8), params);
+        return params;
+    }
+
+    private static void parseForm(String form, Map<String, String> params) {
+        if (form == null || form.isEmpty()) {
+            return;
+        }
+        for (String pair : form.split("&")) {
+            if (pair.isEmpty()) {
+                continue;
+            }
+            int eq = pair.indexOf('=');
+            String name = eq < 0 ? pair : pair.substring(0, eq);
+            String value = eq < 0 ? "" : pair.substring(eq + 1);
+            try {
+                params.put(URLDecoder.decode(name, StandardCharsets.UTF_8).trim(),
+                    URLDecoder.decode(value, StandardCharsets.UTF_8));
+            } catch (IllegalArgumentException e) {
+                throw new ApiException(400, "Malformed parameter: " + name);
+            }
+        }
+    }
+
+    int pathInt(String name) {
+        return toInt(name, pathParams.get(name));
+    }
+
+    String param(String name) {
+        String value = params.get(name);
+        if (value == null || value.isBlank()) {
+            throw new ApiException(400, "Missing parameter: " + name);
+        }
+        return value;
+    }
+
+    String optional(String name) {
+        String value = params.get(name);
+        return value == null || value.isBlank() ? null : value;
+    }
+
+    int intParam(String name) {
+        return toInt(name, param(name));
+    }
+
+    int intParam(String name, int defaultValue) {
+        String value = optional(name);
+        return value == null ? defaultValue : toInt(name, value);
+    }
+
+    Integer optionalInt(String name) {
+        String value = optional(name);
+        return value == null ? null : toInt(name, value);
+    }
+
+    BigDecimal decimalParam(String name) {
+        BigDecimal value = optionalDecimal(name);
+        if (value == null) {
+            throw new ApiException(400, "Missing parameter: " + name);
+        }
+        return value;
+    }
+
+    BigDecimal optionalDecimal(String name) {
+        String value = optional(name);
+        if (value == null) {
+            return null;
+        }
+        try {
+            return new BigDecimal(value.trim());
+        } catch (NumberFormatException e) {
+            throw new ApiException(400, "Not a number: " + name);
+        }
+    }
+
+    boolean booleanParam(String name) {
+        String value = param(name).trim();
+        if ("true".equalsIgnoreCase(value)) {
+            return true;
+        }
+        if ("false".equalsIgnoreCase(value)) {
+            return false;
+        }
+        throw new ApiException(400, "Not true or false: " + name);
+    }
+
+    /**
+     * Parse "itemId:quantity,itemId:quantity" into an ordered map
+     */
+    Map<Integer, Integer> quantitiesParam(String name) {
+        Map<Integer, Integer> quantities = new LinkedHashMap<>();
+        for (String line : param(name).split(",")) {
+            int colon = line.indexOf(':');
+            if (colon < 0) {
+                throw new ApiException(400, "Expected itemId:quantity in " + name);
+            }
+            quantities.merge(toInt(name, line.substring(0, colon)), toInt(name, line.substring(colon + 1)),
+                Integer::sum);
+        }
+        return quantities;
+    }
+
+    /**
+     * Page cursor as written by formatCursor, or null for the first page
+     */
+    OrderPage.Cursor cursorParam(String name) {
+        String value = optional(name);
+        if (value == null) {
+            return null;
+        }
+        int separator = value.lastIndexOf('~');
+        try {
+            return new OrderPage.Cursor(Timestamp.valueOf(value.substring(0, separator)),
+                Integer.parseInt(value.substring(separator + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw new ApiException(400, "Malformed cursor");
+        }
+    }
+
+    static String formatCursor(OrderPage.Cursor cursor) {
+        return cursor.getOrderTime() + "~" + cursor.getOrderId();
+    }
+
+    private static int toInt(String name, String value) {
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException | NullPointerException e) {
+            throw new ApiException(400, "Not an integer: " + name);
+        }
+    }
+}
@@ -0,0 +1,499 @@
+package com.foodorder.api;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.ConcurrentModificationException;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.foodorder.config.DatabaseConnection;
+import com.foodorder.json.JsonWriter;
+import com.foodorder.service.ActiveOrderRegistry;
+import com.foodorder.service.CustomerService;
+import com.foodorder.service.EmployeeService;
+import com.foodorder.service.MenuService;
+import com.foodorder.service.OrderEventJournal;
+import com.foodorder.service.OrderService;
+import com.foodorder.service.ServiceExecutor;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Embedded HTTP/JSON API over the order, menu, customer and employee services
+ * Built on the JDK's com.sun.net.httpserver: one selector thread accepts connections and
+ * reads requests without blocking, then hands each exchange to the shared ServiceExecutor,
+ * where the endpoint's service call holds one of its database permits. At most maxInFlight
+ * exchanges are admitted; beyond that, or when no permit frees up in time, a single
+ * overload thread answers 503 straight away, so a burst sheds load instead of piling up.
+ * Every route records its latency in its own histogram, served at GET /api/stats.
+ *
+ * Parameters are read from the query string or a form-encoded body; results are JSON.
+ *
+ * Usage: ApiServer [port] [maxInFlight]
+ */
+public class ApiServer {
+
+    public static final int DEFAULT_PORT = 8080;
+    public static final int DEFAULT_PAGE_SIZE = 20;
+
+    private static final String JSON = "application/json; charset=utf-8";
+
+    // Longest an admitted request waits for a database permit before it is answered 503
+    private static final long DATABASE_WAIT_MILLIS = 5000;
+
+    // Response buffers shared by all requests: with a virtual thread per request a
+    // per-thread writer would never be reused. Up to RETAINED_WRITERS are kept, none
+    // that grew past MAX_RETAINED_BUFFER; busier moments allocate extra ones.
+    private static final int RETAINED_WRITERS = 64;
+    private static final int MAX_RETAINED_BUFFER = 1 << 20;
+
+    // Set on the overload thread while it answers exchanges the workers had no room for
+    private static final ThreadLocal<Boolean> SHEDDING = ThreadLocal.withInitial(() -> false);
+
+    private final OrderService orderService = new OrderService();
+    private final MenuService menuService = new MenuService();
+    private final CustomerService customerService = new CustomerService();
+    private final EmployeeService employeeService = new EmployeeService();
+
+    private final List<Route> routes = new ArrayList<>();
+    private final Map<String, LatencyHistogram> latencies = new LinkedHashMap<>();
+    private final LongAdder shed = new LongAdder();
+    private final BlockingQueue<JsonWriter> writers = new ArrayBlockingQueue<>(RETAINED_WRITERS);
+
+    private final HttpServer server;
+    private final ServiceExecutor services;
+    private final int maxInFlight;
+    private final Semaphore admitted;
+    private final ThreadPoolExecutor overload;
+
+    public ApiServer(int port, int maxInFlight) throws IOException {
+        if (maxInFlight <= 0) {
+            throw new IllegalArgumentException("Requests in flight must be greater than 0");
+        }
+        this.services = ServiceExecutor.getInstance();
+        this.maxInFlight = maxInFlight;
+        this.admitted = new Semaphore(maxInFlight);
+        // Still full here too: the server closes the connection
+        this.overload = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(maxInFlight), runnable -> {
+                Thread thread = new Thread(runnable, "api-overload");
+                thread.setDaemon(true);
+                return thread;
+            });
+
+        registerRoutes();
+
+        this.server = HttpServer.create(new InetSocketAddress(port), maxInFlight);
+        server.createContext("/api/", this::handle);
+        server.setExecutor(this::dispatch);
+    }
+
+    public static void main(String[] args) {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PORT;
+        int maxInFlight = args.length > 1
+            ? Integer.parseInt(args[1])
+            : DatabaseConnection.getInstance().getMaxConnections() * 2 + 256;
+
+        try {
+            ApiServer apiServer = new ApiServer(port, maxInFlight);
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                apiServer.stop(1);
+                DatabaseConnection.getInstance().closeConnection();
+            }));
+            apiServer.start();
+            System.out.printf("API listening on http://localhost:%d/api/ with up to %d requests in flight%n",
+                apiServer.getPort(), maxInFlight);
+        } catch (IOException e) {
+            System.err.println("Could not start API server: " + e.getMessage());
+            System.exit(1);
+        }
+    }
+
+    public void start() {
+        server.start();
+    }
+
+    /**
+     * Stop accepting requests and give open exchanges up to delaySeconds.
+     * The shared ServiceExecutor stops with the connection pool.
+     */
+    public void stop(int delaySeconds) {
+        server.stop(delaySeconds);
+        overload.shutdown();
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    private void registerRoutes() {
+        // Menu
+        get("/api/menu/categories", request -> menuService.getAllCategories());
+        get("/api/menu/items", request -> {
+            String query = request.optional("q");
+            Integer categoryId = request.optionalInt("categoryId");
+            if (query != null && categoryId == null) {
+                return menuService.searchMenuItemsByName(query);
+            }
+            if (query == null && categoryId != null) {
+                return menuService.getMenuItemsByCategory(categoryId);
+            }
+            if (query == null) {
+                return menuService.getAllAvailableMenuItems();
+            }
+            return menuService.searchMenuItems(query, categoryId, null, null);
+        });
+        get("/api/menu/items/{id}", request -> found(menuService.getMenuItemById(request.pathInt("id")), "Menu item"));
+        get("/api/menu/suggestions", request -> menuService.getSearchSuggestions(request.param("q")));
+        post("/api/menu/items", request -> created("item_id", menuService.addMenuItem(
+            request.intParam("categoryId"), request.param("name"), request.decimalParam("price"),
+            request.optional("active") == null || request.booleanParam("active"))));
+        put("/api/menu/items/{id}/price", request -> done(menuService.updateMenuItemPrice(
+            request.pathInt("id"), request.decimalParam("price")), "Menu item price not updated"));
+        put("/api/menu/items/{id}/active", request -> done(menuService.setMenuItemActive(
+            request.pathInt("id"), request.booleanParam("active")), "Menu item not updated"));
+
+        // Orders
+        get("/api/orders", request -> {
+            int pageSize = request.intParam("pageSize", DEFAULT_PAGE_SIZE);
+            Integer customerId = request.optionalInt("customerId");
+            Integer employeeId = request.optionalInt("employeeId");
+            String status = request.optional("status");
+            if (customerId != null) {
+                return orderService.getOrdersPageByCustomerId(customerId, request.cursorParam("cursor"), pageSize);
+            }
+            if (employeeId != null) {
+                return orderService.getOrdersPageByEmployeeId(employeeId, request.cursorParam("cursor"), pageSize);
+            }
+            if (status != null) {
+                return orderService.getOrdersPageByStatus(status, request.cursorParam("cursor"), pageSize);
+            }
+            return orderService.getOrdersPage(request.cursorParam("cursor"), pageSize);
+        });
+        get("/api/orders/{id}", request -> found(orderService.getOrderById(request.pathInt("id")), "Order"));
+        post("/api/orders", request -> {
+            int customerId = request.intParam("customerId");
+            Integer employeeId = request.optionalInt("employeeId");
+            int orderId;
+            if (request.optional("items") != null) {
+                orderId = orderService.createOrderWithItems(customerId, request.quantitiesParam("items"));
+            } else if (employeeId != null) {
+                orderId = orderService.createOrder(customerId, employeeId);
+            } else {
+                orderId = orderService.createOrderWithAutoAssignment(customerId);
+            }
+            return created("order_id", orderId);
+        });
+        post("/api/orders/{id}/items", request -> done(orderService.addOrderItem(
+            request.pathInt("id"), request.intParam("itemId"), request.intParam("quantity")), "Item not added"));
+        put("/api/orders/{id}/items/{itemId}", request -> done(orderService.updateOrderItemQuantity(
+            request.pathInt("id"), request.pathInt("itemId"), request.intParam("quantity")), "Quantity not updated"));
+        delete("/api/orders/{id}/items/{itemId}", request -> done(orderService.removeOrderItem(
+            request.pathInt("id"), request.pathInt("itemId")), "Item not removed"));
+        put("/api/orders/{id}/status", request -> done(orderService.updateOrderStatus(
+            request.pathInt("id"), request.param("status")), "Status not updated"));
+        delete("/api/orders/{id}", request -> done(orderService.deleteOrder(request.pathInt("id")), "Order not deleted"));
+
+        // Reports
+        get("/api/reports/popular-items", request -> orderService.getPopularItems());
+        get("/api/reports/category-sales", request -> orderService.getCategorySales());
+
+        // Customers
+        get("/api/customers", request -> {
+            String query = request.optional("q");
+            return query == null ? customerService.getAllCustomers() : customerService.searchCustomersByName(query);
+        });
+        get("/api/customers/{id}", request -> found(customerService.getCustomerById(request.pathInt("id")), "Customer"));
+        post("/api/customers", request -> created("customer_id", customerService.createCustomer(
+            request.param("name"), request.param("email"), request.optional("phone"))));
+        delete("/api/customers/{id}", request -> done(customerService.deleteCustomer(request.pathInt("id")),
+            "Customer not deleted"));
+
+        // Employees
+        get("/api/employees", request -> request.optional("available") != null && request.booleanParam("available")
+            ? employeeService.getAvailableEmployees()
+            : employeeService.getAllEmployees());
+        get("/api/employees/{id}", request -> found(employeeService.getEmployeeById(request.pathInt("id")), "Employee"));
+        post("/api/employees", request -> created("employee_id", employeeService.createEmployee(
+            request.param("name"), request.optional("phone"),
+            request.optional("available") == null || request.booleanParam("available"))));
+        put("/api/employees/{id}/availability", request -> done(employeeService.updateEmployeeAvailability(
+            request.pathInt("id"), request.booleanParam("available")), "Availability not updated"));
+
+        // In-memory only, so it answers without a database permit even under overload
+        route("GET", "/api/stats", request -> stats(), false);
+    }
+
+    private void get(String pattern, Endpoint endpoint) {
+        route("GET", pattern, endpoint);
+    }
+
+    private void post(String pattern, Endpoint endpoint) {
+        route("POST", pattern, endpoint);
+    }
+
+    private void put(String pattern, Endpoint endpoint) {
+        route("PUT", pattern, endpoint);
+    }
+
+    private void delete(String pattern, Endpoint endpoint) {
+        route("DELETE", pattern, endpoint);
+    }
+
+    private void route(String method, String pattern, Endpoint endpoint) {
+        route(method, pattern, endpoint, true);
+    }
+
+    private void route(String method, String pattern, Endpoint endpoint, boolean usesDatabase) {
+        Route route = new Route(method, pattern, endpoint, usesDatabase);
+        routes.add(route);
+        latencies.put(route.name, route.latency);
+    }
+
+    /**
+     * Hand an exchange to the service executor, or to the overload thread when too many are in flight
+     */
+    private void dispatch(Runnable exchange) {
+        if (admitted.tryAcquire()) {
+            try {
+                services.execute(() -> {
+                    try {
+                        exchange.run();
+                    } finally {
+                        admitted.release();
+                    }
+                });
+                return;
+            } catch (RejectedExecutionException e) {
+                // Shutting down
+                admitted.release();
+            }
+        }
+        shed.increment();
+        overload.execute(() -> {
+            SHEDDING.set(true);
+            try {
+                exchange.run();
+            } finally {
+                SHEDDING.set(false);
+            }
+        });
+    }
+
+    /**
+     * Answer one exchange: match a route, run it, write the JSON result or error
+     */
+    private void handle(HttpExchange exchange) throws IOException {
+        long start = System.nanoTime();
+        Route matched = null;
+        int status;
+        JsonWriter out = takeWriter();
+        try {
+            if (SHEDDING.get()) {
+                throw new ApiException(503, "Server busy, retry later");
+            }
+            String method = exchange.getRequestMethod();
+            String[] segments = exchange.getRequestURI().getPath().split("/");
+            Map<String, String> pathParams = new HashMap<>();
+            boolean pathMatched = false;
+            for (Route route : routes) {
+                if (route.matches(segments, pathParams)) {
+                    pathMatched = true;
+                    if (route.method.equals(method)) {
+                        matched = route;
+                        break;
+                    }
+                }
+                pathParams.clear();
+            }
+            if (matched == null) {
+                throw pathMatched
+                    ? new ApiException(405, "Method not allowed: " + method)
+                    : new ApiException(404, "No such endpoint");
+            }
+
+            ApiRequest request = new ApiRequest(pathParams,
+                ApiRequest.readParams(exchange.getRequestURI().getRawQuery(), exchange.getRequestBody()));
+            Object result = matched.usesDatabase ? call(matched.endpoint, request) : matched.endpoint.handle(request);
+            status = result instanceof Created ? 201 : 200;
+            Json.value(out, result instanceof Created ? ((Created) result).body : result);
+        } catch (ApiException e) {
+            status = e.getStatus();
+            error(out, e.getMessage());
+        } catch (IllegalArgumentException e) {
+            status = 400;
+            error(out, e.getMessage());
+        } catch (ConcurrentModificationException e) {
+            // Lost an optimistic update race; the same request may succeed when retried
+            status = 409;
+            error(out, e.getMessage());
+        } catch (IllegalStateException e) {
+            // Server-side faults: the database is unreachable or a write could not be completed
+            System.err.println("Error handling " + exchange.getRequestURI() + ": " + e.getMessage());
+            boolean database = e.getCause() instanceof SQLException;
+            status = database ? 503 : 500;
+            error(out, database ? "Database unavailable, retry later" : "Internal error");
+        } catch (RuntimeException e) {
+            System.err.println("Error handling " + exchange.getRequestURI() + ": " + e.getMessage());
+            status = 500;
+            error(out, "Internal error");
+        }
+
+        try {
+            exchange.getResponseHeaders().set("Content-Type", JSON);
+            exchange.sendResponseHeaders(status, out.size());
+            try (OutputStream body = exchange.getResponseBody()) {
+                out.writeTo(body);
+            }
+        } finally {
+            exchange.close();
+            if (out.capacity() <= MAX_RETAINED_BUFFER) {
+                writers.offer(out);
+            }
+            if (matched != null) {
+                matched.latency.record(System.nanoTime() - start, status >= 500);
+            }
+        }
+    }
+
+    private JsonWriter takeWriter() {
+        JsonWriter writer = writers.poll();
+        return writer == null ? new JsonWriter() : writer.reset();
+    }
+
+    /**
+     * Run an endpoint while holding a database permit of the service executor
+     */
+    private Object call(Endpoint endpoint, ApiRequest request) {
+        try {
+            return services.withDatabasePermit(() -> endpoint.handle(request),
+                DATABASE_WAIT_MILLIS, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            shed.increment();
+            throw new ApiException(503, "Server busy, retry later");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ApiException(503, "Server shutting down");
+        }
+    }
+
+    private Map<String, Object> stats() {
+        Map<String, Object> pool = new LinkedHashMap<>();
+        pool.put("max_in_flight", maxInFlight);
+        pool.put("in_flight", maxInFlight - admitted.availablePermits());
+        pool.put("waiting_for_database", services.getWaitingForDatabase());
+        pool.put("virtual_threads", services.usesVirtualThreads());
+        pool.put("shed", shed.sum());
+
+        Map<String, Object> endpoints = new LinkedHashMap<>();
+        latencies.forEach((name, histogram) -> endpoints.put(name, histogram.summary()));
+
+        OrderEventJournal journal = OrderEventJournal.getInstance();
+        Map<String, Object> events = new LinkedHashMap<>();
+        events.put("pending", journal.getPendingCount());
+        events.put("failed", journal.getFailedCount());
+
+        ActiveOrderRegistry registry = ActiveOrderRegistry.getInstance();
+        Map<String, Object> activeOrders = new LinkedHashMap<>();
+        activeOrders.put("tracked", registry.size());
+        activeOrders.put("write_behind", registry.isWriteBehind());
+        activeOrders.put("dropped", registry.getDroppedCount());
+
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("pool", pool);
+        stats.put("journal", events);
+        stats.put("active_orders", activeOrders);
+        stats.put("endpoints", endpoints);
+        return stats;
+    }
+
+    private static <T> T found(T value, String what) {
+        if (value == null) {
+            throw new ApiException(404, what + " not found");
+        }
+        return value;
+    }
+
+    private static Created created(String idField, int id) {
+        if (id <= 0) {
+            throw new ApiException(409, "Could not create " + idField.replace("_id", ""));
+        }
+        return new Created(Map.of(idField, id));
+    }
+
+    private static Map<String, Object> done(boolean success, String failure) {
+        if (!success) {
+            throw new ApiException(409, failure);
+        }
+        return Map.of("success", true);
+    }
+
+    private static void error(JsonWriter out, String message) {
+        // Drop whatever the endpoint had written before failing
+        out.reset().beginObject().name("error").value(message == null ? "Request failed" : message).endObject();
+    }
+
+    @FunctionalInterface
+    private interface Endpoint {
+        Object handle(ApiRequest request);
+    }
+
+    /**
+     * Result of a create endpoint, answered with 201
+     */
+    private static final class Created {
+        private final Object body;
+
+        Created(Object body) {
+            this.body = body;
+        }
+    }
+
+    /**
+     * Method and path pattern; "{name}" segments match anything and become path parameters
+     */
+    private static final class Route {
+        private final String method;
+        private final String name;
+        private final String[] segments;
+        private final Endpoint endpoint;
+        private final boolean usesDatabase;
+        private final LatencyHistogram latency = new LatencyHistogram();
+
+        Route(String method, String pattern, Endpoint endpoint, boolean usesDatabase) {
+            this.method = method;
+            this.name = method + " " + pattern;
+            this.segments = pattern.split("/");
+            this.endpoint = endpoint;
+            this.usesDatabase = usesDatabase;
+        }
+
+        boolean matches(String[] path, Map<String, String> pathParams) {
+            if (path.length != segments.length) {
+                return false;
+            }
+            for (int i = 0; i < segments.length; i++) {
+                String segment = segments[i];
+                if (segment.startsWith("{")) {
+                    pathParams.put(segment.substring(1, segment.length() - 1), path[i]);
+                } else if (!segment.equals(path[i])) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.foodorder.api;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.Map;
+
+import com.foodorder.json.JsonWriter;
+import com.foodorder.model.Category;
+import com.foodorder.model.CategorySales;
+import com.foodorder.model.Customer;
+import com.foodorder.model.Employee;
+import com.foodorder.model.ItemSales;
+import com.foodorder.model.MenuItem;
+import com.foodorder.model.Order;
+import com.foodorder.model.OrderItem;
+import com.foodorder.model.OrderPage;
+
+/**
+ * JSON rendering of endpoint results
+ * Handles the models the API returns, maps, collections, strings, numbers and booleans.
+ * The core models are written by JsonWriter; field names follow the NDJSON order export.
+ */
+final class Json {
+
+    private Json() {
+    }
+
+    static void value(JsonWriter out, Object value) {
+        if (value == null) {
+            out.nullValue();
+        } else if (value instanceof String) {
+            out.value((String) value);
+        } else if (value instanceof BigDecimal) {
+            out.value((BigDecimal) value);
+        } else if (value instanceof Integer || value instanceof Long) {
+            out.value(((Number) value).longValue());
+        } else if (value instanceof Boolean) {
+            out.value((boolean) (Boolean) value);
+        } else if (value instanceof Map) {
+            map(out, (Map<?, ?>) value);
+        } else if (value instanceof Collection) {
+            array(out, (Collection<?>) value);
+        } else if (value instanceof Order) {
+            out.order((Order) value);
+        } else if (value instanceof OrderItem) {
+            out.orderItem((OrderItem) value);
+        } else if (value instanceof MenuItem) {
+            out.menuItem((MenuItem) value);
+        } else if (value instanceof Customer) {
+            out.customer((Customer) value);
+        } else if (value instanceof Employee) {
+            out.employee((Employee) value);
+        } else if (value instanceof Category) {
+            category(out, (Category) value);
+        } else if (value instanceof ItemSales) {
+            itemSales(out, (ItemSales) value);
+        } else if (value instanceof CategorySales) {
+            categorySales(out, (CategorySales) value);
+        } else if (value instanceof OrderPage) {
+            orderPage(out, (OrderPage) value);
+        } else {
+            out.value(value.toString());
+        }
+    }
+
+    private static void map(JsonWriter out, Map<?, ?> map) {
+        out.beginObject();
+        for (Map.Entry<?, ?> entry : map.entrySet()) {
+            out.name(String.valueOf(entry.getKey()));
+            value(out, entry.getValue());
+        }
+        out.endObject();
+    }
+
+    private static void array(JsonWriter out, Collection<?> values) {
+        out.beginArray();
+        for (Object value : values) {
+            value(out, value);
+        }
+        out.endArray();
+    }
+
+    private static void category(JsonWriter out, Category category) {
+        out.beginObject()
+           .name("category_id").value(category.getCategoryId())
+           .name("name").value(category.getName())
+           .endObject();
+    }
+
+    private static void itemSales(JsonWriter out, ItemSales sales) {
+        out.beginObject()
+           .name("item_id").value(sales.getItemId())
+           .name("item_name").value(sales.getItemName())
+           .name("category_name").value(sales.getCategoryName())
+           .name("total_ordered").value(sales.getTotalOrdered())
+           .name("order_count").value(sales.getOrderCount())
+           .endObject();
+    }
+
+    private static void categorySales(JsonWriter out, CategorySales sales) {
+        out.beginObject()
+           .name("category_id").value(sales.getCategoryId())
+           .name("category_name").value(sales.getCategoryName())
+           .name("total_quantity").value(sales.getTotalQuantity())
+           .name("total_revenue").value(sales.getTotalRevenue())
+           .name("unique_items_sold").value(sales.getUniqueItemsSold())
+           .name("order_count").value(sales.getOrderCount())
+           .endObject();
+    }
+
+    private static void orderPage(JsonWriter out, OrderPage page) {
+        out.beginObject().name("orders");
+        array(out, page.getOrders());
+        out.name("next_cursor").value(page.hasMore() ? ApiRequest.formatCursor(page.getNextCursor()) : null)
+           .endObject();
+    }
+}
@@ -0,0 +1,102 @@
+package com.foodorder.api;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free latency histogram in microseconds
+ * Log-linear buckets: exact below 8 µs, then 8 buckets per power of two, so a
+ * percentile is within 12.5% of the true value. Memory is fixed (304 buckets up to
+ * about 12 days) however many requests are recorded; recording is one atomic increment.
+ */
+final class LatencyHistogram {
+
+    private static final int SUB_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BITS;
+    private static final int MAX_BITS = 40;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(SUB_BUCKETS + (MAX_BITS - SUB_BITS) * SUB_BUCKETS);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder totalMicros = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final AtomicLong maxMicros = new AtomicLong();
+
+    /**
+     * Record one request; errors are responses with a 5xx status
+     */
+    void record(long nanos, boolean error) {
+        long micros = Math.max(0, nanos / 1000);
+        buckets.incrementAndGet(index(micros));
+        count.increment();
+        totalMicros.add(micros);
+        if (error) {
+            errors.increment();
+        }
+        maxMicros.accumulateAndGet(micros, Math::max);
+    }
+
+    /**
+     * Upper bound of the bucket holding the given quantile (0-1), 0 when empty
+     */
+    long percentile(double quantile) {
+        long total = 0;
+        long[] counts = new long[buckets.length()];
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] = buckets.get(i);
+            total += counts[i];
+        }
+        if (total == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(quantile * total));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return Math.min(upperBound(i), maxMicros.get());
+            }
+        }
+        return maxMicros.get();
+    }
+
+    /**
+     * Count, errors, mean and percentiles, in microseconds
+     */
+    Map<String, Object> summary() {
+        long requests = count.sum();
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("count", requests);
+        summary.put("errors", errors.sum());
+        summary.put("mean_us", requests == 0 ? 0 : totalMicros.sum() / requests);
+        summary.put("p50_us", percentile(0.50));
+        summary.put("p90_us", percentile(0.90));
+        summary.put("p99_us", percentile(0.99));
+        summary.put("max_us", maxMicros.get());
+        return summary;
+    }
+
+    static int index(long micros) {
+        if (micros < SUB_BUCKETS) {
+            return (int) micros;
+        }
+        int bits = 64 - Long.numberOfLeadingZeros(micros);
+        if (bits > MAX_BITS) {
+            return SUB_BUCKETS + (MAX_BITS - SUB_BITS) * SUB_BUCKETS - 1;
+        }
+        // Keep the leading one and the next SUB_BITS bits
+        int shift = bits - SUB_BITS - 1;
+        return SUB_BUCKETS + shift * SUB_BUCKETS + (int) (micros >>> shift) - SUB_BUCKETS;
+    }
+
+    static long upperBound(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int shift = (index - SUB_BUCKETS) / SUB_BUCKETS;
+        long lower = (long) (SUB_BUCKETS + (index - SUB_BUCKETS) % SUB_BUCKETS) << shift;
+        return lower + (1L << shift) - 1;
+    }
+}
@@ -0,0 +1,181 @@
+package com.foodorder.app;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+import com.foodorder.config.DatabaseConnection;
+import com.foodorder.config.UnitOfWork;
+
+/**
+ * Synthetic dataset generator for benchmarks and load tests.
+ * Appends customers, employees, categories, menu items and historical orders with
+ * set-based INSERT ... SELECT generate_series statements, so large volumes load in
+ * seconds. Names carry a per-run tag to stay clear of the UNIQUE constraints, and
+ * the same random seed produces the same data.
+ *
+ * Usage: DatasetSeeder [customers] [employees] [categories] [menuItems] [orders] [maxItemsPerOrder]
+ */
+public class DatasetSeeder {
+
+    // Orders are inserted in chunks to keep each transaction a reasonable size
+    private static final int ORDER_CHUNK = 10_000;
+
+    private int customers = 1_000;
+    private int employees = 50;
+    private int categories = 10;
+    private int menuItems = 200;
+    private int orders = 50_000;
+    private int maxItemsPerOrder = 6;
+    private double randomSeed = 0.42;
+
+    public DatasetSeeder customers(int customers) {
+        this.customers = customers;
+        return this;
+    }
+
+    public DatasetSeeder employees(int employees) {
+        this.employees = employees;
+        return this;
+    }
+
+    public DatasetSeeder categories(int categories) {
+        this.categories = categories;
+        return this;
+    }
+
+    public DatasetSeeder menuItems(int menuItems) {
+        this.menuItems = menuItems;
+        return this;
+    }
+
+    public DatasetSeeder orders(int orders) {
+        this.orders = orders;
+        return this;
+    }
+
+    public DatasetSeeder maxItemsPerOrder(int maxItemsPerOrder) {
+        this.maxItemsPerOrder = maxItemsPerOrder;
+        return this;
+    }
+
+    /**
+     * Seed for PostgreSQL random(), between -1 and 1
+     */
+    public DatasetSeeder randomSeed(double randomSeed) {
+        this.randomSeed = randomSeed;
+        return this;
+    }
+
+    /**
+     * Insert the configured volumes; historical orders are COMPLETED or CANCELLED
+     * and spread over the last 90 days
+     */
+    public void seed() throws SQLException {
+        if (maxItemsPerOrder <= 0 || (menuItems <= 0 && orders > 0)) {
+            throw new IllegalArgumentException("Orders need at least one menu item and one line");
+        }
+        String tag = Long.toString(System.currentTimeMillis(), 36);
+
+        UnitOfWork.inTransaction(connection -> {
+            execute(connection, "SELECT setseed(?)", randomSeed);
+
+            execute(connection, """
+                INSERT INTO Category (name)
+                SELECT 'Category ' || g || ' ' || ? FROM generate_series(1, ?) g
+                """, tag, categories);
+
+            execute(connection, """
+                INSERT INTO MenuItem (category_id, item_name, current_price, is_active)
+                SELECT c.ids[1 + g % array_length(c.ids, 1)],
+                       'Dish ' || g || ' ' || ?,
+                       round((4 + random() * 36)::numeric, 2),
+                       random() > 0.05
+                FROM generate_series(1, ?) g,
+                     (SELECT array_agg(category_id) AS ids FROM Category) c
+                """, tag, menuItems);
+
+            execute(connection, """
+                INSERT INTO Customer (name, email, phone)
+                SELECT 'Customer ' || g, 'seed-' || ? || '-' || g || '@example.com',
+                       '555-' || lpad((g % 10000)::text, 4, '0')
+                FROM generate_series(1, ?) g
+                """, tag, customers);
+
+            execute(connection, """
+                INSERT INTO Employee (name, phone, availability_status)
+                SELECT 'Employee ' || g || ' ' || ?, '555-' || lpad((g % 10000)::text, 4, '0'),
+                       random() > 0.3
+                FROM generate_series(1, ?) g
+                """, tag, employees);
+            return null;
+        });
+
+        for (int done = 0; done < orders; done += ORDER_CHUNK) {
+            int chunk = Math.min(ORDER_CHUNK, orders - done);
+            // random() state is per session, so each chunk re-seeds with its own value
+            double chunkSeed = (randomSeed + 1 + (done / ORDER_CHUNK + 1) * 0.0137) % 2 - 1;
+            UnitOfWork.inTransaction(connection -> {
+                execute(connection, "SELECT setseed(?)", chunkSeed);
+                // Lines are inserted in the same statement; the OrderItem trigger fills in the totals
+                execute(connection, """
+                    WITH pools AS (
+                        SELECT (SELECT array_agg(customer_id) FROM Customer) AS customers,
+                               (SELECT array_agg(employee_id) FROM Employee) AS employees,
+                               (SELECT array_agg(item_id) FROM MenuItem WHERE is_active = TRUE) AS items
+                    ),
+                    new_orders AS (
+                        INSERT INTO Orders (customer_id, employee_id, order_time, total_amount, current_status)
+                        SELECT p.customers[1 + floor(random() * array_length(p.customers, 1))::int],
+                               p.employees[1 + floor(random() * array_length(p.employees, 1))::int],
+                               CURRENT_TIMESTAMP - random() * INTERVAL '90 days',
+                               0,
+                               CASE WHEN random() < 0.9 THEN 'COMPLETED' ELSE 'CANCELLED' END
+                        FROM generate_series(1, ?) g, pools p
+                        RETURNING order_id
+                    )
+                    INSERT INTO OrderItem (order_id, item_id, quantity)
+                    SELECT DISTINCT ON (o.order_id, line.item_id) o.order_id, line.item_id, line.quantity
+                    FROM new_orders o
+                    CROSS JOIN LATERAL (
+                        SELECT p.items[1 + floor(random() * array_length(p.items, 1))::int] AS item_id,
+                               1 + floor(random() * 3)::int AS quantity
+                        FROM pools p, generate_series(1, 1 + floor(random() * ? + o.order_id * 0)::int)
+                    ) line
+                    """, chunk, maxItemsPerOrder);
+                return null;
+            });
+        }
+    }
+
+    private static void execute(Connection connection, String sql, Object... params) throws SQLException {
+        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+            for (int i = 0; i < params.length; i++) {
+                stmt.setObject(i + 1, params[i]);
+            }
+            stmt.execute();
+        }
+    }
+
+    public static void main(String[] args) {
+        DatasetSeeder seeder = new DatasetSeeder();
+        if (args.length > 0) seeder.customers(Integer.parseInt(args[0]));
+        if (args.length > 1) seeder.employees(Integer.parseInt(args[1]));
+        if (args.length > 2) seeder.categories(Integer.parseInt(args[2]));
+        if (args.length > 3) seeder.menuItems(Integer.parseInt(args[3]));
+        if (args.length > 4) seeder.orders(Integer.parseInt(args[4]));
+        if (args.length > 5) seeder.maxItemsPerOrder(Integer.parseInt(args[5]));
+
+        long start = System.nanoTime();
+        try {
+            seeder.seed();
+            System.out.printf("Seeded %d customers, %d employees, %d categories, %d menu items, %d orders in %d ms%n",
+                seeder.customers, seeder.employees, seeder.categories, seeder.menuItems, seeder.orders,
+                (System.nanoTime() - start) / 1_000_000);
+        } catch (SQLException e) {
+            System.err.println("Seeding failed: " + e.getMessage());
+        } finally {
+            DatabaseConnection.getInstance().closeConnection();
+        }
+    }
+}
@@ -0,0 +1,246 @@
+package com.foodorder.app;
+
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.IntSupplier;
+
+import com.foodorder.config.DatabaseConnection;
+import com.foodorder.dao.CustomerDAO;
+import com.foodorder.model.Customer;
+import com.foodorder.model.MenuItem;
+import com.foodorder.service.MenuCatalog;
+import com.foodorder.service.OrderService;
+import com.foodorder.service.ServiceExecutor;
+
+/**
+ * Dinner-rush load generator for capacity planning.
+ * Optionally seeds a synthetic history first, then starts order flows at a rate that
+ * rises from a quarter of the peak to the peak at mid-run and falls back again. Each
+ * flow creates an order, adds 1-6 items one call at a time, and walks it through the
+ * kitchen statuses (one in ten is cancelled instead). Flows are scheduled open-loop,
+ * so a slow database shows up as queueing delay rather than as a lower offered rate.
+ * Flows run on the shared ServiceExecutor and every call holds one of its database
+ * permits, so concurrency is bounded by the connection pool, as in the API server.
+ *
+ * Usage: LoadGenerator [peakFlowsPerSecond] [durationSeconds] [seedOrders]
+ */
+public class LoadGenerator {
+
+    private static final String[] OPERATIONS = { "createOrder", "addOrderItem", "updateOrderStatus", "flow" };
+    private static final int MAX_ITEMS_PER_ORDER = 6;
+
+    // Longest a call waits for a database permit; a call that times out counts as an error
+    private static final long DATABASE_WAIT_SECONDS = 30;
+
+    private final OrderService orderService = new OrderService();
+    private final ServiceExecutor services = ServiceExecutor.getInstance();
+    private final Map<String, LatencyRecorder> recorders = new LinkedHashMap<>();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private int[] customerIds;
+    private int[] itemIds;
+
+    public LoadGenerator() {
+        for (String operation : OPERATIONS) {
+            recorders.put(operation, new LatencyRecorder());
+        }
+    }
+
+    public static void main(String[] args) {
+        double peakRate = args.length > 0 ? Double.parseDouble(args[0]) : 20;
+        int durationSeconds = args.length > 1 ? Integer.parseInt(args[1]) : 60;
+        int seedOrders = args.length > 2 ? Integer.parseInt(args[2]) : 0;
+
+        try {
+            if (seedOrders > 0) {
+                long start = System.nanoTime();
+                new DatasetSeeder()
+                    .customers(Math.max(100, seedOrders / 20))
+                    .orders(seedOrders)
+                    .seed();
+                System.out.printf("Seeded %d historical orders in %d ms%n",
+                    seedOrders, (System.nanoTime() - start) / 1_000_000);
+            }
+            new LoadGenerator().run(peakRate, durationSeconds);
+        } catch (SQLException e) {
+            System.err.println("Seeding failed: " + e.getMessage());
+        } finally {
+            DatabaseConnection.getInstance().closeConnection();
+        }
+    }
+
+    /**
+     * Drive order flows for the given duration and print the report
+     */
+    public void run(double peakRate, int durationSeconds) {
+        List<Customer> customers = new CustomerDAO().getAllCustomers();
+        List<MenuItem> items = MenuCatalog.getInstance().getAllAvailableMenuItems();
+        if (customers.isEmpty() || items.isEmpty()) {
+            throw new IllegalStateException("Load generation needs customers and available menu items");
+        }
+        customerIds = customers.stream().mapToInt(Customer::getCustomerId).toArray();
+        itemIds = items.stream().mapToInt(MenuItem::getItemId).toArray();
+
+        System.out.printf("Driving up to %.1f flows/s for %d s (%s threads)%n", peakRate, durationSeconds,
+            services.usesVirtualThreads() ? "virtual" : "platform");
+        long runStart = System.nanoTime();
+        long runNanos = TimeUnit.SECONDS.toNanos(durationSeconds);
+        int scheduled = 0;
+        long nextStart = runStart;
+
+        while (nextStart - runStart < runNanos) {
+            long intendedStart = nextStart;
+            LockSupport.parkNanos(intendedStart - System.nanoTime());
+            inFlight.incrementAndGet();
+            services.execute(() -> runFlow(intendedStart));
+            scheduled++;
+
+            double progress = (double) (intendedStart - runStart) / runNanos;
+            nextStart += (long) (1_000_000_000L / rateAt(progress, peakRate));
+        }
+
+        // The executor is shared, so wait for this run's flows rather than shutting it down
+        long drainDeadline = System.nanoTime() + TimeUnit.MINUTES.toNanos(5);
+        while (inFlight.get() > 0 && System.nanoTime() < drainDeadline && !Thread.currentThread().isInterrupted()) {
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(10));
+        }
+        if (inFlight.get() > 0) {
+            System.err.println("Flows still running after 5 minutes: " + inFlight.get());
+        }
+
+        printReport(scheduled, (System.nanoTime() - runStart) / 1e9);
+    }
+
+    /**
+     * Offered rate at a point of the run (0..1): a quarter of the peak at the edges, the peak mid-run
+     */
+    static double rateAt(double progress, double peakRate) {
+        double rush = Math.sin(Math.PI * Math.min(Math.max(progress, 0), 1));
+        return peakRate * (0.25 + 0.75 * rush);
+    }
+
+    /**
+     * One customer order from creation to completion or cancellation
+     */
+    private void runFlow(long intendedStart) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        boolean ok = false;
+        try {
+            int customerId = customerIds[random.nextInt(customerIds.length)];
+            int orderId = time("createOrder", () -> orderService.createOrderWithAutoAssignment(customerId));
+            if (orderId <= 0) {
+                return;
+            }
+
+            int lines = 1 + random.nextInt(MAX_ITEMS_PER_ORDER);
+            for (int i = 0; i < lines; i++) {
+                int itemId = itemIds[random.nextInt(itemIds.length)];
+                int quantity = 1 + random.nextInt(3);
+                time("addOrderItem", () -> orderService.addOrderItem(orderId, itemId, quantity) ? 1 : 0);
+            }
+
+            String[] path = random.nextInt(10) == 0
+                ? new String[] { "CANCELLED" }
+                : new String[] { "ACCEPTED", "PREPARING", "COMPLETED" };
+            for (String status : path) {
+                time("updateOrderStatus", () -> orderService.updateOrderStatus(orderId, status) ? 1 : 0);
+            }
+            ok = true;
+        } catch (RuntimeException e) {
+            // Already counted against the failing operation
+        } finally {
+            // Measured from the intended start, so time spent queued for a worker counts too
+            recorders.get("flow").record(System.nanoTime() - intendedStart, ok);
+            inFlight.decrementAndGet();
+        }
+    }
+
+    /**
+     * Time one operation, waiting for a database permit included;
+     * a non-positive result, an exception or no permit in time counts as an error
+     */
+    private int time(String operation, IntSupplier call) {
+        long start = System.nanoTime();
+        try {
+            int result = services.withDatabasePermit(call::getAsInt, DATABASE_WAIT_SECONDS, TimeUnit.SECONDS);
+            recorders.get(operation).record(System.nanoTime() - start, result > 0);
+            return result;
+        } catch (RuntimeException e) {
+            recorders.get(operation).record(System.nanoTime() - start, false);
+            throw e;
+        } catch (TimeoutException e) {
+            recorders.get(operation).record(System.nanoTime() - start, false);
+            throw new IllegalStateException(e.getMessage(), e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            recorders.get(operation).record(System.nanoTime() - start, false);
+            throw new IllegalStateException("Interrupted", e);
+        }
+    }
+
+    private void printReport(int scheduled, double elapsedSeconds) {
+        System.out.println("\n" + "=".repeat(84));
+        System.out.printf("  %d flows scheduled in %.1f s%n", scheduled, elapsedSeconds);
+        System.out.println("=".repeat(84));
+        System.out.printf("%-18s %10s %10s %9s %10s %10s %10s%n",
+            "Operation", "Count", "Ops/s", "Errors", "p50 ms", "p99 ms", "Max ms");
+        System.out.println("-".repeat(84));
+        for (Map.Entry<String, LatencyRecorder> entry : recorders.entrySet()) {
+            LatencyRecorder recorder = entry.getValue();
+            long[] latencies = recorder.snapshot();
+            Arrays.sort(latencies);
+            System.out.printf("%-18s %10d %10.1f %8.2f%% %10.2f %10.2f %10.2f%n",
+                entry.getKey(),
+                latencies.length,
+                latencies.length / elapsedSeconds,
+                latencies.length == 0 ? 0.0 : 100.0 * recorder.errors() / latencies.length,
+                percentile(latencies, 0.50),
+                percentile(latencies, 0.99),
+                latencies.length == 0 ? 0.0 : latencies[latencies.length - 1] / 1e6);
+        }
+        System.out.println("-".repeat(84));
+        System.out.println(DatabaseConnection.getInstance().getPoolStats());
+    }
+
+    private static double percentile(long[] sorted, double fraction) {
+        if (sorted.length == 0) {
+            return 0.0;
+        }
+        int index = (int) Math.ceil(fraction * sorted.length) - 1;
+        return sorted[Math.max(index, 0)] / 1e6;
+    }
+
+    /**
+     * Latency samples in nanoseconds and error count for one operation
+     */
+    private static class LatencyRecorder {
+        private long[] samples = new long[1024];
+        private int count;
+        private int errors;
+
+        synchronized void record(long nanos, boolean ok) {
+            if (count == samples.length) {
+                samples = Arrays.copyOf(samples, count * 2);
+            }
+            samples[count++] = nanos;
+            if (!ok) {
+                errors++;
+            }
+        }
+
+        synchronized long[] snapshot() {
+            return Arrays.copyOf(samples, count);
+        }
+
+        synchronized int errors() {
+            return errors;
+        }
+    }
+}
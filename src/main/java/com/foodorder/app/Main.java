@@ -7,10 +7,12 @@ import com.foodorder.controller.CustomerController;
 import com.foodorder.controller.EmployeeController;
 import com.foodorder.controller.MenuController;
 import com.foodorder.controller.OrderController;
+import com.foodorder.model.SystemStats;
 import com.foodorder.service.CustomerService;
 import com.foodorder.service.EmployeeService;
 import com.foodorder.service.MenuService;
 import com.foodorder.service.OrderService;
+import com.foodorder.service.SystemStatsService;
 
 /**
  * Restaurant order system main class
@@ -23,7 +25,7 @@ public class Main {
         
         // Test database connection
         try {
-            DatabaseConnection.getInstance().getConnection();
+            DatabaseConnection.getInstance().checkConnection();
             System.out.println("Database connection successful!");
         } catch (Exception e) {
             System.err.println("Database connection failed: " + e.getMessage());
@@ -116,16 +118,17 @@ public class Main {
             EmployeeService employeeService = new EmployeeService();
             OrderService orderService = new OrderService();
             
-            // Basic statistics
-            System.out.println("\nSystem Overview:");
-            System.out.println("  \u2022 Menu categories: " + menuService.getTotalCategoryCount());
-            System.out.println("  \u2022 Available menu items: " + menuService.getTotalMenuItemCount());
-            System.out.println("  \u2022 Registered customers: " + customerService.getTotalCustomerCount());
-            System.out.println("  \u2022 Total employees: " + employeeService.getTotalEmployeeCount());
-            System.out.println("  \u2022 Available employees: " + employeeService.getAvailableEmployeeCount());
-            System.out.println("  \u2022 Total orders: " + orderService.getTotalOrderCount());
-            System.out.println("  \u2022 Pending orders: " + orderService.getOrderCountByStatus("PENDING"));
-            System.out.println("  \u2022 Completed orders: " + orderService.getOrderCountByStatus("COMPLETED"));
+            // Basic statistics, all from one aggregate query; the console always shows live counts
+            SystemStats stats = SystemStatsService.getInstance().refresh();
+            System.out.println("\nSystem Overview (as of " + stats.getCapturedAt() + "):");
+            System.out.println("  \u2022 Menu categories: " + stats.getCategoryCount());
+            System.out.println("  \u2022 Available menu items: " + stats.getAvailableMenuItemCount());
+            System.out.println("  \u2022 Registered customers: " + stats.getCustomerCount());
+            System.out.println("  \u2022 Total employees: " + stats.getEmployeeCount());
+            System.out.println("  \u2022 Available employees: " + stats.getAvailableEmployeeCount());
+            System.out.println("  \u2022 Total orders: " + stats.getTotalOrderCount());
+            System.out.println("  \u2022 Pending orders: " + stats.getOrderCount("PENDING"));
+            System.out.println("  \u2022 Completed orders: " + stats.getOrderCount("COMPLETED"));
             
             // Detailed statistics
             menuService.printMenuStatistics();
@@ -134,6 +137,9 @@ public class Main {
             orderService.printOrderStatistics();
             orderService.printTodayOrderStatistics();
             
+            System.out.println("\n=== Connection Pool ===");
+            System.out.println(DatabaseConnection.getInstance().getPoolStats());
+            
         } catch (Exception e) {
             System.err.println("Error occurred while getting statistics: " + e.getMessage());
         }
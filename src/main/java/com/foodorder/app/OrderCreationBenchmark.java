@@ -0,0 +1,95 @@
+package com.foodorder.app;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.foodorder.config.DatabaseConnection;
+import com.foodorder.service.OrderService;
+
+/**
+ * Compares per-order latency of item-by-item order creation against createOrderWithItems,
+ * then shows how the cost per order line scales with order size.
+ * Runs against the seeded restaurant_db data and deletes the orders it creates.
+ *
+ * Usage: OrderCreationBenchmark [orders] [itemsPerOrder]
+ */
+public class OrderCreationBenchmark {
+
+    private static final int CUSTOMER_ID = 1;
+    private static final int WARMUP_ORDERS = 20;
+    private static final int[] ORDER_SIZES = { 1, 5, 10, 20, 30 };
+
+    public static void main(String[] args) {
+        int orders = args.length > 0 ? Integer.parseInt(args[0]) : 200;
+        int itemsPerOrder = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+
+        OrderService orderService = new OrderService();
+        Map<Integer, Integer> items = new LinkedHashMap<>();
+        for (int itemId = 1; itemId <= itemsPerOrder; itemId++) {
+            items.put(itemId, 1 + itemId % 3);
+        }
+
+        System.out.println("=".repeat(70));
+        System.out.printf("  Order creation benchmark: %d orders x %d items%n", orders, itemsPerOrder);
+        System.out.println("=".repeat(70));
+
+        // Warm up both paths
+        run(orderService, items, WARMUP_ORDERS, false);
+        run(orderService, items, WARMUP_ORDERS, true);
+
+        double legacyMillis = run(orderService, items, orders, false);
+        double batchedMillis = run(orderService, items, orders, true);
+
+        System.out.printf("%-40s %10.3f ms/order%n", "createOrder + addOrderItem per item", legacyMillis);
+        System.out.printf("%-40s %10.3f ms/order%n", "createOrderWithItems", batchedMillis);
+        System.out.printf("%-40s %10.2fx%n", "Speedup", legacyMillis / batchedMillis);
+
+        // Cost per line should stay flat as orders grow (seed data has 30 menu items)
+        System.out.println("\n" + "-".repeat(70));
+        System.out.printf("%-12s %15s %15s%n", "Order lines", "ms/order", "ms/line");
+        System.out.println("-".repeat(70));
+        for (int size : ORDER_SIZES) {
+            Map<Integer, Integer> sizedItems = new LinkedHashMap<>();
+            for (int itemId = 1; itemId <= size; itemId++) {
+                sizedItems.put(itemId, 1);
+            }
+            double millisPerOrder = run(orderService, sizedItems, orders, true);
+            System.out.printf("%-12d %15.3f %15.4f%n", size, millisPerOrder, millisPerOrder / size);
+        }
+        System.out.println("-".repeat(70));
+        System.out.println(DatabaseConnection.getInstance().getPoolStats());
+
+        DatabaseConnection.getInstance().closeConnection();
+    }
+
+    /**
+     * Create the given number of orders and return the average milliseconds per order
+     */
+    private static double run(OrderService orderService, Map<Integer, Integer> items, int orders, boolean batched) {
+        List<Integer> createdOrderIds = new ArrayList<>(orders);
+
+        long start = System.nanoTime();
+        for (int i = 0; i < orders; i++) {
+            int orderId;
+            if (batched) {
+                orderId = orderService.createOrderWithItems(CUSTOMER_ID, items);
+            } else {
+                orderId = orderService.createOrderWithAutoAssignment(CUSTOMER_ID);
+                for (Map.Entry<Integer, Integer> entry : items.entrySet()) {
+                    orderService.addOrderItem(orderId, entry.getKey(), entry.getValue());
+                }
+            }
+            createdOrderIds.add(orderId);
+        }
+        long elapsed = System.nanoTime() - start;
+
+        // Cleanup benchmark orders
+        for (int orderId : createdOrderIds) {
+            orderService.deleteOrder(orderId);
+        }
+
+        return elapsed / 1_000_000.0 / orders;
+    }
+}
@@ -0,0 +1,47 @@
+package com.foodorder.app;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import com.foodorder.config.DatabaseConnection;
+import com.foodorder.service.OrderExportService;
+
+/**
+ * Nightly reconciliation export of all orders and their lines.
+ * Writes to a file rather than standard output, which also carries connection messages.
+ *
+ * Usage: OrderExport <csv|ndjson> <file> [fetchSize]
+ */
+public class OrderExport {
+
+    public static void main(String[] args) {
+        if (args.length < 2 || !("csv".equals(args[0]) || "ndjson".equals(args[0]))) {
+            System.err.println("Usage: OrderExport <csv|ndjson> <file> [fetchSize]");
+            System.exit(2);
+        }
+        String format = args[0];
+        Path file = Path.of(args[1]);
+        int fetchSize = args.length > 2 ? Integer.parseInt(args[2]) : OrderExportService.DEFAULT_FETCH_SIZE;
+
+        OrderExportService exportService = new OrderExportService(fetchSize);
+        long start = System.nanoTime();
+
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(file))) {
+            int count = "csv".equals(format)
+                ? exportService.exportCsv(new OutputStreamWriter(out, StandardCharsets.UTF_8))
+                : exportService.exportNdjson(out);
+            System.out.printf("Exported %d orders as %s to %s in %d ms%n",
+                count, format, file, (System.nanoTime() - start) / 1_000_000);
+        } catch (IOException e) {
+            System.err.println("Export failed: " + e.getMessage());
+            System.exit(1);
+        } finally {
+            DatabaseConnection.getInstance().closeConnection();
+        }
+    }
+}
@@ -24,7 +24,7 @@ public class TestNewMethods {
         
         // Test database connection
         try {
-            DatabaseConnection.getInstance().getConnection();
+            DatabaseConnection.getInstance().checkConnection();
             System.out.println("✓ Database connection successful!\n");
         } catch (Exception e) {
             System.err.println("✗ Database connection failed: " + e.getMessage());
@@ -398,15 +398,13 @@ public class TestNewMethods {
      */
     private static void cleanupTestItem(int itemId) {
         if (itemId > 0) {
-            try {
-                java.sql.Connection conn = DatabaseConnection.getInstance().getConnection();
-                String sql = "DELETE FROM MenuItem WHERE item_id = ?";
-                try (java.sql.PreparedStatement stmt = conn.prepareStatement(sql)) {
-                    stmt.setInt(1, itemId);
-                    int deleted = stmt.executeUpdate();
-                    if (deleted > 0) {
-                        System.out.println("\n  [Cleanup] Deleted test item ID: " + itemId);
-                    }
+            String sql = "DELETE FROM MenuItem WHERE item_id = ?";
+            try (java.sql.Connection conn = DatabaseConnection.getInstance().borrowConnection();
+                 java.sql.PreparedStatement stmt = conn.prepareStatement(sql)) {
+                stmt.setInt(1, itemId);
+                int deleted = stmt.executeUpdate();
+                if (deleted > 0) {
+                    System.out.println("\n  [Cleanup] Deleted test item ID: " + itemId);
                 }
             } catch (Exception e) {
                 System.err.println("  [Cleanup] Warning: " + e.getMessage());
@@ -0,0 +1,672 @@
+package com.foodorder.config;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded JDBC connection pool
+ * Hands out leased connections whose close() returns them to the pool,
+ * validates on borrow, evicts idle connections and recycles old ones.
+ * Each physical connection keeps its most recently used prepared statements, keyed by
+ * SQL text and result set type/concurrency, so a DAO that prepares the same SQL again gets
+ * the already parsed statement back; with the driver's prepareThreshold reached it also
+ * skips server-side parse/plan. Every checkout gets its own statement proxy, which stops
+ * working once it is closed or its connection goes back to the pool.
+ */
+public class ConnectionPool {
+
+    private final String url;
+    private final String username;
+    private final String password;
+    private final int maxConnections;
+    private final int minConnections;
+    private final long connectionTimeoutMillis;
+    private final long idleTimeoutMillis;
+    private final long maxLifetimeMillis;
+    private final int validationTimeoutSeconds;
+    private final int statementCacheSize;
+    private final int prepareThreshold;
+
+    // Fair semaphore bounds total leases and serves waiters in arrival order
+    private final Semaphore permits;
+    private final LinkedBlockingDeque<PhysicalConnection> idleConnections = new LinkedBlockingDeque<>();
+    private final ScheduledExecutorService housekeeper;
+    private volatile boolean shutdown;
+
+    // Metrics
+    private final AtomicInteger totalConnections = new AtomicInteger();
+    private final AtomicInteger activeConnections = new AtomicInteger();
+    private final AtomicInteger peakActiveConnections = new AtomicInteger();
+    private final AtomicLong borrowCount = new AtomicLong();
+    private final AtomicLong totalWaitNanos = new AtomicLong();
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+    private final AtomicLong timeoutCount = new AtomicLong();
+    private final AtomicLong createdCount = new AtomicLong();
+    private final AtomicLong closedCount = new AtomicLong();
+    private final AtomicLong validationFailureCount = new AtomicLong();
+    private final AtomicLong statementCacheHits = new AtomicLong();
+    private final AtomicLong statementCacheMisses = new AtomicLong();
+    private final AtomicLong statementCacheEvictions = new AtomicLong();
+
+    public ConnectionPool(String url, String username, String password,
+                          int maxConnections, int minConnections, long connectionTimeoutMillis,
+                          long idleTimeoutMillis, long maxLifetimeMillis, int validationTimeoutSeconds,
+                          int statementCacheSize, int prepareThreshold) {
+        if (maxConnections <= 0) {
+            throw new IllegalArgumentException("maxConnections must be greater than 0");
+        }
+        this.url = url;
+        this.username = username;
+        this.password = password;
+        this.maxConnections = maxConnections;
+        this.minConnections = Math.max(0, Math.min(minConnections, maxConnections));
+        this.connectionTimeoutMillis = connectionTimeoutMillis;
+        this.idleTimeoutMillis = idleTimeoutMillis;
+        this.maxLifetimeMillis = maxLifetimeMillis;
+        this.validationTimeoutSeconds = validationTimeoutSeconds;
+        this.statementCacheSize = Math.max(0, statementCacheSize);
+        this.prepareThreshold = prepareThreshold;
+        this.permits = new Semaphore(maxConnections, true);
+
+        this.housekeeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "connection-pool-housekeeper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long period = Math.max(1000L, Math.min(idleTimeoutMillis, maxLifetimeMillis) / 2);
+        housekeeper.scheduleWithFixedDelay(this::evictConnections, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Open connections up to the configured minimum
+     */
+    public void warmUp() throws SQLException {
+        while (totalConnections.get() < minConnections && !shutdown) {
+            PhysicalConnection physical = createConnection();
+            idleConnections.offerLast(physical);
+        }
+    }
+
+    /**
+     * Borrow a connection, waiting up to the connection timeout for a free slot.
+     * Closing the returned connection gives it back to the pool.
+     */
+    public Connection borrowConnection() throws SQLException {
+        if (shutdown) {
+            throw new SQLException("Connection pool has been shut down");
+        }
+
+        long start = System.nanoTime();
+        try {
+            if (!permits.tryAcquire(connectionTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                timeoutCount.incrementAndGet();
+                throw new SQLException("Timed out after " + connectionTimeoutMillis
+                        + "ms waiting for a database connection");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a database connection", e);
+        }
+        recordWait(System.nanoTime() - start);
+
+        try {
+            PhysicalConnection physical = takeUsableConnection();
+            int active = activeConnections.incrementAndGet();
+            peakActiveConnections.accumulateAndGet(active, Math::max);
+            borrowCount.incrementAndGet();
+            return physical.lease();
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Take a validated idle connection, or open a new one if none is usable
+     */
+    private PhysicalConnection takeUsableConnection() throws SQLException {
+        PhysicalConnection physical;
+        while ((physical = idleConnections.pollFirst()) != null) {
+            if (physical.isExpired(System.currentTimeMillis())) {
+                destroy(physical);
+                continue;
+            }
+            if (!physical.isUsable()) {
+                validationFailureCount.incrementAndGet();
+                destroy(physical);
+                continue;
+            }
+            return physical;
+        }
+        return createConnection();
+    }
+
+    private PhysicalConnection createConnection() throws SQLException {
+        Properties props = new Properties();
+        props.setProperty("user", username);
+        props.setProperty("password", password);
+        // Executions of the same statement before the driver switches to a named server-side statement
+        props.setProperty("prepareThreshold", Integer.toString(prepareThreshold));
+        Connection raw = DriverManager.getConnection(url, props);
+        totalConnections.incrementAndGet();
+        createdCount.incrementAndGet();
+        return new PhysicalConnection(raw);
+    }
+
+    /**
+     * Return a leased connection to the pool, resetting its transaction state
+     */
+    private void release(PhysicalConnection physical) {
+        activeConnections.decrementAndGet();
+        try {
+            boolean reusable = !shutdown && !physical.isExpired(System.currentTimeMillis())
+                    && physical.resetState();
+            if (reusable) {
+                physical.lastUsedAt = System.currentTimeMillis();
+                idleConnections.offerFirst(physical);
+            } else {
+                destroy(physical);
+            }
+        } finally {
+            permits.release();
+        }
+    }
+
+    private void destroy(PhysicalConnection physical) {
+        totalConnections.decrementAndGet();
+        closedCount.incrementAndGet();
+        try {
+            physical.raw.close();
+        } catch (SQLException e) {
+            System.err.println("Error closing pooled connection: " + e.getMessage());
+        }
+    }
+
+    private void recordWait(long waitNanos) {
+        totalWaitNanos.addAndGet(waitNanos);
+        maxWaitNanos.accumulateAndGet(waitNanos, Math::max);
+    }
+
+    /**
+     * Housekeeping: retire connections past max lifetime and trim idle ones down to the minimum
+     */
+    private void evictConnections() {
+        long now = System.currentTimeMillis();
+        // Oldest idle connections sit at the tail of the deque
+        Iterator<PhysicalConnection> iterator = idleConnections.descendingIterator();
+        while (iterator.hasNext()) {
+            PhysicalConnection physical = iterator.next();
+            boolean expired = physical.isExpired(now);
+            boolean idleTooLong = now - physical.lastUsedAt > idleTimeoutMillis
+                    && totalConnections.get() > minConnections;
+            if ((expired || idleTooLong) && idleConnections.remove(physical)) {
+                destroy(physical);
+            }
+        }
+    }
+
+    /**
+     * Close all idle connections and refuse further borrows.
+     * Connections still leased are closed when they are returned.
+     */
+    public void shutdown() {
+        shutdown = true;
+        housekeeper.shutdownNow();
+        List<PhysicalConnection> drained = new ArrayList<>();
+        idleConnections.drainTo(drained);
+        for (PhysicalConnection physical : drained) {
+            destroy(physical);
+        }
+    }
+
+    public boolean isShutdown() {
+        return shutdown;
+    }
+
+    /**
+     * Snapshot of pool usage and wait-time metrics
+     */
+    public Stats getStats() {
+        long borrows = borrowCount.get();
+        return new Stats(
+            maxConnections,
+            totalConnections.get(),
+            activeConnections.get(),
+            idleConnections.size(),
+            permits.getQueueLength(),
+            peakActiveConnections.get(),
+            borrows,
+            borrows == 0 ? 0 : totalWaitNanos.get() / borrows / 1000,
+            maxWaitNanos.get() / 1000,
+            timeoutCount.get(),
+            createdCount.get(),
+            closedCount.get(),
+            validationFailureCount.get(),
+            statementCacheHits.get(),
+            statementCacheMisses.get(),
+            statementCacheEvictions.get()
+        );
+    }
+
+    /**
+     * A physical database connection owned by the pool
+     */
+    private class PhysicalConnection {
+        private final Connection raw;
+        private final long createdAt = System.currentTimeMillis();
+        private volatile long lastUsedAt = createdAt;
+
+        // Least recently used statement is evicted first; only the lessee touches it
+        private final Map<StatementKey, CachedStatement> statements = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<StatementKey, CachedStatement> eldest) {
+                if (size() <= statementCacheSize) {
+                    return false;
+                }
+                statementCacheEvictions.incrementAndGet();
+                eldest.getValue().evict();
+                return true;
+            }
+        };
+
+        PhysicalConnection(Connection raw) {
+            this.raw = raw;
+        }
+
+        /**
+         * Prepare through the cache: reuse an idle statement for the same SQL and options,
+         * or prepare a new one. A statement already in use (same SQL prepared twice in one
+         * lease) gets an uncached sibling, and so do the generated-keys and holdability
+         * variants, which are not cached.
+         */
+        PreparedStatement prepareCached(LeaseHandler lease, Connection connection, Method method, Object[] args)
+                throws Throwable {
+            StatementKey key = StatementKey.of(args);
+            CachedStatement cached = key == null ? null : statements.get(key);
+            if (cached != null && !cached.inUse) {
+                statementCacheHits.incrementAndGet();
+                return cached.checkOut(lease, connection);
+            }
+
+            statementCacheMisses.incrementAndGet();
+            PreparedStatement statement;
+            try {
+                statement = (PreparedStatement) method.invoke(raw, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+            if (key == null || cached != null) {
+                return statement;
+            }
+            cached = new CachedStatement(this, key, statement);
+            statements.put(key, cached);
+            return cached.checkOut(lease, connection);
+        }
+
+        boolean isExpired(long now) {
+            return now - createdAt > maxLifetimeMillis;
+        }
+
+        boolean isUsable() {
+            try {
+                return raw.isValid(validationTimeoutSeconds);
+            } catch (SQLException e) {
+                return false;
+            }
+        }
+
+        /**
+         * Roll back anything left open by the borrower and restore defaults
+         */
+        boolean resetState() {
+            try {
+                if (raw.isClosed()) {
+                    return false;
+                }
+                if (!raw.getAutoCommit()) {
+                    raw.rollback();
+                    raw.setAutoCommit(true);
+                }
+                raw.clearWarnings();
+                return true;
+            } catch (SQLException e) {
+                System.err.println("Discarding pooled connection: " + e.getMessage());
+                return false;
+            }
+        }
+
+        Connection lease() {
+            return (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(),
+                new Class<?>[] { Connection.class },
+                new LeaseHandler(this)
+            );
+        }
+    }
+
+    /**
+     * Proxy handler for a single lease: close() closes the cached statements it still
+     * has checked out and hands the connection back, exactly once
+     */
+    private class LeaseHandler implements InvocationHandler {
+        private final PhysicalConnection physical;
+        // Only the lessee touches these
+        private final List<StatementHandler> openStatements = new ArrayList<>();
+        private volatile boolean closed;
+
+        LeaseHandler(PhysicalConnection physical) {
+            this.physical = physical;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close" -> {
+                    if (!closed) {
+                        closed = true;
+                        for (StatementHandler statement : new ArrayList<>(openStatements)) {
+                            statement.close();
+                        }
+                        release(physical);
+                    }
+                    return null;
+                }
+                case "isClosed" -> {
+                    return closed || physical.raw.isClosed();
+                }
+                case "equals" -> {
+                    return proxy == args[0];
+                }
+                case "hashCode" -> {
+                    return System.identityHashCode(proxy);
+                }
+                case "toString" -> {
+                    return "PooledConnection[" + physical.raw + (closed ? ", returned" : "") + "]";
+                }
+                default -> {
+                    if (closed) {
+                        throw new SQLException("Connection has already been returned to the pool");
+                    }
+                    if ("prepareStatement".equals(method.getName()) && statementCacheSize > 0) {
+                        return physical.prepareCached(this, (Connection) proxy, method, args);
+                    }
+                }
+            }
+
+            try {
+                return method.invoke(physical.raw, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+
+    /**
+     * Cache key: the SQL and the result set options it was prepared with
+     */
+    private static final class StatementKey {
+        private final String sql;
+        private final int resultSetType;
+        private final int resultSetConcurrency;
+
+        StatementKey(String sql, int resultSetType, int resultSetConcurrency) {
+            this.sql = sql;
+            this.resultSetType = resultSetType;
+            this.resultSetConcurrency = resultSetConcurrency;
+        }
+
+        /**
+         * Key for prepareStatement(sql) and prepareStatement(sql, type, concurrency);
+         * null for the other variants
+         */
+        static StatementKey of(Object[] args) {
+            if (args.length == 1) {
+                return new StatementKey((String) args[0], ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            }
+            if (args.length == 3 && args[1] instanceof Integer type && args[2] instanceof Integer concurrency) {
+                return new StatementKey((String) args[0], type, concurrency);
+            }
+            return null;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (!(other instanceof StatementKey key)) {
+                return false;
+            }
+            return resultSetType == key.resultSetType && resultSetConcurrency == key.resultSetConcurrency
+                && sql.equals(key.sql);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * (31 * sql.hashCode() + resultSetType) + resultSetConcurrency;
+        }
+    }
+
+    /**
+     * A prepared statement kept open on its physical connection between leases
+     */
+    private class CachedStatement {
+        private final PhysicalConnection physical;
+        private final StatementKey key;
+        private final PreparedStatement raw;
+        private boolean inUse;
+        private boolean evicted;
+
+        CachedStatement(PhysicalConnection physical, StatementKey key, PreparedStatement raw) {
+            this.physical = physical;
+            this.key = key;
+            this.raw = raw;
+        }
+
+        /**
+         * Hand the statement to a lease through a proxy of its own
+         */
+        PreparedStatement checkOut(LeaseHandler lease, Connection connection) {
+            this.inUse = true;
+            StatementHandler handler = new StatementHandler(this, lease, connection);
+            lease.openStatements.add(handler);
+            return (PreparedStatement) Proxy.newProxyInstance(
+                PreparedStatement.class.getClassLoader(),
+                new Class<?>[] { PreparedStatement.class },
+                handler
+            );
+        }
+
+        void evict() {
+            evicted = true;
+            if (!inUse) {
+                closeQuietly();
+            }
+        }
+
+        /**
+         * Clear what the last user set so the next one starts from a fresh statement
+         */
+        private void checkIn() {
+            inUse = false;
+            if (evicted) {
+                closeQuietly();
+                return;
+            }
+            try {
+                raw.clearParameters();
+                raw.clearBatch();
+                raw.clearWarnings();
+                raw.setFetchSize(0);
+                raw.setMaxRows(0);
+                raw.setQueryTimeout(0);
+            } catch (SQLException e) {
+                physical.statements.remove(key, this);
+                closeQuietly();
+            }
+        }
+
+        private void closeQuietly() {
+            try {
+                raw.close();
+            } catch (SQLException e) {
+                System.err.println("Error closing cached statement: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Proxy handler for one checkout of a cached statement: close() checks the statement
+     * back in exactly once, after which this proxy throws like a closed statement
+     */
+    private static class StatementHandler implements InvocationHandler {
+        private final CachedStatement cached;
+        private final LeaseHandler lease;
+        private final Connection connection;
+        private boolean closed;
+
+        StatementHandler(CachedStatement cached, LeaseHandler lease, Connection connection) {
+            this.cached = cached;
+            this.lease = lease;
+            this.connection = connection;
+        }
+
+        void close() {
+            if (!closed) {
+                closed = true;
+                lease.openStatements.remove(this);
+                cached.checkIn();
+            }
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close" -> {
+                    close();
+                    return null;
+                }
+                case "isClosed" -> {
+                    return closed || cached.raw.isClosed();
+                }
+                case "equals" -> {
+                    return proxy == args[0];
+                }
+                case "hashCode" -> {
+                    return System.identityHashCode(proxy);
+                }
+                default -> {
+                    if (closed) {
+                        throw new SQLException("Statement has already been closed");
+                    }
+                    if ("getConnection".equals(method.getName())) {
+                        return connection;
+                    }
+                }
+            }
+
+            try {
+                return method.invoke(cached.raw, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+
+    /**
+     * Pool metrics (wait times in microseconds)
+     */
+    public static class Stats {
+        private final int maxConnections;
+        private final int totalConnections;
+        private final int activeConnections;
+        private final int idleConnections;
+        private final int waitingThreads;
+        private final int peakActiveConnections;
+        private final long borrowCount;
+        private final long averageWaitMicros;
+        private final long maxWaitMicros;
+        private final long timeoutCount;
+        private final long createdCount;
+        private final long closedCount;
+        private final long validationFailureCount;
+        private final long statementCacheHits;
+        private final long statementCacheMisses;
+        private final long statementCacheEvictions;
+
+        public Stats(int maxConnections, int totalConnections, int activeConnections, int idleConnections,
+                     int waitingThreads, int peakActiveConnections, long borrowCount, long averageWaitMicros,
+                     long maxWaitMicros, long timeoutCount, long createdCount, long closedCount,
+                     long validationFailureCount, long statementCacheHits, long statementCacheMisses,
+                     long statementCacheEvictions) {
+            this.maxConnections = maxConnections;
+            this.totalConnections = totalConnections;
+            this.activeConnections = activeConnections;
+            this.idleConnections = idleConnections;
+            this.waitingThreads = waitingThreads;
+            this.peakActiveConnections = peakActiveConnections;
+            this.borrowCount = borrowCount;
+            this.averageWaitMicros = averageWaitMicros;
+            this.maxWaitMicros = maxWaitMicros;
+            this.timeoutCount = timeoutCount;
+            this.createdCount = createdCount;
+            this.closedCount = closedCount;
+            this.validationFailureCount = validationFailureCount;
+            this.statementCacheHits = statementCacheHits;
+            this.statementCacheMisses = statementCacheMisses;
+            this.statementCacheEvictions = statementCacheEvictions;
+        }
+
+        public int getMaxConnections() { return maxConnections; }
+        public int getTotalConnections() { return totalConnections; }
+        public int getActiveConnections() { return activeConnections; }
+        public int getIdleConnections() { return idleConnections; }
+        public int getWaitingThreads() { return waitingThreads; }
+        public int getPeakActiveConnections() { return peakActiveConnections; }
+        public long getBorrowCount() { return borrowCount; }
+        public long getAverageWaitMicros() { return averageWaitMicros; }
+        public long getMaxWaitMicros() { return maxWaitMicros; }
+        public long getTimeoutCount() { return timeoutCount; }
+        public long getCreatedCount() { return createdCount; }
+        public long getClosedCount() { return closedCount; }
+        public long getValidationFailureCount() { return validationFailureCount; }
+        public long getStatementCacheHits() { return statementCacheHits; }
+        public long getStatementCacheMisses() { return statementCacheMisses; }
+        public long getStatementCacheEvictions() { return statementCacheEvictions; }
+
+        public double getStatementCacheHitRatio() {
+            long lookups = statementCacheHits + statementCacheMisses;
+            return lookups == 0 ? 0.0 : (double) statementCacheHits / lookups;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(
+                "PoolStats{active=%d, idle=%d, total=%d/%d, waiting=%d, peak=%d, borrows=%d, " +
+                "avgWait=%dus, maxWait=%dus, timeouts=%d, created=%d, closed=%d, validationFailures=%d, " +
+                "statementCache={hits=%d, misses=%d, evictions=%d, hitRatio=%.1f%%}}",
+                activeConnections, idleConnections, totalConnections, maxConnections, waitingThreads,
+                peakActiveConnections, borrowCount, averageWaitMicros, maxWaitMicros, timeoutCount,
+                createdCount, closedCount, validationFailureCount,
+                statementCacheHits, statementCacheMisses, statementCacheEvictions,
+                100 * getStatementCacheHitRatio());
+        }
+    }
+}
@@ -3,27 +3,50 @@ package com.foodorder.config;
 import java.io.IOException;
 import java.io.InputStream;
 import java.sql.Connection;
-import java.sql.DriverManager;
 import java.sql.SQLException;
+import java.util.List;
 import java.util.Properties;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * Database connection manager for PostgreSQL
+ * Owns the shared connection pool
  */
 public class DatabaseConnection {
-    
+
     // Database connection configuration
     private static String URL;
     private static String USERNAME;
     private static String PASSWORD;
-    
+
+    // Connection pool configuration
+    private static int MAX_CONNECTIONS;
+    private static int MIN_CONNECTIONS;
+    private static long CONNECTION_TIMEOUT;
+    private static long IDLE_TIMEOUT;
+    private static long MAX_LIFETIME;
+    private static int VALIDATION_TIMEOUT;
+    private static int STATEMENT_CACHE_SIZE;
+    private static int PREPARE_THRESHOLD;
+
+    // Order event journal group commit configuration
+    private static int JOURNAL_FLUSH_INTERVAL;
+    private static int JOURNAL_BATCH_SIZE;
+    private static boolean JOURNAL_WAIT_FOR_COMMIT;
+
+    // Active order status changes: written by the caller (default) or behind it
+    private static boolean ACTIVE_ORDERS_WRITE_BEHIND;
+
+    // Reporting views: how old a materialized copy may get and still be read
+    private static int VIEW_MAX_STALENESS;
+
     static {
         loadDatabaseConfig();
     }
-    
-    private static DatabaseConnection instance;
-    private Connection connection;
-    
+
+    private final ConnectionPool pool;
+    private final List<Runnable> closeListeners = new CopyOnWriteArrayList<>();
+
     /**
      * Load database configuration from properties file
      */
@@ -33,76 +56,179 @@ public class DatabaseConnection {
                 .getResourceAsStream("database.properties")) {
             if (input == null) {
                 System.err.println("Unable to find database.properties file");
-                // Fallback to default values
-                URL = "jdbc:postgresql://localhost:5432/restaurant_db";
-                USERNAME = "postgres";
-                PASSWORD = "postgres";
-                return;
+            } else {
+                props.load(input);
+                System.out.println("Database configuration loaded successfully");
             }
-            props.load(input);
-            URL = props.getProperty("db.url", "jdbc:postgresql://localhost:5432/restaurant_db");
-            USERNAME = props.getProperty("db.username", "postgres");
-            PASSWORD = props.getProperty("db.password", "postgres");
-            
-            System.out.println("Database configuration loaded successfully");
         } catch (IOException e) {
             System.err.println("Error loading database configuration: " + e.getMessage());
-            // Fallback to default values
-            URL = "jdbc:postgresql://localhost:5432/restaurant_db";
-            USERNAME = "postgres";
-            PASSWORD = "postgres";
+        }
+
+        // System properties (-Ddb.url=...) override the file, e.g. for tools and benchmarks
+        for (String key : System.getProperties().stringPropertyNames()) {
+            if (key.startsWith("db.")) {
+                props.setProperty(key, System.getProperty(key));
+            }
+        }
+
+        // Fallback to default values for anything missing
+        URL = props.getProperty("db.url", "jdbc:postgresql://localhost:5432/restaurant_db");
+        USERNAME = props.getProperty("db.username", "postgres");
+        PASSWORD = props.getProperty("db.password", "postgres");
+
+        MAX_CONNECTIONS = getIntProperty(props, "db.pool.maxConnections", 10);
+        MIN_CONNECTIONS = getIntProperty(props, "db.pool.minConnections", 2);
+        CONNECTION_TIMEOUT = getIntProperty(props, "db.pool.connectionTimeout", 30000);
+        IDLE_TIMEOUT = getIntProperty(props, "db.pool.idleTimeout", 600000);
+        MAX_LIFETIME = getIntProperty(props, "db.pool.maxLifetime", 1800000);
+        VALIDATION_TIMEOUT = getIntProperty(props, "db.pool.validationTimeout", 5);
+        STATEMENT_CACHE_SIZE = getIntProperty(props, "db.pool.statementCacheSize", 100);
+        PREPARE_THRESHOLD = getIntProperty(props, "db.pool.prepareThreshold", 2);
+
+        JOURNAL_FLUSH_INTERVAL = getIntProperty(props, "db.journal.flushIntervalMillis", 5);
+        JOURNAL_BATCH_SIZE = getIntProperty(props, "db.journal.batchSize", 500);
+        JOURNAL_WAIT_FOR_COMMIT = Boolean.parseBoolean(props.getProperty("db.journal.waitForCommit", "true").trim());
+
+        ACTIVE_ORDERS_WRITE_BEHIND = Boolean.parseBoolean(props.getProperty("db.activeOrders.writeBehind", "false").trim());
+
+        VIEW_MAX_STALENESS = getIntProperty(props, "db.views.maxStalenessMillis", 30000);
+    }
+
+    private static int getIntProperty(Properties props, String key, int defaultValue) {
+        String value = props.getProperty(key);
+        if (value == null || value.trim().isEmpty()) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            System.err.println("Invalid value for " + key + ": " + value + ", using " + defaultValue);
+            return defaultValue;
         }
     }
-    
+
     private DatabaseConnection() {
         try {
             // Load PostgreSQL driver
             Class.forName("org.postgresql.Driver");
-            this.connection = DriverManager.getConnection(URL, USERNAME, PASSWORD);
-            System.out.println("Database connection established successfully!");
         } catch (ClassNotFoundException e) {
             System.err.println("PostgreSQL Driver not found: " + e.getMessage());
+        }
+
+        this.pool = new ConnectionPool(URL, USERNAME, PASSWORD,
+                MAX_CONNECTIONS, MIN_CONNECTIONS, CONNECTION_TIMEOUT,
+                IDLE_TIMEOUT, MAX_LIFETIME, VALIDATION_TIMEOUT,
+                STATEMENT_CACHE_SIZE, PREPARE_THRESHOLD);
+        try {
+            pool.warmUp();
+            System.out.println("Database connection established successfully!");
         } catch (SQLException e) {
             System.err.println("Database connection failed: " + e.getMessage());
         }
     }
-    
+
+    /**
+     * Lazily created singleton, initialized safely by the class loader
+     */
+    private static class Holder {
+        private static final DatabaseConnection INSTANCE = new DatabaseConnection();
+    }
+
     /**
      * Get database connection instance (singleton pattern)
      */
     public static DatabaseConnection getInstance() {
-        if (instance == null) {
-            instance = new DatabaseConnection();
-        }
-        return instance;
+        return Holder.INSTANCE;
     }
-    
+
     /**
-     * Get database connection
+     * Borrow a connection from the pool; closing it returns it to the pool.
+     * DAOs should go through UnitOfWork.getConnection() instead.
      */
-    public Connection getConnection() {
-        try {
-            // Check if connection is valid, reconnect if not
-            if (connection == null || connection.isClosed()) {
-                connection = DriverManager.getConnection(URL, USERNAME, PASSWORD);
+    public Connection borrowConnection() throws SQLException {
+        return pool.borrowConnection();
+    }
+
+    /**
+     * Check that the database answers, by borrowing a pooled connection and validating it
+     */
+    public void checkConnection() throws SQLException {
+        try (Connection connection = pool.borrowConnection()) {
+            if (!connection.isValid(VALIDATION_TIMEOUT)) {
+                throw new SQLException("Database did not answer within " + VALIDATION_TIMEOUT + "s");
             }
-        } catch (SQLException e) {
-            System.err.println("Failed to get database connection: " + e.getMessage());
         }
-        return connection;
     }
-    
+
+    /**
+     * Get connection pool metrics
+     */
+    public ConnectionPool.Stats getPoolStats() {
+        return pool.getStats();
+    }
+
+    /**
+     * Largest number of connections the pool opens
+     */
+    public int getMaxConnections() {
+        return MAX_CONNECTIONS;
+    }
+
+    /**
+     * Longest time the journal holds a batch open for more events
+     */
+    public int getJournalFlushIntervalMillis() {
+        return JOURNAL_FLUSH_INTERVAL;
+    }
+
+    /**
+     * Number of events that closes a journal batch before the interval ends
+     */
+    public int getJournalBatchSize() {
+        return JOURNAL_BATCH_SIZE;
+    }
+
     /**
-     * Close database connection
+     * Whether journal writers wait for their batch to commit (false trades durability for latency)
+     */
+    public boolean isJournalWaitForCommit() {
+        return JOURNAL_WAIT_FOR_COMMIT;
+    }
+
+    /**
+     * Whether active order status changes are acknowledged before they are written
+     * (true trades durability for latency)
+     */
+    public boolean isActiveOrdersWriteBehind() {
+        return ACTIVE_ORDERS_WRITE_BEHIND;
+    }
+
+    /**
+     * Oldest a materialized reporting view may be and still be read (0 reads the plain views)
+     */
+    public int getViewMaxStalenessMillis() {
+        return VIEW_MAX_STALENESS;
+    }
+
+    /**
+     * Run a task just before the pool shuts down, e.g. to flush writes still held in memory
+     */
+    public void addCloseListener(Runnable listener) {
+        closeListeners.add(listener);
+    }
+
+    /**
+     * Close database connections and shut down the pool
      */
     public void closeConnection() {
-        try {
-            if (connection != null && !connection.isClosed()) {
-                connection.close();
-                System.out.println("Database connection closed.");
+        for (Runnable listener : closeListeners) {
+            try {
+                listener.run();
+            } catch (RuntimeException e) {
+                System.err.println("Error before closing database connection: " + e.getMessage());
             }
-        } catch (SQLException e) {
-            System.err.println("Failed to close database connection: " + e.getMessage());
         }
+        pool.shutdown();
+        System.out.println("Database connection closed.");
     }
 }
@@ -0,0 +1,272 @@
+package com.foodorder.config;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Unit of work / transaction scope
+ * Leases one pooled connection for the duration of a service call and binds it to the
+ * current thread, so every DAO call inside the scope shares it. Outside a scope each
+ * DAO operation leases its own connection and returns it immediately.
+ */
+public final class UnitOfWork {
+
+    private static final ThreadLocal<Scope> CURRENT = new ThreadLocal<>();
+
+    private UnitOfWork() {}
+
+    /**
+     * Work that needs a raw connection
+     */
+    @FunctionalInterface
+    public interface SqlWork<T> {
+        T execute(Connection connection) throws SQLException;
+    }
+
+    /**
+     * Get a connection for one DAO operation. Always close it (try-with-resources):
+     * inside a scope closing is a no-op, outside it returns the lease to the pool.
+     */
+    public static Connection getConnection() throws SQLException {
+        Scope scope = CURRENT.get();
+        if (scope != null) {
+            return scope.handle;
+        }
+        return DatabaseConnection.getInstance().borrowConnection();
+    }
+
+    /**
+     * Check if the current thread is inside a unit of work
+     */
+    public static boolean isActive() {
+        return CURRENT.get() != null;
+    }
+
+    /**
+     * Check if the current thread is inside a transaction
+     */
+    public static boolean isInTransaction() {
+        Scope scope = CURRENT.get();
+        return scope != null && scope.transactional;
+    }
+
+    /**
+     * Mark the enclosing transaction so it is rolled back instead of committed
+     */
+    public static void setRollbackOnly() {
+        Scope scope = CURRENT.get();
+        if (scope != null && scope.transactional) {
+            scope.rollbackOnly = true;
+        }
+    }
+
+    /**
+     * Run a task once the enclosing transaction commits, or now if there is none.
+     * Tasks are dropped if the transaction rolls back.
+     */
+    public static void afterCommit(Runnable task) {
+        Scope scope = CURRENT.get();
+        if (scope != null && scope.transactional) {
+            scope.afterCommit.add(task);
+        } else {
+            task.run();
+        }
+    }
+
+    /**
+     * Run a task if the enclosing transaction rolls back, e.g. to return something reserved
+     * in memory for it. Does nothing outside a transaction, where there is nothing to undo.
+     */
+    public static void afterRollback(Runnable task) {
+        Scope scope = CURRENT.get();
+        if (scope != null && scope.transactional) {
+            scope.afterRollback.add(task);
+        }
+    }
+
+    /**
+     * Run work on a single leased connection in autocommit mode.
+     * Joins the enclosing scope if there is one.
+     */
+    public static <T> T withConnection(Supplier<T> work) {
+        if (CURRENT.get() != null) {
+            return work.get();
+        }
+
+        try (Connection connection = DatabaseConnection.getInstance().borrowConnection()) {
+            CURRENT.set(new Scope(connection, false));
+            try {
+                return work.get();
+            } finally {
+                CURRENT.remove();
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Database unavailable: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Run work in one transaction: committed if it returns normally, rolled back if it
+     * throws or calls setRollbackOnly(). Nested calls join the outer transaction.
+     */
+    public static <T> T inTransaction(Supplier<T> work) {
+        Scope outer = CURRENT.get();
+        if (outer != null && outer.transactional) {
+            return work.get();
+        }
+        if (outer != null) {
+            return runTransaction(outer, work);
+        }
+
+        try (Connection connection = DatabaseConnection.getInstance().borrowConnection()) {
+            Scope scope = new Scope(connection, false);
+            CURRENT.set(scope);
+            try {
+                return runTransaction(scope, work);
+            } finally {
+                CURRENT.remove();
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Database unavailable: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Run raw JDBC work in one transaction, joining the enclosing one if present.
+     * SQL errors roll the transaction back and are rethrown.
+     */
+    public static <T> T inTransaction(SqlWork<T> work) throws SQLException {
+        try {
+            return inTransaction(() -> {
+                try {
+                    return work.execute(CURRENT.get().handle);
+                } catch (SQLException e) {
+                    throw new WrappedSQLException(e);
+                }
+            });
+        } catch (WrappedSQLException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static <T> T runTransaction(Scope scope, Supplier<T> work) {
+        Connection connection = scope.connection;
+        try {
+            connection.setAutoCommit(false);
+        } catch (SQLException e) {
+            throw new IllegalStateException("Failed to begin transaction: " + e.getMessage(), e);
+        }
+        scope.transactional = true;
+        scope.rollbackOnly = false;
+
+        try {
+            T result = work.get();
+            if (scope.rollbackOnly) {
+                connection.rollback();
+                runAll(scope.afterRollback, "Error after rollback: ");
+            } else {
+                connection.commit();
+                // Committed work stays committed even if a follow-up task fails
+                scope.afterRollback.clear();
+                runAll(scope.afterCommit, "Error after commit: ");
+            }
+            return result;
+        } catch (SQLException e) {
+            rollbackQuietly(connection);
+            runAll(scope.afterRollback, "Error after rollback: ");
+            throw new IllegalStateException("Failed to commit transaction: " + e.getMessage(), e);
+        } catch (RuntimeException | Error e) {
+            rollbackQuietly(connection);
+            runAll(scope.afterRollback, "Error after rollback: ");
+            throw e;
+        } finally {
+            scope.transactional = false;
+            scope.afterCommit.clear();
+            scope.afterRollback.clear();
+            try {
+                connection.setAutoCommit(true);
+            } catch (SQLException e) {
+                System.err.println("Error resetting auto-commit: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Run and drop the queued tasks, so none runs twice
+     */
+    private static void runAll(List<Runnable> tasks, String errorPrefix) {
+        List<Runnable> queued = new ArrayList<>(tasks);
+        tasks.clear();
+        for (Runnable task : queued) {
+            try {
+                task.run();
+            } catch (RuntimeException e) {
+                System.err.println(errorPrefix + e.getMessage());
+            }
+        }
+    }
+
+    private static void rollbackQuietly(Connection connection) {
+        try {
+            connection.rollback();
+        } catch (SQLException e) {
+            System.err.println("Error rolling back transaction: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Connection bound to the current thread
+     */
+    private static class Scope {
+        private final Connection connection;
+        private final Connection handle;
+        private boolean transactional;
+        private boolean rollbackOnly;
+        private final List<Runnable> afterCommit = new ArrayList<>();
+        private final List<Runnable> afterRollback = new ArrayList<>();
+
+        Scope(Connection connection, boolean transactional) {
+            this.connection = connection;
+            this.handle = nonClosing(connection);
+            this.transactional = transactional;
+        }
+    }
+
+    /**
+     * View of a scoped connection that DAOs may close without ending the scope
+     */
+    private static Connection nonClosing(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(
+            Connection.class.getClassLoader(),
+            new Class<?>[] { Connection.class },
+            (proxy, method, args) -> {
+                if ("close".equals(method.getName())) {
+                    return null;
+                }
+                try {
+                    return method.invoke(connection, args);
+                } catch (InvocationTargetException e) {
+                    throw e.getCause();
+                }
+            }
+        );
+    }
+
+    private static class WrappedSQLException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        WrappedSQLException(SQLException cause) {
+            super(cause);
+        }
+
+        @Override
+        public synchronized SQLException getCause() {
+            return (SQLException) super.getCause();
+        }
+    }
+}
@@ -401,7 +401,7 @@ public class EmployeeController {
      * Auto assign available employee
      */
     public Employee autoAssignEmployee() {
-        Employee employee = employeeService.getRandomAvailableEmployee();
+        Employee employee = employeeService.getLeastLoadedAvailableEmployee();
         if (employee != null) {
             System.out.println("Auto-assigned employee: " + employee.getName());
         }
@@ -2,11 +2,14 @@ package com.foodorder.controller;
 
 import java.util.List;
 import java.util.Scanner;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 import com.foodorder.model.Customer;
 import com.foodorder.model.Employee;
 import com.foodorder.model.MenuItem;
 import com.foodorder.model.Order;
+import com.foodorder.model.OrderPage;
 import com.foodorder.service.CustomerService;
 import com.foodorder.service.EmployeeService;
 import com.foodorder.service.MenuService;
@@ -18,6 +21,9 @@ import com.foodorder.service.OrderService;
  */
 public class OrderController {
     
+    // Orders shown per page in listings
+    private static final int PAGE_SIZE = 20;
+    
     private OrderService orderService;
     private MenuService menuService;
     private CustomerController customerController;
@@ -172,26 +178,26 @@ public class OrderController {
         System.out.println("=".repeat(80));
         
         try {
-            List<Order> orders = orderService.getAllOrders();
+            OrderPage firstPage = orderService.getOrdersPage(null, PAGE_SIZE);
             
-            if (orders.isEmpty()) {
+            if (firstPage.getOrders().isEmpty()) {
                 System.out.println("No orders found.");
             } else {
                 System.out.printf("%-4s %-15s %-15s %-20s %-12s %-10s%n", 
                                 "ID", "Customer", "Employee", "Order Time", "Total", "Status");
                 System.out.println("-".repeat(80));
                 
-                for (Order order : orders) {
-                    System.out.printf("%-4d %-15s %-15s %-20s %-12s %-10s%n",
+                int shown = pageThroughOrders(firstPage,
+                    cursor -> orderService.getOrdersPage(cursor, PAGE_SIZE),
+                    order -> System.out.printf("%-4d %-15s %-15s %-20s %-12s %-10s%n",
                         order.getOrderId(),
                         order.getCustomerName(),
                         order.getEmployeeName(),
                         order.getFormattedOrderTime(),
                         order.getFormattedTotalAmount(),
-                        order.getCurrentStatus());
-                }
+                        order.getCurrentStatus()));
                 
-                System.out.println("\n total: " + orders.size() + " orders");
+                System.out.println("\n total: " + shown + " orders");
             }
             
         } catch (Exception e) {
@@ -199,6 +205,31 @@ public class OrderController {
         }
     }
     
+    /**
+     * Print orders page by page, asking before fetching the next page
+     * Returns the number of orders shown
+     */
+    private int pageThroughOrders(OrderPage page, Function<OrderPage.Cursor, OrderPage> nextPage,
+                                  Consumer<Order> printRow) {
+        int shown = 0;
+        while (true) {
+            for (Order order : page.getOrders()) {
+                printRow.accept(order);
+                shown++;
+            }
+            
+            if (!page.hasMore()) {
+                return shown;
+            }
+            
+            System.out.print("-- Press Enter for more orders, or 'q' to stop: ");
+            if ("q".equalsIgnoreCase(scanner.nextLine().trim())) {
+                return shown;
+            }
+            page = nextPage.apply(page.getNextCursor());
+        }
+    }
+    
     /**
      * View orders by status
      */
@@ -230,28 +261,28 @@ public class OrderController {
                 return;
             }
             
-            List<Order> orders = orderService.getOrdersByStatus(status);
+            OrderPage firstPage = orderService.getOrdersPageByStatus(status, null, PAGE_SIZE);
             
             System.out.println("\n " + getStatusDescription(status) + " ");
             System.out.println("=".repeat(50));
             
-            if (orders.isEmpty()) {
+            if (firstPage.getOrders().isEmpty()) {
                 System.out.println(" " + getStatusDescription(status) + " ");
             } else {
                 System.out.printf("%-4s %-15s %-15s %-20s %-10s%n", 
                                 "ID", "", "", "order time", "total amount");
                 System.out.println("-".repeat(70));
                 
-                orders.forEach(order -> 
-                    System.out.printf("%-4d %-15s %-15s %-20s %-10s%n",
+                int shown = pageThroughOrders(firstPage,
+                    cursor -> orderService.getOrdersPageByStatus(status, cursor, PAGE_SIZE),
+                    order -> System.out.printf("%-4d %-15s %-15s %-20s %-10s%n",
                         order.getOrderId(),
                         order.getCustomerName(),
                         order.getEmployeeName(),
                         order.getFormattedOrderTime(),
-                        order.getFormattedTotalAmount())
-                );
+                        order.getFormattedTotalAmount()));
                 
-                System.out.println("\n found " + orders.size() + " orders");
+                System.out.println("\n found " + shown + " orders");
             }
             
         } catch (NumberFormatException e) {
@@ -534,28 +565,28 @@ public class OrderController {
             }
             
             // Get orders for this customer
-            List<Order> orders = orderService.getOrdersByCustomerId(customerId);
+            OrderPage firstPage = orderService.getOrdersPageByCustomerId(customerId, null, PAGE_SIZE);
             
             System.out.println("\nOrders for: " + selectedCustomer.getName());
             System.out.println("=".repeat(70));
             
-            if (orders.isEmpty()) {
+            if (firstPage.getOrders().isEmpty()) {
                 System.out.println("No orders found for this customer.");
             } else {
                 System.out.printf("%-6s %-15s %-20s %-12s %-10s%n", 
                                 "Order ID", "Employee", "Order Time", "Total", "Status");
                 System.out.println("-".repeat(70));
                 
-                for (Order order : orders) {
-                    System.out.printf("%-6d %-15s %-20s %-12s %-10s%n",
+                int shown = pageThroughOrders(firstPage,
+                    cursor -> orderService.getOrdersPageByCustomerId(customerId, cursor, PAGE_SIZE),
+                    order -> System.out.printf("%-6d %-15s %-20s %-12s %-10s%n",
                         order.getOrderId(),
                         order.getEmployeeName(),
                         order.getFormattedOrderTime(),
                         order.getFormattedTotalAmount(),
-                        order.getCurrentStatus());
-                }
+                        order.getCurrentStatus()));
                 
-                System.out.println("\nTotal orders: " + orders.size());
+                System.out.println("\nTotal orders: " + shown);
             }
             
         } catch (NumberFormatException e) {
@@ -607,28 +638,28 @@ public class OrderController {
             }
             
             // Get orders for this employee
-            List<Order> orders = orderService.getOrdersByEmployeeId(employeeId);
+            OrderPage firstPage = orderService.getOrdersPageByEmployeeId(employeeId, null, PAGE_SIZE);
             
             System.out.println("\nOrders handled by: " + selectedEmployee.getName());
             System.out.println("=".repeat(70));
             
-            if (orders.isEmpty()) {
+            if (firstPage.getOrders().isEmpty()) {
                 System.out.println("No orders found for this employee.");
             } else {
                 System.out.printf("%-6s %-15s %-20s %-12s %-10s%n", 
                                 "Order ID", "Customer", "Order Time", "Total", "Status");
                 System.out.println("-".repeat(70));
                 
-                for (Order order : orders) {
-                    System.out.printf("%-6d %-15s %-20s %-12s %-10s%n",
+                int shown = pageThroughOrders(firstPage,
+                    cursor -> orderService.getOrdersPageByEmployeeId(employeeId, cursor, PAGE_SIZE),
+                    order -> System.out.printf("%-6d %-15s %-20s %-12s %-10s%n",
                         order.getOrderId(),
                         order.getCustomerName(),
                         order.getFormattedOrderTime(),
                         order.getFormattedTotalAmount(),
-                        order.getCurrentStatus());
-                }
+                        order.getCurrentStatus()));
                 
-                System.out.println("\nTotal orders handled: " + orders.size());
+                System.out.println("\nTotal orders handled: " + shown);
             }
             
         } catch (NumberFormatException e) {
@@ -8,7 +8,7 @@ import java.util.ArrayList;
 import java.util.List;
 import java.math.BigDecimal;
 
-import com.foodorder.config.DatabaseConnection;
+import com.foodorder.config.UnitOfWork;
 import com.foodorder.model.Customer;
 
 /**
@@ -17,11 +17,6 @@ import com.foodorder.model.Customer;
  */
 public class CustomerDAO {
     
-    private Connection connection;
-    
-    public CustomerDAO() {
-        this.connection = DatabaseConnection.getInstance().getConnection();
-    }
     
     /**
      * Create new
@@ -29,7 +24,8 @@ public class CustomerDAO {
     public int createCustomer(Customer customer) {
         String sql = "INSERT INTO Customer (name, email, phone) VALUES (?, ?, ?) RETURNING customer_id";
         
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (Connection connection = UnitOfWork.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
             stmt.setString(1, customer.getName());
             stmt.setString(2, customer.getEmail());
             stmt.setString(3, customer.getPhone());
@@ -54,7 +50,8 @@ public class CustomerDAO {
     public Customer getCustomerById(int customerId) {
         String sql = "SELECT customer_id, name, email, phone FROM Customer WHERE customer_id = ?";
         
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (Connection connection = UnitOfWork.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
             stmt.setInt(1, customerId);
             
             try (ResultSet rs = stmt.executeQuery()) {
@@ -80,7 +77,8 @@ public class CustomerDAO {
     public Customer getCustomerByEmail(String email) {
         String sql = "SELECT customer_id, name, email, phone FROM Customer WHERE email = ?";
         
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (Connection connection = UnitOfWork.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
             stmt.setString(1, email);
             
             try (ResultSet rs = stmt.executeQuery()) {
@@ -107,7 +105,8 @@ public class CustomerDAO {
         List<Customer> customers = new ArrayList<>();
         String sql = "SELECT customer_id, name, email, phone FROM Customer ORDER BY name";
         
-        try (PreparedStatement stmt = connection.prepareStatement(sql);
+        try (Connection connection = UnitOfWork.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql);
              ResultSet rs = stmt.executeQuery()) {
             
             while (rs.next()) {
@@ -133,7 +132,8 @@ public class CustomerDAO {
         List<Customer> customers = new ArrayList<>();
         String sql = "SELECT customer_id, name, email, phone FROM Customer WHERE LOWER(name) LIKE LOWER(?) ORDER BY name";
         
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (Connection connection = UnitOfWork.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
             stmt.setString(1, "%" + searchTerm + "%");
             
             try (ResultSet rs = stmt.executeQuery()) {
@@ -160,7 +160,8 @@ public class CustomerDAO {
     public boolean updateCustomer(Customer customer) {
         String sql = "UPDATE Customer SET name = ?, email = ?, phone = ? WHERE customer_id = ?";
         
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (Connection connection = UnitOfWork.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
             stmt.setString(1, customer.getName());
             stmt.setString(2, customer.getEmail());
             stmt.setString(3, customer.getPhone());
@@ -186,7 +187,8 @@ public class CustomerDAO {
         
         String sql = "DELETE FROM Customer WHERE customer_id = ?";
         
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (Connection connection = UnitOfWork.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
             stmt.setInt(1, customerId);
             
             int rowsAffected = stmt.executeUpdate();
@@ -203,7 +205,8 @@ public class CustomerDAO {
     public boolean hasOrders(int customerId) {
         String sql = "SELECT COUNT(*) FROM Orders WHERE customer_id = ?";
         
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (Connection connection = UnitOfWork.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
             stmt.setInt(1, customerId);
             
             try (ResultSet rs = stmt.executeQuery()) {
@@ -224,7 +227,8 @@ public class CustomerDAO {
     public boolean emailExists(String email) {
         String sql = "SELECT COUNT(*) FROM Customer WHERE email = ?";
         
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (Connection connection = UnitOfWork.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
             stmt.setString(1, email);
             
             try (ResultSet rs = stmt.executeQuery()) {
@@ -245,7 +249,8 @@ public class CustomerDAO {
     public boolean emailExistsForOtherCustomer(String email, int excludeCustomerId) {
         String sql = "SELECT COUNT(*) FROM Customer WHERE email = ? AND customer_id != ?";
         
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (Connection connection = UnitOfWork.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
             stmt.setString(1, email);
             stmt.setInt(2, excludeCustomerId);
             
@@ -261,13 +266,34 @@ public class CustomerDAO {
         return false;
     }
     
+    /**
+     * Count all customers
+     */
+    public int getCustomerCount() {
+        String sql = "SELECT COUNT(*) FROM Customer";
+        
+        try (Connection connection = UnitOfWork.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql);
+             ResultSet rs = stmt.executeQuery()) {
+            
+            if (rs.next()) {
+                return rs.getInt(1);
+            }
+        } catch (SQLException e) {
+            System.err.println("Error counting customers: " + e.getMessage());
+        }
+        
+        return 0;
+    }
+    
     /**
      * Get customer order count using database function
      */
     public int getCustomerOrderCount(int customerId) {
         String sql = "SELECT get_customer_order_count(?)";
         
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (Connection connection = UnitOfWork.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
             stmt.setInt(1, customerId);
             
             try (ResultSet rs = stmt.executeQuery()) {
@@ -293,7 +319,8 @@ public class CustomerDAO {
             FROM Customer
             """;
         
-        try (PreparedStatement stmt = connection.prepareStatement(sql);
+        try (Connection connection = UnitOfWork.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql);
              ResultSet rs = stmt.executeQuery()) {
             
             if (rs.next()) {
@@ -315,7 +342,8 @@ public class CustomerDAO {
             FROM Orders 
             WHERE customer_id = ? AND current_status = 'COMPLETED'
             """;
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (Connection connection = UnitOfWork.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
             stmt.setInt(1, customerId);
             try (ResultSet rs = stmt.executeQuery()) {
                 if (rs.next()) {
@@ -1,6 +1,6 @@
 package com.foodorder.dao;
 
-import com.foodorder.config.DatabaseConnection;
+import com.foodorder.config.UnitOfWork;
 import com.foodorder.model.Employee;
 
 import java.sql.*;
@@ -13,11 +13,6 @@ import java.util.List;
  */
 public class EmployeeDAO {
     
-    private Connection connection;
-    
-    public EmployeeDAO() {
-        this.connection = DatabaseConnection.getInstance().getConnection();
-    }
     
     /**
      * Create new
@@ -25,7 +20,8 @@ public class EmployeeDAO {
     public int createEmployee(Employee employee) {
         String sql = "INSERT INTO Employee (name, phone, availability_status) VALUES (?, ?, ?) RETURNING employee_id";
         
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (Connection connection = UnitOfWork.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
             stmt.setString(1, employee.getName());
             stmt.setString(2, employee.getPhone());
             stmt.setBoolean(3, employee.isAvailabilityStatus());
@@ -50,7 +46,8 @@ public class EmployeeDAO {
     public Employee getEmployeeById(int employeeId) {
         String sql = "SELECT employee_id, name, phone, availability_status FROM Employee WHERE employee_id = ?";
         
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (Connection connection = UnitOfWork.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
             stmt.setInt(1, employeeId);
             
             try (ResultSet rs = stmt.executeQuery()) {
@@ -77,7 +74,8 @@ public class EmployeeDAO {
         List<Employee> employees = new ArrayList<>();
         String sql = "SELECT employee_id, name, phone, availability_status FROM Employee ORDER BY name";
         
-        try (PreparedStatement stmt = connection.prepareStatement(sql);
+        try (Connection connection = UnitOfWork.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql);
              ResultSet rs = stmt.executeQuery()) {
             
             while (rs.next()) {
@@ -103,7 +101,8 @@ public class EmployeeDAO {
         List<Employee> employees = new ArrayList<>();
         String sql = "SELECT employee_id, name, phone, availability_status FROM Employee WHERE availability_status = TRUE ORDER BY name";
         
-        try (PreparedStatement stmt = connection.prepareStatement(sql);
+        try (Connection connection = UnitOfWork.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql);
              ResultSet rs = stmt.executeQuery()) {
             
             while (rs.next()) {
@@ -129,7 +128,8 @@ public class EmployeeDAO {
         List<Employee> employees = new ArrayList<>();
         String sql = "SELECT employee_id, name, phone, availability_status FROM Employee WHERE LOWER(name) LIKE LOWER(?) ORDER BY name";
         
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (Connection connection = UnitOfWork.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
             stmt.setString(1, "%" + searchTerm + "%");
             
             try (ResultSet rs = stmt.executeQuery()) {
@@ -156,7 +156,8 @@ public class EmployeeDAO {
     public boolean updateEmployee(Employee employee) {
         String sql = "UPDATE Employee SET name = ?, phone = ?, availability_status = ? WHERE employee_id = ?";
         
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (Connection connection = UnitOfWork.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
             stmt.setString(1, employee.getName());
             stmt.setString(2, employee.getPhone());
             stmt.setBoolean(3, employee.isAvailabilityStatus());
@@ -176,7 +177,8 @@ public class EmployeeDAO {
     public boolean updateEmployeeAvailability(int employeeId, boolean availabilityStatus) {
         String sql = "UPDATE Employee SET availability_status = ? WHERE employee_id = ?";
         
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (Connection connection = UnitOfWork.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
             stmt.setBoolean(1, availabilityStatus);
             stmt.setInt(2, employeeId);
             
@@ -200,7 +202,8 @@ public class EmployeeDAO {
         
         String sql = "DELETE FROM Employee WHERE employee_id = ?";
         
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (Connection connection = UnitOfWork.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
             stmt.setInt(1, employeeId);
             
             int rowsAffected = stmt.executeUpdate();
@@ -217,7 +220,8 @@ public class EmployeeDAO {
     public boolean hasOrders(int employeeId) {
         String sql = "SELECT COUNT(*) FROM Orders WHERE employee_id = ?";
         
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (Connection connection = UnitOfWork.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
             stmt.setInt(1, employeeId);
             
             try (ResultSet rs = stmt.executeQuery()) {
@@ -232,30 +236,6 @@ public class EmployeeDAO {
         return false;
     }
     
-    /**
-     * Get random available employeeFor order assignment
-     */
-    public Employee getRandomAvailableEmployee() {
-        String sql = "SELECT employee_id, name, phone, availability_status FROM Employee WHERE availability_status = TRUE ORDER BY RANDOM() LIMIT 1";
-        
-        try (PreparedStatement stmt = connection.prepareStatement(sql);
-             ResultSet rs = stmt.executeQuery()) {
-            
-            if (rs.next()) {
-                return new Employee(
-                    rs.getInt("employee_id"),
-                    rs.getString("name"),
-                    rs.getString("phone"),
-                    rs.getBoolean("availability_status")
-                );
-            }
-        } catch (SQLException e) {
-            System.err.println("Error fetching random available employee: " + e.getMessage());
-        }
-        
-        return null;
-    }
-    
     /**
      * workloadstatistics
      */
@@ -275,7 +255,8 @@ public class EmployeeDAO {
             ORDER BY total_orders DESC, e.name
             """;
         
-        try (PreparedStatement stmt = connection.prepareStatement(sql);
+        try (Connection connection = UnitOfWork.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql);
              ResultSet rs = stmt.executeQuery()) {
             
             System.out.println("\n=== workloadstatistics ===");
@@ -298,13 +279,34 @@ public class EmployeeDAO {
         }
     }
     
+    /**
+     * Count all employees
+     */
+    public int getEmployeeCount() {
+        String sql = "SELECT COUNT(*) FROM Employee";
+        
+        try (Connection connection = UnitOfWork.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql);
+             ResultSet rs = stmt.executeQuery()) {
+            
+            if (rs.next()) {
+                return rs.getInt(1);
+            }
+        } catch (SQLException e) {
+            System.err.println("Error counting employees: " + e.getMessage());
+        }
+        
+        return 0;
+    }
+    
     /**
      * Get available employees count using database function
      */
     public int getAvailableEmployeesCount() {
         String sql = "SELECT get_available_employees_count()";
         
-        try (PreparedStatement stmt = connection.prepareStatement(sql);
+        try (Connection connection = UnitOfWork.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql);
              ResultSet rs = stmt.executeQuery()) {
             
             if (rs.next()) {
@@ -318,13 +320,15 @@ public class EmployeeDAO {
     }
     
     /**
-     * Get employee workload using database view
+     * Get employee workload using database view (materialized copy, at most db.views.maxStalenessMillis old)
      */
     public List<Employee> getEmployeeWorkloadFromView() {
-        String sql = "SELECT * FROM employee_workload ORDER BY total_orders DESC";
+        String sql = "SELECT * FROM " + MaterializedViews.fresh(MaterializedViews.EMPLOYEE_WORKLOAD)
+            + " ORDER BY total_orders DESC";
         List<Employee> employees = new ArrayList<>();
         
-        try (PreparedStatement stmt = connection.prepareStatement(sql);
+        try (Connection connection = UnitOfWork.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql);
              ResultSet rs = stmt.executeQuery()) {
             
             while (rs.next()) {
@@ -354,7 +358,8 @@ public class EmployeeDAO {
             FROM Employee
             """;
         
-        try (PreparedStatement stmt = connection.prepareStatement(sql);
+        try (Connection connection = UnitOfWork.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql);
              ResultSet rs = stmt.executeQuery()) {
             
             if (rs.next()) {
@@ -0,0 +1,95 @@
+package com.foodorder.dao;
+
+import com.foodorder.config.DatabaseConnection;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Materialized copies of the reporting views (order_summary_mv, employee_workload_mv)
+ * DAOs ask for the relation to read: the copy while it is younger than
+ * db.views.maxStalenessMillis, otherwise the plain view. Readers never refresh or wait:
+ * once a copy is half that age, the next read queues a refresh on a background thread
+ * (at most one per view), so under steady reads the copy is renewed before it expires.
+ * CONCURRENTLY keeps readers of the copy on the old rows while it runs.
+ */
+final class MaterializedViews {
+
+    static final String ORDER_SUMMARY = "order_summary";
+    static final String EMPLOYEE_WORKLOAD = "employee_workload";
+
+    // View name to the time its copy was last refreshed, taken when the refresh started
+    private static final Map<String, Long> refreshedAt = new ConcurrentHashMap<>();
+    private static final Set<String> refreshing = ConcurrentHashMap.newKeySet();
+
+    private static final ExecutorService refresher = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "view-refresher");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    static {
+        DatabaseConnection.getInstance().addCloseListener(refresher::shutdownNow);
+    }
+
+    private MaterializedViews() {
+    }
+
+    /**
+     * Get the relation to read for a view: its materialized copy while that is fresh
+     * enough, else the plain view (also when materialization is disabled)
+     */
+    static String fresh(String view) {
+        long maxStaleness = DatabaseConnection.getInstance().getViewMaxStalenessMillis();
+        if (maxStaleness <= 0) {
+            return view;
+        }
+
+        // Never refreshed by this process: the copy may be as old as the schema
+        Long last = refreshedAt.get(view);
+        long age = last == null ? Long.MAX_VALUE : System.currentTimeMillis() - last;
+        if (age >= maxStaleness / 2) {
+            refreshInBackground(view);
+        }
+        return age < maxStaleness ? view + "_mv" : view;
+    }
+
+    private static void refreshInBackground(String view) {
+        if (!refreshing.add(view)) {
+            return;
+        }
+        try {
+            refresher.execute(() -> {
+                try {
+                    long start = System.currentTimeMillis();
+                    if (refresh(view + "_mv")) {
+                        refreshedAt.put(view, start);
+                    }
+                } finally {
+                    refreshing.remove(view);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // Shutting down: keep reading the plain view
+            refreshing.remove(view);
+        }
+    }
+
+    private static boolean refresh(String materializedView) {
+        try (Connection connection = DatabaseConnection.getInstance().borrowConnection();
+             Statement stmt = connection.createStatement()) {
+            stmt.execute("REFRESH MATERIALIZED VIEW CONCURRENTLY " + materializedView);
+            return true;
+        } catch (SQLException e) {
+            System.err.println("Error refreshing " + materializedView + ": " + e.getMessage());
+            return false;
+        }
+    }
+}
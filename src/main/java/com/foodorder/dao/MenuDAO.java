@@ -6,9 +6,12 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
-import com.foodorder.config.DatabaseConnection;
+import com.foodorder.config.UnitOfWork;
 import com.foodorder.model.Category;
 import com.foodorder.model.MenuItem;
 
@@ -18,10 +21,33 @@ import com.foodorder.model.MenuItem;
  */
 public class MenuDAO {
     
-    private Connection connection;
+    /**
+     * Canonical searchMenuItems statements, indexed by (name filter ? 2 : 0) + (category filter ? 1 : 0)
+     */
+    private static final String[] SEARCH_SHAPES = new String[4];
+    
+    // Upper bound of NUMERIC(10, 2), used when no maximum price is given
+    private static final BigDecimal MAX_PRICE = new BigDecimal("99999999.99");
     
-    public MenuDAO() {
-        this.connection = DatabaseConnection.getInstance().getConnection();
+    static {
+        for (int shape = 0; shape < SEARCH_SHAPES.length; shape++) {
+            StringBuilder sql = new StringBuilder("""
+                SELECT m.item_id, m.category_id, c.name as category_name, 
+                       m.item_name, m.current_price, m.is_active
+                FROM MenuItem m
+                JOIN Category c ON m.category_id = c.category_id
+                WHERE m.is_active = TRUE AND m.current_price BETWEEN ? AND ?
+                """);
+            if ((shape & 2) != 0) {
+                // ILIKE rather than LOWER(...) LIKE so the trigram index applies
+                sql.append(" AND m.item_name ILIKE ?");
+            }
+            if ((shape & 1) != 0) {
+                sql.append(" AND m.category_id = ?");
+            }
+            sql.append(" ORDER BY c.name, m.item_name");
+            SEARCH_SHAPES[shape] = sql.toString();
+        }
     }
     
     /**
@@ -31,7 +57,8 @@ public class MenuDAO {
         List<Category> categories = new ArrayList<>();
         String sql = "SELECT category_id, name FROM Category ORDER BY name";
         
-        try (PreparedStatement stmt = connection.prepareStatement(sql);
+        try (Connection connection = UnitOfWork.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql);
              ResultSet rs = stmt.executeQuery()) {
             
             while (rs.next()) {
@@ -62,7 +89,8 @@ public class MenuDAO {
             ORDER BY c.name, m.item_name
             """;
         
-        try (PreparedStatement stmt = connection.prepareStatement(sql);
+        try (Connection connection = UnitOfWork.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql);
              ResultSet rs = stmt.executeQuery()) {
             
             while (rs.next()) {
@@ -83,6 +111,41 @@ public class MenuDAO {
         return menuItems;
     }
     
+    /**
+     * Get all menu items including inactive ones, with category information
+     */
+    public List<MenuItem> getAllMenuItems() {
+        List<MenuItem> menuItems = new ArrayList<>();
+        String sql = """
+            SELECT m.item_id, m.category_id, c.name as category_name, 
+                   m.item_name, m.current_price, m.is_active
+            FROM MenuItem m
+            JOIN Category c ON m.category_id = c.category_id
+            ORDER BY c.name, m.item_name
+            """;
+        
+        try (Connection connection = UnitOfWork.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql);
+             ResultSet rs = stmt.executeQuery()) {
+            
+            while (rs.next()) {
+                MenuItem menuItem = new MenuItem(
+                    rs.getInt("item_id"),
+                    rs.getInt("category_id"),
+                    rs.getString("category_name"),
+                    rs.getString("item_name"),
+                    rs.getBigDecimal("current_price"),
+                    rs.getBoolean("is_active")
+                );
+                menuItems.add(menuItem);
+            }
+        } catch (SQLException e) {
+            System.err.println("Error fetching all menu items: " + e.getMessage());
+        }
+        
+        return menuItems;
+    }
+    
     /**
      * Get menu items by category
      */
@@ -97,7 +160,8 @@ public class MenuDAO {
             ORDER BY m.item_name
             """;
         
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (Connection connection = UnitOfWork.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
             stmt.setInt(1, categoryId);
             
             try (ResultSet rs = stmt.executeQuery()) {
@@ -121,7 +185,9 @@ public class MenuDAO {
     }
     
     /**
-     * Search menu items by name (fuzzy search)
+     * Search menu items by name (fuzzy search), most relevant first.
+     * Matches whole words (full-text), substrings and misspellings (trigram similarity);
+     * every condition is served by an index on MenuItem.
      */
     public List<MenuItem> searchMenuItemsByName(String searchTerm) {
         List<MenuItem> menuItems = new ArrayList<>();
@@ -130,12 +196,26 @@ public class MenuDAO {
                    m.item_name, m.current_price, m.is_active
             FROM MenuItem m
             JOIN Category c ON m.category_id = c.category_id
-            WHERE m.is_active = TRUE AND LOWER(m.item_name) LIKE LOWER(?)
-            ORDER BY m.item_name
+            WHERE m.is_active = TRUE
+              AND (m.search_vector @@ plainto_tsquery('simple', ?)
+                   OR m.item_name ILIKE ?
+                   OR m.item_name % ?)
+            ORDER BY (m.item_name ILIKE ?) DESC,
+                     ts_rank(m.search_vector, plainto_tsquery('simple', ?))
+                       + similarity(m.item_name, ?) DESC,
+                     m.item_name
             """;
         
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
-            stmt.setString(1, "%" + searchTerm + "%");
+        try (Connection connection = UnitOfWork.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
+            String pattern = "%" + searchTerm + "%";
+            stmt.setString(1, searchTerm);
+            stmt.setString(2, pattern);
+            stmt.setString(3, searchTerm);
+            // Names starting with the term come first
+            stmt.setString(4, searchTerm + "%");
+            stmt.setString(5, searchTerm);
+            stmt.setString(6, searchTerm);
             
             try (ResultSet rs = stmt.executeQuery()) {
                 while (rs.next()) {
@@ -171,7 +251,8 @@ public class MenuDAO {
             ORDER BY m.current_price, m.item_name
             """;
         
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (Connection connection = UnitOfWork.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
             stmt.setBigDecimal(1, minPrice);
             stmt.setBigDecimal(2, maxPrice);
             
@@ -197,49 +278,27 @@ public class MenuDAO {
     
     /**
      * Comprehensive search by name, category and price range
+     * Uses one of SEARCH_SHAPES, so the statement cache and the server reuse the same few
+     * prepared statements instead of a new SQL string per combination of filters.
+     * Missing price bounds are sent as open bounds rather than leaving the condition out.
      */
     public List<MenuItem> searchMenuItems(String searchTerm, Integer categoryId, 
                                         BigDecimal minPrice, BigDecimal maxPrice) {
         List<MenuItem> menuItems = new ArrayList<>();
-        StringBuilder sql = new StringBuilder("""
-            SELECT m.item_id, m.category_id, c.name as category_name, 
-                   m.item_name, m.current_price, m.is_active
-            FROM MenuItem m
-            JOIN Category c ON m.category_id = c.category_id
-            WHERE m.is_active = TRUE
-            """);
-        
-        List<Object> parameters = new ArrayList<>();
-        
-         // Add name search condition
-        if (searchTerm != null && !searchTerm.trim().isEmpty()) {
-            sql.append(" AND LOWER(m.item_name) LIKE LOWER(?)");
-            parameters.add("%" + searchTerm.trim() + "%");
-        }
-        
-         // Add category search condition
-        if (categoryId != null && categoryId > 0) {
-            sql.append(" AND m.category_id = ?");
-            parameters.add(categoryId);
-        }
-        
-         // Add price range search condition
-        if (minPrice != null) {
-            sql.append(" AND m.current_price >= ?");
-            parameters.add(minPrice);
-        }
-        
-        if (maxPrice != null) {
-            sql.append(" AND m.current_price <= ?");
-            parameters.add(maxPrice);
-        }
-        
-        sql.append(" ORDER BY c.name, m.item_name");
+        boolean byName = searchTerm != null && !searchTerm.trim().isEmpty();
+        boolean byCategory = categoryId != null && categoryId > 0;
+        String sql = SEARCH_SHAPES[(byName ? 2 : 0) + (byCategory ? 1 : 0)];
         
-        try (PreparedStatement stmt = connection.prepareStatement(sql.toString())) {
-            // Set parameters
-            for (int i = 0; i < parameters.size(); i++) {
-                stmt.setObject(i + 1, parameters.get(i));
+        try (Connection connection = UnitOfWork.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
+            int index = 1;
+            stmt.setBigDecimal(index++, minPrice != null ? minPrice : BigDecimal.ZERO);
+            stmt.setBigDecimal(index++, maxPrice != null ? maxPrice : MAX_PRICE);
+            if (byName) {
+                stmt.setString(index++, "%" + searchTerm.trim() + "%");
+            }
+            if (byCategory) {
+                stmt.setInt(index++, categoryId);
             }
             
             try (ResultSet rs = stmt.executeQuery()) {
@@ -274,7 +333,8 @@ public class MenuDAO {
             WHERE m.item_id = ?
             """;
         
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (Connection connection = UnitOfWork.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
             stmt.setInt(1, itemId);
             
             try (ResultSet rs = stmt.executeQuery()) {
@@ -296,6 +356,47 @@ public class MenuDAO {
         return null;
     }
     
+    /**
+     * Get menu items by IDs in a single query, keyed by item ID
+     */
+    public Map<Integer, MenuItem> getMenuItemsByIds(Collection<Integer> itemIds) {
+        Map<Integer, MenuItem> menuItems = new HashMap<>();
+        if (itemIds == null || itemIds.isEmpty()) {
+            return menuItems;
+        }
+        
+        String sql = """
+            SELECT m.item_id, m.category_id, c.name as category_name, 
+                   m.item_name, m.current_price, m.is_active
+            FROM MenuItem m
+            JOIN Category c ON m.category_id = c.category_id
+            WHERE m.item_id = ANY(?)
+            """;
+        
+        try (Connection connection = UnitOfWork.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
+            stmt.setArray(1, connection.createArrayOf("integer", itemIds.toArray()));
+            
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    MenuItem menuItem = new MenuItem(
+                        rs.getInt("item_id"),
+                        rs.getInt("category_id"),
+                        rs.getString("category_name"),
+                        rs.getString("item_name"),
+                        rs.getBigDecimal("current_price"),
+                        rs.getBoolean("is_active")
+                    );
+                    menuItems.put(menuItem.getItemId(), menuItem);
+                }
+            }
+        } catch (SQLException e) {
+            System.err.println("Error fetching menu items by IDs: " + e.getMessage());
+        }
+        
+        return menuItems;
+    }
+    
     /**
      * Get menu with category using database view
      */
@@ -303,7 +404,8 @@ public class MenuDAO {
         String sql = "SELECT * FROM menu_with_category WHERE is_active = true ORDER BY category_name, item_name";
         List<MenuItem> menuItems = new ArrayList<>();
         
-        try (PreparedStatement stmt = connection.prepareStatement(sql);
+        try (Connection connection = UnitOfWork.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql);
              ResultSet rs = stmt.executeQuery()) {
             
             while (rs.next()) {
@@ -340,7 +442,8 @@ public class MenuDAO {
             ORDER BY c.name
             """;
         
-        try (PreparedStatement stmt = connection.prepareStatement(sql);
+        try (Connection connection = UnitOfWork.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql);
              ResultSet rs = stmt.executeQuery()) {
             
              System.out.println("\n=== Menu Statistics ===");
@@ -373,7 +476,8 @@ public class MenuDAO {
      */
     public int addMenuItem(int categoryId, String itemName, BigDecimal price, boolean isActive) {
         String sql = "INSERT INTO MenuItem (category_id, item_name, current_price, is_active) VALUES (?, ?, ?, ?) RETURNING item_id";
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (Connection connection = UnitOfWork.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
             stmt.setInt(1, categoryId);
             stmt.setString(2, itemName);
             stmt.setBigDecimal(3, price);
@@ -394,7 +498,8 @@ public class MenuDAO {
      */
     public boolean updateMenuItem(int itemId, String itemName, BigDecimal price, int categoryId) {
         String sql = "UPDATE MenuItem SET item_name = ?, current_price = ?, category_id = ? WHERE item_id = ?";
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (Connection connection = UnitOfWork.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
             stmt.setString(1, itemName);
             stmt.setBigDecimal(2, price);
             stmt.setInt(3, categoryId);
@@ -411,7 +516,8 @@ public class MenuDAO {
      */
     public boolean setMenuItemActive(int itemId, boolean isActive) {
         String sql = "UPDATE MenuItem SET is_active = ? WHERE item_id = ?";
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (Connection connection = UnitOfWork.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
             stmt.setBoolean(1, isActive);
             stmt.setInt(2, itemId);
             return stmt.executeUpdate() > 0;
@@ -426,7 +532,8 @@ public class MenuDAO {
      */
     public boolean updateMenuItemPrice(int itemId, BigDecimal newPrice) {
         String sql = "UPDATE MenuItem SET current_price = ? WHERE item_id = ?";
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (Connection connection = UnitOfWork.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
             stmt.setBigDecimal(1, newPrice);
             stmt.setInt(2, itemId);
             return stmt.executeUpdate() > 0;
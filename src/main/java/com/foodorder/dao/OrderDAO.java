@@ -1,13 +1,20 @@
 package com.foodorder.dao;
 
-import com.foodorder.config.DatabaseConnection;
+import com.foodorder.config.UnitOfWork;
 import com.foodorder.model.Order;
 import com.foodorder.model.OrderItem;
+import com.foodorder.model.OrderPage;
 
 import java.math.BigDecimal;
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
 
 /**
  * Order data access layer
@@ -15,19 +22,16 @@ import java.util.List;
  */
 public class OrderDAO {
     
-    private Connection connection;
-    
-    public OrderDAO() {
-        this.connection = DatabaseConnection.getInstance().getConnection();
-    }
     
     /**
      * Create new
      */
     public int createOrder(Order order) {
-        String sql = "INSERT INTO Orders (customer_id, employee_id, order_time, total_amount, current_status) VALUES (?, ?, ?, ?, ?) RETURNING order_id";
+        // order_time is NOT NULL; an order without one gets the column default
+        String sql = "INSERT INTO Orders (customer_id, employee_id, order_time, total_amount, current_status) VALUES (?, ?, COALESCE(?, CURRENT_TIMESTAMP), ?, ?) RETURNING order_id";
         
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (Connection connection = UnitOfWork.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
             stmt.setInt(1, order.getCustomerId());
             stmt.setInt(2, order.getEmployeeId());
             stmt.setTimestamp(3, order.getOrderTime());
@@ -54,7 +58,7 @@ public class OrderDAO {
     public Order getOrderById(int orderId) {
         String sql = """
             SELECT o.order_id, o.customer_id, o.employee_id, o.order_time, 
-                   o.total_amount, o.current_status,
+                   o.total_amount, o.current_status, o.version,
                    c.name as customer_name, e.name as employee_name
             FROM Orders o
             JOIN Customer c ON o.customer_id = c.customer_id
@@ -62,7 +66,8 @@ public class OrderDAO {
             WHERE o.order_id = ?
             """;
         
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (Connection connection = UnitOfWork.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
             stmt.setInt(1, orderId);
             
             try (ResultSet rs = stmt.executeQuery()) {
@@ -77,6 +82,7 @@ public class OrderDAO {
                     );
                     order.setCustomerName(rs.getString("customer_name"));
                     order.setEmployeeName(rs.getString("employee_name"));
+                    order.setVersion(rs.getInt("version"));
                     return order;
                 }
             }
@@ -102,7 +108,8 @@ public class OrderDAO {
             ORDER BY o.order_time DESC
             """;
         
-        try (PreparedStatement stmt = connection.prepareStatement(sql);
+        try (Connection connection = UnitOfWork.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql);
              ResultSet rs = stmt.executeQuery()) {
             
             while (rs.next()) {
@@ -141,7 +148,8 @@ public class OrderDAO {
             ORDER BY o.order_time DESC
             """;
         
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (Connection connection = UnitOfWork.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
             stmt.setInt(1, customerId);
             
             try (ResultSet rs = stmt.executeQuery()) {
@@ -182,7 +190,8 @@ public class OrderDAO {
             ORDER BY o.order_time DESC
             """;
         
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (Connection connection = UnitOfWork.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
             stmt.setInt(1, employeeId);
             
             try (ResultSet rs = stmt.executeQuery()) {
@@ -223,7 +232,8 @@ public class OrderDAO {
             ORDER BY o.order_time DESC
             """;
         
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (Connection connection = UnitOfWork.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
             stmt.setString(1, status);
             
             try (ResultSet rs = stmt.executeQuery()) {
@@ -248,13 +258,273 @@ public class OrderDAO {
         return orders;
     }
     
+    /**
+     * Get one page of all orders, newest first
+     * Pass a null cursor for the first page
+     */
+    public OrderPage getOrdersPage(OrderPage.Cursor cursor, int pageSize) {
+        return getOrdersPage(null, null, cursor, pageSize);
+    }
+    
+    /**
+     * Get one page of a customer's orders, newest first
+     */
+    public OrderPage getOrdersPageByCustomerId(int customerId, OrderPage.Cursor cursor, int pageSize) {
+        return getOrdersPage("o.customer_id", customerId, cursor, pageSize);
+    }
+    
+    /**
+     * Get one page of an employee's orders, newest first
+     */
+    public OrderPage getOrdersPageByEmployeeId(int employeeId, OrderPage.Cursor cursor, int pageSize) {
+        return getOrdersPage("o.employee_id", employeeId, cursor, pageSize);
+    }
+    
+    /**
+     * Get one page of orders with a status, newest first
+     */
+    public OrderPage getOrdersPageByStatus(String status, OrderPage.Cursor cursor, int pageSize) {
+        return getOrdersPage("o.current_status", status, cursor, pageSize);
+    }
+    
+    /**
+     * Keyset pagination on (order_time, order_id), served by the matching composite indexes.
+     * Relies on order_time being NOT NULL: the row comparison would skip NULL times.
+     * Fetches one extra row to know whether another page follows.
+     */
+    private OrderPage getOrdersPage(String filterColumn, Object filterValue, 
+                                    OrderPage.Cursor cursor, int pageSize) {
+        StringBuilder sql = new StringBuilder("""
+            SELECT o.order_id, o.customer_id, o.employee_id, o.order_time, 
+                   o.total_amount, o.current_status,
+                   c.name as customer_name, e.name as employee_name
+            FROM Orders o
+            JOIN Customer c ON o.customer_id = c.customer_id
+            JOIN Employee e ON o.employee_id = e.employee_id
+            WHERE TRUE
+            """);
+        if (filterColumn != null) {
+            sql.append(" AND ").append(filterColumn).append(" = ?");
+        }
+        if (cursor != null) {
+            sql.append(" AND (o.order_time, o.order_id) < (?, ?)");
+        }
+        sql.append(" ORDER BY o.order_time DESC, o.order_id DESC LIMIT ?");
+        
+        List<Order> orders = new ArrayList<>();
+        try (Connection connection = UnitOfWork.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql.toString())) {
+            int index = 1;
+            if (filterColumn != null) {
+                stmt.setObject(index++, filterValue);
+            }
+            if (cursor != null) {
+                stmt.setTimestamp(index++, cursor.getOrderTime());
+                stmt.setInt(index++, cursor.getOrderId());
+            }
+            stmt.setInt(index, pageSize + 1);
+            
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    Order order = new Order(
+                        rs.getInt("order_id"),
+                        rs.getInt("customer_id"),
+                        rs.getInt("employee_id"),
+                        rs.getTimestamp("order_time"),
+                        rs.getBigDecimal("total_amount"),
+                        rs.getString("current_status")
+                    );
+                    order.setCustomerName(rs.getString("customer_name"));
+                    order.setEmployeeName(rs.getString("employee_name"));
+                    orders.add(order);
+                }
+            }
+        } catch (SQLException e) {
+            System.err.println("Error fetching orders page: " + e.getMessage());
+        }
+        
+        OrderPage.Cursor nextCursor = null;
+        if (orders.size() > pageSize) {
+            orders.remove(pageSize);
+            nextCursor = OrderPage.Cursor.after(orders.get(pageSize - 1));
+        }
+        return new OrderPage(orders, nextCursor);
+    }
+    
+    /**
+     * Stream every order with its lines to the consumer, oldest first, without holding the
+     * result set in memory. Runs in a read transaction so the driver fetches rows through
+     * a server-side cursor, fetchSize rows at a time. Returns the number of orders, or -1
+     * if the query failed (orders already passed to the consumer stay delivered).
+     */
+    public int streamOrders(int fetchSize, Consumer<Order> consumer) {
+        String sql = """
+            SELECT o.order_id, o.customer_id, o.employee_id, o.order_time, 
+                   o.total_amount, o.current_status,
+                   c.name as customer_name, e.name as employee_name,
+                   oi.item_id, oi.quantity, m.item_name, m.current_price
+            FROM Orders o
+            JOIN Customer c ON o.customer_id = c.customer_id
+            JOIN Employee e ON o.employee_id = e.employee_id
+            LEFT JOIN OrderItem oi ON oi.order_id = o.order_id
+            LEFT JOIN MenuItem m ON oi.item_id = m.item_id
+            ORDER BY o.order_id, oi.item_id
+            """;
+        
+        try {
+            return UnitOfWork.inTransaction(connection -> {
+                try (PreparedStatement stmt = connection.prepareStatement(sql,
+                        ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+                    stmt.setFetchSize(fetchSize);
+                    
+                    int count = 0;
+                    try (ResultSet rs = stmt.executeQuery()) {
+                        // Rows arrive grouped by order; emit each order once its last line is read
+                        Order current = null;
+                        while (rs.next()) {
+                            int orderId = rs.getInt("order_id");
+                            if (current == null || current.getOrderId() != orderId) {
+                                if (current != null) {
+                                    consumer.accept(current);
+                                    count++;
+                                }
+                                current = new Order(
+                                    orderId,
+                                    rs.getInt("customer_id"),
+                                    rs.getInt("employee_id"),
+                                    rs.getTimestamp("order_time"),
+                                    rs.getBigDecimal("total_amount"),
+                                    rs.getString("current_status")
+                                );
+                                current.setCustomerName(rs.getString("customer_name"));
+                                current.setEmployeeName(rs.getString("employee_name"));
+                                current.setOrderItems(new ArrayList<>());
+                            }
+                            
+                            int itemId = rs.getInt("item_id");
+                            if (!rs.wasNull()) {
+                                current.getOrderItems().add(new OrderItem(
+                                    orderId,
+                                    itemId,
+                                    rs.getInt("quantity"),
+                                    rs.getString("item_name"),
+                                    rs.getBigDecimal("current_price")
+                                ));
+                            }
+                        }
+                        if (current != null) {
+                            consumer.accept(current);
+                            count++;
+                        }
+                    }
+                    return count;
+                }
+            });
+        } catch (SQLException e) {
+            System.err.println("Error streaming orders: " + e.getMessage());
+            return -1;
+        }
+    }
+    
+    /**
+     * Stream every order without its lines to the consumer, newest first, as getAllOrders
+     * lists them but without holding the result set in memory: fetched through a
+     * server-side cursor, fetchSize rows at a time. Returns the number of orders, or -1
+     * if the query failed (orders already passed to the consumer stay delivered).
+     */
+    public int streamOrderHeaders(int fetchSize, Consumer<Order> consumer) {
+        String sql = """
+            SELECT o.order_id, o.customer_id, o.employee_id, o.order_time, 
+                   o.total_amount, o.current_status,
+                   c.name as customer_name, e.name as employee_name
+            FROM Orders o
+            JOIN Customer c ON o.customer_id = c.customer_id
+            JOIN Employee e ON o.employee_id = e.employee_id
+            ORDER BY o.order_time DESC, o.order_id DESC
+            """;
+        
+        try {
+            return UnitOfWork.inTransaction(connection -> {
+                try (PreparedStatement stmt = connection.prepareStatement(sql,
+                        ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+                    stmt.setFetchSize(fetchSize);
+                    
+                    int count = 0;
+                    try (ResultSet rs = stmt.executeQuery()) {
+                        while (rs.next()) {
+                            Order order = new Order(
+                                rs.getInt("order_id"),
+                                rs.getInt("customer_id"),
+                                rs.getInt("employee_id"),
+                                rs.getTimestamp("order_time"),
+                                rs.getBigDecimal("total_amount"),
+                                rs.getString("current_status")
+                            );
+                            order.setCustomerName(rs.getString("customer_name"));
+                            order.setEmployeeName(rs.getString("employee_name"));
+                            consumer.accept(order);
+                            count++;
+                        }
+                    }
+                    return count;
+                }
+            });
+        } catch (SQLException e) {
+            System.err.println("Error streaming orders: " + e.getMessage());
+            return -1;
+        }
+    }
+    
+    /**
+     * Count all orders
+     */
+    public int getOrderCount() {
+        String sql = "SELECT COUNT(*) FROM Orders";
+        
+        try (Connection connection = UnitOfWork.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql);
+             ResultSet rs = stmt.executeQuery()) {
+            
+            if (rs.next()) {
+                return rs.getInt(1);
+            }
+        } catch (SQLException e) {
+            System.err.println("Error counting orders: " + e.getMessage());
+        }
+        
+        return 0;
+    }
+    
+    /**
+     * Count orders in one status
+     */
+    public int getOrderCountByStatus(String status) {
+        String sql = "SELECT COUNT(*) FROM Orders WHERE current_status = ?";
+        
+        try (Connection connection = UnitOfWork.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
+            stmt.setString(1, status);
+            
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    return rs.getInt(1);
+                }
+            }
+        } catch (SQLException e) {
+            System.err.println("Error counting orders by status: " + e.getMessage());
+        }
+        
+        return 0;
+    }
+    
     /**
      * Update order status
      */
     public boolean updateOrderStatus(int orderId, String newStatus) {
-        String sql = "UPDATE Orders SET current_status = ? WHERE order_id = ?";
+        String sql = "UPDATE Orders SET current_status = ?, version = version + 1 WHERE order_id = ?";
         
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (Connection connection = UnitOfWork.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
             stmt.setString(1, newStatus);
             stmt.setInt(2, orderId);
             
@@ -266,13 +536,257 @@ public class OrderDAO {
         }
     }
     
+    /**
+     * Update order status only if the order still has the expected version.
+     * Returns 1 if updated, 0 if another update got there first, -1 on error.
+     */
+    public int updateOrderStatusIfVersion(int orderId, String newStatus, int expectedVersion) {
+        String sql = """
+            UPDATE Orders SET current_status = ?, version = version + 1
+            WHERE order_id = ? AND version = ?
+            """;
+        
+        try (Connection connection = UnitOfWork.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
+            stmt.setString(1, newStatus);
+            stmt.setInt(2, orderId);
+            stmt.setInt(3, expectedVersion);
+            
+            return stmt.executeUpdate();
+        } catch (SQLException e) {
+            System.err.println("Error updating order status: " + e.getMessage());
+            return -1;
+        }
+    }
+    
+    /**
+     * Get employee, status and version of several orders; orders that do not exist are left out.
+     * The returned orders only have ID, employee, status and version filled in. Null on database error.
+     */
+    public Map<Integer, Order> getOrderStates(Collection<Integer> orderIds) {
+        Map<Integer, Order> states = new HashMap<>();
+        if (orderIds == null || orderIds.isEmpty()) {
+            return states;
+        }
+        
+        String sql = "SELECT order_id, employee_id, current_status, version FROM Orders WHERE order_id = ANY(?)";
+        
+        try (Connection connection = UnitOfWork.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
+            stmt.setArray(1, connection.createArrayOf("integer", orderIds.toArray()));
+            
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    Order order = new Order();
+                    order.setOrderId(rs.getInt("order_id"));
+                    order.setEmployeeId(rs.getInt("employee_id"));
+                    order.setCurrentStatus(rs.getString("current_status"));
+                    order.setVersion(rs.getInt("version"));
+                    states.put(order.getOrderId(), order);
+                }
+            }
+        } catch (SQLException e) {
+            System.err.println("Error fetching order states: " + e.getMessage());
+            return null;
+        }
+        
+        return states;
+    }
+    
+    /**
+     * Replace orders and their lines with the given state, keeping their IDs and the given
+     * versions; used to rebuild the tables from the event journal. Orders in deletedIds are removed.
+     * Totals are recomputed by the OrderItem triggers. Must run inside a transaction.
+     */
+    public boolean replaceOrders(List<Order> orders, Collection<Integer> deletedIds) {
+        List<Integer> orderIds = new ArrayList<>(deletedIds);
+        List<OrderItem> lines = new ArrayList<>();
+        Integer[] ids = new Integer[orders.size()];
+        Integer[] customerIds = new Integer[orders.size()];
+        Integer[] employeeIds = new Integer[orders.size()];
+        Timestamp[] orderTimes = new Timestamp[orders.size()];
+        String[] statuses = new String[orders.size()];
+        Integer[] versions = new Integer[orders.size()];
+        for (int i = 0; i < orders.size(); i++) {
+            Order order = orders.get(i);
+            orderIds.add(order.getOrderId());
+            ids[i] = order.getOrderId();
+            customerIds[i] = order.getCustomerId();
+            employeeIds[i] = order.getEmployeeId();
+            orderTimes[i] = order.getOrderTime();
+            statuses[i] = order.getCurrentStatus();
+            versions[i] = order.getVersion();
+            lines.addAll(order.getOrderItems());
+        }
+        
+        String deleteItemsSql = "DELETE FROM OrderItem WHERE order_id = ANY(?)";
+        String deleteOrdersSql = "DELETE FROM Orders WHERE order_id = ANY(?)";
+        String insertOrdersSql = """
+            INSERT INTO Orders (order_id, customer_id, employee_id, order_time, total_amount, current_status, version)
+            SELECT order_id, customer_id, employee_id, order_time, 0, current_status, version
+            FROM unnest(?::int[], ?::int[], ?::int[], ?::timestamp[], ?::varchar[], ?::int[])
+                AS o(order_id, customer_id, employee_id, order_time, current_status, version)
+            """;
+        
+        try (Connection connection = UnitOfWork.getConnection()) {
+            Array orderIdArray = connection.createArrayOf("integer", orderIds.toArray());
+            try (PreparedStatement stmt = connection.prepareStatement(deleteItemsSql)) {
+                stmt.setArray(1, orderIdArray);
+                stmt.executeUpdate();
+            }
+            try (PreparedStatement stmt = connection.prepareStatement(deleteOrdersSql)) {
+                stmt.setArray(1, orderIdArray);
+                stmt.executeUpdate();
+            }
+            try (PreparedStatement stmt = connection.prepareStatement(insertOrdersSql)) {
+                stmt.setArray(1, connection.createArrayOf("integer", ids));
+                stmt.setArray(2, connection.createArrayOf("integer", customerIds));
+                stmt.setArray(3, connection.createArrayOf("integer", employeeIds));
+                stmt.setArray(4, connection.createArrayOf("timestamp", orderTimes));
+                stmt.setArray(5, connection.createArrayOf("varchar", statuses));
+                stmt.setArray(6, connection.createArrayOf("integer", versions));
+                stmt.executeUpdate();
+            }
+        } catch (SQLException e) {
+            System.err.println("Error replacing orders: " + e.getMessage());
+            return false;
+        }
+        
+        return lines.isEmpty() || new OrderItemDAO().addOrderItems(lines);
+    }
+    
+    /**
+     * Move the order ID sequence past the highest stored ID, e.g. after orders were rebuilt
+     */
+    public boolean syncOrderIdSequence() {
+        String sql = """
+            SELECT setval(pg_get_serial_sequence('orders', 'order_id'),
+                          GREATEST((SELECT MAX(order_id) FROM Orders), 1))
+            """;
+        
+        try (Connection connection = UnitOfWork.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
+            stmt.executeQuery().close();
+            return true;
+        } catch (SQLException e) {
+            System.err.println("Error syncing order ID sequence: " + e.getMessage());
+            return false;
+        }
+    }
+    
+    /**
+     * Get status and version of every active (PENDING, ACCEPTED, PREPARING) order.
+     * The returned orders only have ID, status and version filled in.
+     */
+    public List<Order> getActiveOrderStates() {
+        List<Order> states = new ArrayList<>();
+        String sql = """
+            SELECT order_id, current_status, version FROM Orders
+            WHERE current_status IN ('PENDING', 'ACCEPTED', 'PREPARING')
+            """;
+        
+        try (Connection connection = UnitOfWork.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql);
+             ResultSet rs = stmt.executeQuery()) {
+            
+            while (rs.next()) {
+                Order order = new Order();
+                order.setOrderId(rs.getInt("order_id"));
+                order.setCurrentStatus(rs.getString("current_status"));
+                order.setVersion(rs.getInt("version"));
+                states.add(order);
+            }
+        } catch (SQLException e) {
+            System.err.println("Error fetching active orders: " + e.getMessage());
+        }
+        
+        return states;
+    }
+    
+    /**
+     * Get order ID to employee ID of every active (PENDING, ACCEPTED, PREPARING) order
+     */
+    public Map<Integer, Integer> getActiveOrderEmployees() {
+        Map<Integer, Integer> employees = new HashMap<>();
+        String sql = """
+            SELECT order_id, employee_id FROM Orders
+            WHERE current_status IN ('PENDING', 'ACCEPTED', 'PREPARING') AND employee_id IS NOT NULL
+            """;
+        
+        try (Connection connection = UnitOfWork.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql);
+             ResultSet rs = stmt.executeQuery()) {
+            
+            while (rs.next()) {
+                employees.put(rs.getInt("order_id"), rs.getInt("employee_id"));
+            }
+        } catch (SQLException e) {
+            System.err.println("Error fetching active order employees: " + e.getMessage());
+        }
+        
+        return employees;
+    }
+    
+    /**
+     * Update the status of several orders with one statement.
+     * A row only changes if it still has the expected version.
+     * Returns the IDs of the updated orders, or null if the statement failed.
+     *
+     * @param newStatuses order ID to new status
+     * @param expectedVersions order ID to the version it must currently have
+     */
+    public Set<Integer> updateOrderStatuses(Map<Integer, String> newStatuses, Map<Integer, Integer> expectedVersions) {
+        Set<Integer> updated = new HashSet<>();
+        if (newStatuses.isEmpty()) {
+            return updated;
+        }
+        
+        String sql = """
+            UPDATE Orders o
+            SET current_status = u.new_status, version = o.version + 1
+            FROM unnest(?::int[], ?::varchar[], ?::int[]) AS u(order_id, new_status, old_version)
+            WHERE o.order_id = u.order_id AND o.version = u.old_version
+            RETURNING o.order_id
+            """;
+        
+        Integer[] orderIds = new Integer[newStatuses.size()];
+        String[] statuses = new String[newStatuses.size()];
+        Integer[] expected = new Integer[newStatuses.size()];
+        int i = 0;
+        for (Map.Entry<Integer, String> entry : newStatuses.entrySet()) {
+            orderIds[i] = entry.getKey();
+            statuses[i] = entry.getValue();
+            expected[i] = expectedVersions.get(entry.getKey());
+            i++;
+        }
+        
+        try (Connection connection = UnitOfWork.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
+            stmt.setArray(1, connection.createArrayOf("integer", orderIds));
+            stmt.setArray(2, connection.createArrayOf("varchar", statuses));
+            stmt.setArray(3, connection.createArrayOf("integer", expected));
+            
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    updated.add(rs.getInt("order_id"));
+                }
+            }
+        } catch (SQLException e) {
+            System.err.println("Error updating order statuses: " + e.getMessage());
+            return null;
+        }
+        
+        return updated;
+    }
+    
     /**
      * updatetotal amount
      */
     public boolean updateOrderTotal(int orderId, BigDecimal totalAmount) {
         String sql = "UPDATE Orders SET total_amount = ? WHERE order_id = ?";
         
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (Connection connection = UnitOfWork.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
             stmt.setBigDecimal(1, totalAmount);
             stmt.setInt(2, orderId);
             
@@ -289,38 +803,26 @@ public class OrderDAO {
      */
     public boolean deleteOrder(int orderId) {
         try {
-            connection.setAutoCommit(false);
-            
-            // First order items
-            String deleteItemsSql = "DELETE FROM OrderItem WHERE order_id = ?";
-            try (PreparedStatement stmt = connection.prepareStatement(deleteItemsSql)) {
-                stmt.setInt(1, orderId);
-                stmt.executeUpdate();
-            }
-            
-            // Then order
-            String deleteOrderSql = "DELETE FROM Orders WHERE order_id = ?";
-            try (PreparedStatement stmt = connection.prepareStatement(deleteOrderSql)) {
-                stmt.setInt(1, orderId);
-                int rowsAffected = stmt.executeUpdate();
+            // Runs in its own transaction, or joins the caller's unit of work
+            return UnitOfWork.inTransaction(connection -> {
+                // First order items
+                String deleteItemsSql = "DELETE FROM OrderItem WHERE order_id = ?";
+                try (PreparedStatement stmt = connection.prepareStatement(deleteItemsSql)) {
+                    stmt.setInt(1, orderId);
+                    stmt.executeUpdate();
+                }
                 
-                connection.commit();
-                return rowsAffected > 0;
-            }
+                // Then order
+                String deleteOrderSql = "DELETE FROM Orders WHERE order_id = ?";
+                try (PreparedStatement stmt = connection.prepareStatement(deleteOrderSql)) {
+                    stmt.setInt(1, orderId);
+                    int rowsAffected = stmt.executeUpdate();
+                    return rowsAffected > 0;
+                }
+            });
         } catch (SQLException e) {
-            try {
-                connection.rollback();
-            } catch (SQLException rollbackEx) {
-                System.err.println("Error rolling back transaction: " + rollbackEx.getMessage());
-            }
             System.err.println("Error deleting order: " + e.getMessage());
             return false;
-        } finally {
-            try {
-                connection.setAutoCommit(true);
-            } catch (SQLException e) {
-                System.err.println("Error resetting auto-commit: " + e.getMessage());
-            }
         }
     }
     
@@ -330,7 +832,8 @@ public class OrderDAO {
     public BigDecimal calculateOrderTotalUsingFunction(int orderId) {
         String sql = "SELECT calculate_order_total(?)";
         
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (Connection connection = UnitOfWork.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
             stmt.setInt(1, orderId);
             
             try (ResultSet rs = stmt.executeQuery()) {
@@ -351,7 +854,8 @@ public class OrderDAO {
     public boolean updateOrderTotalUsingProcedure(int orderId) {
         String sql = "CALL update_order_total(?)";
         
-        try (CallableStatement stmt = connection.prepareCall(sql)) {
+        try (Connection connection = UnitOfWork.getConnection();
+             CallableStatement stmt = connection.prepareCall(sql)) {
             stmt.setInt(1, orderId);
             stmt.execute();
             return true;
@@ -367,7 +871,8 @@ public class OrderDAO {
     public boolean isMenuItemAvailable(int itemId) {
         String sql = "SELECT is_menu_item_available(?)";
         
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (Connection connection = UnitOfWork.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
             stmt.setInt(1, itemId);
             
             try (ResultSet rs = stmt.executeQuery()) {
@@ -388,7 +893,8 @@ public class OrderDAO {
     public boolean assignEmployeeToOrder(int orderId) {
         String sql = "CALL assign_employee_to_order(?)";
         
-        try (CallableStatement stmt = connection.prepareCall(sql)) {
+        try (Connection connection = UnitOfWork.getConnection();
+             CallableStatement stmt = connection.prepareCall(sql)) {
             stmt.setInt(1, orderId);
             stmt.execute();
             return true;
@@ -398,6 +904,23 @@ public class OrderDAO {
         }
     }
     
+    /**
+     * Assign the given employee to an order
+     */
+    public boolean assignEmployeeToOrder(int orderId, int employeeId) {
+        String sql = "UPDATE Orders SET employee_id = ? WHERE order_id = ?";
+        
+        try (Connection connection = UnitOfWork.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
+            stmt.setInt(1, employeeId);
+            stmt.setInt(2, orderId);
+            return stmt.executeUpdate() > 0;
+        } catch (SQLException e) {
+            System.err.println("Error assigning employee to order: " + e.getMessage());
+            return false;
+        }
+    }
+    
     /**
      * Legacy method - kept for compatibility but triggers now handle this automatically
      */
@@ -407,13 +930,15 @@ public class OrderDAO {
     }
     
     /**
-     * Get order summary using database view
+     * Get order summary using database view (materialized copy, at most db.views.maxStalenessMillis old)
      */
     public List<Order> getOrderSummaryFromView() {
-        String sql = "SELECT * FROM order_summary ORDER BY order_time DESC";
+        String sql = "SELECT * FROM " + MaterializedViews.fresh(MaterializedViews.ORDER_SUMMARY)
+            + " ORDER BY order_time DESC";
         List<Order> orders = new ArrayList<>();
         
-        try (PreparedStatement stmt = connection.prepareStatement(sql);
+        try (Connection connection = UnitOfWork.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql);
              ResultSet rs = stmt.executeQuery()) {
             
             while (rs.next()) {
@@ -455,7 +980,8 @@ public class OrderDAO {
                 END
             """;
         
-        try (PreparedStatement stmt = connection.prepareStatement(sql);
+        try (Connection connection = UnitOfWork.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql);
              ResultSet rs = stmt.executeQuery()) {
             
             System.out.println("\n=== statisticsinformation ===");
@@ -520,7 +1046,8 @@ public class OrderDAO {
             WHERE DATE(order_time) = CURRENT_DATE
             """;
         
-        try (PreparedStatement stmt = connection.prepareStatement(sql);
+        try (Connection connection = UnitOfWork.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql);
              ResultSet rs = stmt.executeQuery()) {
             
             if (rs.next()) {
@@ -0,0 +1,150 @@
+package com.foodorder.dao;
+
+import com.foodorder.config.UnitOfWork;
+import com.foodorder.model.OrderEvent;
+
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Order event journal data access layer
+ * The journal is append-only: events are inserted, never updated
+ */
+public class OrderEventDAO {
+
+    /**
+     * Append events with one multi-row INSERT; event IDs follow list order
+     */
+    public boolean appendEvents(List<OrderEvent> events) {
+        if (events.isEmpty()) {
+            return true;
+        }
+
+        String sql = """
+            INSERT INTO OrderEvent (order_id, event_type, customer_id, employee_id, item_id, quantity, status)
+            SELECT order_id, event_type, customer_id, employee_id, item_id, quantity, status
+            FROM unnest(?::int[], ?::varchar[], ?::int[], ?::int[], ?::int[], ?::int[], ?::varchar[])
+                WITH ORDINALITY AS e(order_id, event_type, customer_id, employee_id, item_id, quantity, status, seq)
+            ORDER BY seq
+            """;
+
+        int size = events.size();
+        Integer[] orderIds = new Integer[size];
+        String[] types = new String[size];
+        Integer[] customerIds = new Integer[size];
+        Integer[] employeeIds = new Integer[size];
+        Integer[] itemIds = new Integer[size];
+        Integer[] quantities = new Integer[size];
+        String[] statuses = new String[size];
+        for (int i = 0; i < size; i++) {
+            OrderEvent event = events.get(i);
+            orderIds[i] = event.getOrderId();
+            types[i] = event.getType().name();
+            customerIds[i] = event.getCustomerId();
+            employeeIds[i] = event.getEmployeeId();
+            itemIds[i] = event.getItemId();
+            quantities[i] = event.getQuantity();
+            statuses[i] = event.getStatus();
+        }
+
+        try (Connection connection = UnitOfWork.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
+            stmt.setArray(1, connection.createArrayOf("integer", orderIds));
+            stmt.setArray(2, connection.createArrayOf("varchar", types));
+            stmt.setArray(3, connection.createArrayOf("integer", customerIds));
+            stmt.setArray(4, connection.createArrayOf("integer", employeeIds));
+            stmt.setArray(5, connection.createArrayOf("integer", itemIds));
+            stmt.setArray(6, connection.createArrayOf("integer", quantities));
+            stmt.setArray(7, connection.createArrayOf("varchar", statuses));
+
+            return stmt.executeUpdate() == size;
+        } catch (SQLException e) {
+            System.err.println("Error appending order events: " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Get the events of one order after the given event ID, oldest first
+     */
+    public List<OrderEvent> getEvents(int orderId, long afterEventId) {
+        String sql = """
+            SELECT event_id, order_id, event_type, customer_id, employee_id, item_id, quantity, status, event_time
+            FROM OrderEvent
+            WHERE order_id = ? AND event_id > ?
+            ORDER BY event_id
+            """;
+
+        List<OrderEvent> events = new ArrayList<>();
+        try (Connection connection = UnitOfWork.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
+            stmt.setInt(1, orderId);
+            stmt.setLong(2, afterEventId);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    events.add(mapEvent(rs));
+                }
+            }
+        } catch (SQLException e) {
+            System.err.println("Error getting order events: " + e.getMessage());
+        }
+        return events;
+    }
+
+    /**
+     * Stream the events of one order ID partition (order_id % partitions = partition),
+     * grouped by order and oldest first, skipping events already folded into a snapshot.
+     * Runs in a transaction so the driver uses a cursor and holds fetchSize rows at a time;
+     * the consumer may write on the same connection.
+     *
+     * @return number of events streamed, or -1 on error
+     */
+    public long streamPartition(int partitions, int partition, int fetchSize, Consumer<OrderEvent> consumer) {
+        String sql = """
+            SELECT e.event_id, e.order_id, e.event_type, e.customer_id, e.employee_id,
+                   e.item_id, e.quantity, e.status, e.event_time
+            FROM OrderEvent e
+            LEFT JOIN OrderSnapshot s ON s.order_id = e.order_id
+            WHERE e.order_id % ? = ? AND e.event_id > COALESCE(s.last_event_id, 0)
+            ORDER BY e.order_id, e.event_id
+            """;
+
+        try {
+            return UnitOfWork.inTransaction(connection -> {
+                try (PreparedStatement stmt = connection.prepareStatement(sql,
+                        ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+                    stmt.setFetchSize(fetchSize);
+                    stmt.setInt(1, partitions);
+                    stmt.setInt(2, partition);
+
+                    long count = 0;
+                    try (ResultSet rs = stmt.executeQuery()) {
+                        while (rs.next()) {
+                            consumer.accept(mapEvent(rs));
+                            count++;
+                        }
+                    }
+                    return count;
+                }
+            });
+        } catch (SQLException e) {
+            System.err.println("Error streaming order events: " + e.getMessage());
+            return -1;
+        }
+    }
+
+    private OrderEvent mapEvent(ResultSet rs) throws SQLException {
+        OrderEvent event = new OrderEvent(rs.getInt("order_id"), OrderEvent.Type.valueOf(rs.getString("event_type")));
+        event.setEventId(rs.getLong("event_id"));
+        event.setCustomerId(rs.getObject("customer_id", Integer.class));
+        event.setEmployeeId(rs.getObject("employee_id", Integer.class));
+        event.setItemId(rs.getObject("item_id", Integer.class));
+        event.setQuantity(rs.getObject("quantity", Integer.class));
+        event.setStatus(rs.getString("status"));
+        event.setEventTime(rs.getTimestamp("event_time"));
+        return event;
+    }
+}
@@ -1,12 +1,18 @@
 package com.foodorder.dao;
 
-import com.foodorder.config.DatabaseConnection;
+import com.foodorder.config.UnitOfWork;
+import com.foodorder.model.CategorySales;
+import com.foodorder.model.ItemSales;
 import com.foodorder.model.OrderItem;
 
 import java.math.BigDecimal;
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
 
 /**
  * Order item data access layer
@@ -14,11 +20,6 @@ import java.util.List;
  */
 public class OrderItemDAO {
     
-    private Connection connection;
-    
-    public OrderItemDAO() {
-        this.connection = DatabaseConnection.getInstance().getConnection();
-    }
     
     /**
      * Add order items
@@ -26,7 +27,8 @@ public class OrderItemDAO {
     public boolean addOrderItem(OrderItem orderItem) {
         String sql = "INSERT INTO OrderItem (order_id, item_id, quantity) VALUES (?, ?, ?)";
         
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (Connection connection = UnitOfWork.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
             stmt.setInt(1, orderItem.getOrderId());
             stmt.setInt(2, orderItem.getItemId());
             stmt.setInt(3, orderItem.getQuantity());
@@ -41,49 +43,145 @@ public class OrderItemDAO {
     
     /**
      * Add order items
+     * Sent as one multi-row INSERT so the order-total trigger runs once per call
      */
     public boolean addOrderItems(List<OrderItem> orderItems) {
-        String sql = "INSERT INTO OrderItem (order_id, item_id, quantity) VALUES (?, ?, ?)";
+        String sql = """
+            INSERT INTO OrderItem (order_id, item_id, quantity)
+            SELECT order_id, item_id, quantity
+            FROM unnest(?::int[], ?::int[], ?::int[]) AS lines(order_id, item_id, quantity)
+            """;
+        
+        Integer[] orderIds = new Integer[orderItems.size()];
+        Integer[] itemIds = new Integer[orderItems.size()];
+        Integer[] quantities = new Integer[orderItems.size()];
+        for (int i = 0; i < orderItems.size(); i++) {
+            OrderItem item = orderItems.get(i);
+            orderIds[i] = item.getOrderId();
+            itemIds[i] = item.getItemId();
+            quantities[i] = item.getQuantity();
+        }
         
-        try {
-            connection.setAutoCommit(false);
+        try (Connection connection = UnitOfWork.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
+            stmt.setArray(1, connection.createArrayOf("integer", orderIds));
+            stmt.setArray(2, connection.createArrayOf("integer", itemIds));
+            stmt.setArray(3, connection.createArrayOf("integer", quantities));
             
-            try (PreparedStatement stmt = connection.prepareStatement(sql)) {
-                for (OrderItem item : orderItems) {
-                    stmt.setInt(1, item.getOrderId());
-                    stmt.setInt(2, item.getItemId());
-                    stmt.setInt(3, item.getQuantity());
-                    stmt.addBatch();
-                }
-                
-                int[] results = stmt.executeBatch();
-                connection.commit();
-                
-                // Check ifsuccessful
-                for (int result : results) {
-                    if (result <= 0) {
-                        return false;
-                    }
-                }
-                return true;
-            }
+            // A single statement is atomic, no explicit transaction needed
+            int rowsAffected = stmt.executeUpdate();
+            return rowsAffected == orderItems.size();
         } catch (SQLException e) {
-            try {
-                connection.rollback();
-            } catch (SQLException rollbackEx) {
-                System.err.println("Error rolling back transaction: " + rollbackEx.getMessage());
-            }
             System.err.println("Error adding order items: " + e.getMessage());
             return false;
-        } finally {
-            try {
-                connection.setAutoCommit(true);
-            } catch (SQLException e) {
-                System.err.println("Error resetting auto-commit: " + e.getMessage());
-            }
         }
     }
     
+    /**
+     * Add all lines of one order with a single multi-row INSERT
+     */
+    public boolean addOrderItems(int orderId, Map<Integer, Integer> quantities) {
+        String sql = """
+            INSERT INTO OrderItem (order_id, item_id, quantity)
+            SELECT ?, item_id, quantity
+            FROM unnest(?::int[], ?::int[]) AS lines(item_id, quantity)
+            """;
+        
+        Integer[] itemIds = new Integer[quantities.size()];
+        Integer[] itemQuantities = new Integer[quantities.size()];
+        int i = 0;
+        for (Map.Entry<Integer, Integer> entry : quantities.entrySet()) {
+            itemIds[i] = entry.getKey();
+            itemQuantities[i] = entry.getValue();
+            i++;
+        }
+        
+        try (Connection connection = UnitOfWork.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
+            stmt.setInt(1, orderId);
+            stmt.setArray(2, connection.createArrayOf("integer", itemIds));
+            stmt.setArray(3, connection.createArrayOf("integer", itemQuantities));
+            
+            int rowsAffected = stmt.executeUpdate();
+            return rowsAffected == quantities.size();
+        } catch (SQLException e) {
+            System.err.println("Error adding order items: " + e.getMessage());
+            return false;
+        }
+    }
+    
+    /**
+     * Add quantities to order lines, creating lines that do not exist yet.
+     * One statement for all lines; lines of orders deleted in the meantime are skipped.
+     * Each (order, item) pair may appear only once.
+     */
+    public boolean addToOrderItems(List<OrderItem> orderItems) {
+        String sql = """
+            INSERT INTO OrderItem (order_id, item_id, quantity)
+            SELECT lines.order_id, lines.item_id, lines.quantity
+            FROM unnest(?::int[], ?::int[], ?::int[]) AS lines(order_id, item_id, quantity)
+            JOIN Orders o ON o.order_id = lines.order_id
+            ON CONFLICT (order_id, item_id) DO UPDATE SET quantity = OrderItem.quantity + EXCLUDED.quantity
+            """;
+        return applyLines(sql, orderItems, "Error adding to order items: ");
+    }
+
+    /**
+     * Set the quantity of order lines, creating missing ones; a quantity of 0 removes the line.
+     * One statement per kind of change; each (order, item) pair may appear only once.
+     */
+    public boolean replaceOrderItems(List<OrderItem> orderItems) {
+        String upsertSql = """
+            INSERT INTO OrderItem (order_id, item_id, quantity)
+            SELECT lines.order_id, lines.item_id, lines.quantity
+            FROM unnest(?::int[], ?::int[], ?::int[]) AS lines(order_id, item_id, quantity)
+            JOIN Orders o ON o.order_id = lines.order_id
+            ON CONFLICT (order_id, item_id) DO UPDATE SET quantity = EXCLUDED.quantity
+            """;
+        String deleteSql = """
+            DELETE FROM OrderItem oi
+            USING unnest(?::int[], ?::int[], ?::int[]) AS lines(order_id, item_id, quantity)
+            WHERE oi.order_id = lines.order_id AND oi.item_id = lines.item_id
+            """;
+
+        List<OrderItem> kept = new ArrayList<>();
+        List<OrderItem> removed = new ArrayList<>();
+        for (OrderItem item : orderItems) {
+            (item.getQuantity() > 0 ? kept : removed).add(item);
+        }
+        return applyLines(upsertSql, kept, "Error replacing order items: ")
+            && applyLines(deleteSql, removed, "Error removing order items: ");
+    }
+
+    private boolean applyLines(String sql, List<OrderItem> orderItems, String errorMessage) {
+        if (orderItems.isEmpty()) {
+            return true;
+        }
+
+        Integer[] orderIds = new Integer[orderItems.size()];
+        Integer[] itemIds = new Integer[orderItems.size()];
+        Integer[] quantities = new Integer[orderItems.size()];
+        for (int i = 0; i < orderItems.size(); i++) {
+            OrderItem item = orderItems.get(i);
+            orderIds[i] = item.getOrderId();
+            itemIds[i] = item.getItemId();
+            quantities[i] = item.getQuantity();
+        }
+
+        try (Connection connection = UnitOfWork.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
+            stmt.setArray(1, connection.createArrayOf("integer", orderIds));
+            stmt.setArray(2, connection.createArrayOf("integer", itemIds));
+            stmt.setArray(3, connection.createArrayOf("integer", quantities));
+
+            stmt.executeUpdate();
+            return true;
+        } catch (SQLException e) {
+            System.err.println(errorMessage + e.getMessage());
+            return false;
+        }
+    }
+
     /**
      * Get byinformation
      */
@@ -99,7 +197,8 @@ public class OrderItemDAO {
             ORDER BY c.name, m.item_name
             """;
         
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (Connection connection = UnitOfWork.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
             stmt.setInt(1, orderId);
             
             try (ResultSet rs = stmt.executeQuery()) {
@@ -122,6 +221,60 @@ public class OrderItemDAO {
         return orderItems;
     }
     
+    /**
+     * Get item ID to quantity of several orders in one query
+     */
+    public Map<Integer, Map<Integer, Integer>> getQuantitiesByOrderIds(Collection<Integer> orderIds) {
+        Map<Integer, Map<Integer, Integer>> quantities = new HashMap<>();
+        if (orderIds.isEmpty()) {
+            return quantities;
+        }
+        String sql = "SELECT order_id, item_id, quantity FROM OrderItem WHERE order_id = ANY(?)";
+        
+        try (Connection connection = UnitOfWork.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
+            stmt.setArray(1, connection.createArrayOf("integer", orderIds.toArray()));
+            
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    quantities.computeIfAbsent(rs.getInt("order_id"), id -> new TreeMap<>())
+                        .put(rs.getInt("item_id"), rs.getInt("quantity"));
+                }
+            }
+        } catch (SQLException e) {
+            System.err.println("Error fetching order item quantities: " + e.getMessage());
+        }
+        
+        return quantities;
+    }
+    
+    /**
+     * Get item ID to total quantity sold, cancelled orders excluded
+     */
+    public Map<Integer, Long> getSalesCountsByItem() {
+        Map<Integer, Long> salesCounts = new HashMap<>();
+        String sql = """
+            SELECT oi.item_id, SUM(oi.quantity) as total_ordered
+            FROM OrderItem oi
+            JOIN Orders o ON oi.order_id = o.order_id
+            WHERE o.current_status != 'CANCELLED'
+            GROUP BY oi.item_id
+            """;
+        
+        try (Connection connection = UnitOfWork.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql);
+             ResultSet rs = stmt.executeQuery()) {
+            
+            while (rs.next()) {
+                salesCounts.put(rs.getInt("item_id"), rs.getLong("total_ordered"));
+            }
+        } catch (SQLException e) {
+            System.err.println("Error fetching item sales counts: " + e.getMessage());
+        }
+        
+        return salesCounts;
+    }
+    
     /**
      * 
      */
@@ -135,7 +288,8 @@ public class OrderItemDAO {
             WHERE oi.order_id = ? AND oi.item_id = ?
             """;
         
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (Connection connection = UnitOfWork.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
             stmt.setInt(1, orderId);
             stmt.setInt(2, itemId);
             
@@ -169,7 +323,8 @@ public class OrderItemDAO {
         
         String sql = "UPDATE OrderItem SET quantity = ? WHERE order_id = ? AND item_id = ?";
         
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (Connection connection = UnitOfWork.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
             stmt.setInt(1, newQuantity);
             stmt.setInt(2, orderId);
             stmt.setInt(3, itemId);
@@ -188,7 +343,8 @@ public class OrderItemDAO {
     public boolean removeOrderItem(int orderId, int itemId) {
         String sql = "DELETE FROM OrderItem WHERE order_id = ? AND item_id = ?";
         
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (Connection connection = UnitOfWork.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
             stmt.setInt(1, orderId);
             stmt.setInt(2, itemId);
             
@@ -206,7 +362,8 @@ public class OrderItemDAO {
     public boolean removeAllOrderItems(int orderId) {
         String sql = "DELETE FROM OrderItem WHERE order_id = ?";
         
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (Connection connection = UnitOfWork.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
             stmt.setInt(1, orderId);
             
             int rowsAffected = stmt.executeUpdate();
@@ -223,7 +380,8 @@ public class OrderItemDAO {
     public boolean orderItemExists(int orderId, int itemId) {
         String sql = "SELECT COUNT(*) FROM OrderItem WHERE order_id = ? AND item_id = ?";
         
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (Connection connection = UnitOfWork.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
             stmt.setInt(1, orderId);
             stmt.setInt(2, itemId);
             
@@ -250,7 +408,8 @@ public class OrderItemDAO {
             WHERE oi.order_id = ?
             """;
         
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (Connection connection = UnitOfWork.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
             stmt.setInt(1, orderId);
             
             try (ResultSet rs = stmt.executeQuery()) {
@@ -272,7 +431,8 @@ public class OrderItemDAO {
     public int getOrderItemCount(int orderId) {
         String sql = "SELECT COUNT(*) FROM OrderItem WHERE order_id = ?";
         
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (Connection connection = UnitOfWork.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
             stmt.setInt(1, orderId);
             
             try (ResultSet rs = stmt.executeQuery()) {
@@ -293,7 +453,8 @@ public class OrderItemDAO {
     public int getTotalItemQuantity(int orderId) {
         String sql = "SELECT SUM(quantity) FROM OrderItem WHERE order_id = ?";
         
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (Connection connection = UnitOfWork.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
             stmt.setInt(1, orderId);
             
             try (ResultSet rs = stmt.executeQuery()) {
@@ -309,54 +470,54 @@ public class OrderItemDAO {
     }
     
     /**
-     * statistics
+     * Get sales of every item sold, best sellers first; one full aggregation
      */
-    public void printPopularItemsStatistics() {
+    public List<ItemSales> getItemSales() {
+        List<ItemSales> itemSales = new ArrayList<>();
         String sql = """
             SELECT 
+                m.item_id,
                 m.item_name,
                 c.name as category_name,
                 SUM(oi.quantity) as total_ordered,
-                COUNT(DISTINCT oi.order_id) as order_count,
-                AVG(oi.quantity) as avg_quantity_per_order
+                COUNT(DISTINCT oi.order_id) as order_count
             FROM OrderItem oi
             JOIN MenuItem m ON oi.item_id = m.item_id
             JOIN Category c ON m.category_id = c.category_id
             JOIN Orders o ON oi.order_id = o.order_id
             WHERE o.current_status != 'CANCELLED'
             GROUP BY m.item_id, m.item_name, c.name
-            ORDER BY total_ordered DESC
-            LIMIT 10
+            ORDER BY total_ordered DESC, m.item_id
             """;
         
-        try (PreparedStatement stmt = connection.prepareStatement(sql);
+        try (Connection connection = UnitOfWork.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql);
              ResultSet rs = stmt.executeQuery()) {
             
-            System.out.println("\n=== statistics (Top 10) ===");
-            System.out.printf("%-25s %-15s %-8s %-8s %-8s%n", 
-                            "menu item name", "category", "total sales", "order count", "quantity");
-            System.out.println("-".repeat(70));
-            
             while (rs.next()) {
-                System.out.printf("%-25s %-15s %-8d %-8d %-8.1f%n",
+                itemSales.add(new ItemSales(
+                    rs.getInt("item_id"),
                     rs.getString("item_name"),
                     rs.getString("category_name"),
-                    rs.getInt("total_ordered"),
-                    rs.getInt("order_count"),
-                    rs.getDouble("avg_quantity_per_order")
-                );
+                    rs.getLong("total_ordered"),
+                    rs.getInt("order_count")
+                ));
             }
         } catch (SQLException e) {
             System.err.println("Error fetching popular items statistics: " + e.getMessage());
         }
+        
+        return itemSales;
     }
     
     /**
-     * categorystatistics
+     * Get sales of every category with sales, highest revenue first; one full aggregation
      */
-    public void printCategorySalesStatistics() {
+    public List<CategorySales> getCategorySales() {
+        List<CategorySales> categorySales = new ArrayList<>();
         String sql = """
             SELECT 
+                c.category_id,
                 c.name as category_name,
                 SUM(oi.quantity) as total_quantity,
                 SUM(oi.quantity * m.current_price) as total_revenue,
@@ -371,25 +532,51 @@ public class OrderItemDAO {
             ORDER BY total_revenue DESC
             """;
         
-        try (PreparedStatement stmt = connection.prepareStatement(sql);
+        try (Connection connection = UnitOfWork.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql);
              ResultSet rs = stmt.executeQuery()) {
             
-            System.out.println("\n=== categorystatistics ===");
-            System.out.printf("%-15s %-8s %-12s %-8s %-8s%n", 
-                            "category", "sales", "revenue", "variety count", "order count");
-            System.out.println("-".repeat(60));
-            
             while (rs.next()) {
-                System.out.printf("%-15s %-8d %-12s %-8d %-8d%n",
+                categorySales.add(new CategorySales(
+                    rs.getInt("category_id"),
                     rs.getString("category_name"),
-                    rs.getInt("total_quantity"),
-                    String.format("$%.2f", rs.getBigDecimal("total_revenue")),
+                    rs.getLong("total_quantity"),
+                    rs.getBigDecimal("total_revenue"),
                     rs.getInt("unique_items_sold"),
                     rs.getInt("order_count")
-                );
+                ));
             }
         } catch (SQLException e) {
             System.err.println("Error fetching category sales statistics: " + e.getMessage());
         }
+        
+        return categorySales;
+    }
+    
+    /**
+     * Get item ID to quantity of every order that can still change (not completed or cancelled)
+     */
+    public Map<Integer, Map<Integer, Integer>> getOpenOrderQuantities() {
+        Map<Integer, Map<Integer, Integer>> quantities = new HashMap<>();
+        String sql = """
+            SELECT oi.order_id, oi.item_id, oi.quantity
+            FROM OrderItem oi
+            JOIN Orders o ON oi.order_id = o.order_id
+            WHERE o.current_status NOT IN ('COMPLETED', 'CANCELLED')
+            """;
+        
+        try (Connection connection = UnitOfWork.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql);
+             ResultSet rs = stmt.executeQuery()) {
+            
+            while (rs.next()) {
+                quantities.computeIfAbsent(rs.getInt("order_id"), id -> new HashMap<>())
+                    .put(rs.getInt("item_id"), rs.getInt("quantity"));
+            }
+        } catch (SQLException e) {
+            System.err.println("Error fetching open order item quantities: " + e.getMessage());
+        }
+        
+        return quantities;
     }
 }
@@ -0,0 +1,140 @@
+package com.foodorder.dao;
+
+import com.foodorder.config.UnitOfWork;
+import com.foodorder.model.OrderAggregate;
+
+import java.sql.*;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Order snapshot data access layer
+ * A snapshot is an OrderAggregate folded up to an event ID; saving replaces the previous one
+ */
+public class OrderSnapshotDAO {
+
+    private static final String SELECT_COLUMNS = """
+        SELECT order_id, last_event_id, customer_id, employee_id, order_time, status,
+               status_changes, deleted, item_ids, quantities
+        FROM OrderSnapshot
+        """;
+
+    /**
+     * Get the latest snapshot of an order, or null if it has none
+     */
+    public OrderAggregate getSnapshot(int orderId) {
+        String sql = SELECT_COLUMNS + "WHERE order_id = ?";
+
+        try (Connection connection = UnitOfWork.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
+            stmt.setInt(1, orderId);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    return mapSnapshot(rs);
+                }
+            }
+        } catch (SQLException e) {
+            System.err.println("Error getting order snapshot: " + e.getMessage());
+        }
+        return null;
+    }
+
+    /**
+     * Get the snapshots of one order ID partition (order_id % partitions = partition)
+     */
+    public Map<Integer, OrderAggregate> getSnapshots(int partitions, int partition) {
+        String sql = SELECT_COLUMNS + "WHERE order_id % ? = ?";
+
+        Map<Integer, OrderAggregate> snapshots = new HashMap<>();
+        try (Connection connection = UnitOfWork.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
+            stmt.setInt(1, partitions);
+            stmt.setInt(2, partition);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    OrderAggregate snapshot = mapSnapshot(rs);
+                    snapshots.put(snapshot.getOrderId(), snapshot);
+                }
+            }
+        } catch (SQLException e) {
+            System.err.println("Error getting order snapshots: " + e.getMessage());
+        }
+        return snapshots;
+    }
+
+    /**
+     * Save snapshots of the given aggregates, replacing older ones; sent as one JDBC batch.
+     * A snapshot never moves backwards: an older aggregate does not overwrite a newer one.
+     */
+    public boolean saveSnapshots(List<OrderAggregate> aggregates) {
+        if (aggregates.isEmpty()) {
+            return true;
+        }
+
+        String sql = """
+            INSERT INTO OrderSnapshot (order_id, last_event_id, customer_id, employee_id, order_time,
+                                       status, status_changes, deleted, item_ids, quantities)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+            ON CONFLICT (order_id) DO UPDATE SET
+                last_event_id = EXCLUDED.last_event_id,
+                customer_id = EXCLUDED.customer_id,
+                employee_id = EXCLUDED.employee_id,
+                order_time = EXCLUDED.order_time,
+                status = EXCLUDED.status,
+                status_changes = EXCLUDED.status_changes,
+                deleted = EXCLUDED.deleted,
+                item_ids = EXCLUDED.item_ids,
+                quantities = EXCLUDED.quantities,
+                snapshot_time = CURRENT_TIMESTAMP
+            WHERE OrderSnapshot.last_event_id < EXCLUDED.last_event_id
+            """;
+
+        try (Connection connection = UnitOfWork.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
+            for (OrderAggregate aggregate : aggregates) {
+                Map<Integer, Integer> lines = aggregate.getLines();
+                stmt.setInt(1, aggregate.getOrderId());
+                stmt.setLong(2, aggregate.getLastEventId());
+                stmt.setInt(3, aggregate.getCustomerId());
+                stmt.setInt(4, aggregate.getEmployeeId());
+                stmt.setTimestamp(5, aggregate.getOrderTime());
+                stmt.setString(6, aggregate.getStatus());
+                stmt.setInt(7, aggregate.getStatusChanges());
+                stmt.setBoolean(8, aggregate.isDeleted());
+                stmt.setArray(9, connection.createArrayOf("integer", lines.keySet().toArray()));
+                stmt.setArray(10, connection.createArrayOf("integer", lines.values().toArray()));
+                stmt.addBatch();
+            }
+            stmt.executeBatch();
+            return true;
+        } catch (SQLException e) {
+            System.err.println("Error saving order snapshots: " + e.getMessage());
+            return false;
+        }
+    }
+
+    private OrderAggregate mapSnapshot(ResultSet rs) throws SQLException {
+        Integer[] itemIds = (Integer[]) rs.getArray("item_ids").getArray();
+        Integer[] quantities = (Integer[]) rs.getArray("quantities").getArray();
+        Map<Integer, Integer> lines = new TreeMap<>();
+        for (int i = 0; i < itemIds.length; i++) {
+            lines.put(itemIds[i], quantities[i]);
+        }
+
+        return OrderAggregate.fromSnapshot(
+            rs.getInt("order_id"),
+            rs.getLong("last_event_id"),
+            rs.getInt("customer_id"),
+            rs.getInt("employee_id"),
+            rs.getTimestamp("order_time"),
+            rs.getString("status"),
+            rs.getInt("status_changes"),
+            rs.getBoolean("deleted"),
+            lines
+        );
+    }
+}
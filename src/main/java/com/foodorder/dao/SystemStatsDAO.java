@@ -0,0 +1,68 @@
+package com.foodorder.dao;
+
+import com.foodorder.config.UnitOfWork;
+import com.foodorder.model.Order;
+import com.foodorder.model.SystemStats;
+
+import java.sql.*;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Dashboard statistics data access layer
+ * Computes all system counters in one round trip
+ */
+public class SystemStatsDAO {
+    
+    
+    /**
+     * Get all dashboard counters with a single aggregate query, or null on error
+     */
+    public SystemStats getSystemStats() {
+        String sql = """
+            SELECT
+                (SELECT COUNT(*) FROM Category) AS category_count,
+                (SELECT COUNT(*) FROM MenuItem WHERE is_active = TRUE) AS available_item_count,
+                (SELECT COUNT(*) FROM Customer) AS customer_count,
+                e.employee_count, e.available_employee_count,
+                o.total_orders, o.pending, o.accepted, o.preparing, o.completed, o.cancelled,
+                CURRENT_TIMESTAMP AS captured_at
+            FROM (SELECT COUNT(*) AS employee_count,
+                         COUNT(*) FILTER (WHERE availability_status = TRUE) AS available_employee_count
+                  FROM Employee) e
+            CROSS JOIN (SELECT COUNT(*) AS total_orders,
+                               COUNT(*) FILTER (WHERE current_status = 'PENDING') AS pending,
+                               COUNT(*) FILTER (WHERE current_status = 'ACCEPTED') AS accepted,
+                               COUNT(*) FILTER (WHERE current_status = 'PREPARING') AS preparing,
+                               COUNT(*) FILTER (WHERE current_status = 'COMPLETED') AS completed,
+                               COUNT(*) FILTER (WHERE current_status = 'CANCELLED') AS cancelled
+                        FROM Orders) o
+            """;
+        
+        try (Connection connection = UnitOfWork.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql);
+             ResultSet rs = stmt.executeQuery()) {
+            
+            if (rs.next()) {
+                Map<String, Integer> byStatus = new LinkedHashMap<>();
+                for (Order.OrderStatus status : Order.OrderStatus.values()) {
+                    byStatus.put(status.getCode(), rs.getInt(status.getCode().toLowerCase()));
+                }
+                return new SystemStats(
+                    rs.getInt("category_count"),
+                    rs.getInt("available_item_count"),
+                    rs.getInt("customer_count"),
+                    rs.getInt("employee_count"),
+                    rs.getInt("available_employee_count"),
+                    rs.getInt("total_orders"),
+                    byStatus,
+                    rs.getTimestamp("captured_at")
+                );
+            }
+        } catch (SQLException e) {
+            System.err.println("Error fetching system statistics: " + e.getMessage());
+        }
+        
+        return null;
+    }
+}
@@ -0,0 +1,478 @@
+package com.foodorder.json;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.util.Arrays;
+import java.util.List;
+import java.util.TimeZone;
+
+import com.foodorder.model.Customer;
+import com.foodorder.model.Employee;
+import com.foodorder.model.MenuItem;
+import com.foodorder.model.Order;
+import com.foodorder.model.OrderItem;
+
+/**
+ * Streaming JSON writer into a reusable UTF-8 byte buffer
+ * Strings are escaped and encoded char by char, numbers are written digit by digit and
+ * field names are encoded once, so writing a model creates no Strings, char arrays or
+ * StringBuilders. reset() keeps the buffer, so a writer reused per thread stops
+ * allocating once it has grown to the largest document it writes.
+ * Commas are placed automatically; the caller only has to nest begin/end calls properly.
+ * Not thread-safe.
+ */
+public final class JsonWriter {
+
+    private static final byte[] HEX = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] NULL = { 'n', 'u', 'l', 'l' };
+    private static final byte[] TRUE = { 't', 'r', 'u', 'e' };
+    private static final byte[] FALSE = { 'f', 'a', 'l', 's', 'e' };
+    private static final byte[] MIN_LONG = Long.toString(Long.MIN_VALUE).getBytes(StandardCharsets.US_ASCII);
+
+    private static final long MILLIS_PER_DAY = 86_400_000L;
+
+    // Decimals up to this many digits are written without allocating, e.g. NUMERIC(10,2)
+    private static final int MAX_EXACT_DIGITS = 15;
+
+    private static final long[] POWERS_OF_TEN = new long[19];
+
+    static {
+        POWERS_OF_TEN[0] = 1;
+        for (int i = 1; i < POWERS_OF_TEN.length; i++) {
+            POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10;
+        }
+    }
+
+    private static final byte[] ORDER_ID = field("order_id");
+    private static final byte[] CUSTOMER_ID = field("customer_id");
+    private static final byte[] CUSTOMER_NAME = field("customer_name");
+    private static final byte[] EMPLOYEE_ID = field("employee_id");
+    private static final byte[] EMPLOYEE_NAME = field("employee_name");
+    private static final byte[] ORDER_TIME = field("order_time");
+    private static final byte[] CURRENT_STATUS = field("current_status");
+    private static final byte[] TOTAL_AMOUNT = field("total_amount");
+    private static final byte[] VERSION = field("version");
+    private static final byte[] ITEMS = field("items");
+    private static final byte[] ITEM_ID = field("item_id");
+    private static final byte[] ITEM_NAME = field("item_name");
+    private static final byte[] QUANTITY = field("quantity");
+    private static final byte[] ITEM_PRICE = field("item_price");
+    private static final byte[] CATEGORY_ID = field("category_id");
+    private static final byte[] CATEGORY_NAME = field("category_name");
+    private static final byte[] CURRENT_PRICE = field("current_price");
+    private static final byte[] IS_ACTIVE = field("is_active");
+    private static final byte[] NAME = field("name");
+    private static final byte[] EMAIL = field("email");
+    private static final byte[] PHONE = field("phone");
+    private static final byte[] AVAILABLE = field("available");
+
+    // Timestamps are written in the zone Timestamp.toString uses, the default one
+    private final TimeZone zone = TimeZone.getDefault();
+
+    private byte[] buffer;
+    private int size;
+    private boolean needsComma;
+
+    public JsonWriter() {
+        this(4096);
+    }
+
+    public JsonWriter(int initialCapacity) {
+        this.buffer = new byte[Math.max(16, initialCapacity)];
+    }
+
+    /**
+     * Empty the writer, keeping its buffer
+     */
+    public JsonWriter reset() {
+        size = 0;
+        needsComma = false;
+        return this;
+    }
+
+    /**
+     * Get the number of bytes written since the last reset
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Get the current buffer size, to let callers drop writers that grew too large
+     */
+    public int capacity() {
+        return buffer.length;
+    }
+
+    /**
+     * Copy the written bytes to a stream
+     */
+    public void writeTo(OutputStream out) throws IOException {
+        out.write(buffer, 0, size);
+    }
+
+    public byte[] toByteArray() {
+        return Arrays.copyOf(buffer, size);
+    }
+
+    @Override
+    public String toString() {
+        return new String(buffer, 0, size, StandardCharsets.UTF_8);
+    }
+
+    public JsonWriter beginObject() {
+        comma();
+        put((byte) '{');
+        needsComma = false;
+        return this;
+    }
+
+    public JsonWriter endObject() {
+        put((byte) '}');
+        needsComma = true;
+        return this;
+    }
+
+    public JsonWriter beginArray() {
+        comma();
+        put((byte) '[');
+        needsComma = false;
+        return this;
+    }
+
+    public JsonWriter endArray() {
+        put((byte) ']');
+        needsComma = true;
+        return this;
+    }
+
+    /**
+     * End a line of NDJSON; the next value starts a new document
+     */
+    public JsonWriter newline() {
+        put((byte) '\n');
+        needsComma = false;
+        return this;
+    }
+
+    /**
+     * Write a field name; the next call writes its value
+     */
+    public JsonWriter name(String name) {
+        comma();
+        writeString(name);
+        put((byte) ':');
+        needsComma = false;
+        return this;
+    }
+
+    public JsonWriter value(String value) {
+        if (value == null) {
+            return nullValue();
+        }
+        comma();
+        writeString(value);
+        needsComma = true;
+        return this;
+    }
+
+    public JsonWriter value(long value) {
+        comma();
+        writeLong(value);
+        needsComma = true;
+        return this;
+    }
+
+    public JsonWriter value(boolean value) {
+        comma();
+        put(value ? TRUE : FALSE);
+        needsComma = true;
+        return this;
+    }
+
+    /**
+     * Write a decimal as toPlainString would, without building the String
+     */
+    public JsonWriter value(BigDecimal value) {
+        if (value == null) {
+            return nullValue();
+        }
+        comma();
+        int scale = value.scale();
+        if (value.precision() <= MAX_EXACT_DIGITS && scale >= 0 && scale <= MAX_EXACT_DIGITS) {
+            // unscaledValue() would allocate a BigInteger. With at most 15 digits the
+            // correctly rounded double is close enough to scale back to the exact value.
+            long unscaled = Math.round(value.doubleValue() * POWERS_OF_TEN[scale]);
+            if (unscaled < 0) {
+                put((byte) '-');
+                unscaled = -unscaled;
+            }
+            writeLong(unscaled / POWERS_OF_TEN[scale]);
+            if (scale > 0) {
+                put((byte) '.');
+                writePadded(unscaled % POWERS_OF_TEN[scale], scale);
+            }
+        } else {
+            writeAscii(value.toPlainString());
+        }
+        needsComma = true;
+        return this;
+    }
+
+    /**
+     * Write a timestamp as a string in Timestamp.toString form, e.g. "2024-12-07 11:30:00.0"
+     */
+    public JsonWriter value(Timestamp value) {
+        if (value == null) {
+            return nullValue();
+        }
+        comma();
+        long millis = value.getTime();
+        long local = millis + zone.getOffset(millis);
+        long days = Math.floorDiv(local, MILLIS_PER_DAY);
+        int secondOfDay = (int) (Math.floorMod(local, MILLIS_PER_DAY) / 1000);
+
+        // Days since 1970-01-01 to a Gregorian date, without java.time objects
+        long shifted = days + 719_468;
+        long era = Math.floorDiv(shifted, 146_097);
+        long dayOfEra = shifted - era * 146_097;
+        long yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36_524 - dayOfEra / 146_096) / 365;
+        long dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        long monthIndex = (5 * dayOfYear + 2) / 153;
+        long day = dayOfYear - (153 * monthIndex + 2) / 5 + 1;
+        long month = monthIndex < 10 ? monthIndex + 3 : monthIndex - 9;
+        long year = yearOfEra + era * 400 + (month <= 2 ? 1 : 0);
+
+        ensure(32);
+        put((byte) '"');
+        writePadded(year, 4);
+        put((byte) '-');
+        writePadded(month, 2);
+        put((byte) '-');
+        writePadded(day, 2);
+        put((byte) ' ');
+        writePadded(secondOfDay / 3600, 2);
+        put((byte) ':');
+        writePadded(secondOfDay / 60 % 60, 2);
+        put((byte) ':');
+        writePadded(secondOfDay % 60, 2);
+        put((byte) '.');
+        int nanos = value.getNanos();
+        int digits = 9;
+        while (digits > 1 && nanos % 10 == 0) {
+            nanos /= 10;
+            digits--;
+        }
+        writePadded(nanos, digits);
+        put((byte) '"');
+        needsComma = true;
+        return this;
+    }
+
+    public JsonWriter nullValue() {
+        comma();
+        put(NULL);
+        needsComma = true;
+        return this;
+    }
+
+    /**
+     * Write an order; items is null when its lines were not loaded
+     */
+    public JsonWriter order(Order order) {
+        beginObject();
+        field(ORDER_ID).value(order.getOrderId());
+        field(CUSTOMER_ID).value(order.getCustomerId());
+        field(CUSTOMER_NAME).value(order.getCustomerName());
+        field(EMPLOYEE_ID).value(order.getEmployeeId());
+        field(EMPLOYEE_NAME).value(order.getEmployeeName());
+        field(ORDER_TIME).value(order.getOrderTime());
+        field(CURRENT_STATUS).value(order.getCurrentStatus());
+        field(TOTAL_AMOUNT).value(order.getTotalAmount());
+        field(VERSION).value(order.getVersion());
+        field(ITEMS);
+        List<OrderItem> items = order.getOrderItems();
+        if (items == null) {
+            nullValue();
+        } else {
+            beginArray();
+            for (int i = 0; i < items.size(); i++) {
+                orderItem(items.get(i));
+            }
+            endArray();
+        }
+        return endObject();
+    }
+
+    public JsonWriter orderItem(OrderItem item) {
+        beginObject();
+        field(ITEM_ID).value(item.getItemId());
+        field(ITEM_NAME).value(item.getItemName());
+        field(QUANTITY).value(item.getQuantity());
+        field(ITEM_PRICE).value(item.getItemPrice());
+        return endObject();
+    }
+
+    public JsonWriter menuItem(MenuItem item) {
+        beginObject();
+        field(ITEM_ID).value(item.getItemId());
+        field(ITEM_NAME).value(item.getItemName());
+        field(CATEGORY_ID).value(item.getCategoryId());
+        field(CATEGORY_NAME).value(item.getCategoryName());
+        field(CURRENT_PRICE).value(item.getCurrentPrice());
+        field(IS_ACTIVE).value(item.isActive());
+        return endObject();
+    }
+
+    public JsonWriter customer(Customer customer) {
+        beginObject();
+        field(CUSTOMER_ID).value(customer.getCustomerId());
+        field(NAME).value(customer.getName());
+        field(EMAIL).value(customer.getEmail());
+        field(PHONE).value(customer.getPhone());
+        return endObject();
+    }
+
+    public JsonWriter employee(Employee employee) {
+        beginObject();
+        field(EMPLOYEE_ID).value(employee.getEmployeeId());
+        field(NAME).value(employee.getName());
+        field(PHONE).value(employee.getPhone());
+        field(AVAILABLE).value(employee.isAvailable());
+        return endObject();
+    }
+
+    /**
+     * Write a pre-encoded "name": prefix
+     */
+    private JsonWriter field(byte[] encodedName) {
+        comma();
+        put(encodedName);
+        needsComma = false;
+        return this;
+    }
+
+    private static byte[] field(String name) {
+        return ("\"" + name + "\":").getBytes(StandardCharsets.US_ASCII);
+    }
+
+    private void comma() {
+        if (needsComma) {
+            put((byte) ',');
+        }
+    }
+
+    /**
+     * Quote, escape and UTF-8 encode; unpaired surrogates become '?' as in String.getBytes
+     */
+    private void writeString(String value) {
+        int length = value.length();
+        ensure(length * 6 + 2);
+        byte[] buf = buffer;
+        int pos = size;
+        buf[pos++] = '"';
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                if (c == '"' || c == '\\') {
+                    buf[pos++] = '\\';
+                    buf[pos++] = (byte) c;
+                } else if (c >= 0x20) {
+                    buf[pos++] = (byte) c;
+                } else if (c == '\n') {
+                    buf[pos++] = '\\';
+                    buf[pos++] = 'n';
+                } else if (c == '\r') {
+                    buf[pos++] = '\\';
+                    buf[pos++] = 'r';
+                } else if (c == '\t') {
+                    buf[pos++] = '\\';
+                    buf[pos++] = 't';
+                } else {
+                    buf[pos++] = '\\';
+                    buf[pos++] = 'u';
+                    buf[pos++] = '0';
+                    buf[pos++] = '0';
+                    buf[pos++] = HEX[c >> 4];
+                    buf[pos++] = HEX[c & 0xF];
+                }
+            } else if (c < 0x800) {
+                buf[pos++] = (byte) (0xC0 | (c >> 6));
+                buf[pos++] = (byte) (0x80 | (c & 0x3F));
+            } else if (Character.isSurrogate(c)) {
+                if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(value.charAt(i + 1))) {
+                    int codePoint = Character.toCodePoint(c, value.charAt(++i));
+                    buf[pos++] = (byte) (0xF0 | (codePoint >> 18));
+                    buf[pos++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+                    buf[pos++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+                    buf[pos++] = (byte) (0x80 | (codePoint & 0x3F));
+                } else {
+                    buf[pos++] = '?';
+                }
+            } else {
+                buf[pos++] = (byte) (0xE0 | (c >> 12));
+                buf[pos++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                buf[pos++] = (byte) (0x80 | (c & 0x3F));
+            }
+        }
+        buf[pos++] = '"';
+        size = pos;
+    }
+
+    private void writeLong(long value) {
+        if (value == Long.MIN_VALUE) {
+            put(MIN_LONG);
+            return;
+        }
+        ensure(20);
+        if (value < 0) {
+            buffer[size++] = '-';
+            value = -value;
+        }
+        int digits = 1;
+        while (digits < POWERS_OF_TEN.length && value >= POWERS_OF_TEN[digits]) {
+            digits++;
+        }
+        writePadded(value, digits);
+    }
+
+    /**
+     * Write a non-negative value as exactly the given number of digits, zero-padded
+     */
+    private void writePadded(long value, int digits) {
+        ensure(digits);
+        int end = size + digits;
+        for (int pos = end - 1; pos >= size; pos--) {
+            buffer[pos] = (byte) ('0' + value % 10);
+            value /= 10;
+        }
+        size = end;
+    }
+
+    private void writeAscii(String value) {
+        ensure(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            buffer[size++] = (byte) value.charAt(i);
+        }
+    }
+
+    private void put(byte b) {
+        ensure(1);
+        buffer[size++] = b;
+    }
+
+    private void put(byte[] bytes) {
+        ensure(bytes.length);
+        System.arraycopy(bytes, 0, buffer, size, bytes.length);
+        size += bytes.length;
+    }
+
+    private void ensure(int extra) {
+        if (size + extra > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, size + extra));
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.foodorder.model;
+
+import java.math.BigDecimal;
+
+/**
+ * Sales of one category, cancelled orders excluded; revenue at current menu prices
+ */
+public class CategorySales {
+    private final int categoryId;
+    private final String categoryName;
+    private final long totalQuantity;
+    private final BigDecimal totalRevenue;
+    private final int uniqueItemsSold;
+    private final int orderCount;
+    
+    public CategorySales(int categoryId, String categoryName, long totalQuantity,
+                         BigDecimal totalRevenue, int uniqueItemsSold, int orderCount) {
+        this.categoryId = categoryId;
+        this.categoryName = categoryName;
+        this.totalQuantity = totalQuantity;
+        this.totalRevenue = totalRevenue;
+        this.uniqueItemsSold = uniqueItemsSold;
+        this.orderCount = orderCount;
+    }
+    
+    // Getters
+    public int getCategoryId() {
+        return categoryId;
+    }
+    
+    public String getCategoryName() {
+        return categoryName;
+    }
+    
+    public long getTotalQuantity() {
+        return totalQuantity;
+    }
+    
+    public BigDecimal getTotalRevenue() {
+        return totalRevenue;
+    }
+    
+    public int getUniqueItemsSold() {
+        return uniqueItemsSold;
+    }
+    
+    public int getOrderCount() {
+        return orderCount;
+    }
+    
+    @Override
+    public String toString() {
+        return String.format("CategorySales{categoryName='%s', totalQuantity=%d, totalRevenue=%s, uniqueItemsSold=%d, orderCount=%d}",
+                           categoryName, totalQuantity, totalRevenue, uniqueItemsSold, orderCount);
+    }
+}
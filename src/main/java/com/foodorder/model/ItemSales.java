@@ -0,0 +1,51 @@
+package com.foodorder.model;
+
+/**
+ * Sales of one menu item, cancelled orders excluded
+ */
+public class ItemSales {
+    private final int itemId;
+    private final String itemName;
+    private final String categoryName;
+    private final long totalOrdered;
+    private final int orderCount;
+    
+    public ItemSales(int itemId, String itemName, String categoryName, long totalOrdered, int orderCount) {
+        this.itemId = itemId;
+        this.itemName = itemName;
+        this.categoryName = categoryName;
+        this.totalOrdered = totalOrdered;
+        this.orderCount = orderCount;
+    }
+    
+    // Getters
+    public int getItemId() {
+        return itemId;
+    }
+    
+    public String getItemName() {
+        return itemName;
+    }
+    
+    public String getCategoryName() {
+        return categoryName;
+    }
+    
+    public long getTotalOrdered() {
+        return totalOrdered;
+    }
+    
+    public int getOrderCount() {
+        return orderCount;
+    }
+    
+    public double getAvgQuantityPerOrder() {
+        return orderCount == 0 ? 0 : (double) totalOrdered / orderCount;
+    }
+    
+    @Override
+    public String toString() {
+        return String.format("ItemSales{itemId=%d, itemName='%s', categoryName='%s', totalOrdered=%d, orderCount=%d}",
+                           itemId, itemName, categoryName, totalOrdered, orderCount);
+    }
+}
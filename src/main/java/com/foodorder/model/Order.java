@@ -16,6 +16,7 @@ public class Order {
     private Timestamp orderTime;
     private BigDecimal totalAmount;
     private String currentStatus;
+    private int version;
     
     // Associated object information for display
     private String customerName;
@@ -41,13 +42,47 @@ public class Order {
         public String getCode() { return code; }
         public String getDescription() { return description; }
         
+        /**
+         * Check if an order in this status may move to the given status
+         */
+        public boolean canTransitionTo(OrderStatus next) {
+            if (this == next) {
+                return true;
+            }
+            return switch (this) {
+                case PENDING -> next == ACCEPTED || next == CANCELLED;
+                case ACCEPTED -> next == PREPARING || next == CANCELLED;
+                case PREPARING -> next == COMPLETED || next == CANCELLED;
+                case COMPLETED, CANCELLED -> false;
+            };
+        }
+        
+        /**
+         * Active orders are still being worked on
+         */
+        public boolean isActive() {
+            return this == PENDING || this == ACCEPTED || this == PREPARING;
+        }
+        
+        /**
+         * Items can still be added or changed
+         */
+        public boolean isModifiable() {
+            return this == PENDING || this == ACCEPTED;
+        }
+        
+        /**
+         * Get the status with this code (case-sensitive, as stored)
+         *
+         * @throws IllegalArgumentException if no status has this code
+         */
         public static OrderStatus fromCode(String code) {
             for (OrderStatus status : values()) {
                 if (status.code.equals(code)) {
                     return status;
                 }
             }
-            return PENDING;
+            throw new IllegalArgumentException("Unknown order status: " + code);
         }
     }
     
@@ -121,6 +156,14 @@ public class Order {
         this.currentStatus = currentStatus;
     }
     
+    public int getVersion() {
+        return version;
+    }
+    
+    public void setVersion(int version) {
+        this.version = version;
+    }
+    
     public String getCustomerName() {
         return customerName;
     }
@@ -165,6 +208,9 @@ public class Order {
      * Get order status description
      */
     public String getStatusDescription() {
+        if (currentStatus == null) {
+            return null;
+        }
         return OrderStatus.fromCode(currentStatus).getDescription();
     }
     
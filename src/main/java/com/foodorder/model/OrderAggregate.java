@@ -0,0 +1,168 @@
+package com.foodorder.model;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Order state rebuilt from the event journal
+ * Starts empty (or from a snapshot) and applies events in event ID order. The same
+ * object is what a snapshot stores, so loading a snapshot and replaying the events
+ * after it gives the same state as replaying the whole history.
+ */
+public class OrderAggregate {
+    private final int orderId;
+    private int customerId;
+    private int employeeId;
+    private Timestamp orderTime;
+    private String status;
+    private int statusChanges;
+    private boolean deleted;
+    private final Map<Integer, Integer> lines = new TreeMap<>();
+    private long lastEventId;
+
+    // Events applied since the snapshot this aggregate was loaded from
+    private int eventsSinceSnapshot;
+
+    public OrderAggregate(int orderId) {
+        this.orderId = orderId;
+    }
+
+    /**
+     * Restore the state a snapshot recorded
+     */
+    public static OrderAggregate fromSnapshot(int orderId, long lastEventId, int customerId, int employeeId,
+                                              Timestamp orderTime, String status, int statusChanges,
+                                              boolean deleted, Map<Integer, Integer> lines) {
+        OrderAggregate aggregate = new OrderAggregate(orderId);
+        aggregate.lastEventId = lastEventId;
+        aggregate.customerId = customerId;
+        aggregate.employeeId = employeeId;
+        aggregate.orderTime = orderTime;
+        aggregate.status = status;
+        aggregate.statusChanges = statusChanges;
+        aggregate.deleted = deleted;
+        aggregate.lines.putAll(lines);
+        return aggregate;
+    }
+
+    /**
+     * Apply the next event of this order; events at or before the last applied one are ignored
+     */
+    public void apply(OrderEvent event) {
+        if (event.getOrderId() != orderId) {
+            throw new IllegalArgumentException("Event of order " + event.getOrderId() + " applied to order " + orderId);
+        }
+        if (event.getEventId() != 0 && event.getEventId() <= lastEventId) {
+            return;
+        }
+
+        switch (event.getType()) {
+            case CREATED -> {
+                customerId = event.getCustomerId();
+                employeeId = event.getEmployeeId();
+                orderTime = event.getEventTime();
+                status = event.getStatus();
+            }
+            case ITEM_ADDED -> lines.merge(event.getItemId(), event.getQuantity(), Integer::sum);
+            case QUANTITY_CHANGED -> {
+                if (event.getQuantity() > 0) {
+                    lines.put(event.getItemId(), event.getQuantity());
+                } else {
+                    lines.remove(event.getItemId());
+                }
+            }
+            case STATUS_CHANGED -> {
+                status = event.getStatus();
+                statusChanges++;
+            }
+            case ASSIGNED -> employeeId = event.getEmployeeId();
+            case DELETED -> deleted = true;
+        }
+        lastEventId = Math.max(lastEventId, event.getEventId());
+        eventsSinceSnapshot++;
+    }
+
+    /**
+     * Whether the history starts with the order's creation (orders created before the
+     * journal existed only have later events)
+     */
+    public boolean isComplete() {
+        return status != null;
+    }
+
+    /**
+     * The Orders row and lines this history produces. The total is left to the database,
+     * and so is the version: the journal does not record every version bump, so the caller
+     * sets one past the stored row's.
+     */
+    public Order toOrder() {
+        Order order = new Order(orderId, customerId, employeeId, orderTime, BigDecimal.ZERO, status);
+        List<OrderItem> items = new ArrayList<>(lines.size());
+        for (Map.Entry<Integer, Integer> line : lines.entrySet()) {
+            items.add(new OrderItem(orderId, line.getKey(), line.getValue()));
+        }
+        order.setOrderItems(items);
+        return order;
+    }
+
+    // Getters
+    public int getOrderId() {
+        return orderId;
+    }
+
+    public int getCustomerId() {
+        return customerId;
+    }
+
+    public int getEmployeeId() {
+        return employeeId;
+    }
+
+    public Timestamp getOrderTime() {
+        return orderTime;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public int getStatusChanges() {
+        return statusChanges;
+    }
+
+    public boolean isDeleted() {
+        return deleted;
+    }
+
+    public Map<Integer, Integer> getLines() {
+        return Collections.unmodifiableMap(lines);
+    }
+
+    public long getLastEventId() {
+        return lastEventId;
+    }
+
+    public int getEventsSinceSnapshot() {
+        return eventsSinceSnapshot;
+    }
+
+    public void markSnapshotted() {
+        eventsSinceSnapshot = 0;
+    }
+
+    @Override
+    public String toString() {
+        return "OrderAggregate{" +
+                "orderId=" + orderId +
+                ", status='" + status + '\'' +
+                ", lines=" + lines +
+                ", deleted=" + deleted +
+                ", lastEventId=" + lastEventId +
+                '}';
+    }
+}
@@ -0,0 +1,172 @@
+package com.foodorder.model;
+
+import java.sql.Timestamp;
+
+/**
+ * One entry of the order event journal
+ * Only the fields that belong to the event type are set, the others stay null.
+ */
+public class OrderEvent {
+
+    /**
+     * Event types
+     */
+    public enum Type {
+        CREATED,
+        ITEM_ADDED,
+        QUANTITY_CHANGED,
+        STATUS_CHANGED,
+        ASSIGNED,
+        DELETED
+    }
+
+    private long eventId;
+    private int orderId;
+    private Type type;
+    private Integer customerId;
+    private Integer employeeId;
+    private Integer itemId;
+    private Integer quantity;
+    private String status;
+    private Timestamp eventTime;
+
+    // Constructors
+    public OrderEvent() {}
+
+    public OrderEvent(int orderId, Type type) {
+        this.orderId = orderId;
+        this.type = type;
+    }
+
+    public static OrderEvent created(int orderId, int customerId, int employeeId) {
+        OrderEvent event = new OrderEvent(orderId, Type.CREATED);
+        event.customerId = customerId;
+        event.employeeId = employeeId;
+        event.status = "PENDING";
+        return event;
+    }
+
+    /**
+     * Lines are added to an existing quantity, so quantity is the amount added
+     */
+    public static OrderEvent itemAdded(int orderId, int itemId, int quantity) {
+        OrderEvent event = new OrderEvent(orderId, Type.ITEM_ADDED);
+        event.itemId = itemId;
+        event.quantity = quantity;
+        return event;
+    }
+
+    /**
+     * Quantity is the new quantity of the line; 0 removes it
+     */
+    public static OrderEvent quantityChanged(int orderId, int itemId, int quantity) {
+        OrderEvent event = new OrderEvent(orderId, Type.QUANTITY_CHANGED);
+        event.itemId = itemId;
+        event.quantity = quantity;
+        return event;
+    }
+
+    public static OrderEvent statusChanged(int orderId, String status) {
+        OrderEvent event = new OrderEvent(orderId, Type.STATUS_CHANGED);
+        event.status = status;
+        return event;
+    }
+
+    /**
+     * The order was handed to another employee
+     */
+    public static OrderEvent assigned(int orderId, int employeeId) {
+        OrderEvent event = new OrderEvent(orderId, Type.ASSIGNED);
+        event.employeeId = employeeId;
+        return event;
+    }
+
+    public static OrderEvent deleted(int orderId) {
+        return new OrderEvent(orderId, Type.DELETED);
+    }
+
+    // Getters and Setters
+    public long getEventId() {
+        return eventId;
+    }
+
+    public void setEventId(long eventId) {
+        this.eventId = eventId;
+    }
+
+    public int getOrderId() {
+        return orderId;
+    }
+
+    public void setOrderId(int orderId) {
+        this.orderId = orderId;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public void setType(Type type) {
+        this.type = type;
+    }
+
+    public Integer getCustomerId() {
+        return customerId;
+    }
+
+    public void setCustomerId(Integer customerId) {
+        this.customerId = customerId;
+    }
+
+    public Integer getEmployeeId() {
+        return employeeId;
+    }
+
+    public void setEmployeeId(Integer employeeId) {
+        this.employeeId = employeeId;
+    }
+
+    public Integer getItemId() {
+        return itemId;
+    }
+
+    public void setItemId(Integer itemId) {
+        this.itemId = itemId;
+    }
+
+    public Integer getQuantity() {
+        return quantity;
+    }
+
+    public void setQuantity(Integer quantity) {
+        this.quantity = quantity;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public Timestamp getEventTime() {
+        return eventTime;
+    }
+
+    public void setEventTime(Timestamp eventTime) {
+        this.eventTime = eventTime;
+    }
+
+    @Override
+    public String toString() {
+        return "OrderEvent{" +
+                "eventId=" + eventId +
+                ", orderId=" + orderId +
+                ", type=" + type +
+                ", itemId=" + itemId +
+                ", quantity=" + quantity +
+                ", status='" + status + '\'' +
+                '}';
+    }
+}
@@ -0,0 +1,65 @@
+package com.foodorder.model;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+/**
+ * One page of orders in keyset (cursor) pagination order: newest first
+ */
+public class OrderPage {
+    private final List<Order> orders;
+    private final Cursor nextCursor;
+
+    public OrderPage(List<Order> orders, Cursor nextCursor) {
+        this.orders = orders;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<Order> getOrders() {
+        return orders;
+    }
+
+    /**
+     * Cursor for the following page, or null if this is the last page
+     */
+    public Cursor getNextCursor() {
+        return nextCursor;
+    }
+
+    public boolean hasMore() {
+        return nextCursor != null;
+    }
+
+    /**
+     * Position after the last order of a page, by (order_time, order_id)
+     */
+    public static class Cursor {
+        private final Timestamp orderTime;
+        private final int orderId;
+
+        public Cursor(Timestamp orderTime, int orderId) {
+            this.orderTime = orderTime;
+            this.orderId = orderId;
+        }
+
+        /**
+         * Cursor positioned after the given order
+         */
+        public static Cursor after(Order order) {
+            return new Cursor(order.getOrderTime(), order.getOrderId());
+        }
+
+        public Timestamp getOrderTime() {
+            return orderTime;
+        }
+
+        public int getOrderId() {
+            return orderId;
+        }
+
+        @Override
+        public String toString() {
+            return "Cursor{orderTime=" + orderTime + ", orderId=" + orderId + "}";
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.foodorder.model;
+
+/**
+ * Outcome of one order in a batched status update
+ */
+public enum StatusUpdateResult {
+    UPDATED("Status updated"),
+    UNCHANGED("Order already has this status"),
+    NOT_FOUND("Order does not exist"),
+    INVALID_STATUS("Unknown order status"),
+    INVALID_TRANSITION("Status transition is not allowed"),
+    CONFLICT("Order kept changing concurrently"),
+    FAILED("Update failed");
+    
+    private final String description;
+    
+    StatusUpdateResult(String description) {
+        this.description = description;
+    }
+    
+    public String getDescription() {
+        return description;
+    }
+    
+    public boolean isSuccess() {
+        return this == UPDATED || this == UNCHANGED;
+    }
+}
@@ -0,0 +1,78 @@
+package com.foodorder.model;
+
+import java.sql.Timestamp;
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Dashboard counters captured at one point in time
+ */
+public class SystemStats {
+    private final int categoryCount;
+    private final int availableMenuItemCount;
+    private final int customerCount;
+    private final int employeeCount;
+    private final int availableEmployeeCount;
+    private final int totalOrderCount;
+    private final Map<String, Integer> orderCountByStatus;
+    private final Timestamp capturedAt;
+    
+    public SystemStats(int categoryCount, int availableMenuItemCount, int customerCount,
+                       int employeeCount, int availableEmployeeCount, int totalOrderCount,
+                       Map<String, Integer> orderCountByStatus, Timestamp capturedAt) {
+        this.categoryCount = categoryCount;
+        this.availableMenuItemCount = availableMenuItemCount;
+        this.customerCount = customerCount;
+        this.employeeCount = employeeCount;
+        this.availableEmployeeCount = availableEmployeeCount;
+        this.totalOrderCount = totalOrderCount;
+        this.orderCountByStatus = Collections.unmodifiableMap(orderCountByStatus);
+        this.capturedAt = capturedAt;
+    }
+    
+    // Getters
+    public int getCategoryCount() {
+        return categoryCount;
+    }
+    
+    public int getAvailableMenuItemCount() {
+        return availableMenuItemCount;
+    }
+    
+    public int getCustomerCount() {
+        return customerCount;
+    }
+    
+    public int getEmployeeCount() {
+        return employeeCount;
+    }
+    
+    public int getAvailableEmployeeCount() {
+        return availableEmployeeCount;
+    }
+    
+    public int getTotalOrderCount() {
+        return totalOrderCount;
+    }
+    
+    /**
+     * Get order count for one status code, 0 if there are none
+     */
+    public int getOrderCount(String status) {
+        return orderCountByStatus.getOrDefault(status, 0);
+    }
+    
+    public Map<String, Integer> getOrderCountByStatus() {
+        return orderCountByStatus;
+    }
+    
+    public Timestamp getCapturedAt() {
+        return capturedAt;
+    }
+    
+    @Override
+    public String toString() {
+        return String.format("SystemStats{orders=%d, customers=%d, employees=%d, capturedAt=%s}",
+                           totalOrderCount, customerCount, employeeCount, capturedAt);
+    }
+}
@@ -0,0 +1,361 @@
+package com.foodorder.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.foodorder.config.DatabaseConnection;
+import com.foodorder.dao.OrderDAO;
+import com.foodorder.model.Order;
+import com.foodorder.model.Order.OrderStatus;
+import com.foodorder.model.StatusUpdateResult;
+
+/**
+ * In-memory state of active orders (PENDING, ACCEPTED, PREPARING)
+ * By default the registry is a read cache: it rejects invalid transitions without a
+ * database round trip, the caller writes allowed ones with a version check and hands
+ * the stored status back through stored().
+ * With write-behind (db.activeOrders.writeBehind=true) transitions happen here with
+ * compare-and-set on each entry and are acknowledged before they are written; a flusher
+ * writes them in one version-checked batch per interval, so a crash can lose them.
+ * The database stays the source of truth: the registry is rebuilt from it on startup,
+ * and an entry whose version moved in the database (another process) is reloaded; the
+ * write-behind transitions that lose to such a change are logged and counted as dropped.
+ * Orders leave the registry once a COMPLETED or CANCELLED status has been written.
+ * The listener hears about a write-behind status only once it is stored, one call per
+ * written version: transitions merged into one flush are reported as their final status,
+ * and dropped transitions are never reported.
+ */
+public class ActiveOrderRegistry {
+
+    // Longest time a write-behind transition stays in memory only
+    private static final long FLUSH_INTERVAL_MILLIS = 200;
+
+    private final OrderDAO orderDAO;
+    private final StatusListener listener;
+    private final boolean writeBehind;
+    private final LongAdder dropped = new LongAdder();
+    private final Map<Integer, AtomicReference<State>> orders = new ConcurrentHashMap<>();
+    private final Set<Integer> dirty = ConcurrentHashMap.newKeySet();
+    private final ScheduledExecutorService flusher;
+    private volatile boolean shutdown;
+
+    /**
+     * @param writeBehind         whether transitions are made here and written later by flush()
+     * @param flushIntervalMillis how often write-behind transitions are written in the background;
+     *                            0 leaves writing to explicit flush() calls
+     */
+    ActiveOrderRegistry(OrderDAO orderDAO, StatusListener listener, boolean writeBehind, long flushIntervalMillis) {
+        this.orderDAO = orderDAO;
+        this.listener = listener;
+        this.writeBehind = writeBehind;
+        recover();
+
+        if (writeBehind && flushIntervalMillis > 0) {
+            this.flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "active-order-flusher");
+                thread.setDaemon(true);
+                return thread;
+            });
+            flusher.scheduleWithFixedDelay(this::flushQuietly,
+                flushIntervalMillis, flushIntervalMillis, TimeUnit.MILLISECONDS);
+            DatabaseConnection.getInstance().addCloseListener(this::shutdown);
+        } else {
+            this.flusher = null;
+        }
+    }
+
+    /**
+     * Get the shared registry, loading active orders from the database on first use
+     */
+    public static ActiveOrderRegistry getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    /**
+     * Track a newly created order
+     */
+    public void register(int orderId, String status, int version) {
+        OrderStatus orderStatus = OrderStatus.fromCode(status);
+        if (!shutdown && orderStatus.isActive()) {
+            orders.put(orderId, new AtomicReference<>(new State(orderStatus, version)));
+        }
+    }
+
+    /**
+     * Stop tracking an order, e.g. after it was deleted
+     */
+    public void remove(int orderId) {
+        orders.remove(orderId);
+        dirty.remove(orderId);
+    }
+
+    /**
+     * Get status of a tracked order, or null if the order is not active in this registry
+     */
+    public String getStatus(int orderId) {
+        AtomicReference<State> entry = orders.get(orderId);
+        return entry == null ? null : entry.get().status.getCode();
+    }
+
+    /**
+     * Check if an order is tracked here
+     */
+    public boolean isTracked(int orderId) {
+        return orders.containsKey(orderId);
+    }
+
+    /**
+     * Number of tracked orders
+     */
+    public int size() {
+        return orders.size();
+    }
+
+    /**
+     * Whether transitions are acknowledged before they are written
+     */
+    public boolean isWriteBehind() {
+        return writeBehind;
+    }
+
+    /**
+     * Number of write-behind transitions lost to a change made outside this registry
+     */
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    /**
+     * Check a transition of a tracked order against the cached status and, with write-behind,
+     * make it. Returns NOT_FOUND when the caller should go to the database instead: the order
+     * is not tracked, or the transition is allowed and the registry does not write behind.
+     */
+    public StatusUpdateResult transition(int orderId, String newStatus) {
+        AtomicReference<State> entry = orders.get(orderId);
+        if (entry == null || shutdown) {
+            return StatusUpdateResult.NOT_FOUND;
+        }
+        OrderStatus next = OrderStatus.fromCode(newStatus);
+
+        while (true) {
+            State current = entry.get();
+            if (current.status == next) {
+                return StatusUpdateResult.UNCHANGED;
+            }
+            if (!current.status.canTransitionTo(next)) {
+                return StatusUpdateResult.INVALID_TRANSITION;
+            }
+            if (!writeBehind) {
+                return StatusUpdateResult.NOT_FOUND;
+            }
+            if (entry.compareAndSet(current, new State(next, current.version))) {
+                dirty.add(orderId);
+                return StatusUpdateResult.UPDATED;
+            }
+        }
+    }
+
+    /**
+     * Take a status the caller has written to the database, at the version the row has now.
+     * A write that finished after a later one is ignored.
+     */
+    public void stored(int orderId, String status, int version) {
+        AtomicReference<State> entry = orders.get(orderId);
+        if (entry == null) {
+            return;
+        }
+        OrderStatus storedStatus = OrderStatus.fromCode(status);
+        while (true) {
+            State current = entry.get();
+            if (current.version >= version) {
+                return;
+            }
+            if (entry.compareAndSet(current, new State(storedStatus, version))) {
+                if (!storedStatus.isActive()) {
+                    orders.remove(orderId, entry);
+                }
+                return;
+            }
+        }
+    }
+
+    /**
+     * Write all pending transitions to the database now
+     *
+     * @throws IllegalStateException if orders changed elsewhere could not be reloaded;
+     *                               they stay pending and are retried on the next flush
+     */
+    public synchronized void flush() {
+        if (dirty.isEmpty()) {
+            return;
+        }
+
+        Map<Integer, State> written = new LinkedHashMap<>();
+        Map<Integer, String> statuses = new LinkedHashMap<>();
+        Map<Integer, Integer> versions = new HashMap<>();
+        for (Integer orderId : dirty) {
+            dirty.remove(orderId);
+            AtomicReference<State> entry = orders.get(orderId);
+            if (entry == null) {
+                continue;
+            }
+            State state = entry.get();
+            written.put(orderId, state);
+            statuses.put(orderId, state.status.getCode());
+            versions.put(orderId, state.version);
+        }
+        if (written.isEmpty()) {
+            return;
+        }
+
+        Set<Integer> updated = orderDAO.updateOrderStatuses(statuses, versions);
+        if (updated == null) {
+            // Database error: keep the changes and try again next interval
+            dirty.addAll(written.keySet());
+            return;
+        }
+
+        List<Integer> conflicts = new ArrayList<>();
+        for (Map.Entry<Integer, State> entry : written.entrySet()) {
+            if (updated.contains(entry.getKey())) {
+                markWritten(entry.getKey(), entry.getValue());
+            } else {
+                conflicts.add(entry.getKey());
+            }
+        }
+        if (!conflicts.isEmpty()) {
+            reload(conflicts);
+        }
+    }
+
+    /**
+     * Flush and stop the background writer; later transitions go straight to the database
+     */
+    public synchronized void shutdown() {
+        if (shutdown) {
+            return;
+        }
+        shutdown = true;
+        if (flusher != null) {
+            flusher.shutdown();
+        }
+        flush();
+        orders.clear();
+    }
+
+    /**
+     * Record the new database version and report the stored status;
+     * drop the order once its final status is stored
+     */
+    private void markWritten(int orderId, State written) {
+        AtomicReference<State> entry = orders.get(orderId);
+        if (entry == null) {
+            return;
+        }
+        while (true) {
+            State current = entry.get();
+            boolean changedSince = current.status != written.status;
+            State next = new State(current.status, written.version + 1);
+            if (entry.compareAndSet(current, next)) {
+                if (changedSince) {
+                    dirty.add(orderId);
+                } else if (!next.status.isActive()) {
+                    orders.remove(orderId, entry);
+                }
+                break;
+            }
+        }
+        try {
+            listener.statusStored(orderId, written.status.getCode());
+        } catch (RuntimeException e) {
+            System.err.println("Error reporting stored status of order " + orderId + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * The rows changed outside this registry (or are gone): take the database state.
+     * Nothing was stored for the in-memory transitions, so nothing was reported for them;
+     * they are logged and counted as dropped instead.
+     */
+    private void reload(List<Integer> orderIds) {
+        Map<Integer, Order> states = orderDAO.getOrderStates(orderIds);
+        if (states == null) {
+            // Still stale, so the next flush conflicts again and retries the reload
+            dirty.addAll(orderIds);
+            throw new IllegalStateException("Failed to reload orders changed outside this process: " + orderIds);
+        }
+        for (Integer orderId : orderIds) {
+            AtomicReference<State> entry = orders.get(orderId);
+            if (entry == null) {
+                continue;
+            }
+            Order order = states.get(orderId);
+            State lost = entry.get();
+            if (order == null || !lost.status.getCode().equals(order.getCurrentStatus())) {
+                dropped.increment();
+                System.err.println("Dropped status change of order " + orderId + " to " + lost.status.getCode()
+                    + ": " + (order == null ? "order is gone" : "changed elsewhere to " + order.getCurrentStatus()));
+            }
+            if (order == null || !OrderStatus.fromCode(order.getCurrentStatus()).isActive()) {
+                orders.remove(orderId, entry);
+            } else {
+                entry.set(new State(OrderStatus.fromCode(order.getCurrentStatus()), order.getVersion()));
+            }
+        }
+    }
+
+    private void recover() {
+        // On failure the DAO reports it and returns nothing; untracked orders are handled in the database
+        for (Order order : orderDAO.getActiveOrderStates()) {
+            register(order.getOrderId(), order.getCurrentStatus(), order.getVersion());
+        }
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            System.err.println("Error flushing order status changes: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Told about each status once it is stored in the database
+     */
+    @FunctionalInterface
+    interface StatusListener {
+        void statusStored(int orderId, String status);
+    }
+
+    /**
+     * The shared registry reads the database, so it is only built when first asked for
+     */
+    private static final class Holder {
+        private static final ActiveOrderRegistry INSTANCE = new ActiveOrderRegistry(new OrderDAO(),
+            OrderService::statusStored, DatabaseConnection.getInstance().isActiveOrdersWriteBehind(),
+            FLUSH_INTERVAL_MILLIS);
+    }
+
+    /**
+     * Status held in memory and the database version it was derived from
+     */
+    private static final class State {
+        private final OrderStatus status;
+        private final int version;
+
+        State(OrderStatus status, int version) {
+            this.status = status;
+            this.version = version;
+        }
+    }
+}
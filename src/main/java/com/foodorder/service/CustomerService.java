@@ -1,7 +1,9 @@
 package com.foodorder.service;
 
+import java.io.IOException;
 import java.util.List;
 
+import com.foodorder.config.UnitOfWork;
 import com.foodorder.dao.CustomerDAO;
 import com.foodorder.model.Customer;
 
@@ -11,6 +13,15 @@ import com.foodorder.model.Customer;
  */
 public class CustomerService {
     
+    private static final DisplayTable<Customer> CUSTOMER_TABLE = DisplayTable.<Customer>builder()
+        .column("ID", 4, (sb, customer) -> sb.append(customer.getCustomerId()))
+        .column("Name", 20, (sb, customer) -> sb.append(customer.getName()))
+        .column("Email", 30, (sb, customer) -> sb.append(customer.getEmail()))
+        .column("Phone", 15, (sb, customer) ->
+            sb.append(customer.getPhone() != null ? customer.getPhone() : "not provided"))
+        .rule(75)
+        .build();
+    
     private CustomerDAO customerDAO;
     
     public CustomerService() {
@@ -35,15 +46,17 @@ public class CustomerService {
             throw new IllegalArgumentException("incorrect format");
         }
         
-        // Check ifalready exists
-        if (customerDAO.emailExists(email)) {
-            throw new IllegalArgumentException("registration");
-        }
-        
-        Customer customer = new Customer(name.trim(), email.trim(), 
-                                       phone != null ? phone.trim() : null);
-        
-        return customerDAO.createCustomer(customer);
+        return UnitOfWork.inTransaction(() -> {
+            // Check ifalready exists
+            if (customerDAO.emailExists(email)) {
+                throw new IllegalArgumentException("registration");
+            }
+            
+            Customer customer = new Customer(name.trim(), email.trim(), 
+                                           phone != null ? phone.trim() : null);
+            
+            return customerDAO.createCustomer(customer);
+        });
     }
     
     /**
@@ -105,15 +118,17 @@ public class CustomerService {
             throw new IllegalArgumentException("incorrect format");
         }
         
-        // Check if
-        if (customerDAO.emailExistsForOtherCustomer(email, customerId)) {
-            throw new IllegalArgumentException("");
-        }
-        
-        Customer customer = new Customer(customerId, name.trim(), email.trim(), 
-                                       phone != null ? phone.trim() : null);
-        
-        return customerDAO.updateCustomer(customer);
+        return UnitOfWork.inTransaction(() -> {
+            // Check if
+            if (customerDAO.emailExistsForOtherCustomer(email, customerId)) {
+                throw new IllegalArgumentException("");
+            }
+            
+            Customer customer = new Customer(customerId, name.trim(), email.trim(), 
+                                           phone != null ? phone.trim() : null);
+            
+            return customerDAO.updateCustomer(customer);
+        });
     }
     
     /**
@@ -124,13 +139,15 @@ public class CustomerService {
             throw new IllegalArgumentException("customer IDmust be greater than0");
         }
         
-        // Check ifexists
-        Customer customer = customerDAO.getCustomerById(customerId);
-        if (customer == null) {
-            throw new IllegalArgumentException("Customer does not exist");
-        }
-        
-        return customerDAO.deleteCustomer(customerId);
+        return UnitOfWork.inTransaction(() -> {
+            // Check ifexists
+            Customer customer = customerDAO.getCustomerById(customerId);
+            if (customer == null) {
+                throw new IllegalArgumentException("Customer does not exist");
+            }
+            
+            return customerDAO.deleteCustomer(customerId);
+        });
     }
     
     /**
@@ -158,27 +175,20 @@ public class CustomerService {
     }
     
     /**
-     * FormatDisplay
+     * Format customers for display
      */
     public String formatCustomersForDisplay(List<Customer> customers) {
         if (customers == null || customers.isEmpty()) {
             return "foundinformation";
         }
-        
-        StringBuilder sb = new StringBuilder();
-        sb.append(String.format("%-4s %-20s %-30s %-15s%n", "ID", "", "", ""));
-        sb.append("-".repeat(75)).append("\n");
-        
-        for (Customer customer : customers) {
-            sb.append(String.format("%-4d %-20s %-30s %-15s%n",
-                customer.getCustomerId(),
-                customer.getName(),
-                customer.getEmail(),
-                customer.getPhone() != null ? customer.getPhone() : "not provided"
-            ));
-        }
-        
-        return sb.toString();
+        return CUSTOMER_TABLE.render(customers);
+    }
+    
+    /**
+     * Stream a customer listing to out (e.g. System.out) without building it in memory
+     */
+    public void writeCustomersForDisplay(Iterable<Customer> customers, Appendable out) throws IOException {
+        CUSTOMER_TABLE.render(customers, out);
     }
     
     /**
@@ -192,7 +202,7 @@ public class CustomerService {
      * 
      */
     public int getTotalCustomerCount() {
-        return customerDAO.getAllCustomers().size();
+        return customerDAO.getCustomerCount();
     }
     
     
@@ -210,21 +220,23 @@ public class CustomerService {
      * Get customer detailed information
      */
     public String getCustomerDetailInfo(int customerId) {
-        Customer customer = customerDAO.getCustomerById(customerId);
-        if (customer == null) {
-            return "Customer does not exist";
-        }
-        
-        StringBuilder sb = new StringBuilder();
-        sb.append("=== Customer Detailed Information ===\n");
-        sb.append("ID: ").append(customer.getCustomerId()).append("\n");
-        sb.append("Name: ").append(customer.getName()).append("\n");
-        sb.append("Email: ").append(customer.getEmail()).append("\n");
-        sb.append("Phone: ").append(customer.getPhone() != null ? customer.getPhone() : "Not provided").append("\n");
-        sb.append("Order History: ").append(hasOrders(customerId) ? "Has order history" : "No orders yet").append("\n");
-        sb.append("Cumulative Spend: $").append(getCustomerCumulativeSpend(customerId)).append("\n");
-        
-        return sb.toString();
+        return UnitOfWork.withConnection(() -> {
+            Customer customer = customerDAO.getCustomerById(customerId);
+            if (customer == null) {
+                return "Customer does not exist";
+            }
+            
+            StringBuilder sb = new StringBuilder();
+            sb.append("=== Customer Detailed Information ===\n");
+            sb.append("ID: ").append(customer.getCustomerId()).append("\n");
+            sb.append("Name: ").append(customer.getName()).append("\n");
+            sb.append("Email: ").append(customer.getEmail()).append("\n");
+            sb.append("Phone: ").append(customer.getPhone() != null ? customer.getPhone() : "Not provided").append("\n");
+            sb.append("Order History: ").append(hasOrders(customerId) ? "Has order history" : "No orders yet").append("\n");
+            sb.append("Cumulative Spend: $").append(getCustomerCumulativeSpend(customerId)).append("\n");
+            
+            return sb.toString();
+        });
     }
     
     /**
@@ -0,0 +1,266 @@
+package com.foodorder.service;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Fixed-width console table, laid out once and reused for every listing
+ * Produces what "%-Ns" / "%Ns" format strings would: each cell is padded to its column
+ * width and never cut, columns are separated by one space and rows end with %n. The
+ * header and rule are built when the table is, and cells append straight into one
+ * StringBuilder, so a row costs no Formatter, no format string parsing and no
+ * per-cell Strings. Immutable and safe to share; each render uses its own buffer.
+ */
+final class DisplayTable<T> {
+
+    private static final String NEWLINE = System.lineSeparator();
+
+    // Buffered output is handed to the Appendable in chunks of about this many chars
+    private static final int FLUSH_CHARS = 8192;
+
+    private final List<Column<T>> columns;
+    private final String header;
+    private final int rowWidth;
+    private final char[] spaces;
+
+    private DisplayTable(List<Column<T>> columns, int rule) {
+        this.columns = List.copyOf(columns);
+
+        int width = columns.size() - 1 + NEWLINE.length();
+        int widest = 0;
+        boolean labelled = false;
+        for (Column<T> column : columns) {
+            width += column.width;
+            widest = Math.max(widest, column.width);
+            labelled |= column.label != null;
+        }
+        this.rowWidth = width;
+        this.spaces = new char[widest];
+        Arrays.fill(spaces, ' ');
+
+        StringBuilder sb = new StringBuilder();
+        if (labelled) {
+            for (int i = 0; i < columns.size(); i++) {
+                if (i > 0) {
+                    sb.append(' ');
+                }
+                int start = sb.length();
+                Column<T> column = columns.get(i);
+                sb.append(column.label == null ? "" : column.label);
+                pad(sb, start, column);
+            }
+            sb.append(NEWLINE);
+        }
+        if (rule > 0) {
+            sb.append("-".repeat(rule)).append('\n');
+        }
+        this.header = sb.toString();
+    }
+
+    static <T> Builder<T> builder() {
+        return new Builder<>();
+    }
+
+    /**
+     * Header, rule and all rows as one String, sized up front
+     */
+    String render(Collection<? extends T> rows) {
+        StringBuilder sb = new StringBuilder(header.length() + rows.size() * rowWidth);
+        sb.append(header);
+        for (T row : rows) {
+            appendRow(sb, row);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Header, rule and rows streamed to out in chunks, so memory does not grow with the row count
+     */
+    void render(Iterable<? extends T> rows, Appendable out) throws IOException {
+        Output output = open(out);
+        for (T row : rows) {
+            output.row(row);
+        }
+        output.flush();
+    }
+
+    /**
+     * Start streaming to out: writes the header, then one row per call to Output.row
+     */
+    Output open(Appendable out) {
+        Output output = new Output(out);
+        output.buffer.append(header);
+        return output;
+    }
+
+    /**
+     * Append one row, padded to the column widths, ending with the line separator
+     */
+    void appendRow(StringBuilder sb, T row) {
+        for (int i = 0; i < columns.size(); i++) {
+            if (i > 0) {
+                sb.append(' ');
+            }
+            int start = sb.length();
+            Column<T> column = columns.get(i);
+            column.cell.append(sb, row);
+            pad(sb, start, column);
+        }
+        sb.append(NEWLINE);
+    }
+
+    private void pad(StringBuilder sb, int start, Column<T> column) {
+        int missing = column.width - (sb.length() - start);
+        if (missing <= 0) {
+            return;
+        }
+        if (column.rightAligned) {
+            sb.insert(start, spaces, 0, missing);
+        } else {
+            sb.append(spaces, 0, missing);
+        }
+    }
+
+    /**
+     * Append an amount as "$%.2f" would, null included
+     */
+    static void appendMoney(StringBuilder sb, BigDecimal amount) {
+        sb.append('$');
+        if (amount == null) {
+            // "%.2f" applies its precision to the string "null"
+            sb.append("nu");
+        } else {
+            // Money is stored with scale 2, so this is usually the same instance and its cached string
+            sb.append(amount.setScale(2, RoundingMode.HALF_UP).toString());
+        }
+    }
+
+    /**
+     * Append a timestamp as yyyy-MM-dd HH:mm:ss; nothing when null
+     */
+    static void appendDateTime(StringBuilder sb, Timestamp timestamp) {
+        if (timestamp == null) {
+            return;
+        }
+        LocalDateTime time = timestamp.toLocalDateTime();
+        appendPadded(sb, time.getYear(), 4);
+        sb.append('-');
+        appendPadded(sb, time.getMonthValue(), 2);
+        sb.append('-');
+        appendPadded(sb, time.getDayOfMonth(), 2);
+        sb.append(' ');
+        appendPadded(sb, time.getHour(), 2);
+        sb.append(':');
+        appendPadded(sb, time.getMinute(), 2);
+        sb.append(':');
+        appendPadded(sb, time.getSecond(), 2);
+    }
+
+    private static void appendPadded(StringBuilder sb, int value, int digits) {
+        for (int i = 1, bound = 10; i < digits; i++, bound *= 10) {
+            if (value < bound) {
+                sb.append('0');
+            }
+        }
+        sb.append(value);
+    }
+
+    /**
+     * Writes cells into a StringBuilder
+     */
+    @FunctionalInterface
+    interface Cell<T> {
+        void append(StringBuilder sb, T row);
+    }
+
+    /**
+     * Rows being streamed to an Appendable
+     */
+    final class Output {
+        private final Appendable out;
+        private final StringBuilder buffer = new StringBuilder(FLUSH_CHARS + 256);
+
+        private Output(Appendable out) {
+            this.out = out;
+        }
+
+        void row(T row) throws IOException {
+            appendRow(buffer, row);
+            if (buffer.length() >= FLUSH_CHARS) {
+                flush();
+            }
+        }
+
+        /**
+         * Write text that is not a row, e.g. a group heading
+         */
+        void text(CharSequence text) throws IOException {
+            buffer.append(text);
+            if (buffer.length() >= FLUSH_CHARS) {
+                flush();
+            }
+        }
+
+        void flush() throws IOException {
+            out.append(buffer);
+            buffer.setLength(0);
+        }
+    }
+
+    private static final class Column<T> {
+        private final String label;
+        private final int width;
+        private final boolean rightAligned;
+        private final Cell<T> cell;
+
+        Column(String label, int width, boolean rightAligned, Cell<T> cell) {
+            this.label = label;
+            this.width = width;
+            this.rightAligned = rightAligned;
+            this.cell = cell;
+        }
+    }
+
+    static final class Builder<T> {
+        private final List<Column<T>> columns = new ArrayList<>();
+        private int rule;
+
+        /**
+         * Left-aligned column, as "%-{width}s"; a null label leaves it out of the header
+         */
+        Builder<T> column(String label, int width, Cell<T> cell) {
+            columns.add(new Column<>(label, width, false, cell));
+            return this;
+        }
+
+        /**
+         * Right-aligned column, as "%{width}s"
+         */
+        Builder<T> rightColumn(String label, int width, Cell<T> cell) {
+            columns.add(new Column<>(label, width, true, cell));
+            return this;
+        }
+
+        /**
+         * Line of dashes under the header
+         */
+        Builder<T> rule(int width) {
+            this.rule = width;
+            return this;
+        }
+
+        DisplayTable<T> build() {
+            if (columns.isEmpty()) {
+                throw new IllegalStateException("A table needs at least one column");
+            }
+            return new DisplayTable<>(columns, rule);
+        }
+    }
+}
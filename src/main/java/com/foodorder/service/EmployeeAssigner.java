@@ -0,0 +1,207 @@
+package com.foodorder.service;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+import com.foodorder.config.UnitOfWork;
+import com.foodorder.dao.EmployeeDAO;
+import com.foodorder.dao.OrderDAO;
+import com.foodorder.model.Employee;
+
+/**
+ * Least-loaded employee assignment
+ * Tracks how many active orders (PENDING, ACCEPTED, PREPARING) each employee holds and
+ * keeps the available employees in a skip list ordered by that count, so picking the
+ * least loaded one and moving it are O(log n). Among equally loaded employees the one
+ * assigned longest ago goes first, which spreads bursts round-robin.
+ * Changes are serialized on this object; peeking at the queue needs no lock.
+ * Loaded from the database on first use; like ActiveOrderRegistry, it assumes one
+ * process assigns orders, and reload() starts over.
+ */
+public class EmployeeAssigner {
+
+    private static final Comparator<Load> LEAST_LOADED = Comparator
+        .comparingInt((Load load) -> load.activeOrders)
+        .thenComparingLong(load -> load.lastAssigned)
+        .thenComparingInt(load -> load.employeeId);
+
+    private final EmployeeDAO employeeDAO;
+    private final OrderDAO orderDAO;
+
+    // Available employees only, least loaded first
+    private final ConcurrentSkipListSet<Load> queue = new ConcurrentSkipListSet<>(LEAST_LOADED);
+
+    // Guarded by this: every known employee, and the employee of every active order
+    private final Map<Integer, Load> loads = new HashMap<>();
+    private final Map<Integer, Integer> orderEmployees = new HashMap<>();
+    private long assignments;
+
+    EmployeeAssigner(EmployeeDAO employeeDAO, OrderDAO orderDAO) {
+        this.employeeDAO = employeeDAO;
+        this.orderDAO = orderDAO;
+        reload();
+    }
+
+    /**
+     * Get the shared assigner
+     */
+    public static EmployeeAssigner getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    /**
+     * Rebuild employee loads from the database
+     */
+    public synchronized void reload() {
+        queue.clear();
+        loads.clear();
+        orderEmployees.clear();
+
+        UnitOfWork.withConnection(() -> {
+            Map<Integer, Integer> activeCounts = new HashMap<>();
+            orderEmployees.putAll(orderDAO.getActiveOrderEmployees());
+            orderEmployees.values().forEach(employeeId -> activeCounts.merge(employeeId, 1, Integer::sum));
+
+            for (Employee employee : employeeDAO.getAllEmployees()) {
+                int employeeId = employee.getEmployeeId();
+                put(new Load(employeeId, activeCounts.getOrDefault(employeeId, 0), 0, employee.isAvailable()));
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Take the least loaded available employee and count one more order for them.
+     * The caller must either bind the order with orderAssigned and then release this
+     * hold, or just release it if no order was created.
+     *
+     * @return employee ID, or -1 if nobody is available
+     */
+    public synchronized int reserve() {
+        Load least = queue.pollFirst();
+        if (least == null) {
+            return -1;
+        }
+        put(least.withActiveOrders(least.activeOrders + 1, ++assignments));
+        return least.employeeId;
+    }
+
+    /**
+     * Give back one order counted by reserve
+     */
+    public synchronized void release(int employeeId) {
+        Load load = loads.get(employeeId);
+        if (load != null && load.activeOrders > 0) {
+            put(load.withActiveOrders(load.activeOrders - 1, load.lastAssigned));
+        }
+    }
+
+    /**
+     * An active order now belongs to this employee; a previous owner is relieved of it
+     */
+    public synchronized void orderAssigned(int orderId, int employeeId) {
+        Integer previous = orderEmployees.put(orderId, employeeId);
+        if (previous != null) {
+            release(previous);
+        }
+        Load load = loads.get(employeeId);
+        if (load == null) {
+            // Added by another process; counted from now on
+            load = new Load(employeeId, 0, 0, false);
+        }
+        put(load.withActiveOrders(load.activeOrders + 1, Math.max(load.lastAssigned, ++assignments)));
+    }
+
+    /**
+     * An order was completed, cancelled or deleted
+     */
+    public synchronized void orderClosed(int orderId) {
+        Integer employeeId = orderEmployees.remove(orderId);
+        if (employeeId != null) {
+            release(employeeId);
+        }
+    }
+
+    /**
+     * An employee was added or became (un)available
+     */
+    public synchronized void availabilityChanged(int employeeId, boolean available) {
+        Load load = loads.get(employeeId);
+        put(load == null
+            ? new Load(employeeId, 0, 0, available)
+            : new Load(employeeId, load.activeOrders, load.lastAssigned, available));
+    }
+
+    /**
+     * An employee was deleted
+     */
+    public synchronized void employeeRemoved(int employeeId) {
+        Load load = loads.remove(employeeId);
+        if (load != null) {
+            queue.remove(load);
+        }
+    }
+
+    /**
+     * Get the employee reserve would pick next, without taking them; -1 if nobody is available
+     */
+    public int peek() {
+        try {
+            return queue.first().employeeId;
+        } catch (NoSuchElementException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * Get the number of active orders counted for an employee
+     */
+    public synchronized int getActiveOrders(int employeeId) {
+        Load load = loads.get(employeeId);
+        return load == null ? 0 : load.activeOrders;
+    }
+
+    /**
+     * Replace an employee's load, keeping the queue in step
+     */
+    private void put(Load load) {
+        Load previous = loads.put(load.employeeId, load);
+        if (previous != null) {
+            queue.remove(previous);
+        }
+        if (load.available) {
+            queue.add(load);
+        }
+    }
+
+    /**
+     * Loading the shared assigner reads employees and open orders, so it waits for the first getInstance()
+     */
+    private static final class Holder {
+        private static final EmployeeAssigner INSTANCE = new EmployeeAssigner(new EmployeeDAO(), new OrderDAO());
+    }
+
+    /**
+     * Immutable load entry; replaced, never changed, so the skip list order stays valid
+     */
+    private static final class Load {
+        private final int employeeId;
+        private final int activeOrders;
+        private final long lastAssigned;
+        private final boolean available;
+
+        Load(int employeeId, int activeOrders, long lastAssigned, boolean available) {
+            this.employeeId = employeeId;
+            this.activeOrders = activeOrders;
+            this.lastAssigned = lastAssigned;
+            this.available = available;
+        }
+
+        Load withActiveOrders(int activeOrders, long lastAssigned) {
+            return new Load(employeeId, activeOrders, lastAssigned, available);
+        }
+    }
+}
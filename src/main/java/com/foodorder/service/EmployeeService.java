@@ -1,7 +1,9 @@
 package com.foodorder.service;
 
+import java.io.IOException;
 import java.util.List;
 
+import com.foodorder.config.UnitOfWork;
 import com.foodorder.dao.EmployeeDAO;
 import com.foodorder.model.Employee;
 
@@ -11,10 +13,21 @@ import com.foodorder.model.Employee;
  */
 public class EmployeeService {
     
+    private static final DisplayTable<Employee> EMPLOYEE_TABLE = DisplayTable.<Employee>builder()
+        .column("ID", 4, (sb, employee) -> sb.append(employee.getEmployeeId()))
+        .column("Name", 20, (sb, employee) -> sb.append(employee.getName()))
+        .column("Phone", 15, (sb, employee) ->
+            sb.append(employee.getPhone() != null ? employee.getPhone() : "not provided"))
+        .column("Status", 8, (sb, employee) -> sb.append(employee.getAvailabilityStatusText()))
+        .rule(50)
+        .build();
+    
     private EmployeeDAO employeeDAO;
+    private EmployeeAssigner employeeAssigner;
     
     public EmployeeService() {
         this.employeeDAO = new EmployeeDAO();
+        this.employeeAssigner = EmployeeAssigner.getInstance();
     }
     
     /**
@@ -30,7 +43,11 @@ public class EmployeeService {
                                        phone != null ? phone.trim() : null, 
                                        availabilityStatus);
         
-        return employeeDAO.createEmployee(employee);
+        int employeeId = employeeDAO.createEmployee(employee);
+        if (employeeId > 0) {
+            employeeAssigner.availabilityChanged(employeeId, availabilityStatus);
+        }
+        return employeeId;
     }
     
     /**
@@ -84,7 +101,11 @@ public class EmployeeService {
                                        phone != null ? phone.trim() : null, 
                                        availabilityStatus);
         
-        return employeeDAO.updateEmployee(employee);
+        boolean updated = employeeDAO.updateEmployee(employee);
+        if (updated) {
+            employeeAssigner.availabilityChanged(employeeId, availabilityStatus);
+        }
+        return updated;
     }
     
     /**
@@ -95,13 +116,19 @@ public class EmployeeService {
             throw new IllegalArgumentException("employee IDmust be greater than0");
         }
         
-        // Check ifexists
-        Employee employee = employeeDAO.getEmployeeById(employeeId);
-        if (employee == null) {
-            throw new IllegalArgumentException("Employee does not exist");
-        }
-        
-        return employeeDAO.updateEmployeeAvailability(employeeId, availabilityStatus);
+        return UnitOfWork.inTransaction(() -> {
+            // Check ifexists
+            Employee employee = employeeDAO.getEmployeeById(employeeId);
+            if (employee == null) {
+                throw new IllegalArgumentException("Employee does not exist");
+            }
+            
+            boolean updated = employeeDAO.updateEmployeeAvailability(employeeId, availabilityStatus);
+            if (updated) {
+                UnitOfWork.afterCommit(() -> employeeAssigner.availabilityChanged(employeeId, availabilityStatus));
+            }
+            return updated;
+        });
     }
     
     /**
@@ -112,13 +139,19 @@ public class EmployeeService {
             throw new IllegalArgumentException("employee IDmust be greater than0");
         }
         
-        // Check ifexists
-        Employee employee = employeeDAO.getEmployeeById(employeeId);
-        if (employee == null) {
-            throw new IllegalArgumentException("Employee does not exist");
-        }
-        
-        return employeeDAO.deleteEmployee(employeeId);
+        return UnitOfWork.inTransaction(() -> {
+            // Check ifexists
+            Employee employee = employeeDAO.getEmployeeById(employeeId);
+            if (employee == null) {
+                throw new IllegalArgumentException("Employee does not exist");
+            }
+            
+            boolean deleted = employeeDAO.deleteEmployee(employeeId);
+            if (deleted) {
+                UnitOfWork.afterCommit(() -> employeeAssigner.employeeRemoved(employeeId));
+            }
+            return deleted;
+        });
     }
     
     /**
@@ -147,48 +180,35 @@ public class EmployeeService {
     }
     
     /**
-     * Get random available employee for order assignment
+     * Get the available employee with the fewest active orders, the one the next order goes to
      */
-    public Employee getRandomAvailableEmployee() {
-        return employeeDAO.getRandomAvailableEmployee();
+    public Employee getLeastLoadedAvailableEmployee() {
+        int employeeId = employeeAssigner.peek();
+        return employeeId > 0 ? employeeDAO.getEmployeeById(employeeId) : null;
     }
     
     /**
      * Auto assign available employee (returns null if no available employee)
      */
     public Employee assignAvailableEmployee() {
-        List<Employee> availableEmployees = employeeDAO.getAvailableEmployees();
-        
-        if (availableEmployees.isEmpty()) {
-            return null;
-        }
-        
-         // Return first available employee, can implement more complex assignment logic
-        return availableEmployees.get(0);
+        return getLeastLoadedAvailableEmployee();
     }
     
     /**
-     * Format employee list as string for display
+     * Format employees for display
      */
     public String formatEmployeesForDisplay(List<Employee> employees) {
         if (employees == null || employees.isEmpty()) {
             return "No employee information found.";
         }
-        
-        StringBuilder sb = new StringBuilder();
-        sb.append(String.format("%-4s %-20s %-15s %-8s%n", "ID", "Name", "Phone", "Status"));
-        sb.append("-".repeat(50)).append("\n");
-        
-        for (Employee employee : employees) {
-            sb.append(String.format("%-4d %-20s %-15s %-8s%n",
-                employee.getEmployeeId(),
-                employee.getName(),
-                employee.getPhone() != null ? employee.getPhone() : "not provided",
-                employee.getAvailabilityStatusText()
-            ));
-        }
-        
-        return sb.toString();
+        return EMPLOYEE_TABLE.render(employees);
+    }
+    
+    /**
+     * Stream an employee listing to out (e.g. System.out) without building it in memory
+     */
+    public void writeEmployeesForDisplay(Iterable<Employee> employees, Appendable out) throws IOException {
+        EMPLOYEE_TABLE.render(employees, out);
     }
     
     /**
@@ -209,7 +229,7 @@ public class EmployeeService {
      * Get total employee count
      */
     public int getTotalEmployeeCount() {
-        return employeeDAO.getAllEmployees().size();
+        return employeeDAO.getEmployeeCount();
     }
     
     /**
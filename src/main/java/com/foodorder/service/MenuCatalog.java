@@ -0,0 +1,230 @@
+package com.foodorder.service;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.foodorder.config.UnitOfWork;
+import com.foodorder.dao.MenuDAO;
+import com.foodorder.dao.OrderItemDAO;
+import com.foodorder.model.Category;
+import com.foodorder.model.MenuItem;
+
+/**
+ * In-memory menu catalog
+ * Read-through cache of all categories and menu items, indexed by ID and category.
+ * Writers bump the version; the next read reloads the whole catalog in one pass.
+ * Returned lists are read-only and shared, so callers must not modify the items.
+ */
+public class MenuCatalog {
+
+    // Safety net for changes made outside this process
+    private static final long MAX_AGE_MILLIS = 5 * 60 * 1000L;
+
+    private static final MenuCatalog INSTANCE = new MenuCatalog(new MenuDAO(), new OrderItemDAO());
+
+    private final MenuDAO menuDAO;
+    private final OrderItemDAO orderItemDAO;
+    private final AtomicLong version = new AtomicLong();
+    private volatile Snapshot snapshot;
+
+    MenuCatalog(MenuDAO menuDAO, OrderItemDAO orderItemDAO) {
+        this.menuDAO = menuDAO;
+        this.orderItemDAO = orderItemDAO;
+    }
+
+    /**
+     * Get the shared catalog
+     */
+    public static MenuCatalog getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Mark the catalog stale after a menu change
+     */
+    public void invalidate() {
+        version.incrementAndGet();
+    }
+
+    /**
+     * Get current catalog version
+     */
+    public long getVersion() {
+        return version.get();
+    }
+
+    /**
+     * Get all categories ordered by name
+     */
+    public List<Category> getAllCategories() {
+        return current().categories;
+    }
+
+    /**
+     * Get all available menu items ordered by category and name
+     */
+    public List<MenuItem> getAllAvailableMenuItems() {
+        return current().availableItems;
+    }
+
+    /**
+     * Get available menu items of one category ordered by name
+     */
+    public List<MenuItem> getMenuItemsByCategory(int categoryId) {
+        return current().availableByCategory.getOrDefault(categoryId, List.of());
+    }
+
+    /**
+     * Get menu item by ID, including inactive items
+     */
+    public MenuItem getMenuItemById(int itemId) {
+        return current().itemsById.get(itemId);
+    }
+
+    /**
+     * Check if category exists
+     */
+    public boolean categoryExists(int categoryId) {
+        return current().categoriesById.containsKey(categoryId);
+    }
+
+    /**
+     * Get available menu items within a price range ordered by price and name
+     */
+    public List<MenuItem> getMenuItemsByPriceRange(BigDecimal minPrice, BigDecimal maxPrice) {
+        List<MenuItem> result = new ArrayList<>();
+        for (MenuItem item : current().availableItems) {
+            BigDecimal price = item.getCurrentPrice();
+            if ((minPrice == null || price.compareTo(minPrice) >= 0)
+                    && (maxPrice == null || price.compareTo(maxPrice) <= 0)) {
+                result.add(item);
+            }
+        }
+        result.sort((a, b) -> {
+            int byPrice = a.getCurrentPrice().compareTo(b.getCurrentPrice());
+            return byPrice != 0 ? byPrice : a.getItemName().compareTo(b.getItemName());
+        });
+        return result;
+    }
+
+    /**
+     * Search available menu items by name: words may be prefixes or slightly misspelled.
+     * Served from the in-process index of the current snapshot.
+     */
+    public List<MenuItem> search(String query, int limit) {
+        return current().searchIndex.search(query, limit);
+    }
+
+    /**
+     * Get up to limit item and category names with a word starting with what has been typed,
+     * best sellers first; topped up with misspelling matches when the prefix finds too few
+     */
+    public List<String> suggest(String prefix, int limit) {
+        Snapshot current = current();
+        List<String> names = new ArrayList<>(current.suggestions.suggest(prefix, limit));
+        if (names.size() < limit) {
+            for (MenuItem item : current.searchIndex.search(prefix, limit * 2)) {
+                if (names.size() < limit && !names.contains(item.getItemName())) {
+                    names.add(item.getItemName());
+                }
+            }
+        }
+        return names;
+    }
+
+    /**
+     * Get the current snapshot, reloading it if the version moved or it is too old
+     */
+    private Snapshot current() {
+        Snapshot current = snapshot;
+        if (isFresh(current)) {
+            return current;
+        }
+
+        synchronized (this) {
+            current = snapshot;
+            if (isFresh(current)) {
+                return current;
+            }
+            // Read the version first so a change during the load triggers another reload
+            long loadVersion = version.get();
+            Snapshot previous = current;
+            Snapshot loaded = UnitOfWork.withConnection(() -> new Snapshot(loadVersion,
+                menuDAO.getAllCategories(), menuDAO.getAllMenuItems(), orderItemDAO.getSalesCountsByItem(), previous));
+            // An empty load usually means the database was unreachable, so do not keep it
+            if (!loaded.categories.isEmpty()) {
+                snapshot = loaded;
+            }
+            return loaded;
+        }
+    }
+
+    private boolean isFresh(Snapshot current) {
+        return current != null
+                && current.version == version.get()
+                && System.currentTimeMillis() - current.loadedAt < MAX_AGE_MILLIS;
+    }
+
+    /**
+     * Immutable view of the menu at one version
+     */
+    private static class Snapshot {
+        private final long version;
+        private final long loadedAt = System.currentTimeMillis();
+        private final List<Category> categories;
+        private final Map<Integer, Category> categoriesById = new HashMap<>();
+        private final List<MenuItem> availableItems;
+        private final Map<Integer, MenuItem> itemsById = new HashMap<>();
+        private final Map<Integer, List<MenuItem>> availableByCategory;
+        private final MenuSearchIndex searchIndex;
+        private final Map<String, Long> suggestionWeights = new HashMap<>();
+        private final MenuSuggestionTrie suggestions;
+
+        Snapshot(long version, List<Category> categories, List<MenuItem> allItems,
+                 Map<Integer, Long> salesCounts, Snapshot previous) {
+            this.version = version;
+            this.categories = Collections.unmodifiableList(categories);
+            for (Category category : categories) {
+                categoriesById.put(category.getCategoryId(), category);
+            }
+
+            // Items arrive ordered by category name then item name
+            List<MenuItem> available = new ArrayList<>();
+            Map<Integer, List<MenuItem>> byCategory = new LinkedHashMap<>();
+            for (MenuItem item : allItems) {
+                itemsById.put(item.getItemId(), item);
+                if (item.isAvailable()) {
+                    available.add(item);
+                    byCategory.computeIfAbsent(item.getCategoryId(), id -> new ArrayList<>()).add(item);
+                }
+            }
+            byCategory.replaceAll((id, items) -> Collections.unmodifiableList(items));
+
+            this.availableItems = Collections.unmodifiableList(available);
+            this.availableByCategory = byCategory;
+            this.searchIndex = new MenuSearchIndex(available);
+
+            // Suggestions are weighted by units sold; a category by those of its items
+            for (MenuItem item : available) {
+                long sold = salesCounts.getOrDefault(item.getItemId(), 0L);
+                suggestionWeights.merge(item.getItemName(), sold, Long::sum);
+                if (categoriesById.containsKey(item.getCategoryId())) {
+                    suggestionWeights.merge(categoriesById.get(item.getCategoryId()).getName(), sold, Long::sum);
+                }
+            }
+            for (Category category : categories) {
+                suggestionWeights.putIfAbsent(category.getName(), 0L);
+            }
+            // Only the names that changed since the previous snapshot touch the trie
+            this.suggestions = previous == null
+                ? MenuSuggestionTrie.of(suggestionWeights)
+                : previous.suggestions.update(previous.suggestionWeights, suggestionWeights);
+        }
+    }
+}
@@ -0,0 +1,243 @@
+package com.foodorder.service;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.regex.Pattern;
+
+import com.foodorder.model.MenuItem;
+
+/**
+ * In-process search index over the menu items of one catalog snapshot
+ * Names are split into lower-case words without accents. The distinct words are kept
+ * sorted, so every word starting with a prefix is one binary-searched range, and each
+ * word lists the items containing it. Misspelled words are found through shared
+ * trigrams and confirmed by edit distance. Immutable once built: lookups need no locks.
+ *
+ * Every query word must match an item word, exactly, as a prefix or within the typo
+ * budget; items are ranked by how well they match, names starting with the query first.
+ */
+final class MenuSearchIndex {
+
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{Alnum}]+");
+    private static final Pattern ACCENTS = Pattern.compile("\\p{M}+");
+
+    // Query words shorter than this are only matched as prefixes, never fuzzily
+    private static final int MIN_FUZZY_LENGTH = 4;
+
+    private static final float EXACT_SCORE = 3.0f;
+    private static final float PREFIX_SCORE = 2.0f;
+    private static final float FUZZY_SCORE = 1.2f;
+    private static final float LEADING_BONUS = 1.5f;
+
+    private final MenuItem[] items;
+    private final String[] normalizedNames;
+    private final String[] words;
+    private final int[][] postings;
+    private final Map<String, int[]> wordsByTrigram;
+
+    MenuSearchIndex(List<MenuItem> menuItems) {
+        this.items = menuItems.toArray(new MenuItem[0]);
+        this.normalizedNames = new String[items.length];
+
+        TreeMap<String, List<Integer>> wordItems = new TreeMap<>();
+        for (int i = 0; i < items.length; i++) {
+            normalizedNames[i] = normalize(items[i].getItemName());
+            for (String word : tokenize(items[i].getItemName())) {
+                List<Integer> itemIndexes = wordItems.computeIfAbsent(word, w -> new ArrayList<>());
+                if (itemIndexes.isEmpty() || itemIndexes.get(itemIndexes.size() - 1) != i) {
+                    itemIndexes.add(i);
+                }
+            }
+        }
+
+        this.words = wordItems.keySet().toArray(new String[0]);
+        this.postings = new int[words.length][];
+        Map<String, List<Integer>> trigrams = new HashMap<>();
+        for (int w = 0; w < words.length; w++) {
+            postings[w] = wordItems.get(words[w]).stream().mapToInt(Integer::intValue).toArray();
+            for (String trigram : trigrams(words[w])) {
+                trigrams.computeIfAbsent(trigram, t -> new ArrayList<>()).add(w);
+            }
+        }
+        this.wordsByTrigram = new HashMap<>();
+        trigrams.forEach((trigram, wordIndexes) ->
+            wordsByTrigram.put(trigram, wordIndexes.stream().mapToInt(Integer::intValue).distinct().toArray()));
+    }
+
+    /**
+     * Items matching every word of the query, most relevant first
+     */
+    List<MenuItem> search(String query, int limit) {
+        List<String> queryWords = tokenize(query);
+        if (queryWords.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        float[] totals = new float[items.length];
+        int[] matchedWords = new int[items.length];
+        float[] best = new float[items.length];
+        for (int q = 0; q < queryWords.size(); q++) {
+            Arrays.fill(best, 0f);
+            scoreWord(queryWords.get(q), best);
+            for (int i = 0; i < items.length; i++) {
+                // Only items that matched every earlier word stay candidates
+                if (best[i] > 0 && matchedWords[i] == q) {
+                    totals[i] += best[i];
+                    matchedWords[i]++;
+                }
+            }
+        }
+
+        String normalizedQuery = String.join(" ", queryWords);
+        List<Integer> hits = new ArrayList<>();
+        for (int i = 0; i < items.length; i++) {
+            if (matchedWords[i] == queryWords.size()) {
+                if (normalizedNames[i].startsWith(normalizedQuery)) {
+                    totals[i] += LEADING_BONUS;
+                }
+                hits.add(i);
+            }
+        }
+
+        hits.sort(Comparator.<Integer>comparingDouble(i -> -totals[i])
+            .thenComparingInt(i -> normalizedNames[i].length())
+            .thenComparing(i -> normalizedNames[i]));
+
+        List<MenuItem> result = new ArrayList<>(Math.min(limit, hits.size()));
+        for (int k = 0; k < hits.size() && k < limit; k++) {
+            result.add(items[hits.get(k)]);
+        }
+        return result;
+    }
+
+    /**
+     * Best score of one query word for every item, written into best
+     */
+    private void scoreWord(String queryWord, float[] best) {
+        // Exact and prefix matches: one contiguous range of the sorted words
+        int from = lowerBound(queryWord);
+        for (int w = from; w < words.length && words[w].startsWith(queryWord); w++) {
+            float score = words[w].length() == queryWord.length()
+                ? EXACT_SCORE
+                : PREFIX_SCORE * queryWord.length() / words[w].length() + 0.5f;
+            mark(w, score, best);
+        }
+
+        if (queryWord.length() < MIN_FUZZY_LENGTH) {
+            return;
+        }
+
+        // Typos: candidate words share at least one trigram, then edit distance decides
+        int maxDistance = queryWord.length() <= 5 ? 1 : 2;
+        Map<Integer, Integer> shared = new HashMap<>();
+        for (String trigram : trigrams(queryWord)) {
+            int[] wordIndexes = wordsByTrigram.get(trigram);
+            if (wordIndexes != null) {
+                for (int w : wordIndexes) {
+                    shared.merge(w, 1, Integer::sum);
+                }
+            }
+        }
+        for (int w : shared.keySet()) {
+            String word = words[w];
+            if (Math.abs(word.length() - queryWord.length()) > maxDistance && word.length() < queryWord.length()) {
+                continue;
+            }
+            // Compare with the word, and with its start so a misspelled prefix still matches
+            int distance = Math.min(
+                editDistance(queryWord, word, maxDistance),
+                word.length() > queryWord.length()
+                    ? editDistance(queryWord, word.substring(0, queryWord.length()), maxDistance)
+                    : Integer.MAX_VALUE);
+            if (distance <= maxDistance) {
+                mark(w, FUZZY_SCORE - 0.3f * distance, best);
+            }
+        }
+    }
+
+    private void mark(int word, float score, float[] best) {
+        for (int item : postings[word]) {
+            if (score > best[item]) {
+                best[item] = score;
+            }
+        }
+    }
+
+    private int lowerBound(String key) {
+        int index = Arrays.binarySearch(words, key);
+        return index >= 0 ? index : -index - 1;
+    }
+
+    /**
+     * Lower-case words of a name, accents removed
+     */
+    static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        for (String token : NON_WORD.split(normalize(text))) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    private static String normalize(String text) {
+        String stripped = ACCENTS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("");
+        return stripped.toLowerCase(Locale.ROOT).trim();
+    }
+
+    private static List<String> trigrams(String word) {
+        String padded = "  " + word + " ";
+        List<String> trigrams = new ArrayList<>(padded.length() - 2);
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            trigrams.add(padded.substring(i, i + 3));
+        }
+        return trigrams;
+    }
+
+    /**
+     * Edit distance with adjacent transpositions, or maxDistance + 1 once it is exceeded
+     */
+    static int editDistance(String a, String b, int maxDistance) {
+        if (Math.abs(a.length() - b.length()) > maxDistance) {
+            return maxDistance + 1;
+        }
+        int[] previous2 = new int[b.length() + 1];
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            int rowMin = current[0];
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                int value = Math.min(Math.min(previous[j] + 1, current[j - 1] + 1), previous[j - 1] + cost);
+                if (i > 1 && j > 1 && a.charAt(i - 1) == b.charAt(j - 2) && a.charAt(i - 2) == b.charAt(j - 1)) {
+                    value = Math.min(value, previous2[j - 2] + 1);
+                }
+                current[j] = value;
+                rowMin = Math.min(rowMin, value);
+            }
+            if (rowMin > maxDistance) {
+                return maxDistance + 1;
+            }
+            int[] recycled = previous2;
+            previous2 = previous;
+            previous = current;
+            current = recycled;
+        }
+        return Math.min(previous[b.length()], maxDistance + 1);
+    }
+}
@@ -1,5 +1,6 @@
 package com.foodorder.service;
 
+import java.io.IOException;
 import java.math.BigDecimal;
 import java.util.List;
 import java.util.Map;
@@ -15,24 +16,32 @@ import com.foodorder.model.MenuItem;
  */
 public class MenuService {
     
+    private static final DisplayTable<MenuItem> MENU_TABLE = DisplayTable.<MenuItem>builder()
+        .column(null, 3, (sb, item) -> sb.append(item.getItemId()))
+        .column(null, 25, (sb, item) -> sb.append(item.getItemName()))
+        .rightColumn(null, 8, (sb, item) -> DisplayTable.appendMoney(sb, item.getCurrentPrice()))
+        .build();
+    
     private MenuDAO menuDAO;
+    private MenuCatalog menuCatalog;
     
     public MenuService() {
         this.menuDAO = new MenuDAO();
+        this.menuCatalog = MenuCatalog.getInstance();
     }
     
     /**
      * Get allcategory
      */
     public List<Category> getAllCategories() {
-        return menuDAO.getAllCategories();
+        return menuCatalog.getAllCategories();
     }
     
     /**
      * Get allavailable
      */
     public List<MenuItem> getAllAvailableMenuItems() {
-        return menuDAO.getAllAvailableMenuItems();
+        return menuCatalog.getAllAvailableMenuItems();
     }
     
     /**
@@ -42,7 +51,7 @@ public class MenuService {
         if (categoryId <= 0) {
             throw new IllegalArgumentException("categoryIDmust be greater than0");
         }
-        return menuDAO.getMenuItemsByCategory(categoryId);
+        return menuCatalog.getMenuItemsByCategory(categoryId);
     }
     
     /**
@@ -52,7 +61,7 @@ public class MenuService {
         if (searchTerm == null || searchTerm.trim().isEmpty()) {
             throw new IllegalArgumentException("Searchcannot be empty");
         }
-        return menuDAO.searchMenuItemsByName(searchTerm.trim());
+        return menuCatalog.search(searchTerm.trim(), Integer.MAX_VALUE);
     }
     
     /**
@@ -70,7 +79,7 @@ public class MenuService {
             throw new IllegalArgumentException("Min and maxprice");
         }
         
-        return menuDAO.searchMenuItemsByPriceRange(minPrice, maxPrice);
+        return menuCatalog.getMenuItemsByPriceRange(minPrice, maxPrice);
     }
     
     /**
@@ -105,14 +114,14 @@ public class MenuService {
         if (itemId <= 0) {
             throw new IllegalArgumentException("menu item IDmust be greater than0");
         }
-        return menuDAO.getMenuItemById(itemId);
+        return menuCatalog.getMenuItemById(itemId);
     }
     
     /**
      * categoryDisplay
      */
     public Map<String, List<MenuItem>> getMenuItemsGroupedByCategory() {
-        List<MenuItem> allItems = menuDAO.getAllAvailableMenuItems();
+        List<MenuItem> allItems = menuCatalog.getAllAvailableMenuItems();
         return allItems.stream()
                 .collect(Collectors.groupingBy(MenuItem::getCategoryName));
     }
@@ -121,7 +130,7 @@ public class MenuService {
      * pricestatistics
      */
     public Map<String, Long> getPriceRangeStatistics() {
-        List<MenuItem> allItems = menuDAO.getAllAvailableMenuItems();
+        List<MenuItem> allItems = menuCatalog.getAllAvailableMenuItems();
         
         return allItems.stream()
                 .collect(Collectors.groupingBy(item -> {
@@ -143,7 +152,7 @@ public class MenuService {
      */
     public List<MenuItem> getRecommendedItems() {
         // price$10-$25
-        return menuDAO.searchMenuItemsByPriceRange(
+        return menuCatalog.getMenuItemsByPriceRange(
             new BigDecimal("10.00"), 
             new BigDecimal("25.00")
         );
@@ -153,41 +162,52 @@ public class MenuService {
      * Validateexistsavailable
      */
     public boolean isMenuItemAvailable(int itemId) {
-        MenuItem item = menuDAO.getMenuItemById(itemId);
+        MenuItem item = menuCatalog.getMenuItemById(itemId);
         return item != null && item.isAvailable();
     }
     
     /**
-     * FormatDisplay
+     * Format menu items for display, grouped under their category
      */
     public String formatMenuItemsForDisplay(List<MenuItem> items) {
         if (items == null || items.isEmpty()) {
             return "found";
         }
         
-        StringBuilder sb = new StringBuilder();
-        String currentCategory = "";
-        
+        StringBuilder sb = new StringBuilder(items.size() * 48);
+        String currentCategory = null;
         for (MenuItem item : items) {
             // categoryDisplaycategory
             if (!item.getCategoryName().equals(currentCategory)) {
-                currentCategory = item.getCategoryName();
-                if (sb.length() > 0) {
+                if (currentCategory != null) {
                     sb.append("\n");
                 }
+                currentCategory = item.getCategoryName();
                 sb.append("=== ").append(currentCategory).append(" ===\n");
             }
-            
-            sb.append(String.format("%-3d %-25s %8s%n", 
-                item.getItemId(),
-                item.getItemName(),
-                item.getFormattedPrice()
-            ));
+            MENU_TABLE.appendRow(sb, item);
         }
-        
         return sb.toString();
     }
     
+    /**
+     * Stream the same listing to out (e.g. System.out) without building it in memory
+     */
+    public void writeMenuItemsForDisplay(Iterable<MenuItem> items, Appendable out) throws IOException {
+        DisplayTable<MenuItem>.Output output = MENU_TABLE.open(out);
+        String currentCategory = null;
+        for (MenuItem item : items) {
+            if (!item.getCategoryName().equals(currentCategory)) {
+                output.text(currentCategory != null ? "\n=== " : "=== ");
+                currentCategory = item.getCategoryName();
+                output.text(currentCategory);
+                output.text(" ===\n");
+            }
+            output.row(item);
+        }
+        output.flush();
+    }
+    
     /**
      * Menu statisticsinformation
      */
@@ -199,14 +219,14 @@ public class MenuService {
      * 
      */
     public int getTotalMenuItemCount() {
-        return menuDAO.getAllAvailableMenuItems().size();
+        return menuCatalog.getAllAvailableMenuItems().size();
     }
     
     /**
      * category
      */
     public int getTotalCategoryCount() {
-        return menuDAO.getAllCategories().size();
+        return menuCatalog.getAllCategories().size();
     }
     
     /**
@@ -217,12 +237,7 @@ public class MenuService {
             return List.of();
         }
         
-        List<MenuItem> items = menuDAO.searchMenuItemsByName(partialName);
-        return items.stream()
-                .map(MenuItem::getItemName)
-                .distinct()
-                .limit(5)  // quantity
-                .collect(Collectors.toList());
+        return menuCatalog.suggest(partialName.trim(), 5);
     }
     
     
@@ -246,14 +261,15 @@ public class MenuService {
         }
         
         // Check if category exists
-        List<Category> categories = menuDAO.getAllCategories();
-        boolean categoryExists = categories.stream()
-                .anyMatch(c -> c.getCategoryId() == categoryId);
-        if (!categoryExists) {
+        if (!menuCatalog.categoryExists(categoryId)) {
             throw new IllegalArgumentException("Category does not exist");
         }
         
-        return menuDAO.addMenuItem(categoryId, itemName.trim(), price, isActive);
+        int itemId = menuDAO.addMenuItem(categoryId, itemName.trim(), price, isActive);
+        if (itemId > 0) {
+            menuCatalog.invalidate();
+        }
+        return itemId;
     }
     
     /**
@@ -281,12 +297,17 @@ public class MenuService {
         }
         
         // Check if item exists
-        MenuItem existingItem = menuDAO.getMenuItemById(itemId);
+        MenuItem existingItem = menuCatalog.getMenuItemById(itemId);
         if (existingItem == null) {
             throw new IllegalArgumentException("Menu item does not exist");
         }
         
-        return menuDAO.updateMenuItem(itemId, itemName.trim(), price, categoryId);
+        boolean updated = menuDAO.updateMenuItem(itemId, itemName.trim(), price, categoryId);
+        if (updated) {
+            menuCatalog.invalidate();
+            SalesLeaderboard.getInstance().menuItemChanged(itemId);
+        }
+        return updated;
     }
     
     /**
@@ -299,12 +320,16 @@ public class MenuService {
         }
         
         // Check if item exists
-        MenuItem existingItem = menuDAO.getMenuItemById(itemId);
+        MenuItem existingItem = menuCatalog.getMenuItemById(itemId);
         if (existingItem == null) {
             throw new IllegalArgumentException("Menu item does not exist");
         }
         
-        return menuDAO.setMenuItemActive(itemId, isActive);
+        boolean updated = menuDAO.setMenuItemActive(itemId, isActive);
+        if (updated) {
+            menuCatalog.invalidate();
+        }
+        return updated;
     }
     
     /**
@@ -322,11 +347,16 @@ public class MenuService {
         }
         
         // Check if item exists
-        MenuItem existingItem = menuDAO.getMenuItemById(itemId);
+        MenuItem existingItem = menuCatalog.getMenuItemById(itemId);
         if (existingItem == null) {
             throw new IllegalArgumentException("Menu item does not exist");
         }
         
-        return menuDAO.updateMenuItemPrice(itemId, newPrice);
+        boolean updated = menuDAO.updateMenuItemPrice(itemId, newPrice);
+        if (updated) {
+            menuCatalog.invalidate();
+            SalesLeaderboard.getInstance().menuItemChanged(itemId);
+        }
+        return updated;
     }
 }
@@ -0,0 +1,217 @@
+package com.foodorder.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Weighted prefix trie for search suggestions
+ * A name is reachable from the start of each of its words, so "chi" finds "Roasted Chicken".
+ * Every node keeps the best TOP_K names of its subtree, so a lookup is one walk down the
+ * typed prefix. The trie is persistent: put and remove copy only the nodes on the changed
+ * path and return a new trie, leaving the old one untouched for readers still using it.
+ */
+final class MenuSuggestionTrie {
+
+    static final int TOP_K = 10;
+
+    static final MenuSuggestionTrie EMPTY = new MenuSuggestionTrie(Node.EMPTY);
+
+    private static final Comparator<Entry> BY_WEIGHT = Comparator
+        .comparingLong((Entry entry) -> -entry.weight)
+        .thenComparingInt(entry -> entry.name.length())
+        .thenComparing(entry -> entry.name);
+
+    private final Node root;
+
+    private MenuSuggestionTrie(Node root) {
+        this.root = root;
+    }
+
+    /**
+     * Build a trie holding the given names and weights
+     */
+    static MenuSuggestionTrie of(Map<String, Long> weights) {
+        MenuSuggestionTrie trie = EMPTY;
+        for (Map.Entry<String, Long> entry : weights.entrySet()) {
+            trie = trie.put(entry.getKey(), entry.getValue());
+        }
+        return trie;
+    }
+
+    /**
+     * Apply the difference between two name/weight maps, touching only changed names
+     */
+    MenuSuggestionTrie update(Map<String, Long> previous, Map<String, Long> current) {
+        MenuSuggestionTrie trie = this;
+        for (String name : previous.keySet()) {
+            if (!current.containsKey(name)) {
+                trie = trie.remove(name);
+            }
+        }
+        for (Map.Entry<String, Long> entry : current.entrySet()) {
+            if (!entry.getValue().equals(previous.get(entry.getKey()))) {
+                trie = trie.put(entry.getKey(), entry.getValue());
+            }
+        }
+        return trie;
+    }
+
+    /**
+     * Add a name, or change its weight
+     */
+    MenuSuggestionTrie put(String name, long weight) {
+        return new MenuSuggestionTrie(apply(name, new Entry(name, weight)));
+    }
+
+    /**
+     * Remove a name
+     */
+    MenuSuggestionTrie remove(String name) {
+        return new MenuSuggestionTrie(apply(name, new Entry(name, -1)));
+    }
+
+    /**
+     * Up to limit names with a word starting with the prefix, heaviest first
+     */
+    List<String> suggest(String prefix, int limit) {
+        Node node = root;
+        String key = String.join(" ", MenuSearchIndex.tokenize(prefix));
+        if (key.isEmpty()) {
+            return List.of();
+        }
+        for (int i = 0; i < key.length() && node != null; i++) {
+            node = node.child(key.charAt(i));
+        }
+        if (node == null) {
+            return List.of();
+        }
+
+        List<String> names = new ArrayList<>(Math.min(limit, node.top.length));
+        for (int i = 0; i < node.top.length && names.size() < limit; i++) {
+            names.add(node.top[i].name);
+        }
+        return names;
+    }
+
+    private Node apply(String name, Entry change) {
+        List<String> words = MenuSearchIndex.tokenize(name);
+        Node updated = root;
+        for (int i = 0; i < words.size(); i++) {
+            String key = String.join(" ", words.subList(i, words.size()));
+            updated = update(updated, key, 0, change);
+        }
+        return updated;
+    }
+
+    /**
+     * Copy the path to key with the change applied; a negative weight removes the name
+     */
+    private static Node update(Node node, String key, int depth, Entry change) {
+        if (depth == key.length()) {
+            List<Entry> entries = new ArrayList<>(node.entries.length + 1);
+            for (Entry entry : node.entries) {
+                if (!entry.name.equals(change.name)) {
+                    entries.add(entry);
+                }
+            }
+            if (change.weight >= 0) {
+                entries.add(change);
+            }
+            return Node.of(node.labels, node.children, entries.toArray(new Entry[0]));
+        }
+
+        char label = key.charAt(depth);
+        int index = Arrays.binarySearch(node.labels, label);
+        Node child = index >= 0 ? node.children[index] : Node.EMPTY;
+        Node updatedChild = update(child, key, depth + 1, change);
+
+        char[] labels;
+        Node[] children;
+        if (index >= 0 && updatedChild.isEmpty()) {
+            labels = new char[node.labels.length - 1];
+            children = new Node[node.children.length - 1];
+            System.arraycopy(node.labels, 0, labels, 0, index);
+            System.arraycopy(node.labels, index + 1, labels, index, labels.length - index);
+            System.arraycopy(node.children, 0, children, 0, index);
+            System.arraycopy(node.children, index + 1, children, index, children.length - index);
+        } else if (index >= 0) {
+            labels = node.labels;
+            children = node.children.clone();
+            children[index] = updatedChild;
+        } else if (updatedChild.isEmpty()) {
+            return node;
+        } else {
+            int insertAt = -index - 1;
+            labels = new char[node.labels.length + 1];
+            children = new Node[node.children.length + 1];
+            System.arraycopy(node.labels, 0, labels, 0, insertAt);
+            System.arraycopy(node.labels, insertAt, labels, insertAt + 1, node.labels.length - insertAt);
+            System.arraycopy(node.children, 0, children, 0, insertAt);
+            System.arraycopy(node.children, insertAt, children, insertAt + 1, node.children.length - insertAt);
+            labels[insertAt] = label;
+            children[insertAt] = updatedChild;
+        }
+        return Node.of(labels, children, node.entries);
+    }
+
+    private static final class Entry {
+        private final String name;
+        private final long weight;
+
+        Entry(String name, long weight) {
+            this.name = name;
+            this.weight = weight;
+        }
+    }
+
+    /**
+     * Immutable trie node: children in label order, names ending here, best names below
+     */
+    private static final class Node {
+        private static final Node EMPTY = new Node(new char[0], new Node[0], new Entry[0], new Entry[0]);
+
+        private final char[] labels;
+        private final Node[] children;
+        private final Entry[] entries;
+        private final Entry[] top;
+
+        private Node(char[] labels, Node[] children, Entry[] entries, Entry[] top) {
+            this.labels = labels;
+            this.children = children;
+            this.entries = entries;
+            this.top = top;
+        }
+
+        static Node of(char[] labels, Node[] children, Entry[] entries) {
+            if (labels.length == 0 && entries.length == 0) {
+                return EMPTY;
+            }
+            // A name reachable through several words counts once, at its own weight
+            Map<String, Entry> best = new LinkedHashMap<>();
+            for (Entry entry : entries) {
+                best.putIfAbsent(entry.name, entry);
+            }
+            for (Node child : children) {
+                for (Entry entry : child.top) {
+                    best.putIfAbsent(entry.name, entry);
+                }
+            }
+            Entry[] top = best.values().toArray(new Entry[0]);
+            Arrays.sort(top, BY_WEIGHT);
+            return new Node(labels, children, entries, top.length > TOP_K ? Arrays.copyOf(top, TOP_K) : top);
+        }
+
+        Node child(char label) {
+            int index = Arrays.binarySearch(labels, label);
+            return index >= 0 ? children[index] : null;
+        }
+
+        boolean isEmpty() {
+            return this == EMPTY;
+        }
+    }
+}
@@ -0,0 +1,329 @@
+package com.foodorder.service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.foodorder.config.DatabaseConnection;
+import com.foodorder.config.UnitOfWork;
+import com.foodorder.dao.OrderEventDAO;
+import com.foodorder.dao.OrderItemDAO;
+import com.foodorder.model.OrderEvent;
+import com.foodorder.model.OrderItem;
+
+/**
+ * Write-behind order event journal with group commit
+ * Events from concurrent callers are queued and written by one writer thread, a batch per
+ * transaction: the batch closes when it reaches the configured size or when the flush
+ * interval since its first event has passed. Item events are also applied to OrderItem
+ * (the projection) in the same transaction, so many callers share one commit.
+ *
+ * With db.journal.waitForCommit=true (the default) apply() returns once the batch has
+ * committed; with false it returns right away and a crash can lose up to one interval.
+ * Either way the caller's in-memory projections (onStored) only run once the event is
+ * committed, so they never get ahead of the journal. Events nobody waits for are retried
+ * in place a few times before they are dropped and counted in getFailedCount().
+ */
+public class OrderEventJournal {
+
+    // Extra attempts at an event nobody waits for, RETRY_DELAY_MILLIS apart (times the attempt)
+    private static final int RETRIES = 3;
+    private static final long RETRY_DELAY_MILLIS = 100;
+
+    private final OrderEventDAO eventDAO;
+    private final OrderItemDAO orderItemDAO;
+    private final BlockingQueue<Entry> queue = new LinkedBlockingQueue<>();
+    private final long flushIntervalNanos;
+    private final int batchSize;
+    private final boolean waitForCommit;
+    private final Thread writer;
+    private final LongAdder failed = new LongAdder();
+    private volatile boolean running = true;
+
+    OrderEventJournal(OrderEventDAO eventDAO, OrderItemDAO orderItemDAO) {
+        this.eventDAO = eventDAO;
+        this.orderItemDAO = orderItemDAO;
+
+        DatabaseConnection database = DatabaseConnection.getInstance();
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(database.getJournalFlushIntervalMillis(), 0));
+        this.batchSize = Math.max(database.getJournalBatchSize(), 1);
+        this.waitForCommit = database.isJournalWaitForCommit();
+
+        this.writer = new Thread(this::runWriter, "order-journal-writer");
+        writer.setDaemon(true);
+        writer.start();
+        database.addCloseListener(this::shutdown);
+    }
+
+    /**
+     * Get the shared journal
+     */
+    public static OrderEventJournal getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    /**
+     * Append an event whose change is already stored (e.g. an order insert); never waits
+     */
+    public void record(OrderEvent event) {
+        submit(new Entry(event, false, false, null));
+    }
+
+    /**
+     * Append an item event and apply it to OrderItem in the same batch, then run onStored
+     * (e.g. a leaderboard update) once that is committed; never if the write fails.
+     * Inside a unit of work the event is written on the caller's connection instead,
+     * so it commits or rolls back with the caller's transaction, and onStored runs after commit.
+     *
+     * @return false if the batch failed (or, without waitForCommit, only if it was rejected)
+     */
+    public boolean apply(OrderEvent event, Runnable onStored) {
+        if (event.getType() != OrderEvent.Type.ITEM_ADDED && event.getType() != OrderEvent.Type.QUANTITY_CHANGED) {
+            throw new IllegalArgumentException("Only item events are applied by the journal: " + event.getType());
+        }
+        if (UnitOfWork.isActive()) {
+            if (!write(List.of(new Entry(event, true, true, null)))) {
+                return false;
+            }
+            if (onStored != null) {
+                UnitOfWork.afterCommit(onStored);
+            }
+            return true;
+        }
+
+        Entry entry = new Entry(event, true, waitForCommit, onStored);
+        submit(entry);
+        if (!waitForCommit) {
+            return true;
+        }
+        try {
+            return entry.done.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (ExecutionException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Number of events waiting for the writer
+     */
+    public int getPendingCount() {
+        return queue.size();
+    }
+
+    /**
+     * Number of events that could not be written, retries included
+     */
+    public long getFailedCount() {
+        return failed.sum();
+    }
+
+    /**
+     * Write everything queued and stop the writer; later events are written by the caller
+     */
+    public void shutdown() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        try {
+            writer.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        // Anything offered while the writer was exiting
+        List<Entry> rest = new ArrayList<>();
+        queue.drainTo(rest);
+        if (!rest.isEmpty()) {
+            writeAndComplete(rest);
+        }
+    }
+
+    private void submit(Entry entry) {
+        if (running) {
+            queue.add(entry);
+        } else {
+            writeAndComplete(List.of(entry));
+        }
+    }
+
+    private void runWriter() {
+        List<Entry> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                Entry first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+
+                // Hold the batch open for the interval so concurrent callers can join it
+                long deadline = System.nanoTime() + flushIntervalNanos;
+                while (batch.size() < batchSize) {
+                    long remaining = deadline - System.nanoTime();
+                    Entry next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : queue.poll();
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                writeAndComplete(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                writeAndComplete(batch);
+                return;
+            } catch (RuntimeException e) {
+                System.err.println("Error writing order events: " + e.getMessage());
+                failed.add(batch.size());
+                batch.forEach(entry -> entry.complete(false));
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * Write a batch; if it fails, write its entries one by one so one bad event
+     * does not fail everybody else's. Entries nobody waits for are retried in place,
+     * which keeps events of the same line in order.
+     */
+    private void writeAndComplete(List<Entry> batch) {
+        if (write(batch)) {
+            batch.forEach(entry -> entry.complete(true));
+            return;
+        }
+        for (Entry entry : batch) {
+            boolean ok = batch.size() > 1 && write(List.of(entry));
+            for (int attempt = 1; !ok && !entry.awaited && attempt <= RETRIES; attempt++) {
+                if (!pause(RETRY_DELAY_MILLIS * attempt)) {
+                    break;
+                }
+                ok = write(List.of(entry));
+            }
+            if (!ok) {
+                failed.increment();
+                System.err.println("Error writing order events: dropped " + entry.event);
+            }
+            entry.complete(ok);
+        }
+    }
+
+    private static boolean pause(long millis) {
+        try {
+            Thread.sleep(millis);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * Append the events and apply the item changes in one transaction
+     */
+    private boolean write(List<Entry> batch) {
+        List<OrderEvent> events = new ArrayList<>(batch.size());
+        // Net change per (order, item), in event order: either added to, or replaced
+        Map<Long, OrderItem> added = new LinkedHashMap<>();
+        Map<Long, OrderItem> replaced = new LinkedHashMap<>();
+        for (Entry entry : batch) {
+            OrderEvent event = entry.event;
+            events.add(event);
+            if (entry.project) {
+                fold(event, added, replaced);
+            }
+        }
+
+        try {
+            return UnitOfWork.inTransaction(() -> {
+                boolean ok = eventDAO.appendEvents(events)
+                    && orderItemDAO.addToOrderItems(new ArrayList<>(added.values()))
+                    && orderItemDAO.replaceOrderItems(new ArrayList<>(replaced.values()));
+                if (!ok) {
+                    UnitOfWork.setRollbackOnly();
+                }
+                return ok;
+            });
+        } catch (RuntimeException e) {
+            System.err.println("Error writing order events: " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Merge an item event into the lines of a batch: added lines are summed onto the
+     * stored quantity, replaced lines overwrite it (quantity 0 deletes the line)
+     */
+    static void fold(OrderEvent event, Map<Long, OrderItem> added, Map<Long, OrderItem> replaced) {
+        if (event.getType() != OrderEvent.Type.ITEM_ADDED && event.getType() != OrderEvent.Type.QUANTITY_CHANGED) {
+            throw new IllegalArgumentException("Event is not an item change: " + event.getType());
+        }
+        long key = ((long) event.getOrderId() << 32) | (event.getItemId() & 0xffffffffL);
+        int quantity = event.getQuantity();
+        switch (event.getType()) {
+            case ITEM_ADDED -> {
+                OrderItem line = replaced.get(key);
+                if (line == null) {
+                    line = added.computeIfAbsent(key, k -> new OrderItem(event.getOrderId(), event.getItemId(), 0));
+                }
+                line.setQuantity(line.getQuantity() + quantity);
+            }
+            case QUANTITY_CHANGED -> {
+                // Replaces whatever was added before it in this batch
+                added.remove(key);
+                replaced.put(key, new OrderItem(event.getOrderId(), event.getItemId(), quantity));
+            }
+            default -> throw new IllegalStateException("Unexpected event type: " + event.getType());
+        }
+    }
+
+    /**
+     * The shared journal starts its writer and reads the database configuration,
+     * so it is only built when first asked for
+     */
+    private static final class Holder {
+        private static final OrderEventJournal INSTANCE = new OrderEventJournal(new OrderEventDAO(), new OrderItemDAO());
+    }
+
+    /**
+     * A queued event and its outcome
+     */
+    private static final class Entry {
+        private final OrderEvent event;
+        private final boolean project;
+        // A caller waits for the outcome and handles a failure itself
+        private final boolean awaited;
+        private final Runnable onStored;
+        private final CompletableFuture<Boolean> done = new CompletableFuture<>();
+
+        Entry(OrderEvent event, boolean project, boolean awaited, Runnable onStored) {
+            this.event = event;
+            this.project = project;
+            this.awaited = awaited;
+            this.onStored = onStored;
+        }
+
+        /**
+         * Run onStored if the event was committed, then release the waiting caller
+         */
+        void complete(boolean stored) {
+            if (stored && onStored != null) {
+                try {
+                    onStored.run();
+                } catch (RuntimeException e) {
+                    System.err.println("Error updating projections of " + event + ": " + e.getMessage());
+                }
+            }
+            done.complete(stored);
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package com.foodorder.service;
+
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+
+import com.foodorder.dao.OrderDAO;
+import com.foodorder.json.JsonWriter;
+import com.foodorder.model.Order;
+import com.foodorder.model.OrderItem;
+
+/**
+ * Order export for reconciliation
+ * Writes every order and its lines as CSV or NDJSON while streaming them from the
+ * database, so memory use does not grow with the size of the Orders table.
+ */
+public class OrderExportService {
+
+    public static final int DEFAULT_FETCH_SIZE = 1000;
+
+    private static final int NDJSON_BLOCK_BYTES = 64 * 1024;
+
+    private static final String CSV_HEADER =
+        "order_id,customer_id,customer_name,employee_id,employee_name,order_time,"
+        + "current_status,total_amount,item_id,item_name,quantity,item_price";
+
+    private OrderDAO orderDAO;
+    private int fetchSize;
+
+    public OrderExportService() {
+        this(DEFAULT_FETCH_SIZE);
+    }
+
+    public OrderExportService(int fetchSize) {
+        if (fetchSize <= 0) {
+            throw new IllegalArgumentException("Fetch size must be greater than 0");
+        }
+        this.orderDAO = new OrderDAO();
+        this.fetchSize = fetchSize;
+    }
+
+    /**
+     * Export as CSV, one row per order line; orders without lines get one row with empty item columns.
+     * Returns the number of orders written.
+     */
+    public int exportCsv(Writer out) throws IOException {
+        out.write(CSV_HEADER);
+        out.write('\n');
+        return export(out, order -> {
+            if (order.getOrderItems().isEmpty()) {
+                writeCsvRow(out, order, null);
+            }
+            for (OrderItem item : order.getOrderItems()) {
+                writeCsvRow(out, order, item);
+            }
+        });
+    }
+
+    /**
+     * Export as NDJSON, one object per order with its lines nested.
+     * Orders are written by JsonWriter into one reused buffer, flushed to the stream in blocks.
+     * Returns the number of orders written.
+     */
+    public int exportNdjson(OutputStream out) throws IOException {
+        JsonWriter json = new JsonWriter(NDJSON_BLOCK_BYTES + 4096);
+        int count = export(out, order -> {
+            json.order(order).newline();
+            if (json.size() >= NDJSON_BLOCK_BYTES) {
+                json.writeTo(out);
+                json.reset();
+            }
+        });
+        json.writeTo(out);
+        out.flush();
+        return count;
+    }
+
+    /**
+     * Write each streamed order, surfacing writer failures as IOException
+     */
+    private int export(Flushable out, OrderWriter writer) throws IOException {
+        int count;
+        try {
+            count = orderDAO.streamOrders(fetchSize, order -> {
+                try {
+                    writer.write(order);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        out.flush();
+        if (count < 0) {
+            throw new IOException("Order export failed while reading from the database");
+        }
+        return count;
+    }
+
+    private static void writeCsvRow(Writer out, Order order, OrderItem item) throws IOException {
+        StringBuilder sb = new StringBuilder(160);
+        sb.append(order.getOrderId()).append(',')
+          .append(order.getCustomerId()).append(',');
+        appendCsvField(sb, order.getCustomerName());
+        sb.append(',').append(order.getEmployeeId()).append(',');
+        appendCsvField(sb, order.getEmployeeName());
+        sb.append(',');
+        appendCsvField(sb, order.getOrderTime() == null ? null : order.getOrderTime().toString());
+        sb.append(',');
+        appendCsvField(sb, order.getCurrentStatus());
+        sb.append(',').append(toPlainString(order.getTotalAmount())).append(',');
+        if (item != null) {
+            sb.append(item.getItemId()).append(',');
+            appendCsvField(sb, item.getItemName());
+            sb.append(',').append(item.getQuantity())
+              .append(',').append(toPlainString(item.getItemPrice()));
+        } else {
+            sb.append(",,,");
+        }
+        sb.append('\n');
+        out.write(sb.toString());
+    }
+
+    private static void appendCsvField(StringBuilder sb, String value) {
+        if (value == null) {
+            return;
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0
+                && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            sb.append(value);
+            return;
+        }
+        sb.append('"').append(value.replace("\"", "\"\"")).append('"');
+    }
+
+    private static String toPlainString(BigDecimal value) {
+        return value == null ? "null" : value.toPlainString();
+    }
+
+    @FunctionalInterface
+    private interface OrderWriter {
+        void write(Order order) throws IOException;
+    }
+}
@@ -0,0 +1,304 @@
+package com.foodorder.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import com.foodorder.config.UnitOfWork;
+import com.foodorder.dao.OrderDAO;
+import com.foodorder.dao.OrderEventDAO;
+import com.foodorder.dao.OrderItemDAO;
+import com.foodorder.dao.OrderSnapshotDAO;
+import com.foodorder.model.Order;
+import com.foodorder.model.OrderAggregate;
+import com.foodorder.model.OrderEvent;
+
+/**
+ * Event-sourced order history
+ * Rebuilds order state from the event journal, starting from the latest snapshot so the
+ * cost of a load stays bounded by the snapshot interval rather than the order's age.
+ * Replay walks the whole journal in parallel, one transaction per order ID partition,
+ * either to compare it with Orders/OrderItem or to rebuild those tables from it.
+ */
+public class OrderHistoryService {
+
+    // A new snapshot is written once this many events were applied on top of the last one
+    static final int SNAPSHOT_INTERVAL = 20;
+
+    // Orders verified or rebuilt per set-based write during replay
+    private static final int REPLAY_CHUNK = 1_000;
+    private static final int REPLAY_FETCH_SIZE = 5_000;
+
+    private final OrderEventDAO eventDAO;
+    private final OrderSnapshotDAO snapshotDAO;
+    private final OrderDAO orderDAO;
+    private final OrderItemDAO orderItemDAO;
+
+    public OrderHistoryService() {
+        this.eventDAO = new OrderEventDAO();
+        this.snapshotDAO = new OrderSnapshotDAO();
+        this.orderDAO = new OrderDAO();
+        this.orderItemDAO = new OrderItemDAO();
+    }
+
+    /**
+     * Get every recorded change of an order, oldest first
+     */
+    public List<OrderEvent> getHistory(int orderId) {
+        if (orderId <= 0) {
+            throw new IllegalArgumentException("Order ID must be greater than 0");
+        }
+        return eventDAO.getEvents(orderId, 0);
+    }
+
+    /**
+     * Rebuild the current state of an order from its latest snapshot and the events after it.
+     * Writes a fresh snapshot when enough events have piled up since the last one.
+     *
+     * @return the order state, or null if the journal has nothing for this order
+     */
+    public OrderAggregate loadOrder(int orderId) {
+        if (orderId <= 0) {
+            throw new IllegalArgumentException("Order ID must be greater than 0");
+        }
+
+        return UnitOfWork.withConnection(() -> {
+            OrderAggregate aggregate = snapshotDAO.getSnapshot(orderId);
+            boolean fromSnapshot = aggregate != null;
+            if (!fromSnapshot) {
+                aggregate = new OrderAggregate(orderId);
+            }
+
+            List<OrderEvent> events = eventDAO.getEvents(orderId, aggregate.getLastEventId());
+            if (!fromSnapshot && events.isEmpty()) {
+                return null;
+            }
+            for (OrderEvent event : events) {
+                aggregate.apply(event);
+            }
+
+            if (aggregate.isComplete() && aggregate.getEventsSinceSnapshot() >= SNAPSHOT_INTERVAL
+                    && snapshotDAO.saveSnapshots(List.of(aggregate))) {
+                aggregate.markSnapshotted();
+            }
+            return aggregate;
+        });
+    }
+
+    /**
+     * Replay the whole journal across order ID partitions, one thread and one transaction each.
+     * Only orders whose history starts with a CREATED event are considered; orders created
+     * before the journal existed are left alone.
+     *
+     * @param partitions number of partitions, and of threads and connections used
+     * @param rebuild true to rewrite Orders/OrderItem from the journal, false to only compare
+     */
+    public ReplayResult replay(int partitions, boolean rebuild) {
+        if (partitions <= 0) {
+            throw new IllegalArgumentException("Partitions must be greater than 0");
+        }
+
+        long start = System.nanoTime();
+        ExecutorService workers = Executors.newFixedThreadPool(partitions);
+        List<Future<ReplayResult>> futures = new ArrayList<>();
+        for (int partition = 0; partition < partitions; partition++) {
+            int p = partition;
+            futures.add(workers.submit(() -> replayPartition(partitions, p, rebuild)));
+        }
+        workers.shutdown();
+
+        ReplayResult total = new ReplayResult();
+        for (Future<ReplayResult> future : futures) {
+            try {
+                total.add(future.get());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                total.failedPartitions++;
+            } catch (ExecutionException e) {
+                System.err.println("Error replaying partition: " + e.getCause().getMessage());
+                total.failedPartitions++;
+            }
+        }
+
+        if (rebuild && total.rebuiltOrders > 0) {
+            orderDAO.syncOrderIdSequence();
+        }
+        total.elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+        return total;
+    }
+
+    private ReplayResult replayPartition(int partitions, int partition, boolean rebuild) {
+        ReplayResult result = new ReplayResult();
+        Map<Integer, OrderAggregate> snapshots = snapshotDAO.getSnapshots(partitions, partition);
+
+        boolean ok = UnitOfWork.inTransaction(() -> {
+            List<OrderAggregate> chunk = new ArrayList<>(REPLAY_CHUNK);
+            OrderAggregate[] current = new OrderAggregate[1];
+            boolean[] failed = new boolean[1];
+
+            // Events arrive grouped by order; an order is done once the next one starts
+            long events = eventDAO.streamPartition(partitions, partition, REPLAY_FETCH_SIZE, event -> {
+                if (failed[0]) {
+                    return;
+                }
+                if (current[0] == null || current[0].getOrderId() != event.getOrderId()) {
+                    if (current[0] != null) {
+                        chunk.add(current[0]);
+                    }
+                    OrderAggregate snapshot = snapshots.remove(event.getOrderId());
+                    current[0] = snapshot != null ? snapshot : new OrderAggregate(event.getOrderId());
+                    if (chunk.size() >= REPLAY_CHUNK && !processChunk(chunk, rebuild, result)) {
+                        failed[0] = true;
+                    }
+                }
+                current[0].apply(event);
+            });
+            if (current[0] != null) {
+                chunk.add(current[0]);
+            }
+            // Orders with a snapshot and no newer events
+            chunk.addAll(snapshots.values());
+
+            if (events < 0 || failed[0] || !processChunk(chunk, rebuild, result)) {
+                UnitOfWork.setRollbackOnly();
+                return false;
+            }
+            result.events = events;
+            return true;
+        });
+
+        if (!ok) {
+            // Nothing from a rolled back partition counts, not even the chunks done before the failure
+            ReplayResult failed = new ReplayResult();
+            failed.failedPartitions = 1;
+            return failed;
+        }
+        return result;
+    }
+
+    /**
+     * Compare or rewrite one chunk of replayed orders, then snapshot the long histories
+     */
+    private boolean processChunk(List<OrderAggregate> chunk, boolean rebuild, ReplayResult result) {
+        List<OrderAggregate> complete = new ArrayList<>(chunk.size());
+        for (OrderAggregate aggregate : chunk) {
+            if (aggregate.isComplete()) {
+                complete.add(aggregate);
+            } else {
+                result.skippedOrders++;
+            }
+        }
+        chunk.clear();
+        if (complete.isEmpty()) {
+            return true;
+        }
+        result.orders += complete.size();
+
+        List<Integer> orderIds = new ArrayList<>(complete.size());
+        complete.forEach(aggregate -> orderIds.add(aggregate.getOrderId()));
+        Map<Integer, Order> stored = orderDAO.getOrderStates(orderIds);
+        if (stored == null) {
+            return false;
+        }
+        Map<Integer, Map<Integer, Integer>> storedLines = orderItemDAO.getQuantitiesByOrderIds(orderIds);
+
+        List<Order> replaced = new ArrayList<>();
+        List<Integer> deleted = new ArrayList<>();
+        for (OrderAggregate aggregate : complete) {
+            Order row = stored.get(aggregate.getOrderId());
+            boolean matches = aggregate.isDeleted()
+                ? row == null
+                : row != null
+                    && aggregate.getEmployeeId() == row.getEmployeeId()
+                    && aggregate.getStatus().equals(row.getCurrentStatus())
+                    && aggregate.getLines().equals(storedLines.getOrDefault(aggregate.getOrderId(), Map.of()));
+            if (matches) {
+                continue;
+            }
+            result.mismatchedOrders++;
+            if (result.sampleMismatches.size() < 10) {
+                result.sampleMismatches.add(aggregate.getOrderId());
+            }
+            if (aggregate.isDeleted()) {
+                deleted.add(aggregate.getOrderId());
+            } else {
+                // Moves the version forward, so a compare-and-set against the old row fails
+                Order order = aggregate.toOrder();
+                order.setVersion(row == null ? 0 : row.getVersion() + 1);
+                replaced.add(order);
+            }
+        }
+
+        if (rebuild && !(replaced.isEmpty() && deleted.isEmpty())) {
+            if (!orderDAO.replaceOrders(replaced, deleted)) {
+                return false;
+            }
+            result.rebuiltOrders += replaced.size() + deleted.size();
+        }
+
+        List<OrderAggregate> toSnapshot = new ArrayList<>();
+        for (OrderAggregate aggregate : complete) {
+            if (aggregate.getEventsSinceSnapshot() >= SNAPSHOT_INTERVAL) {
+                toSnapshot.add(aggregate);
+            }
+        }
+        if (!snapshotDAO.saveSnapshots(toSnapshot)) {
+            return false;
+        }
+        result.snapshots += toSnapshot.size();
+        return true;
+    }
+
+    /**
+     * Totals of one replay
+     */
+    public static final class ReplayResult {
+        private long events;
+        private int orders;
+        private int skippedOrders;
+        private int mismatchedOrders;
+        private int rebuiltOrders;
+        private int snapshots;
+        private int failedPartitions;
+        private long elapsedMillis;
+        private final List<Integer> sampleMismatches = new ArrayList<>();
+
+        private void add(ReplayResult other) {
+            events += other.events;
+            orders += other.orders;
+            skippedOrders += other.skippedOrders;
+            mismatchedOrders += other.mismatchedOrders;
+            rebuiltOrders += other.rebuiltOrders;
+            snapshots += other.snapshots;
+            failedPartitions += other.failedPartitions;
+            for (Integer orderId : other.sampleMismatches) {
+                if (sampleMismatches.size() < 10) {
+                    sampleMismatches.add(orderId);
+                }
+            }
+        }
+
+        public long getEvents() { return events; }
+        public int getOrders() { return orders; }
+        public int getSkippedOrders() { return skippedOrders; }
+        public int getMismatchedOrders() { return mismatchedOrders; }
+        public int getRebuiltOrders() { return rebuiltOrders; }
+        public int getSnapshots() { return snapshots; }
+        public int getFailedPartitions() { return failedPartitions; }
+        public long getElapsedMillis() { return elapsedMillis; }
+        public List<Integer> getSampleMismatches() { return sampleMismatches; }
+
+        @Override
+        public String toString() {
+            return String.format(
+                "%d events, %d orders replayed (%d without a CREATED event skipped), %d differing, "
+                    + "%d rebuilt, %d snapshots written, %d failed partitions, %d ms",
+                events, orders, skippedOrders, mismatchedOrders, rebuiltOrders, snapshots,
+                failedPartitions, elapsedMillis);
+        }
+    }
+}
@@ -1,19 +1,36 @@
 package com.foodorder.service;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.math.BigDecimal;
 import java.sql.Timestamp;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
+import com.foodorder.config.UnitOfWork;
 import com.foodorder.dao.CustomerDAO;
 import com.foodorder.dao.EmployeeDAO;
+import com.foodorder.dao.MenuDAO;
 import com.foodorder.dao.OrderDAO;
+import com.foodorder.dao.OrderEventDAO;
 import com.foodorder.dao.OrderItemDAO;
+import com.foodorder.model.CategorySales;
 import com.foodorder.model.Customer;
 import com.foodorder.model.Employee;
+import com.foodorder.model.ItemSales;
+import com.foodorder.model.MenuItem;
 import com.foodorder.model.Order;
+import com.foodorder.model.OrderEvent;
 import com.foodorder.model.OrderItem;
+import com.foodorder.model.OrderPage;
+import com.foodorder.model.StatusUpdateResult;
 
 /**
  * Business logic layer
@@ -25,6 +42,31 @@ public class OrderService {
     private OrderItemDAO orderItemDAO;
     private EmployeeDAO employeeDAO;
     private CustomerDAO customerDAO;
+    private MenuDAO menuDAO;
+    private OrderEventDAO orderEventDAO;
+    private ActiveOrderRegistry activeOrders;
+    private OrderEventJournal journal;
+    private SalesLeaderboard salesLeaderboard;
+    private EmployeeAssigner employeeAssigner;
+    
+    // Attempts at a version-checked status update before giving up on a busy order
+    private static final int MAX_STATUS_UPDATE_ATTEMPTS = 3;
+    
+    // Largest page a caller may request
+    private static final int MAX_PAGE_SIZE = 500;
+    
+    // Orders read per round trip when streaming a listing of all orders
+    private static final int DISPLAY_FETCH_SIZE = 1000;
+    
+    private static final DisplayTable<Order> ORDER_TABLE = DisplayTable.<Order>builder()
+        .column("ID", 4, (sb, order) -> sb.append(order.getOrderId()))
+        .column("Customer", 15, (sb, order) -> sb.append(order.getCustomerName()))
+        .column("Employee", 15, (sb, order) -> sb.append(order.getEmployeeName()))
+        .column("Order Time", 20, (sb, order) -> DisplayTable.appendDateTime(sb, order.getOrderTime()))
+        .column("Total Amount", 10, (sb, order) -> DisplayTable.appendMoney(sb, order.getTotalAmount()))
+        .column("Status", 8, (sb, order) -> sb.append(getStatusDescription(order.getCurrentStatus())))
+        .rule(80)
+        .build();
     
     // order status
     private static final List<String> VALID_STATUSES = Arrays.asList(
@@ -36,53 +78,149 @@ public class OrderService {
         this.orderItemDAO = new OrderItemDAO();
         this.employeeDAO = new EmployeeDAO();
         this.customerDAO = new CustomerDAO();
+        this.menuDAO = new MenuDAO();
+        this.orderEventDAO = new OrderEventDAO();
+        this.activeOrders = ActiveOrderRegistry.getInstance();
+        this.journal = OrderEventJournal.getInstance();
+        this.salesLeaderboard = SalesLeaderboard.getInstance();
+        this.employeeAssigner = EmployeeAssigner.getInstance();
     }
     
     /**
      * Create new
      */
     public int createOrder(int customerId, int employeeId) {
-        // Validateexists
-        Customer customer = customerDAO.getCustomerById(customerId);
-        if (customer == null) {
-            throw new IllegalArgumentException("Order does not exist");
-        }
-        
-        // Validateexistsavailable
-        Employee employee = employeeDAO.getEmployeeById(employeeId);
-        if (employee == null) {
-            throw new IllegalArgumentException("Order does not exist");
-        }
-        
-        if (!employee.isAvailable()) {
-            throw new IllegalArgumentException("available");
-        }
-        
-        // Business logic
-        Order order = new Order(customerId, employeeId, "PENDING");
-        order.setOrderTime(Timestamp.valueOf(LocalDateTime.now()));
-        order.setTotalAmount(BigDecimal.ZERO);
-        
-        return orderDAO.createOrder(order);
+        return UnitOfWork.inTransaction(() -> {
+            // Validateexists
+            Customer customer = customerDAO.getCustomerById(customerId);
+            if (customer == null) {
+                throw new IllegalArgumentException("Order does not exist");
+            }
+            
+            // Validateexistsavailable
+            Employee employee = employeeDAO.getEmployeeById(employeeId);
+            if (employee == null) {
+                throw new IllegalArgumentException("Order does not exist");
+            }
+            
+            if (!employee.isAvailable()) {
+                throw new IllegalArgumentException("available");
+            }
+            
+            // Business logic
+            Order order = new Order(customerId, employeeId, "PENDING");
+            order.setOrderTime(Timestamp.valueOf(LocalDateTime.now()));
+            order.setTotalAmount(BigDecimal.ZERO);
+            
+            int orderId = orderDAO.createOrder(order);
+            if (orderId > 0) {
+                // The new ID is needed right away, so the event goes in with the insert
+                if (!orderEventDAO.appendEvents(List.of(OrderEvent.created(orderId, customerId, employeeId)))) {
+                    throw new IllegalStateException("Failed to record order creation");
+                }
+                UnitOfWork.afterCommit(() -> {
+                    activeOrders.register(orderId, "PENDING", 0);
+                    employeeAssigner.orderAssigned(orderId, employeeId);
+                });
+            }
+            return orderId;
+        });
     }
     
     /**
      * auto assign
      */
     public int createOrderWithAutoAssignment(int customerId) {
-        // Validateexists
-        Customer customer = customerDAO.getCustomerById(customerId);
-        if (customer == null) {
-            throw new IllegalArgumentException("Order does not exist");
+        return UnitOfWork.inTransaction(() -> {
+            // Validateexists
+            Customer customer = customerDAO.getCustomerById(customerId);
+            if (customer == null) {
+                throw new IllegalArgumentException("Order does not exist");
+            }
+            
+            // auto assign the least loaded available employee
+            int employeeId = reserveEmployee();
+            if (employeeId <= 0) {
+                throw new IllegalArgumentException("available");
+            }
+            
+            return createOrder(customerId, employeeId);
+        });
+    }
+    
+    /**
+     * Create an order with all of its items in one transaction, auto assigning an employee.
+     * Uses a fixed number of statements regardless of the number of items:
+     * customer check, employee pick, one menu lookup, order insert, one multi-row item insert.
+     *
+     * @param items menu item ID to quantity
+     */
+    public int createOrderWithItems(int customerId, Map<Integer, Integer> items) {
+        if (customerId <= 0) {
+            throw new IllegalArgumentException("Customer ID must be greater than 0");
         }
         
-        // auto assignavailable
-        Employee availableEmployee = employeeDAO.getRandomAvailableEmployee();
-        if (availableEmployee == null) {
-            throw new IllegalArgumentException("available");
+        if (items == null || items.isEmpty()) {
+            throw new IllegalArgumentException("Order must contain at least one item");
         }
         
-        return createOrder(customerId, availableEmployee.getEmployeeId());
+        for (Map.Entry<Integer, Integer> entry : items.entrySet()) {
+            if (entry.getKey() == null || entry.getKey() <= 0) {
+                throw new IllegalArgumentException("Menu item ID must be greater than 0");
+            }
+            if (entry.getValue() == null || entry.getValue() <= 0) {
+                throw new IllegalArgumentException("Quantity must be greater than 0");
+            }
+        }
+        
+        return UnitOfWork.inTransaction(() -> {
+            Customer customer = customerDAO.getCustomerById(customerId);
+            if (customer == null) {
+                throw new IllegalArgumentException("Customer does not exist");
+            }
+            
+            int employeeId = reserveEmployee();
+            if (employeeId <= 0) {
+                throw new IllegalArgumentException("No available employee");
+            }
+            
+            // Validate every item and compute the total from one lookup
+            Map<Integer, MenuItem> menuItems = menuDAO.getMenuItemsByIds(items.keySet());
+            BigDecimal total = BigDecimal.ZERO;
+            for (Map.Entry<Integer, Integer> entry : items.entrySet()) {
+                MenuItem menuItem = menuItems.get(entry.getKey());
+                if (menuItem == null || !menuItem.isAvailable()) {
+                    throw new IllegalArgumentException("Menu item " + entry.getKey() + " is not available");
+                }
+                total = total.add(menuItem.getCurrentPrice().multiply(BigDecimal.valueOf(entry.getValue())));
+            }
+            
+            Order order = new Order(customerId, employeeId, "PENDING");
+            order.setTotalAmount(total);
+            
+            int orderId = orderDAO.createOrder(order);
+            if (orderId <= 0) {
+                throw new IllegalStateException("Failed to create order");
+            }
+            
+            if (!orderItemDAO.addOrderItems(orderId, items)) {
+                throw new IllegalStateException("Failed to add order items");
+            }
+            
+            List<OrderEvent> events = new ArrayList<>();
+            events.add(OrderEvent.created(orderId, customerId, employeeId));
+            items.forEach((itemId, quantity) -> events.add(OrderEvent.itemAdded(orderId, itemId, quantity)));
+            if (!orderEventDAO.appendEvents(events)) {
+                throw new IllegalStateException("Failed to record order creation");
+            }
+            
+            UnitOfWork.afterCommit(() -> {
+                activeOrders.register(orderId, "PENDING", 0);
+                employeeAssigner.orderAssigned(orderId, employeeId);
+                items.forEach((itemId, quantity) -> salesLeaderboard.itemAdded(orderId, itemId, quantity));
+            });
+            return orderId;
+        });
     }
     
     /**
@@ -93,14 +231,16 @@ public class OrderService {
             throw new IllegalArgumentException("order IDmust be greater than0");
         }
         
-        Order order = orderDAO.getOrderById(orderId);
-        if (order != null) {
-            // Business logic
-            List<OrderItem> orderItems = orderItemDAO.getOrderItemsByOrderId(orderId);
-            order.setOrderItems(orderItems);
-        }
-        
-        return order;
+        return UnitOfWork.withConnection(() -> {
+            Order order = applyActiveStatus(orderDAO.getOrderById(orderId));
+            if (order != null) {
+                // Business logic
+                List<OrderItem> orderItems = orderItemDAO.getOrderItemsByOrderId(orderId);
+                order.setOrderItems(orderItems);
+            }
+            
+            return order;
+        });
     }
     
     /**
@@ -137,7 +277,57 @@ public class OrderService {
         if (!isValidStatus(status)) {
             throw new IllegalArgumentException("order status: " + status);
         }
-        return orderDAO.getOrdersByStatus(status);
+        return orderDAO.getOrdersByStatus(status.trim().toUpperCase());
+    }
+    
+    /**
+     * Get one page of all orders, newest first (null cursor for the first page)
+     */
+    public OrderPage getOrdersPage(OrderPage.Cursor cursor, int pageSize) {
+        validatePageSize(pageSize);
+        return orderDAO.getOrdersPage(cursor, pageSize);
+    }
+    
+    /**
+     * Get one page of a customer's orders
+     */
+    public OrderPage getOrdersPageByCustomerId(int customerId, OrderPage.Cursor cursor, int pageSize) {
+        if (customerId <= 0) {
+            throw new IllegalArgumentException("customer IDmust be greater than0");
+        }
+        validatePageSize(pageSize);
+        return orderDAO.getOrdersPageByCustomerId(customerId, cursor, pageSize);
+    }
+    
+    /**
+     * Get one page of an employee's orders
+     */
+    public OrderPage getOrdersPageByEmployeeId(int employeeId, OrderPage.Cursor cursor, int pageSize) {
+        if (employeeId <= 0) {
+            throw new IllegalArgumentException("employee IDmust be greater than0");
+        }
+        validatePageSize(pageSize);
+        return orderDAO.getOrdersPageByEmployeeId(employeeId, cursor, pageSize);
+    }
+    
+    /**
+     * Get one page of orders with a status
+     */
+    public OrderPage getOrdersPageByStatus(String status, OrderPage.Cursor cursor, int pageSize) {
+        if (!isValidStatus(status)) {
+            throw new IllegalArgumentException("order status: " + status);
+        }
+        validatePageSize(pageSize);
+        return orderDAO.getOrdersPageByStatus(status.trim().toUpperCase(), cursor, pageSize);
+    }
+    
+    /**
+     * Validate page size
+     */
+    private void validatePageSize(int pageSize) {
+        if (pageSize <= 0 || pageSize > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
     }
     
     /**
@@ -151,23 +341,141 @@ public class OrderService {
         if (!isValidStatus(newStatus)) {
             throw new IllegalArgumentException("order status: " + newStatus);
         }
+        String status = newStatus.trim().toUpperCase();
         
-        // Check ifexists
-        Order order = orderDAO.getOrderById(orderId);
-        if (order == null) {
-            throw new IllegalArgumentException("Order does not exist");
-        }
-        
-        // Validate
-        if (!isValidStatusTransition(order.getCurrentStatus(), newStatus)) {
+        // Tracked orders are checked against the registry first; with write-behind the change is made there
+        StatusUpdateResult inMemory = activeOrders.transition(orderId, status);
+        if (inMemory == StatusUpdateResult.INVALID_TRANSITION) {
             throw new IllegalArgumentException(
                 String.format(" '%s'  '%s'", 
-                    getStatusDescription(order.getCurrentStatus()),
-                    getStatusDescription(newStatus))
+                    getStatusDescription(activeOrders.getStatus(orderId)),
+                    getStatusDescription(status))
             );
         }
+        if (inMemory != StatusUpdateResult.NOT_FOUND) {
+            // Unchanged, or written behind and reported by the registry once it is stored
+            return true;
+        }
         
-        return orderDAO.updateOrderStatus(orderId, newStatus);
+        // Optimistic: validate against the version read, write only if it is unchanged
+        return UnitOfWork.withConnection(() -> {
+            for (int attempt = 1; attempt <= MAX_STATUS_UPDATE_ATTEMPTS; attempt++) {
+                // Check ifexists
+                Order order = orderDAO.getOrderById(orderId);
+                if (order == null) {
+                    throw new IllegalArgumentException("Order does not exist");
+                }
+                
+                // Validate
+                if (!isValidStatusTransition(order.getCurrentStatus(), status)) {
+                    throw new IllegalArgumentException(
+                        String.format(" '%s'  '%s'", 
+                            getStatusDescription(order.getCurrentStatus()),
+                            getStatusDescription(status))
+                    );
+                }
+                
+                int updated = orderDAO.updateOrderStatusIfVersion(orderId, status, order.getVersion());
+                if (updated > 0) {
+                    int version = order.getVersion() + 1;
+                    UnitOfWork.afterCommit(() -> statusWritten(orderId, status, version));
+                }
+                if (updated != 0) {
+                    return updated > 0;
+                }
+                // Another update won the race; re-read and validate against its result
+            }
+            throw new ConcurrentModificationException("Order " + orderId + " is being changed concurrently, please retry");
+        });
+    }
+    
+    /**
+     * Update the status of several orders at once, e.g. when the kitchen advances a batch.
+     * Orders tracked by the active order registry are checked there first (and moved there
+     * with write-behind). For the rest, transitions are checked against the stored
+     * state with the same rules as updateOrderStatus, then all valid ones
+     * are applied with one version-checked statement. Orders changed by
+     * someone else in between are re-read and retried a bounded number of times.
+     * Invalid entries do not stop the others.
+     *
+     * @param statusChanges order ID to new status
+     * @return outcome for every requested order, in request order
+     */
+    public Map<Integer, StatusUpdateResult> updateOrderStatuses(Map<Integer, String> statusChanges) {
+        if (statusChanges == null) {
+            throw new IllegalArgumentException("Status changes cannot be null");
+        }
+        
+        Map<Integer, StatusUpdateResult> results = new LinkedHashMap<>();
+        Map<Integer, String> requested = new LinkedHashMap<>();
+        for (Map.Entry<Integer, String> entry : statusChanges.entrySet()) {
+            if (entry.getKey() == null || entry.getKey() <= 0) {
+                throw new IllegalArgumentException("Order ID must be greater than 0");
+            }
+            String status = entry.getValue() == null ? null : entry.getValue().trim().toUpperCase();
+            if (!isValidStatus(status)) {
+                results.put(entry.getKey(), StatusUpdateResult.INVALID_STATUS);
+            } else {
+                StatusUpdateResult inMemory = activeOrders.transition(entry.getKey(), status);
+                if (inMemory == StatusUpdateResult.NOT_FOUND) {
+                    requested.put(entry.getKey(), status);
+                }
+                results.put(entry.getKey(), inMemory == StatusUpdateResult.NOT_FOUND ? null : inMemory);
+            }
+        }
+        if (requested.isEmpty()) {
+            return results;
+        }
+        
+        return UnitOfWork.withConnection(() -> {
+            Map<Integer, String> pending = requested;
+            for (int attempt = 1; attempt <= MAX_STATUS_UPDATE_ATTEMPTS && !pending.isEmpty(); attempt++) {
+                Map<Integer, Order> states = orderDAO.getOrderStates(pending.keySet());
+                if (states == null) {
+                    pending.keySet().forEach(orderId -> results.put(orderId, StatusUpdateResult.FAILED));
+                    return results;
+                }
+                
+                Map<Integer, String> changes = new LinkedHashMap<>();
+                Map<Integer, Integer> versions = new HashMap<>();
+                for (Map.Entry<Integer, String> entry : pending.entrySet()) {
+                    int orderId = entry.getKey();
+                    Order state = states.get(orderId);
+                    if (state == null) {
+                        results.put(orderId, StatusUpdateResult.NOT_FOUND);
+                    } else if (state.getCurrentStatus().equals(entry.getValue())) {
+                        results.put(orderId, StatusUpdateResult.UNCHANGED);
+                    } else if (!isValidStatusTransition(state.getCurrentStatus(), entry.getValue())) {
+                        results.put(orderId, StatusUpdateResult.INVALID_TRANSITION);
+                    } else {
+                        changes.put(orderId, entry.getValue());
+                        versions.put(orderId, state.getVersion());
+                    }
+                }
+                
+                Set<Integer> updated = orderDAO.updateOrderStatuses(changes, versions);
+                if (updated == null) {
+                    changes.keySet().forEach(orderId -> results.put(orderId, StatusUpdateResult.FAILED));
+                    return results;
+                }
+                
+                // Orders whose version moved are re-read in the next round
+                pending = new LinkedHashMap<>();
+                for (Map.Entry<Integer, String> entry : changes.entrySet()) {
+                    if (updated.contains(entry.getKey())) {
+                        results.put(entry.getKey(), StatusUpdateResult.UPDATED);
+                        int orderId = entry.getKey();
+                        String status = entry.getValue();
+                        int version = versions.get(orderId) + 1;
+                        UnitOfWork.afterCommit(() -> statusWritten(orderId, status, version));
+                    } else {
+                        pending.put(entry.getKey(), entry.getValue());
+                    }
+                }
+            }
+            pending.keySet().forEach(orderId -> results.put(orderId, StatusUpdateResult.CONFLICT));
+            return results;
+        });
     }
     
     /**
@@ -192,7 +500,7 @@ public class OrderService {
         }
         
         // Check if order exists and can be modified
-        Order order = orderDAO.getOrderById(orderId);
+        Order order = applyActiveStatus(orderDAO.getOrderById(orderId));
         if (order == null) {
             throw new IllegalArgumentException("Order does not exist");
         }
@@ -202,20 +510,61 @@ public class OrderService {
                 order.getCurrentStatus() + "'. Only PENDING orders can be modified.");
         }
         
-        // Check if item already exists in order
-        if (orderItemDAO.orderItemExists(orderId, itemId)) {
-            // If already exists, update quantity
-            OrderItem existingItem = orderItemDAO.getOrderItem(orderId, itemId);
-            int newQuantity = existingItem.getQuantity() + quantity;
-            return updateOrderItemQuantity(orderId, itemId, newQuantity);
-        } else {
-            // Add new item - trigger will automatically update order total
-            OrderItem orderItem = new OrderItem(orderId, itemId, quantity);
-            return orderItemDAO.addOrderItem(orderItem);
-            // No need to manually call recalculateOrderTotal() - trigger handles it!
+        // Group-committed by the journal; adds to the line if the item is already in the order.
+        // Trigger will automatically update order total
+        // The leaderboard follows once the event is committed
+        return journal.apply(OrderEvent.itemAdded(orderId, itemId, quantity),
+            () -> salesLeaderboard.itemAdded(orderId, itemId, quantity));
+    }
+    
+    /**
+     * Record a status change once it is stored; final statuses also settle the order's sales.
+     * Called after commit here, and by the active order registry after a write-behind flush.
+     */
+    static void statusStored(int orderId, String status) {
+        OrderEventJournal.getInstance().record(OrderEvent.statusChanged(orderId, status));
+        if ("COMPLETED".equals(status) || "CANCELLED".equals(status)) {
+            SalesLeaderboard.getInstance().orderClosed(orderId, "CANCELLED".equals(status));
+            EmployeeAssigner.getInstance().orderClosed(orderId);
         }
     }
     
+    /**
+     * A status written by this service: refresh the registry's cached copy, then report it
+     */
+    private void statusWritten(int orderId, String status, int version) {
+        activeOrders.stored(orderId, status, version);
+        statusStored(orderId, status);
+    }
+    
+    /**
+     * Take the least loaded available employee for an order created in the current
+     * transaction; -1 if nobody is available. The hold is dropped when the transaction
+     * ends: on commit the new order is counted instead (orderAssigned), on rollback nothing is.
+     */
+    private int reserveEmployee() {
+        int employeeId = employeeAssigner.reserve();
+        if (employeeId > 0) {
+            UnitOfWork.afterCommit(() -> employeeAssigner.release(employeeId));
+            UnitOfWork.afterRollback(() -> employeeAssigner.release(employeeId));
+        }
+        return employeeId;
+    }
+    
+    /**
+     * Replace the stored status with the in-memory one when the registry holds a newer value,
+     * which only happens with write-behind
+     */
+    private Order applyActiveStatus(Order order) {
+        if (order != null && activeOrders.isWriteBehind()) {
+            String status = activeOrders.getStatus(order.getOrderId());
+            if (status != null) {
+                order.setCurrentStatus(status);
+            }
+        }
+        return order;
+    }
+    
     /**
      * Check if menu item is available using database function
      */
@@ -238,10 +587,35 @@ public class OrderService {
     }
     
     /**
-     * Auto assign employee using database procedure
+     * Assign the least loaded available employee to an order
      */
     public boolean autoAssignEmployee(int orderId) {
-        return orderDAO.assignEmployeeToOrder(orderId);
+        if (orderId <= 0) {
+            throw new IllegalArgumentException("Order ID must be greater than 0");
+        }
+        
+        return UnitOfWork.inTransaction(() -> {
+            Order order = applyActiveStatus(orderDAO.getOrderById(orderId));
+            if (order == null) {
+                throw new IllegalArgumentException("Order does not exist");
+            }
+            
+            int employeeId = reserveEmployee();
+            if (employeeId <= 0) {
+                return false;
+            }
+            
+            boolean assigned = orderDAO.assignEmployeeToOrder(orderId, employeeId);
+            // Recorded with the update, so replaying the journal keeps the new employee
+            if (assigned && !orderEventDAO.appendEvents(List.of(OrderEvent.assigned(orderId, employeeId)))) {
+                throw new IllegalStateException("Failed to record employee assignment");
+            }
+            // Only active orders count towards an employee's load
+            if (assigned && Order.OrderStatus.fromCode(order.getCurrentStatus()).isActive()) {
+                UnitOfWork.afterCommit(() -> employeeAssigner.orderAssigned(orderId, employeeId));
+            }
+            return assigned;
+        });
     }
     
     /**
@@ -260,20 +634,27 @@ public class OrderService {
             throw new IllegalArgumentException("quantitycannot be less than0");
         }
         
-        // Check ifmodify
-        Order order = orderDAO.getOrderById(orderId);
-        if (order == null) {
-            throw new IllegalArgumentException("Order does not exist");
-        }
-        
-        if (!isOrderModifiable(order.getCurrentStatus())) {
-            throw new IllegalArgumentException("order status '" + 
-                getStatusDescription(order.getCurrentStatus()) + "'modify");
+        boolean lineExists = UnitOfWork.withConnection(() -> {
+            // Check ifmodify
+            Order order = applyActiveStatus(orderDAO.getOrderById(orderId));
+            if (order == null) {
+                throw new IllegalArgumentException("Order does not exist");
+            }
+            
+            if (!isOrderModifiable(order.getCurrentStatus())) {
+                throw new IllegalArgumentException("order status '" + 
+                    getStatusDescription(order.getCurrentStatus()) + "'modify");
+            }
+            
+            return orderItemDAO.orderItemExists(orderId, itemId);
+        });
+        if (!lineExists) {
+            return false;
         }
         
-        // Update quantity - trigger will automatically update order total
-        return orderItemDAO.updateOrderItemQuantity(orderId, itemId, newQuantity);
-        // No need to manually recalculate - trigger handles it automatically!
+        // Update quantity through the journal - trigger will automatically update order total
+        return journal.apply(OrderEvent.quantityChanged(orderId, itemId, newQuantity),
+            () -> salesLeaderboard.quantityChanged(orderId, itemId, newQuantity));
     }
     
     /**
@@ -291,18 +672,32 @@ public class OrderService {
             throw new IllegalArgumentException("order IDmust be greater than0");
         }
         
-        // Check ifexists
-        Order order = orderDAO.getOrderById(orderId);
-        if (order == null) {
-            throw new IllegalArgumentException("Order does not exist");
-        }
-        
-        // HandleDelete
-        if (!"PENDING".equals(order.getCurrentStatus())) {
-            throw new IllegalArgumentException("Cannot delete order with status other than PENDING");
-        }
-        
-        return orderDAO.deleteOrder(orderId);
+        return UnitOfWork.inTransaction(() -> {
+            // Check ifexists
+            Order order = applyActiveStatus(orderDAO.getOrderById(orderId));
+            if (order == null) {
+                throw new IllegalArgumentException("Order does not exist");
+            }
+            
+            // HandleDelete
+            if (!"PENDING".equals(order.getCurrentStatus())) {
+                throw new IllegalArgumentException("Cannot delete order with status other than PENDING");
+            }
+            
+            boolean deleted = orderDAO.deleteOrder(orderId);
+            if (deleted) {
+                // Recorded with the delete, so replaying the journal does not bring the order back
+                if (!orderEventDAO.appendEvents(List.of(OrderEvent.deleted(orderId)))) {
+                    throw new IllegalStateException("Failed to record order deletion");
+                }
+                UnitOfWork.afterCommit(() -> {
+                    activeOrders.remove(orderId);
+                    salesLeaderboard.orderDeleted(orderId);
+                    employeeAssigner.orderClosed(orderId);
+                });
+            }
+            return deleted;
+        });
     }
     
     /**
@@ -330,7 +725,7 @@ public class OrderService {
      * Validateorder status
      */
     private boolean isValidStatus(String status) {
-        return status != null && VALID_STATUSES.contains(status.toUpperCase());
+        return status != null && VALID_STATUSES.contains(status.trim().toUpperCase());
     }
     
     /**
@@ -340,27 +735,24 @@ public class OrderService {
         if (currentStatus.equals(newStatus)) {
             return true;
         }
+        if (!VALID_STATUSES.contains(currentStatus) || !VALID_STATUSES.contains(newStatus)) {
+            return false;
+        }
         
-        return switch (currentStatus) {
-            case "PENDING" -> Arrays.asList("ACCEPTED", "CANCELLED").contains(newStatus);
-            case "ACCEPTED" -> Arrays.asList("PREPARING", "CANCELLED").contains(newStatus);
-            case "PREPARING" -> Arrays.asList("COMPLETED", "CANCELLED").contains(newStatus);
-            case "COMPLETED", "CANCELLED" -> false; // Business logic
-            default -> false;
-        };
+        return Order.OrderStatus.fromCode(currentStatus).canTransitionTo(Order.OrderStatus.fromCode(newStatus));
     }
     
     /**
      * Check if order can be modified
      */
     private boolean isOrderModifiable(String status) {
-        return Arrays.asList("PENDING", "ACCEPTED").contains(status);
+        return VALID_STATUSES.contains(status) && Order.OrderStatus.fromCode(status).isModifiable();
     }
     
     /**
      * Get status description
      */
-    private String getStatusDescription(String status) {
+    private static String getStatusDescription(String status) {
         return switch (status) {
             case "PENDING" -> "Handle";
             case "ACCEPTED" -> "accepted";
@@ -378,24 +770,38 @@ public class OrderService {
         if (orders == null || orders.isEmpty()) {
             return "No orders found";
         }
-        
-        StringBuilder sb = new StringBuilder();
-        sb.append(String.format("%-4s %-15s %-15s %-20s %-10s %-8s%n", 
-                "ID", "Customer", "Employee", "Order Time", "Total Amount", "Status"));
-        sb.append("-".repeat(80)).append("\n");
-        
-        for (Order order : orders) {
-            sb.append(String.format("%-4d %-15s %-15s %-20s %-10s %-8s%n",
-                order.getOrderId(),
-                order.getCustomerName(),
-                order.getEmployeeName(),
-                order.getFormattedOrderTime(),
-                order.getFormattedTotalAmount(),
-                getStatusDescription(order.getCurrentStatus())
-            ));
-        }
-        
-        return sb.toString();
+        return ORDER_TABLE.render(orders);
+    }
+    
+    /**
+     * Stream an order listing to out (e.g. System.out) without building it in memory
+     */
+    public void writeOrdersForDisplay(Iterable<Order> orders, Appendable out) throws IOException {
+        ORDER_TABLE.render(orders, out);
+    }
+    
+    /**
+     * Stream a listing of every order to out, newest first like formatOrdersForDisplay of
+     * getAllOrders, reading orders (without their lines) from the database in batches,
+     * so memory stays bounded however many orders there are.
+     * Returns the number of orders written, or -1 if reading them failed.
+     */
+    public int writeAllOrdersForDisplay(Appendable out) throws IOException {
+        DisplayTable<Order>.Output output = ORDER_TABLE.open(out);
+        int count;
+        try {
+            count = orderDAO.streamOrderHeaders(DISPLAY_FETCH_SIZE, order -> {
+                try {
+                    output.row(order);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        output.flush();
+        return count;
     }
     
     /**
@@ -412,6 +818,20 @@ public class OrderService {
         orderDAO.printTodayOrderStatistics();
     }
     
+    /**
+     * Get the best-selling items (top 10), cancelled orders excluded
+     */
+    public List<ItemSales> getPopularItems() {
+        return salesLeaderboard.getTopItems();
+    }
+    
+    /**
+     * Get sales per category, highest revenue first
+     */
+    public List<CategorySales> getCategorySales() {
+        return salesLeaderboard.getCategorySales();
+    }
+    
     /**
      * Get order detailed information
      */
@@ -452,13 +872,13 @@ public class OrderService {
      * 
      */
     public int getTotalOrderCount() {
-        return orderDAO.getAllOrders().size();
+        return orderDAO.getOrderCount();
     }
     
     /**
      * quantity
      */
     public int getOrderCountByStatus(String status) {
-        return orderDAO.getOrdersByStatus(status).size();
+        return orderDAO.getOrderCountByStatus(status);
     }
 }
@@ -0,0 +1,320 @@
+package com.foodorder.service;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+import com.foodorder.config.UnitOfWork;
+import com.foodorder.dao.OrderItemDAO;
+import com.foodorder.model.CategorySales;
+import com.foodorder.model.ItemSales;
+import com.foodorder.model.MenuItem;
+
+/**
+ * Popular item and category sales leaderboards, kept current in memory
+ * Loaded once from the database, then moved by the deltas OrderService reports as items
+ * are added or changed and orders are cancelled or deleted. Only orders that can still
+ * change keep their lines here; a completed order's contribution is final.
+ * The published lists are replaced on every change, so reading them is constant time.
+ * Like ActiveOrderRegistry, this assumes one process writes orders; reload() starts over.
+ */
+public class SalesLeaderboard {
+
+    public static final int TOP_ITEMS = 10;
+
+    private static final Comparator<ItemCounter> BY_QUANTITY = Comparator
+        .comparingLong((ItemCounter item) -> -item.quantity)
+        .thenComparingInt(item -> item.itemId);
+
+    private final OrderItemDAO orderItemDAO;
+    private final MenuCatalog menuCatalog;
+
+    // Guarded by this
+    private final Map<Integer, ItemCounter> items = new HashMap<>();
+    private final TreeSet<ItemCounter> ranking = new TreeSet<>(BY_QUANTITY);
+    private final Map<Integer, CategoryCounter> categories = new HashMap<>();
+    private final Map<Integer, Map<Integer, Integer>> openOrders = new HashMap<>();
+
+    private volatile List<ItemSales> topItems = List.of();
+    private volatile List<CategorySales> categorySales = List.of();
+
+    /**
+     * Create an empty leaderboard; reload() fills it from the database
+     */
+    SalesLeaderboard(OrderItemDAO orderItemDAO, MenuCatalog menuCatalog) {
+        this.orderItemDAO = orderItemDAO;
+        this.menuCatalog = menuCatalog;
+    }
+
+    /**
+     * Get the shared leaderboard, loading it from the database on first use
+     */
+    public static SalesLeaderboard getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    /**
+     * Get the best-selling items, at most TOP_ITEMS, best first
+     */
+    public List<ItemSales> getTopItems() {
+        return topItems;
+    }
+
+    /**
+     * Get sales of every category with sales, highest revenue first
+     */
+    public List<CategorySales> getCategorySales() {
+        return categorySales;
+    }
+
+    /**
+     * Rebuild everything from the database
+     */
+    public synchronized void reload() {
+        items.clear();
+        ranking.clear();
+        categories.clear();
+        openOrders.clear();
+
+        UnitOfWork.withConnection(() -> {
+            for (CategorySales sales : orderItemDAO.getCategorySales()) {
+                CategoryCounter category = new CategoryCounter(sales.getCategoryId(), sales.getCategoryName());
+                category.quantity = sales.getTotalQuantity();
+                category.revenue = sales.getTotalRevenue();
+                category.uniqueItems = sales.getUniqueItemsSold();
+                category.orders = sales.getOrderCount();
+                categories.put(category.categoryId, category);
+            }
+            for (ItemSales sales : orderItemDAO.getItemSales()) {
+                ItemCounter item = counter(sales.getItemId());
+                if (item != null) {
+                    item.quantity = sales.getTotalOrdered();
+                    item.orders = sales.getOrderCount();
+                    ranking.add(item);
+                }
+            }
+            openOrders.putAll(orderItemDAO.getOpenOrderQuantities());
+            return null;
+        });
+        publish();
+    }
+
+    /**
+     * Quantity added to an order line, creating the line if needed
+     */
+    public synchronized void itemAdded(int orderId, int itemId, int quantity) {
+        Map<Integer, Integer> lines = openOrders.computeIfAbsent(orderId, id -> new HashMap<>());
+        int current = lines.getOrDefault(itemId, 0);
+        changeLine(lines, itemId, current, current + quantity);
+        publish();
+    }
+
+    /**
+     * Order line set to a new quantity; 0 removes it
+     */
+    public synchronized void quantityChanged(int orderId, int itemId, int newQuantity) {
+        Map<Integer, Integer> lines = openOrders.get(orderId);
+        if (lines != null && lines.containsKey(itemId)) {
+            changeLine(lines, itemId, lines.get(itemId), newQuantity);
+            publish();
+        }
+    }
+
+    /**
+     * Order reached a final status; a cancelled order no longer counts as sold
+     */
+    public synchronized void orderClosed(int orderId, boolean cancelled) {
+        Map<Integer, Integer> lines = openOrders.remove(orderId);
+        if (lines != null && cancelled) {
+            removeLines(lines);
+        }
+    }
+
+    /**
+     * Order deleted along with its lines
+     */
+    public synchronized void orderDeleted(int orderId) {
+        Map<Integer, Integer> lines = openOrders.remove(orderId);
+        if (lines != null) {
+            removeLines(lines);
+        }
+    }
+
+    /**
+     * Menu item renamed or repriced; moving it to another category reloads everything,
+     * since past orders cannot be split between categories incrementally
+     */
+    public synchronized void menuItemChanged(int itemId) {
+        ItemCounter item = items.get(itemId);
+        MenuItem menuItem = menuCatalog.getMenuItemById(itemId);
+        if (item == null || menuItem == null) {
+            return;
+        }
+        if (menuItem.getCategoryId() != item.categoryId) {
+            reload();
+            return;
+        }
+
+        CategoryCounter category = categories.get(item.categoryId);
+        if (category != null) {
+            category.revenue = category.revenue.add(
+                menuItem.getCurrentPrice().subtract(item.price).multiply(BigDecimal.valueOf(item.quantity)));
+        }
+        item.itemName = menuItem.getItemName();
+        item.price = menuItem.getCurrentPrice();
+        publish();
+    }
+
+    private void removeLines(Map<Integer, Integer> lines) {
+        // Copy: changeLine removes from the map being walked
+        for (Map.Entry<Integer, Integer> line : new ArrayList<>(lines.entrySet())) {
+            changeLine(lines, line.getKey(), line.getValue(), 0);
+        }
+        publish();
+    }
+
+    /**
+     * Move the item and category counters by one order line going from old to new quantity
+     */
+    private void changeLine(Map<Integer, Integer> lines, int itemId, int oldQuantity, int newQuantity) {
+        ItemCounter item = counter(itemId);
+        if (item == null || oldQuantity == newQuantity) {
+            return;
+        }
+        CategoryCounter category = categories.computeIfAbsent(item.categoryId,
+            id -> new CategoryCounter(id, item.categoryName));
+        boolean orderHadCategory = hasCategory(lines, item.categoryId);
+        long delta = (long) newQuantity - oldQuantity;
+
+        ranking.remove(item);
+        boolean wasSold = item.quantity > 0;
+        item.quantity += delta;
+        if (oldQuantity == 0) {
+            item.orders++;
+        } else if (newQuantity == 0) {
+            item.orders--;
+        }
+        if (item.quantity > 0) {
+            ranking.add(item);
+        }
+
+        if (newQuantity == 0) {
+            lines.remove(itemId);
+        } else {
+            lines.put(itemId, newQuantity);
+        }
+
+        category.quantity += delta;
+        category.revenue = category.revenue.add(item.price.multiply(BigDecimal.valueOf(delta)));
+        if (!wasSold && item.quantity > 0) {
+            category.uniqueItems++;
+        } else if (wasSold && item.quantity <= 0) {
+            category.uniqueItems--;
+        }
+        boolean orderHasCategory = hasCategory(lines, item.categoryId);
+        if (!orderHadCategory && orderHasCategory) {
+            category.orders++;
+        } else if (orderHadCategory && !orderHasCategory) {
+            category.orders--;
+        }
+    }
+
+    private boolean hasCategory(Map<Integer, Integer> lines, int categoryId) {
+        for (Integer itemId : lines.keySet()) {
+            ItemCounter item = items.get(itemId);
+            if (item != null && item.categoryId == categoryId) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Get the counter of an item, creating it from the menu catalog on its first sale
+     */
+    private ItemCounter counter(int itemId) {
+        ItemCounter item = items.get(itemId);
+        if (item == null) {
+            MenuItem menuItem = menuCatalog.getMenuItemById(itemId);
+            if (menuItem == null) {
+                return null;
+            }
+            item = new ItemCounter(itemId, menuItem.getItemName(), menuItem.getCategoryId(),
+                menuItem.getCategoryName(), menuItem.getCurrentPrice());
+            items.put(itemId, item);
+        }
+        return item;
+    }
+
+    /**
+     * Replace the published lists; O(TOP_ITEMS) plus a sort of the few categories
+     */
+    private void publish() {
+        List<ItemSales> top = new ArrayList<>(TOP_ITEMS);
+        Iterator<ItemCounter> best = ranking.iterator();
+        while (best.hasNext() && top.size() < TOP_ITEMS) {
+            ItemCounter item = best.next();
+            top.add(new ItemSales(item.itemId, item.itemName, item.categoryName, item.quantity, item.orders));
+        }
+        topItems = Collections.unmodifiableList(top);
+
+        List<CategorySales> sales = new ArrayList<>(categories.size());
+        for (CategoryCounter category : categories.values()) {
+            if (category.quantity > 0) {
+                sales.add(new CategorySales(category.categoryId, category.categoryName, category.quantity,
+                    category.revenue, category.uniqueItems, category.orders));
+            }
+        }
+        sales.sort(Comparator.comparing(CategorySales::getTotalRevenue).reversed());
+        categorySales = Collections.unmodifiableList(sales);
+    }
+
+    /**
+     * The shared leaderboard is loaded from the order lines on the first getInstance(), not on class load
+     */
+    private static final class Holder {
+        private static final SalesLeaderboard INSTANCE = new SalesLeaderboard(new OrderItemDAO(), MenuCatalog.getInstance());
+
+        static {
+            INSTANCE.reload();
+        }
+    }
+
+    private static final class ItemCounter {
+        private final int itemId;
+        private final int categoryId;
+        private final String categoryName;
+        private String itemName;
+        private BigDecimal price;
+        private long quantity;
+        private int orders;
+
+        ItemCounter(int itemId, String itemName, int categoryId, String categoryName, BigDecimal price) {
+            this.itemId = itemId;
+            this.itemName = itemName;
+            this.categoryId = categoryId;
+            this.categoryName = categoryName;
+            this.price = price;
+        }
+    }
+
+    private static final class CategoryCounter {
+        private final int categoryId;
+        private final String categoryName;
+        private long quantity;
+        private BigDecimal revenue = BigDecimal.ZERO;
+        private int uniqueItems;
+        private int orders;
+
+        CategoryCounter(int categoryId, String categoryName) {
+            this.categoryId = categoryId;
+            this.categoryName = categoryName;
+        }
+    }
+}
@@ -0,0 +1,281 @@
+package com.foodorder.service;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import com.foodorder.config.DatabaseConnection;
+
+/**
+ * Runs service calls concurrently, one thread per request
+ * Uses a virtual thread per task when the runtime has them (Java 21+), otherwise a fixed
+ * pool of platform threads. Tasks take a database permit before running, one per pooled
+ * connection, so thousands of requests can be in flight while only as many as the pool
+ * can serve touch the database; the rest wait cheaply.
+ * Calls are structured: invokeAll returns only once every task it started has stopped.
+ * A failure, timeout or interrupt cancels the tasks still running and waits for them;
+ * a task blocked in JDBC ignores the interrupt, so that wait lasts until its statement returns.
+ * Callers that already run on the executor (execute) take the permit in place with
+ * withDatabasePermit instead of handing the call to another thread.
+ */
+public class ServiceExecutor {
+
+    private final ExecutorService executor;
+    private final boolean virtualThreads;
+    private final Semaphore databasePermits;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    ServiceExecutor(int databasePermits) {
+        ExecutorService virtual = newVirtualThreadExecutor();
+        this.virtualThreads = virtual != null;
+        this.executor = virtual != null ? virtual : newPlatformThreadExecutor(databasePermits * 2);
+        this.databasePermits = new Semaphore(databasePermits, true);
+    }
+
+    /**
+     * Get the shared executor, sized to the connection pool; stopped when the pool closes
+     */
+    public static ServiceExecutor getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    /**
+     * Run one service call with a deadline.
+     * Runtime exceptions from the call (e.g. IllegalArgumentException) are rethrown as is.
+     */
+    public <T> T call(Callable<T> work, long timeout, TimeUnit unit)
+            throws InterruptedException, TimeoutException, ExecutionException {
+        return invokeAll(List.of(work), timeout, unit).get(0);
+    }
+
+    /**
+     * Run service calls concurrently and wait for all of them, results in task order.
+     * The first failure or the deadline cancels the others, and they have stopped
+     * (released their permit and connection) before this returns.
+     */
+    public <T> List<T> invokeAll(List<? extends Callable<T>> tasks, long timeout, TimeUnit unit)
+            throws InterruptedException, TimeoutException, ExecutionException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        List<Future<T>> futures = new ArrayList<>(tasks.size());
+        List<Joinable<T>> started = new ArrayList<>(tasks.size());
+        try {
+            for (Callable<T> task : tasks) {
+                Joinable<T> joinable = new Joinable<>(limited(task));
+                started.add(joinable);
+                futures.add(executor.submit(joinable));
+            }
+
+            List<T> results = new ArrayList<>(tasks.size());
+            for (Future<T> future : futures) {
+                long remaining = deadline - System.nanoTime();
+                try {
+                    results.add(future.get(Math.max(0, remaining), TimeUnit.NANOSECONDS));
+                } catch (ExecutionException e) {
+                    if (e.getCause() instanceof RuntimeException) {
+                        throw (RuntimeException) e.getCause();
+                    }
+                    if (e.getCause() instanceof Error) {
+                        throw (Error) e.getCause();
+                    }
+                    throw e;
+                } catch (CancellationException e) {
+                    throw new ExecutionException("Task was cancelled", e);
+                }
+            }
+            return results;
+        } finally {
+            // cancel() only interrupts; wait for the tasks so nothing started here outlives the call
+            for (Future<T> future : futures) {
+                future.cancel(true);
+            }
+            for (Joinable<T> joinable : started) {
+                joinable.join();
+            }
+        }
+    }
+
+    /**
+     * Start a call without waiting for it; the caller owns the future and its cancellation
+     */
+    public <T> Future<T> submit(Callable<T> work) {
+        return executor.submit(limited(work));
+    }
+
+    /**
+     * Run a plain task on the executor, e.g. an HTTP exchange or a multi-call flow.
+     * It holds no database permit; its service calls take one with withDatabasePermit.
+     */
+    public void execute(Runnable task) {
+        executor.execute(task);
+    }
+
+    /**
+     * Run a service call on the current thread while holding a database permit.
+     * Runtime exceptions from the call are rethrown as is.
+     *
+     * @throws TimeoutException if no permit became free within the timeout; the call did not run
+     */
+    public <T> T withDatabasePermit(Supplier<T> work, long timeout, TimeUnit unit)
+            throws InterruptedException, TimeoutException {
+        inFlight.incrementAndGet();
+        try {
+            if (!databasePermits.tryAcquire(timeout, unit)) {
+                throw new TimeoutException("No database capacity within " + timeout + " " + unit);
+            }
+            try {
+                return work.get();
+            } finally {
+                databasePermits.release();
+            }
+        } finally {
+            inFlight.decrementAndGet();
+        }
+    }
+
+    /**
+     * Check whether tasks run on virtual threads
+     */
+    public boolean usesVirtualThreads() {
+        return virtualThreads;
+    }
+
+    /**
+     * Get the number of calls started and not yet finished, waiting for a permit included
+     */
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    /**
+     * Get the number of calls waiting for a database permit
+     */
+    public int getWaitingForDatabase() {
+        return databasePermits.getQueueLength();
+    }
+
+    /**
+     * Stop accepting calls and interrupt the running ones
+     */
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Wrap a task so it holds a database permit while it runs; waiting is interruptible,
+     * so a cancelled task gives up its place in line
+     */
+    private <T> Callable<T> limited(Callable<T> work) {
+        return () -> {
+            inFlight.incrementAndGet();
+            try {
+                databasePermits.acquire();
+                try {
+                    return work.call();
+                } finally {
+                    databasePermits.release();
+                }
+            } finally {
+                inFlight.decrementAndGet();
+            }
+        };
+    }
+
+    /**
+     * Executors.newVirtualThreadPerTaskExecutor() when running on Java 21+, else null.
+     * Looked up reflectively so the project still builds for Java 17.
+     */
+    private static ExecutorService newVirtualThreadExecutor() {
+        try {
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) factory.invoke(null);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    private static ExecutorService newPlatformThreadExecutor(int threads) {
+        AtomicInteger counter = new AtomicInteger();
+        return Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "service-worker-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * A task that can be waited for after its future was cancelled: Future.get returns
+     * as soon as cancel() is called, while the task itself may still be running
+     */
+    private static final class Joinable<T> implements Callable<T> {
+        private static final int NEW = 0;
+        private static final int RUNNING = 1;
+        private static final int SKIPPED = 2;
+
+        private final Callable<T> task;
+        private final AtomicInteger state = new AtomicInteger(NEW);
+        private final CountDownLatch stopped = new CountDownLatch(1);
+
+        Joinable(Callable<T> task) {
+            this.task = task;
+        }
+
+        @Override
+        public T call() throws Exception {
+            if (!state.compareAndSet(NEW, RUNNING)) {
+                throw new CancellationException("Call already finished");
+            }
+            try {
+                return task.call();
+            } finally {
+                stopped.countDown();
+            }
+        }
+
+        /**
+         * Wait until the task has stopped, or make sure it never starts
+         */
+        void join() {
+            if (state.compareAndSet(NEW, SKIPPED)) {
+                return;
+            }
+            boolean interrupted = false;
+            while (true) {
+                try {
+                    stopped.await();
+                    break;
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Created on first use, so loading this class neither connects nor registers anything
+     */
+    private static final class Holder {
+        private static final ServiceExecutor INSTANCE = create();
+
+        private static ServiceExecutor create() {
+            DatabaseConnection database = DatabaseConnection.getInstance();
+            ServiceExecutor executor = new ServiceExecutor(database.getMaxConnections());
+            database.addCloseListener(executor::shutdown);
+            return executor;
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.foodorder.service;
+
+import com.foodorder.dao.SystemStatsDAO;
+import com.foodorder.model.SystemStats;
+
+/**
+ * Dashboard statistics
+ * Serves the system counters from a short-lived snapshot, so frequent readers cost at most
+ * one aggregate query per refresh interval. Screens that must show live counts call refresh().
+ */
+public class SystemStatsService {
+    
+    // How long a snapshot is served before the counters are recomputed
+    private static final long MAX_AGE_MILLIS = 10 * 1000L;
+    
+    private static final SystemStatsService INSTANCE = new SystemStatsService(new SystemStatsDAO());
+    
+    private final SystemStatsDAO statsDAO;
+    private volatile SystemStats snapshot;
+    private volatile long loadedAt;
+    
+    SystemStatsService(SystemStatsDAO statsDAO) {
+        this.statsDAO = statsDAO;
+    }
+    
+    /**
+     * Get the shared stats service
+     */
+    public static SystemStatsService getInstance() {
+        return INSTANCE;
+    }
+    
+    /**
+     * Get current counters, recomputing them if the snapshot is missing or too old
+     */
+    public SystemStats getStats() {
+        SystemStats current = snapshot;
+        if (current != null && System.currentTimeMillis() - loadedAt < MAX_AGE_MILLIS) {
+            return current;
+        }
+        
+        synchronized (this) {
+            current = snapshot;
+            if (current != null && System.currentTimeMillis() - loadedAt < MAX_AGE_MILLIS) {
+                return current;
+            }
+            return refresh();
+        }
+    }
+    
+    /**
+     * Recompute counters now; keeps the previous snapshot if the query fails
+     */
+    public synchronized SystemStats refresh() {
+        SystemStats loaded = statsDAO.getSystemStats();
+        if (loaded == null) {
+            if (snapshot == null) {
+                throw new IllegalStateException("System statistics are unavailable");
+            }
+            return snapshot;
+        }
+        snapshot = loaded;
+        loadedAt = System.currentTimeMillis();
+        return loaded;
+    }
+    
+    /**
+     * Drop the snapshot so the next read recomputes it
+     */
+    public void invalidate() {
+        snapshot = null;
+    }
+}
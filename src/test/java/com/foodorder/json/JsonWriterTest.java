@@ -0,0 +1,139 @@
+package com.foodorder.json;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.foodorder.model.Order;
+import com.foodorder.model.OrderItem;
+
+class JsonWriterTest {
+
+    private static String write(String value) {
+        return new JsonWriter().value(value).toString();
+    }
+
+    @Test
+    void escapesQuotesBackslashesAndControlCharacters() {
+        assertEquals("\"say \\\"hi\\\"\"", write("say \"hi\""));
+        assertEquals("\"C:\\\\menu\"", write("C:\\menu"));
+        assertEquals("\"a\\nb\\rc\\td\"", write("a\nb\rc\td"));
+        assertEquals("\"\\u0000\\u001f\\u0008\"", write("\u0000\u001f\b"));
+        assertEquals("\"/<>'\"", write("/<>'"));
+    }
+
+    @Test
+    void encodesNonAsciiAsUtf8() {
+        // 2-, 3- and 4-byte sequences: e-acute, euro sign, and an emoji as a surrogate pair
+        String text = "Caf\u00e9 \u20ac5 \ud83c\udf55";
+        byte[] json = new JsonWriter().value(text).toByteArray();
+
+        assertArrayEquals(("\"" + text + "\"").getBytes(StandardCharsets.UTF_8), json);
+    }
+
+    @Test
+    void replacesUnpairedSurrogatesLikeGetBytes() {
+        String text = "a\ud83cb\udf55";
+        byte[] json = new JsonWriter().value(text).toByteArray();
+
+        assertArrayEquals(("\"" + text + "\"").getBytes(StandardCharsets.UTF_8), json);
+        assertEquals("\"a?b?\"", new String(json, StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void writesDecimalsAsPlainStrings() {
+        for (String decimal : List.of("0", "0.00", "12.50", "-0.05", "-12.34", "99999999.99", "7",
+                "0.000000000000001", "123456789012.345", "1E+3", "-4.5E+2",
+                "12345678901234567890.12", "0.12345678901234567")) {
+            BigDecimal value = new BigDecimal(decimal);
+            assertEquals(value.toPlainString(), new JsonWriter().value(value).toString(), decimal);
+        }
+    }
+
+    @Test
+    void writesLongsIncludingExtremes() {
+        for (long value : new long[] { 0, 7, -7, 10, 999, 1000, Long.MAX_VALUE, Long.MIN_VALUE }) {
+            assertEquals(Long.toString(value), new JsonWriter().value(value).toString());
+        }
+    }
+
+    @Test
+    void writesTimestampsAsTimestampToString() {
+        Timestamp withNanos = Timestamp.valueOf("2024-12-07 11:30:00.123456789");
+        Timestamp trailingZeros = Timestamp.valueOf("2024-12-07 11:30:00.12");
+        for (Timestamp value : List.of(
+                Timestamp.valueOf("2024-12-07 11:30:00"),
+                Timestamp.valueOf("2024-02-29 23:59:59.999"),
+                Timestamp.valueOf("2000-01-01 00:00:00"),
+                Timestamp.valueOf("1969-12-31 23:59:59.5"),
+                Timestamp.valueOf("1900-03-01 06:07:08"),
+                withNanos, trailingZeros)) {
+            assertEquals("\"" + value + "\"", new JsonWriter().value(value).toString());
+        }
+    }
+
+    @Test
+    void writesNullsForMissingValues() {
+        JsonWriter json = new JsonWriter().beginArray()
+            .value((String) null).value((BigDecimal) null).value((Timestamp) null)
+            .endArray();
+
+        assertEquals("[null,null,null]", json.toString());
+    }
+
+    @Test
+    void placesCommasBetweenNestedValues() {
+        JsonWriter json = new JsonWriter()
+            .beginObject()
+            .name("a").value(1)
+            .name("b").beginArray().value(true).beginObject().endObject().beginArray().endArray().endArray()
+            .name("c").value(false)
+            .endObject();
+
+        assertEquals("{\"a\":1,\"b\":[true,{},[]],\"c\":false}", json.toString());
+    }
+
+    @Test
+    void newlineStartsANewDocument() {
+        JsonWriter json = new JsonWriter()
+            .beginObject().name("a").value(1).endObject().newline()
+            .beginObject().name("a").value(2).endObject().newline();
+
+        assertEquals("{\"a\":1}\n{\"a\":2}\n", json.toString());
+    }
+
+    @Test
+    void resetKeepsTheGrownBuffer() {
+        JsonWriter json = new JsonWriter(16);
+        json.value("x".repeat(100));
+        int capacity = json.capacity();
+
+        json.reset().value("y");
+
+        assertEquals("\"y\"", json.toString());
+        assertEquals(3, json.size());
+        assertEquals(capacity, json.capacity());
+    }
+
+    @Test
+    void writesOrderWithAndWithoutItems() {
+        Order order = new Order(5, 2, 3, Timestamp.valueOf("2024-12-07 11:30:00"), new BigDecimal("17.98"), "PENDING");
+        order.setCustomerName("Emma \"EJ\" Johnson");
+        order.setEmployeeName(null);
+
+        String header = "{\"order_id\":5,\"customer_id\":2,\"customer_name\":\"Emma \\\"EJ\\\" Johnson\","
+            + "\"employee_id\":3,\"employee_name\":null,\"order_time\":\"2024-12-07 11:30:00.0\","
+            + "\"current_status\":\"PENDING\",\"total_amount\":17.98,\"version\":0,";
+        assertEquals(header + "\"items\":null}", new JsonWriter().order(order).toString());
+
+        order.setOrderItems(List.of(new OrderItem(5, 1, 2, "Caesar Salad", new BigDecimal("8.99"))));
+        assertEquals(header + "\"items\":[{\"item_id\":1,\"item_name\":\"Caesar Salad\",\"quantity\":2,\"item_price\":8.99}]}",
+            new JsonWriter().order(order).toString());
+    }
+}
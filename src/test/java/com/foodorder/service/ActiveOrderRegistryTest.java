@@ -0,0 +1,320 @@
+package com.foodorder.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.foodorder.dao.OrderDAO;
+import com.foodorder.model.Order;
+import com.foodorder.model.StatusUpdateResult;
+
+class ActiveOrderRegistryTest {
+
+    private StubOrderDAO orderDAO;
+    private List<String> stored;
+
+    @BeforeEach
+    void setUp() {
+        orderDAO = new StubOrderDAO();
+        orderDAO.put(1, "PENDING", 0);
+        orderDAO.put(2, "ACCEPTED", 3);
+        orderDAO.put(3, "COMPLETED", 5);
+        stored = new ArrayList<>();
+    }
+
+    private ActiveOrderRegistry registry() {
+        return new ActiveOrderRegistry(orderDAO, (orderId, status) -> stored.add(orderId + ":" + status), true, 0);
+    }
+
+    private ActiveOrderRegistry writeThroughRegistry() {
+        return new ActiveOrderRegistry(orderDAO, (orderId, status) -> stored.add(orderId + ":" + status), false, 0);
+    }
+
+    @Test
+    void writeThroughRejectsInvalidTransitionsAndLeavesAllowedOnesToTheCaller() {
+        ActiveOrderRegistry registry = writeThroughRegistry();
+
+        assertFalse(registry.isWriteBehind());
+        assertEquals(StatusUpdateResult.INVALID_TRANSITION, registry.transition(1, "COMPLETED"));
+        assertEquals(StatusUpdateResult.UNCHANGED, registry.transition(1, "PENDING"));
+        assertEquals(StatusUpdateResult.NOT_FOUND, registry.transition(1, "ACCEPTED"));
+        assertEquals("PENDING", registry.getStatus(1));
+
+        registry.flush();
+        assertEquals(0, orderDAO.writes);
+        assertTrue(stored.isEmpty());
+    }
+
+    @Test
+    void storedUpdatesTheCacheAndIgnoresOlderWrites() {
+        ActiveOrderRegistry registry = writeThroughRegistry();
+
+        registry.stored(1, "PREPARING", 2);
+        registry.stored(1, "ACCEPTED", 1);
+        assertEquals("PREPARING", registry.getStatus(1));
+
+        registry.stored(1, "COMPLETED", 3);
+        assertFalse(registry.isTracked(1));
+
+        // Untracked orders are not added
+        registry.stored(3, "CANCELLED", 6);
+        assertFalse(registry.isTracked(3));
+    }
+
+    @Test
+    void recoversOnlyActiveOrders() {
+        ActiveOrderRegistry registry = registry();
+
+        assertEquals(2, registry.size());
+        assertEquals("PENDING", registry.getStatus(1));
+        assertEquals("ACCEPTED", registry.getStatus(2));
+        assertFalse(registry.isTracked(3));
+    }
+
+    @Test
+    void transitionFollowsStatusRules() {
+        ActiveOrderRegistry registry = registry();
+
+        assertEquals(StatusUpdateResult.INVALID_TRANSITION, registry.transition(1, "PREPARING"));
+        assertEquals(StatusUpdateResult.UPDATED, registry.transition(1, "ACCEPTED"));
+        assertEquals(StatusUpdateResult.UNCHANGED, registry.transition(1, "ACCEPTED"));
+        assertEquals(StatusUpdateResult.NOT_FOUND, registry.transition(3, "CANCELLED"));
+        assertEquals("ACCEPTED", registry.getStatus(1));
+        // Nothing is stored or reported before a flush
+        assertEquals("PENDING", orderDAO.row(1).getCurrentStatus());
+        assertTrue(stored.isEmpty());
+    }
+
+    @Test
+    void flushWritesMergedTransitionsOnce() {
+        ActiveOrderRegistry registry = registry();
+        registry.transition(1, "ACCEPTED");
+        registry.transition(1, "PREPARING");
+
+        registry.flush();
+
+        assertEquals(1, orderDAO.writes);
+        assertEquals("PREPARING", orderDAO.row(1).getCurrentStatus());
+        assertEquals(1, orderDAO.row(1).getVersion());
+        assertEquals(List.of("1:PREPARING"), stored);
+
+        // The entry moved to the stored version, so the next write is not a conflict
+        registry.transition(1, "COMPLETED");
+        registry.flush();
+        assertEquals("COMPLETED", orderDAO.row(1).getCurrentStatus());
+        assertEquals(2, orderDAO.row(1).getVersion());
+        assertEquals(List.of("1:PREPARING", "1:COMPLETED"), stored);
+    }
+
+    @Test
+    void flushDropsOrderOnceFinalStatusIsStored() {
+        ActiveOrderRegistry registry = registry();
+        registry.transition(2, "CANCELLED");
+        assertTrue(registry.isTracked(2));
+
+        registry.flush();
+
+        assertFalse(registry.isTracked(2));
+        assertEquals("CANCELLED", orderDAO.row(2).getCurrentStatus());
+        assertEquals(4, orderDAO.row(2).getVersion());
+        assertEquals(List.of("2:CANCELLED"), stored);
+    }
+
+    @Test
+    void failedWriteIsRetriedOnNextFlush() {
+        ActiveOrderRegistry registry = registry();
+        registry.transition(1, "ACCEPTED");
+
+        orderDAO.failWrites = true;
+        registry.flush();
+        assertEquals("PENDING", orderDAO.row(1).getCurrentStatus());
+        assertEquals("ACCEPTED", registry.getStatus(1));
+        assertTrue(stored.isEmpty());
+
+        orderDAO.failWrites = false;
+        registry.flush();
+        assertEquals("ACCEPTED", orderDAO.row(1).getCurrentStatus());
+        assertEquals(List.of("1:ACCEPTED"), stored);
+    }
+
+    @Test
+    void conflictReloadsDatabaseStateWithoutReporting() {
+        ActiveOrderRegistry registry = registry();
+        registry.transition(1, "CANCELLED");
+        // Another process accepted the order in the meantime
+        orderDAO.put(1, "ACCEPTED", 1);
+
+        registry.flush();
+
+        assertEquals("ACCEPTED", registry.getStatus(1));
+        assertEquals("ACCEPTED", orderDAO.row(1).getCurrentStatus());
+        assertTrue(stored.isEmpty());
+        assertEquals(1, registry.getDroppedCount());
+
+        // The reloaded version is used for the next write
+        assertEquals(StatusUpdateResult.UPDATED, registry.transition(1, "PREPARING"));
+        registry.flush();
+        assertEquals("PREPARING", orderDAO.row(1).getCurrentStatus());
+        assertEquals(2, orderDAO.row(1).getVersion());
+        assertEquals(List.of("1:PREPARING"), stored);
+    }
+
+    @Test
+    void conflictWithFinishedOrDeletedOrderStopsTracking() {
+        ActiveOrderRegistry registry = registry();
+        registry.transition(1, "ACCEPTED");
+        registry.transition(2, "PREPARING");
+        orderDAO.put(1, "COMPLETED", 1);
+        orderDAO.rows.remove(2);
+
+        registry.flush();
+
+        assertFalse(registry.isTracked(1));
+        assertFalse(registry.isTracked(2));
+        assertTrue(stored.isEmpty());
+        assertEquals(2, registry.getDroppedCount());
+    }
+
+    @Test
+    void conflictWithTheSameStatusIsNotADrop() {
+        ActiveOrderRegistry registry = registry();
+        registry.transition(1, "CANCELLED");
+        orderDAO.put(1, "CANCELLED", 1);
+
+        registry.flush();
+
+        assertFalse(registry.isTracked(1));
+        assertEquals(0, registry.getDroppedCount());
+    }
+
+    @Test
+    void failedReloadKeepsOrderPendingUntilItSucceeds() {
+        ActiveOrderRegistry registry = registry();
+        registry.transition(1, "ACCEPTED");
+        orderDAO.put(1, "CANCELLED", 1);
+
+        orderDAO.failReads = true;
+        assertThrows(IllegalStateException.class, registry::flush);
+        assertEquals("ACCEPTED", registry.getStatus(1));
+
+        orderDAO.failReads = false;
+        registry.flush();
+        assertFalse(registry.isTracked(1));
+        assertEquals("CANCELLED", orderDAO.row(1).getCurrentStatus());
+        assertTrue(stored.isEmpty());
+    }
+
+    @Test
+    void listenerFailureDoesNotStopFlush() {
+        ActiveOrderRegistry registry = new ActiveOrderRegistry(orderDAO, (orderId, status) -> {
+            throw new IllegalStateException("listener down");
+        }, true, 0);
+        registry.transition(1, "ACCEPTED");
+        registry.transition(2, "PREPARING");
+
+        registry.flush();
+
+        assertEquals("ACCEPTED", orderDAO.row(1).getCurrentStatus());
+        assertEquals("PREPARING", orderDAO.row(2).getCurrentStatus());
+    }
+
+    @Test
+    void shutdownFlushesAndStopsTracking() {
+        ActiveOrderRegistry registry = registry();
+        registry.transition(1, "ACCEPTED");
+
+        registry.shutdown();
+
+        assertEquals("ACCEPTED", orderDAO.row(1).getCurrentStatus());
+        assertEquals(0, registry.size());
+        assertNull(registry.getStatus(1));
+        assertEquals(StatusUpdateResult.NOT_FOUND, registry.transition(1, "PREPARING"));
+    }
+
+    /**
+     * Orders table in memory, with the version check of the real DAO
+     */
+    private static final class StubOrderDAO extends OrderDAO {
+        private final Map<Integer, Order> rows = new HashMap<>();
+        private boolean failWrites;
+        private boolean failReads;
+        private int writes;
+
+        void put(int orderId, String status, int version) {
+            Order order = new Order();
+            order.setOrderId(orderId);
+            order.setCurrentStatus(status);
+            order.setVersion(version);
+            rows.put(orderId, order);
+        }
+
+        Order row(int orderId) {
+            return rows.get(orderId);
+        }
+
+        @Override
+        public List<Order> getActiveOrderStates() {
+            List<Order> active = new ArrayList<>();
+            for (Order order : rows.values()) {
+                if (Order.OrderStatus.fromCode(order.getCurrentStatus()).isActive()) {
+                    active.add(copy(order));
+                }
+            }
+            return active;
+        }
+
+        @Override
+        public Map<Integer, Order> getOrderStates(Collection<Integer> orderIds) {
+            if (failReads) {
+                return null;
+            }
+            Map<Integer, Order> states = new HashMap<>();
+            for (Integer orderId : orderIds) {
+                Order order = rows.get(orderId);
+                if (order != null) {
+                    states.put(orderId, copy(order));
+                }
+            }
+            return states;
+        }
+
+        @Override
+        public Set<Integer> updateOrderStatuses(Map<Integer, String> newStatuses, Map<Integer, Integer> expectedVersions) {
+            if (failWrites) {
+                return null;
+            }
+            writes++;
+            Set<Integer> updated = new HashSet<>();
+            for (Map.Entry<Integer, String> entry : newStatuses.entrySet()) {
+                Order order = rows.get(entry.getKey());
+                if (order != null && order.getVersion() == expectedVersions.get(entry.getKey())) {
+                    order.setCurrentStatus(entry.getValue());
+                    order.setVersion(order.getVersion() + 1);
+                    updated.add(entry.getKey());
+                }
+            }
+            return updated;
+        }
+
+        private static Order copy(Order order) {
+            Order copy = new Order();
+            copy.setOrderId(order.getOrderId());
+            copy.setCurrentStatus(order.getCurrentStatus());
+            copy.setVersion(order.getVersion());
+            return copy;
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.foodorder.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class DisplayTableTest {
+
+    private static final DisplayTable<String[]> TABLE = DisplayTable.<String[]>builder()
+        .column("ID", 4, (sb, row) -> sb.append(row[0]))
+        .column("Name", 8, (sb, row) -> sb.append(row[1]))
+        .rightColumn("Qty", 5, (sb, row) -> sb.append(row[2]))
+        .rule(19)
+        .build();
+
+    private static String formatted(String[] row) {
+        return String.format("%-4s %-8s %5s%n", (Object[]) row);
+    }
+
+    @Test
+    void padsCellsLikeFormatStrings() {
+        List<String[]> rows = List.of(
+            new String[] { "1", "Fries", "3" },
+            new String[] { "", "", "" },
+            new String[] { "1234", "Burgers!", "12345" });
+
+        StringBuilder expected = new StringBuilder(String.format("%-4s %-8s %5s%n", "ID", "Name", "Qty"));
+        expected.append("-".repeat(19)).append('\n');
+        for (String[] row : rows) {
+            expected.append(formatted(row));
+        }
+        assertEquals(expected.toString(), TABLE.render(rows));
+    }
+
+    @Test
+    void widerCellsAreNeverCut() {
+        String[] row = { "123456", "Margherita Pizza", "1234567" };
+        StringBuilder sb = new StringBuilder();
+
+        TABLE.appendRow(sb, row);
+
+        assertEquals(formatted(row), sb.toString());
+    }
+
+    @Test
+    void unlabelledTableHasNoHeader() {
+        DisplayTable<String> table = DisplayTable.<String>builder()
+            .column(null, 6, StringBuilder::append)
+            .rightColumn(null, 3, (sb, row) -> sb.append(row.length()))
+            .build();
+
+        assertEquals(String.format("%-6s %3s%n", "tea", 3), table.render(List.of("tea")));
+    }
+
+    @Test
+    void nullLabelIsBlankInALabelledHeader() {
+        DisplayTable<String> table = DisplayTable.<String>builder()
+            .column("Item", 6, StringBuilder::append)
+            .rightColumn(null, 3, (sb, row) -> sb.append('x'))
+            .build();
+
+        assertEquals(String.format("%-6s %3s%n%-6s %3s%n", "Item", "", "tea", "x"), table.render(List.of("tea")));
+    }
+
+    @Test
+    void streamedRenderMatchesRenderAcrossFlushes() throws IOException {
+        List<String[]> rows = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            rows.add(new String[] { Integer.toString(i), "Item " + i, Integer.toString(i % 7) });
+        }
+        StringBuilder out = new StringBuilder();
+
+        TABLE.render(rows, out);
+
+        assertEquals(TABLE.render(rows), out.toString());
+    }
+
+    @Test
+    void appendMoneyMatchesDollarFormatIncludingNull() {
+        for (BigDecimal amount : Arrays.asList(null, BigDecimal.ZERO, new BigDecimal("8.99"), new BigDecimal("3.5"),
+                new BigDecimal("2.005"), new BigDecimal("-12.345"), new BigDecimal("1234567.1"))) {
+            StringBuilder sb = new StringBuilder();
+            DisplayTable.appendMoney(sb, amount);
+            assertEquals(String.format("$%.2f", amount), sb.toString(), String.valueOf(amount));
+        }
+
+        StringBuilder sb = new StringBuilder();
+        DisplayTable.appendMoney(sb, null);
+        assertEquals("$nu", sb.toString());
+    }
+
+    @Test
+    void appendDateTimeMatchesDateFormatAndSkipsNull() {
+        for (String value : List.of("2024-12-07 11:30:05", "2024-01-01 00:00:00.999", "0999-03-04 09:08:07")) {
+            Timestamp timestamp = Timestamp.valueOf(value);
+            StringBuilder sb = new StringBuilder();
+            DisplayTable.appendDateTime(sb, timestamp);
+            assertEquals(String.format("%tF %<tT", timestamp.toLocalDateTime()), sb.toString());
+        }
+
+        StringBuilder sb = new StringBuilder();
+        DisplayTable.appendDateTime(sb, null);
+        assertEquals("", sb.toString());
+    }
+
+    @Test
+    void tableNeedsAColumn() {
+        assertThrows(IllegalStateException.class, () -> DisplayTable.<String>builder().build());
+    }
+}
@@ -0,0 +1,90 @@
+package com.foodorder.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.foodorder.model.MenuItem;
+
+class MenuSearchIndexTest {
+
+    private MenuSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        List<MenuItem> items = new ArrayList<>();
+        String[] names = { "Chicken Wings", "Grilled Chicken", "Chicken Caesar Salad", "Fries", "Fried Rice",
+            "Burger", "Burgundy Beef Stew", "Margherita Pizza", "Cr\u00e8me Br\u00fbl\u00e9e", "Tacos" };
+        for (int i = 0; i < names.length; i++) {
+            items.add(new MenuItem(i + 1, 1, names[i], new BigDecimal("9.99"), true));
+        }
+        index = new MenuSearchIndex(items);
+    }
+
+    private List<String> search(String query) {
+        List<String> names = new ArrayList<>();
+        for (MenuItem item : index.search(query, 10)) {
+            names.add(item.getItemName());
+        }
+        return names;
+    }
+
+    @Test
+    void namesStartingWithTheQueryRankFirst() {
+        assertEquals(List.of("Chicken Wings", "Chicken Caesar Salad", "Grilled Chicken"), search("chicken"));
+    }
+
+    @Test
+    void closerPrefixCompletionRanksHigher() {
+        assertEquals(List.of("Burger", "Burgundy Beef Stew"), search("burg"));
+    }
+
+    @Test
+    void exactMatchRanksAboveFuzzyMatch() {
+        assertEquals(List.of("Fries", "Fried Rice"), search("fries"));
+    }
+
+    @Test
+    void typosAreMatchedInWholeWordsAndPrefixes() {
+        assertEquals(List.of("Chicken Caesar Salad"), search("ceasar"));
+        assertEquals(List.of("Margherita Pizza"), search("margeh"));
+    }
+
+    @Test
+    void shortWordsAreOnlyMatchedAsPrefixes() {
+        assertEquals(List.of("Tacos"), search("tac"));
+        assertTrue(search("tco").isEmpty());
+    }
+
+    @Test
+    void everyQueryWordMustMatch() {
+        assertEquals(List.of("Chicken Caesar Salad"), search("chicken sal"));
+        assertTrue(search("chicken pizza").isEmpty());
+    }
+
+    @Test
+    void accentsAndCaseAreIgnored() {
+        assertEquals(List.of("Cr\u00e8me Br\u00fbl\u00e9e"), search("CREME brulee"));
+    }
+
+    @Test
+    void limitCutsTheRankedList() {
+        assertEquals(List.of("Chicken Wings"), index.search("chicken", 1).stream().map(MenuItem::getItemName).toList());
+        assertTrue(index.search("chicken", 0).isEmpty());
+        assertTrue(index.search("  ", 5).isEmpty());
+    }
+
+    @Test
+    void editDistanceCountsTranspositionsAndStopsAtTheBudget() {
+        assertEquals(1, MenuSearchIndex.editDistance("ceasar", "caesar", 2));
+        assertEquals(1, MenuSearchIndex.editDistance("fries", "fried", 1));
+        assertEquals(2, MenuSearchIndex.editDistance("abc", "xyz", 1));
+        assertEquals(2, MenuSearchIndex.editDistance("a", "abcdef", 1));
+    }
+}
@@ -0,0 +1,92 @@
+package com.foodorder.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class MenuSuggestionTrieTest {
+
+    private Map<String, Long> weights;
+    private MenuSuggestionTrie trie;
+
+    @BeforeEach
+    void setUp() {
+        weights = new LinkedHashMap<>();
+        weights.put("Roasted Chicken", 5L);
+        weights.put("Chicken Wings", 9L);
+        weights.put("Chili Chicken", 2L);
+        weights.put("Cheesecake", 7L);
+        trie = MenuSuggestionTrie.of(weights);
+    }
+
+    @Test
+    void suggestsFromEveryWordStartHeaviestFirst() {
+        assertEquals(List.of("Chicken Wings", "Roasted Chicken", "Chili Chicken"), trie.suggest("chic", 10));
+        assertEquals(List.of("Chicken Wings", "Cheesecake", "Roasted Chicken"), trie.suggest("CH", 3));
+        assertEquals(List.of("Chicken Wings"), trie.suggest("chicken w", 10));
+        assertTrue(trie.suggest("pizza", 10).isEmpty());
+        assertTrue(trie.suggest(" ", 10).isEmpty());
+    }
+
+    @Test
+    void nameReachableThroughSeveralWordsIsSuggestedOnce() {
+        assertEquals(List.of("Chicken Wings", "Cheesecake", "Roasted Chicken", "Chili Chicken"),
+            trie.suggest("ch", 10));
+    }
+
+    @Test
+    void putReturnsANewTrieAndLeavesTheOldOneUntouched() {
+        MenuSuggestionTrie reweighted = trie.put("Chili Chicken", 20L);
+        MenuSuggestionTrie added = reweighted.put("Chicken Burger", 6L);
+
+        assertEquals(List.of("Chili Chicken", "Chicken Wings", "Roasted Chicken"), reweighted.suggest("chic", 10));
+        assertEquals(List.of("Chili Chicken", "Chicken Wings", "Chicken Burger", "Roasted Chicken"),
+            added.suggest("chic", 10));
+        assertEquals(List.of("Chicken Wings", "Roasted Chicken", "Chili Chicken"), trie.suggest("chic", 10));
+    }
+
+    @Test
+    void removeDropsTheNameFromEveryWordAndPrunesEmptyPaths() {
+        MenuSuggestionTrie removed = trie.remove("Roasted Chicken");
+
+        assertEquals(List.of("Chicken Wings", "Chili Chicken"), removed.suggest("chic", 10));
+        assertTrue(removed.suggest("roa", 10).isEmpty());
+        assertEquals(List.of("Roasted Chicken"), trie.suggest("roa", 10));
+
+        MenuSuggestionTrie empty = removed.remove("Chicken Wings").remove("Chili Chicken").remove("Cheesecake");
+        assertTrue(empty.suggest("c", 10).isEmpty());
+    }
+
+    @Test
+    void updateAppliesOnlyTheDifference() {
+        Map<String, Long> current = new LinkedHashMap<>(weights);
+        current.remove("Cheesecake");
+        current.put("Roasted Chicken", 12L);
+        current.put("Cheese Board", 1L);
+
+        MenuSuggestionTrie updated = trie.update(weights, current);
+
+        assertEquals(List.of("Roasted Chicken", "Chicken Wings", "Chili Chicken", "Cheese Board"),
+            updated.suggest("ch", 10));
+        assertEquals(MenuSuggestionTrie.of(current).suggest("ch", 10), updated.suggest("ch", 10));
+        assertEquals(List.of("Cheesecake"), trie.suggest("chee", 10));
+    }
+
+    @Test
+    void keepsAtMostTopKNamesPerPrefix() {
+        MenuSuggestionTrie many = MenuSuggestionTrie.EMPTY;
+        for (int i = 0; i < MenuSuggestionTrie.TOP_K + 5; i++) {
+            many = many.put("Soup " + i, i);
+        }
+
+        List<String> suggestions = many.suggest("soup", 100);
+        assertEquals(MenuSuggestionTrie.TOP_K, suggestions.size());
+        assertEquals("Soup 14", suggestions.get(0));
+    }
+}
@@ -0,0 +1,110 @@
+package com.foodorder.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.foodorder.model.OrderEvent;
+import com.foodorder.model.OrderItem;
+
+class OrderEventJournalTest {
+
+    private Map<Long, OrderItem> added;
+    private Map<Long, OrderItem> replaced;
+
+    @BeforeEach
+    void setUp() {
+        added = new LinkedHashMap<>();
+        replaced = new LinkedHashMap<>();
+    }
+
+    private void fold(OrderEvent... events) {
+        for (OrderEvent event : events) {
+            OrderEventJournal.fold(event, added, replaced);
+        }
+    }
+
+    private static List<String> lines(Map<Long, OrderItem> lines) {
+        List<String> result = new ArrayList<>();
+        for (OrderItem line : lines.values()) {
+            result.add(line.getOrderId() + "/" + line.getItemId() + "=" + line.getQuantity());
+        }
+        return result;
+    }
+
+    @Test
+    void addsToSameLineAreSummed() {
+        fold(OrderEvent.itemAdded(1, 10, 2), OrderEvent.itemAdded(1, 10, 3));
+
+        assertEquals(List.of("1/10=5"), lines(added));
+        assertTrue(replaced.isEmpty());
+    }
+
+    @Test
+    void differentLinesStaySeparate() {
+        fold(OrderEvent.itemAdded(1, 10, 1), OrderEvent.itemAdded(1, 11, 2), OrderEvent.itemAdded(2, 10, 3));
+
+        assertEquals(List.of("1/10=1", "1/11=2", "2/10=3"), lines(added));
+    }
+
+    @Test
+    void setReplacesEarlierAdds() {
+        fold(OrderEvent.itemAdded(1, 10, 2), OrderEvent.quantityChanged(1, 10, 7));
+
+        assertTrue(added.isEmpty());
+        assertEquals(List.of("1/10=7"), lines(replaced));
+    }
+
+    @Test
+    void addAfterSetIsSummedOntoTheSetQuantity() {
+        fold(OrderEvent.quantityChanged(1, 10, 4), OrderEvent.itemAdded(1, 10, 2));
+
+        assertTrue(added.isEmpty());
+        assertEquals(List.of("1/10=6"), lines(replaced));
+    }
+
+    @Test
+    void lastSetWins() {
+        fold(OrderEvent.quantityChanged(1, 10, 4), OrderEvent.itemAdded(1, 10, 2), OrderEvent.quantityChanged(1, 10, 1));
+
+        assertEquals(List.of("1/10=1"), lines(replaced));
+    }
+
+    @Test
+    void deleteIsKeptAsZeroQuantity() {
+        fold(OrderEvent.itemAdded(1, 10, 2), OrderEvent.quantityChanged(1, 10, 0));
+
+        assertTrue(added.isEmpty());
+        assertEquals(List.of("1/10=0"), lines(replaced));
+    }
+
+    @Test
+    void addAfterDeleteRecreatesTheLine() {
+        fold(OrderEvent.quantityChanged(1, 10, 0), OrderEvent.itemAdded(1, 10, 3));
+
+        assertTrue(added.isEmpty());
+        assertEquals(List.of("1/10=3"), lines(replaced));
+    }
+
+    @Test
+    void largeIdsDoNotCollide() {
+        fold(OrderEvent.itemAdded(1, Integer.MAX_VALUE, 1), OrderEvent.itemAdded(2, 0, 1),
+            OrderEvent.itemAdded(Integer.MAX_VALUE, 1, 1));
+
+        assertEquals(3, added.size());
+    }
+
+    @Test
+    void rejectsEventsThatAreNotItemChanges() {
+        assertThrows(IllegalArgumentException.class, () -> fold(OrderEvent.statusChanged(1, "ACCEPTED")));
+        assertThrows(IllegalArgumentException.class, () -> fold(OrderEvent.deleted(1)));
+    }
+}
@@ -0,0 +1,157 @@
+package com.foodorder.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.foodorder.dao.MenuDAO;
+import com.foodorder.dao.OrderItemDAO;
+import com.foodorder.model.CategorySales;
+import com.foodorder.model.ItemSales;
+import com.foodorder.model.MenuItem;
+
+class SalesLeaderboardTest {
+
+    private static final int BURGER = 1;
+    private static final int PIZZA = 2;
+    private static final int FRIES = 3;
+
+    private StubMenuCatalog catalog;
+    private SalesLeaderboard leaderboard;
+
+    @BeforeEach
+    void setUp() {
+        catalog = new StubMenuCatalog();
+        catalog.put(BURGER, 1, "Mains", "Burger", "10.00");
+        catalog.put(PIZZA, 1, "Mains", "Pizza", "12.00");
+        catalog.put(FRIES, 2, "Sides", "Fries", "3.00");
+        leaderboard = new SalesLeaderboard(new OrderItemDAO(), catalog);
+
+        leaderboard.itemAdded(1, BURGER, 2);
+        leaderboard.itemAdded(1, FRIES, 1);
+        leaderboard.itemAdded(2, PIZZA, 3);
+    }
+
+    private List<String> topItems() {
+        List<String> top = new ArrayList<>();
+        for (ItemSales item : leaderboard.getTopItems()) {
+            top.add(item.getItemName() + "=" + item.getTotalOrdered() + "/" + item.getOrderCount());
+        }
+        return top;
+    }
+
+    private List<String> categorySales() {
+        List<String> sales = new ArrayList<>();
+        for (CategorySales category : leaderboard.getCategorySales()) {
+            sales.add(category.getCategoryName() + " qty=" + category.getTotalQuantity()
+                + " revenue=" + category.getTotalRevenue().toPlainString()
+                + " items=" + category.getUniqueItemsSold() + " orders=" + category.getOrderCount());
+        }
+        return sales;
+    }
+
+    @Test
+    void addedItemsAreRankedByQuantity() {
+        assertEquals(List.of("Pizza=3/1", "Burger=2/1", "Fries=1/1"), topItems());
+        assertEquals(List.of("Mains qty=5 revenue=56.00 items=2 orders=2", "Sides qty=1 revenue=3.00 items=1 orders=1"),
+            categorySales());
+    }
+
+    @Test
+    void addingToAnExistingLineDoesNotCountTheOrderTwice() {
+        leaderboard.itemAdded(1, BURGER, 2);
+
+        assertEquals(List.of("Burger=4/1", "Pizza=3/1", "Fries=1/1"), topItems());
+        assertEquals("Mains qty=7 revenue=76.00 items=2 orders=2", categorySales().get(0));
+    }
+
+    @Test
+    void cancelReversesTheOrdersSales() {
+        leaderboard.orderClosed(2, true);
+
+        assertEquals(List.of("Burger=2/1", "Fries=1/1"), topItems());
+        assertEquals(List.of("Mains qty=2 revenue=20.00 items=1 orders=1", "Sides qty=1 revenue=3.00 items=1 orders=1"),
+            categorySales());
+    }
+
+    @Test
+    void cancellingEveryOrderEmptiesTheLeaderboard() {
+        leaderboard.orderClosed(1, true);
+        leaderboard.orderClosed(2, true);
+
+        assertTrue(leaderboard.getTopItems().isEmpty());
+        assertTrue(leaderboard.getCategorySales().isEmpty());
+    }
+
+    @Test
+    void completedOrderKeepsItsSalesForGood() {
+        leaderboard.orderClosed(1, false);
+        // The order is no longer tracked, so neither a late cancel nor a delete moves the counters
+        leaderboard.orderClosed(1, true);
+        leaderboard.orderDeleted(1);
+        leaderboard.quantityChanged(1, BURGER, 0);
+
+        assertEquals(List.of("Pizza=3/1", "Burger=2/1", "Fries=1/1"), topItems());
+    }
+
+    @Test
+    void cancelReversesOnlyWhatIsLeftAfterQuantityChanges() {
+        leaderboard.quantityChanged(1, FRIES, 0);
+        leaderboard.quantityChanged(1, BURGER, 5);
+        assertEquals(List.of("Burger=5/1", "Pizza=3/1"), topItems());
+        assertEquals(List.of("Mains qty=8 revenue=86.00 items=2 orders=2"), categorySales());
+
+        leaderboard.orderClosed(1, true);
+
+        assertEquals(List.of("Pizza=3/1"), topItems());
+        assertEquals(List.of("Mains qty=3 revenue=36.00 items=1 orders=1"), categorySales());
+    }
+
+    @Test
+    void deleteReversesLikeCancel() {
+        leaderboard.orderDeleted(2);
+
+        assertEquals(List.of("Burger=2/1", "Fries=1/1"), topItems());
+    }
+
+    @Test
+    void repricingMovesCategoryRevenueOfTheUnitsSold() {
+        catalog.put(BURGER, 1, "Mains", "Cheeseburger", "11.50");
+        leaderboard.menuItemChanged(BURGER);
+
+        assertEquals(List.of("Pizza=3/1", "Cheeseburger=2/1", "Fries=1/1"), topItems());
+        assertEquals("Mains qty=5 revenue=59.00 items=2 orders=2", categorySales().get(0));
+
+        // A later cancel takes the units off at the new price
+        leaderboard.orderClosed(1, true);
+        assertEquals(List.of("Mains qty=3 revenue=36.00 items=1 orders=1"), categorySales());
+    }
+
+    /**
+     * Menu items in memory instead of a database snapshot
+     */
+    private static final class StubMenuCatalog extends MenuCatalog {
+        private final Map<Integer, MenuItem> items = new HashMap<>();
+
+        StubMenuCatalog() {
+            super(new MenuDAO(), new OrderItemDAO());
+        }
+
+        void put(int itemId, int categoryId, String categoryName, String itemName, String price) {
+            items.put(itemId, new MenuItem(itemId, categoryId, categoryName, itemName, new BigDecimal(price), true));
+        }
+
+        @Override
+        public MenuItem getMenuItemById(int itemId) {
+            return items.get(itemId);
+        }
+    }
+}